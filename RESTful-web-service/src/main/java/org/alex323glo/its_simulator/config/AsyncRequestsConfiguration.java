@@ -0,0 +1,57 @@
+package org.alex323glo.its_simulator.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Asynchronous requests' configuration class
+ * (customizes executor and timeout of requests, which are processed asynchronously by Spring MVC,
+ * for example, of StreamingResponseBody exports).
+ *
+ * Spring MVC's default executor starts new thread for every asynchronous request, so it's replaced
+ * with bounded pool ('web.async.pool_size' threads and 'web.async.queue_capacity' waiting requests).
+ * Requests, which don't fit into pool, fail fast with SERVICE UNAVAILABLE (503) status (see RejectedRequestsHandler).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+@Configuration
+public class AsyncRequestsConfiguration implements WebMvcConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
+    private static final long DEFAULT_REQUEST_TIMEOUT_MS = 600_000;
+
+    private final Environment environment;
+
+    @Autowired
+    public AsyncRequestsConfiguration(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor asyncRequestsExecutor() {
+        int poolSize = Math.max(1, environment.getProperty("web.async.pool_size", Integer.class,
+                DEFAULT_POOL_SIZE));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(Math.max(0, environment.getProperty("web.async.queue_capacity", Integer.class,
+                DEFAULT_QUEUE_CAPACITY)));
+        executor.setThreadNamePrefix("async-request-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncRequestsExecutor());
+        configurer.setDefaultTimeout(environment.getProperty("web.async.request_timeout_ms", Long.class,
+                DEFAULT_REQUEST_TIMEOUT_MS));
+    }
+}
@@ -0,0 +1,149 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.alex323glo.its_simulator.config.DatabaseAccessRecorder.DatabaseAccess;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of threads, which serves requests of single group of endpoints, so slow or overloaded group
+ * can't take threads of other groups (and of servlet container).
+ *
+ * Task, which can't be started or queued at once, is rejected with RejectedExecutionException
+ * (request fails fast with 503 status, see RejectedRequestsHandler), instead of waiting for free thread.
+ * Data Base access of task is recorded by scope of request (see DatabaseAccessInterceptor).
+ *
+ * Task, which isn't finished in timeout of bulkhead (counted from its submission, so waiting in queue is included),
+ * fails instead of waiting for much longer timeout of asynchronous requests:
+ *  - waiting task is removed from queue and fails with RejectedExecutionException (it is never run, so request
+ *    can be safely retried, like rejected one);
+ *  - running task isn't interrupted (interrupt closes file channels of H2 Data Base), so it can still commit its
+ *    changes: it fails with TimeoutException (request fails with 504 status, without 'Retry-After' header, because
+ *    its outcome is unknown).
+ *
+ * Publishes such metrics (tagged by name of bulkhead):
+ *  - 'web.bulkhead.queue.depth' - number of tasks, waiting for free thread;
+ *  - 'web.bulkhead.active' - number of running tasks;
+ *  - 'web.bulkhead.rejected' - number of rejected tasks;
+ *  - 'web.bulkhead.timed_out' - number of timed out tasks.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see ControllerBulkheadsConfiguration
+ */
+public class Bulkhead implements DisposableBean {
+
+    private static final String NAME_TAG = "bulkhead";
+
+    private final String name;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timeoutScheduler;
+    private final Counter rejectedTasks;
+    private final Counter timedOutTasks;
+
+    /**
+     * @param name          (not null) name of bulkhead (is used in metrics and names of threads).
+     * @param poolSize      number of threads (at least 1).
+     * @param queueCapacity maximal number of waiting tasks (0 - tasks aren't queued).
+     * @param timeoutMs     maximal time of task (waiting in queue included), in milliseconds (at least 1).
+     * @param meterRegistry (not null) registry of bulkhead's metrics.
+     */
+    public Bulkhead(String name, int poolSize, int queueCapacity, long timeoutMs, MeterRegistry meterRegistry) {
+        BlockingQueue<Runnable> queue = queueCapacity > 0 ?
+                new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>();
+
+        this.name = name;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, queue,
+                new CustomizableThreadFactory("bulkhead-" + name + "-"), new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutScheduler = new ScheduledThreadPoolExecutor(1,
+                new CustomizableThreadFactory("bulkhead-" + name + "-timeout-"));
+        this.timeoutScheduler.setRemoveOnCancelPolicy(true);
+        this.rejectedTasks = meterRegistry.counter("web.bulkhead.rejected", NAME_TAG, name);
+        this.timedOutTasks = meterRegistry.counter("web.bulkhead.timed_out", NAME_TAG, name);
+        meterRegistry.gauge("web.bulkhead.queue.depth", Tags.of(NAME_TAG, name), this, Bulkhead::getQueueDepth);
+        meterRegistry.gauge("web.bulkhead.active", Tags.of(NAME_TAG, name), this, Bulkhead::getActiveCount);
+    }
+
+    /**
+     * Runs task in thread of bulkhead.
+     *
+     * @param task (not null) task (for example, blocking part of request's handling).
+     * @return (not null) future result of task (is completed exceptionally, if task throws Exception,
+     * with RejectedExecutionException, if task still waits in queue, when timeout of bulkhead is over,
+     * or with TimeoutException, if task is running at that moment).
+     * @throws RejectedExecutionException if all threads of bulkhead are busy and its queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        DatabaseAccess databaseAccess = DatabaseAccessRecorder.current();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable execution = () -> {
+            if (databaseAccess != null) {
+                DatabaseAccessRecorder.resume(databaseAccess);
+            }
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                if (databaseAccess != null) {
+                    DatabaseAccessRecorder.stop(databaseAccess);
+                }
+            }
+        };
+        try {
+            executor.execute(execution);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.increment();
+            throw new RejectedExecutionException("Bulkhead '" + name + "' is full (" + executor.getMaximumPoolSize() +
+                    " busy threads and " + executor.getQueue().size() + " waiting tasks).", e);
+        }
+
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            // task, which is removed from queue, is never run:
+            Exception exception = executor.remove(execution) ?
+                    new RejectedExecutionException("Task of bulkhead '" + name + "' isn't started in " +
+                            timeoutMs + " ms.") :
+                    new TimeoutException("Task of bulkhead '" + name + "' isn't finished in " + timeoutMs + " ms.");
+            if (future.completeExceptionally(exception)) {
+                timedOutTasks.increment();
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, throwable) -> timeout.cancel(false));
+        return future;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        timeoutScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Controllers' bulkheads configuration class
+ * (defines separate bounded pools of threads for blocking work of Mission, Mission Constructor
+ * and Personal Room controllers).
+ *
+ * Handlers of these controllers return CompletableFuture, so threads of servlet container are released,
+ * while Data Base is accessed, and burst of requests to one group of endpoints (for example, to
+ * '/private/mission-constructor/analyze') can't take threads, needed by other endpoints (and by login).
+ *
+ * Every bulkhead has 'web.bulkheads.<name>.pool_size' threads and 'web.bulkheads.<name>.queue_capacity'
+ * waiting requests; request, which isn't served in 'web.bulkheads.<name>.timeout_ms' milliseconds, fails with
+ * SERVICE UNAVAILABLE (503) status, if it still waits in queue, or with GATEWAY TIMEOUT (504) status, if it is
+ * running (instead of waiting for timeout of asynchronous requests, which is long enough for streaming exports).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Bulkhead
+ */
+@Configuration
+public class ControllerBulkheadsConfiguration {
+
+    private static final int DEFAULT_MISSION_POOL_SIZE = 16;
+    private static final int DEFAULT_MISSION_QUEUE_CAPACITY = 200;
+    private static final int DEFAULT_MISSION_CONSTRUCTOR_POOL_SIZE = 8;
+    private static final int DEFAULT_MISSION_CONSTRUCTOR_QUEUE_CAPACITY = 50;
+    private static final int DEFAULT_PERSONAL_ROOM_POOL_SIZE = 4;
+    private static final int DEFAULT_PERSONAL_ROOM_QUEUE_CAPACITY = 50;
+    private static final long DEFAULT_TIMEOUT_MS = 10000;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ControllerBulkheadsConfiguration(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public Bulkhead missionBulkhead() {
+        return createBulkhead("mission", DEFAULT_MISSION_POOL_SIZE, DEFAULT_MISSION_QUEUE_CAPACITY);
+    }
+
+    @Bean
+    public Bulkhead missionConstructorBulkhead() {
+        return createBulkhead("mission_constructor", DEFAULT_MISSION_CONSTRUCTOR_POOL_SIZE,
+                DEFAULT_MISSION_CONSTRUCTOR_QUEUE_CAPACITY);
+    }
+
+    @Bean
+    public Bulkhead personalRoomBulkhead() {
+        return createBulkhead("personal_room", DEFAULT_PERSONAL_ROOM_POOL_SIZE, DEFAULT_PERSONAL_ROOM_QUEUE_CAPACITY);
+    }
+
+    private Bulkhead createBulkhead(String name, int defaultPoolSize, int defaultQueueCapacity) {
+        int poolSize = Math.max(1, environment.getProperty("web.bulkheads." + name + ".pool_size", Integer.class,
+                defaultPoolSize));
+        int queueCapacity = Math.max(0, environment.getProperty("web.bulkheads." + name + ".queue_capacity",
+                Integer.class, defaultQueueCapacity));
+        long timeoutMs = Math.max(1, environment.getProperty("web.bulkheads." + name + ".timeout_ms", Long.class,
+                DEFAULT_TIMEOUT_MS));
+        return new Bulkhead(name, poolSize, queueCapacity, timeoutMs, meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Main DataSource's configuration class (holds bean factory of DataSource bean).
+ *
+ * Primary Data Base is configured by 'spring.datasource.*' properties. If read replica is configured
+ * ('spring.datasource.replica.url' property; username and password are the same as primary ones, if they
+ * aren't set as 'spring.datasource.replica.username' and 'spring.datasource.replica.password'),
+ * read-only transactions are routed to it (see ReadReplicaRoutingDataSource).
+ *
+ * Every statement is reported to DatabaseAccessRecorder (see InstrumentedDataSource).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see ReadReplicaRoutingDataSource
+ * @see InstrumentedDataSource
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                                 MeterRegistry meterRegistry) {
+
+        DataSource primaryDataSource = dataSourceProperties.initializeDataSourceBuilder().build();
+
+        String replicaUrl = environment.getProperty("spring.datasource.replica.url");
+        if (replicaUrl == null || replicaUrl.isEmpty()) {
+            return new InstrumentedDataSource(primaryDataSource);
+        }
+
+        DataSource replicaDataSource = DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(replicaUrl)
+                .username(environment.getProperty("spring.datasource.replica.username",
+                        dataSourceProperties.determineUsername()))
+                .password(environment.getProperty("spring.datasource.replica.password",
+                        dataSourceProperties.determinePassword()))
+                .build();
+
+        return new InstrumentedDataSource(new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry)));
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.alex323glo.its_simulator.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Budget of Data Base access of endpoint (is put on handler method of REST Controller).
+ *
+ * Endpoint, which executes more statements, then its budget allows (for example, because of N+1 lazy
+ * loading), is reported by DatabaseAccessInterceptor: warning is logged and 'db.request.budget_exceeded'
+ * counter is incremented, or (if 'monitoring.database.budget.enforced' property is true, in tests) request
+ * fails with IllegalStateException.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DatabaseAccessInterceptor
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DatabaseAccessBudget {
+
+    /**
+     * @return maximal number of statements, executed while serving single request.
+     */
+    int statements();
+}
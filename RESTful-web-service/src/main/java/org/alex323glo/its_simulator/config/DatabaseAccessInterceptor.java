@@ -0,0 +1,147 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alex323glo.its_simulator.config.DatabaseAccessRecorder.DatabaseAccess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HandlerInterceptor, which records Data Base access of every request, served by REST Controller,
+ * and checks it against DatabaseAccessBudget of handler method (if it has one).
+ *
+ * Data Base access of request is published as histograms, tagged by HTTP method and URI pattern:
+ * 'db.request.statements', 'db.request.rows' and 'db.request.time'.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DatabaseAccessBudget
+ * @see DatabaseAccessRecorder
+ */
+@Component
+public class DatabaseAccessInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseAccessInterceptor.class);
+
+    private static final String DEFAULT_BUDGET_ENFORCED = "false";
+
+    private static final String DATABASE_ACCESS_ATTRIBUTE = DatabaseAccessInterceptor.class.getName() + ".ACCESS";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean budgetEnforced;
+
+    @Autowired
+    public DatabaseAccessInterceptor(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.budgetEnforced = Boolean.valueOf(environment.getProperty(
+                "monitoring.database.budget.enforced", DEFAULT_BUDGET_ENFORCED));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        DatabaseAccess databaseAccess = (DatabaseAccess) request.getAttribute(DATABASE_ACCESS_ATTRIBUTE);
+        if (databaseAccess != null && request.getDispatcherType() == DispatcherType.ASYNC) {
+            // asynchronous request is dispatched again with its result, so scope of its handler continues:
+            DatabaseAccessRecorder.resume(databaseAccess);
+        } else {
+            request.setAttribute(DATABASE_ACCESS_ATTRIBUTE, DatabaseAccessRecorder.start());
+        }
+        return true;
+    }
+
+    /**
+     * Closes scope of request in container thread, when request is processed asynchronously
+     * (container thread is released and serves other requests, so scope mustn't stay open in it).
+     * Scope is resumed by async dispatch of request (see preHandle()). Statements, executed by other threads
+     * (for example, by StreamingResponseBody), aren't counted by scope of request.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        DatabaseAccess databaseAccess = (DatabaseAccess) request.getAttribute(DATABASE_ACCESS_ATTRIBUTE);
+        if (databaseAccess != null) {
+            DatabaseAccessRecorder.stop(databaseAccess);
+        }
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        DatabaseAccess databaseAccess = (DatabaseAccess) request.getAttribute(DATABASE_ACCESS_ATTRIBUTE);
+        DatabaseAccessBudget budget = handler instanceof HandlerMethod ?
+                ((HandlerMethod) handler).getMethodAnnotation(DatabaseAccessBudget.class) : null;
+        if (databaseAccess == null || budget == null || databaseAccess.getStatements() <= budget.statements()) {
+            return;
+        }
+
+        String message = String.format("Request '%s %s' executed %d statements (budget of endpoint is %d).",
+                request.getMethod(), uri(request), databaseAccess.getStatements(), budget.statements());
+        meterRegistry.counter("db.request.budget_exceeded",
+                "method", request.getMethod(), "uri", uri(request)).increment();
+        if (budgetEnforced) {
+            IllegalStateException exception = new IllegalStateException(message);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+        LOGGER.warn(message);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        DatabaseAccess databaseAccess = (DatabaseAccess) request.getAttribute(DATABASE_ACCESS_ATTRIBUTE);
+        if (databaseAccess == null) {
+            return;
+        }
+        DatabaseAccessRecorder.stop(databaseAccess);
+        request.removeAttribute(DATABASE_ACCESS_ATTRIBUTE);
+
+        String method = request.getMethod();
+        String uri = uri(request);
+        DistributionSummary.builder("db.request.statements")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(databaseAccess.getStatements());
+        DistributionSummary.builder("db.request.rows")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(databaseAccess.getRows());
+        Timer.builder("db.request.time")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(databaseAccess.getElapsedNanos(), TimeUnit.NANOSECONDS);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Request '{} {}' executed {} statements ({} rows) in {} us.",
+                    method, uri, databaseAccess.getStatements(), databaseAccess.getRows(),
+                    TimeUnit.NANOSECONDS.toMicros(databaseAccess.getElapsedNanos()));
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNKNOWN_URI : pattern.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package org.alex323glo.its_simulator.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Data Base access monitoring configuration class (registers DatabaseAccessInterceptor).
+ *
+ * Statements are reported by InstrumentedDataSource (see DataSourceConfiguration), per repository
+ * method calls are recorded by RepositoryAccessAspect.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DatabaseAccessInterceptor
+ * @see RepositoryAccessAspect
+ */
+@Configuration
+public class DatabaseAccessMonitoringConfiguration implements WebMvcConfigurer {
+
+    private final DatabaseAccessInterceptor databaseAccessInterceptor;
+
+    @Autowired
+    public DatabaseAccessMonitoringConfiguration(DatabaseAccessInterceptor databaseAccessInterceptor) {
+        this.databaseAccessInterceptor = databaseAccessInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(databaseAccessInterceptor);
+    }
+}
@@ -0,0 +1,152 @@
+package org.alex323glo.its_simulator.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records Data Base access (number of executed statements, number of read and updated rows, time of
+ * statements' execution) of current thread within opened scopes (HTTP request, repository method call).
+ *
+ * Scopes may be nested: every statement is counted by all scopes, opened by current thread.
+ * Statements are reported by InstrumentedDataSource.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see InstrumentedDataSource
+ */
+public final class DatabaseAccessRecorder {
+
+    private static final ThreadLocal<Deque<DatabaseAccess>> SCOPES = new ThreadLocal<>();
+
+    private DatabaseAccessRecorder() {
+    }
+
+    /**
+     * Opens new scope of current thread.
+     *
+     * @return DatabaseAccess of opened scope (is updated, while scope is opened).
+     */
+    public static DatabaseAccess start() {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        DatabaseAccess databaseAccess = new DatabaseAccess();
+        scopes.push(databaseAccess);
+        return databaseAccess;
+    }
+
+    /**
+     * Opens scope, which was opened (and closed) before, again in current thread
+     * (for example, when asynchronously processed request continues in other thread).
+     *
+     * @param databaseAccess DatabaseAccess of scope (returned by start()).
+     * @return the same DatabaseAccess (is updated again, while scope is opened).
+     */
+    public static DatabaseAccess resume(DatabaseAccess databaseAccess) {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(databaseAccess);
+        return databaseAccess;
+    }
+
+    /**
+     * Closes scope of current thread (and all scopes, which were opened after it and weren't closed).
+     *
+     * @param databaseAccess DatabaseAccess of scope (returned by start()).
+     * @return DatabaseAccess of closed scope.
+     */
+    public static DatabaseAccess stop(DatabaseAccess databaseAccess) {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        if (scopes == null) {
+            return databaseAccess;
+        }
+        if (scopes.contains(databaseAccess)) {
+            while (scopes.pop() != databaseAccess) {
+                // unclosed nested scopes are dropped
+            }
+        }
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+        return databaseAccess;
+    }
+
+    /**
+     * @return DatabaseAccess of the latest scope, opened by current thread, or null, if there is no opened scope.
+     */
+    static DatabaseAccess current() {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        return scopes == null ? null : scopes.peek();
+    }
+
+    static boolean isRecording() {
+        return SCOPES.get() != null;
+    }
+
+    static void recordStatement(long rows, long elapsedNanos) {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (DatabaseAccess databaseAccess : scopes) {
+            databaseAccess.statements.increment();
+            databaseAccess.rows.add(rows);
+            databaseAccess.elapsedNanos.add(elapsedNanos);
+        }
+    }
+
+    static void recordRows(long rows) {
+        Deque<DatabaseAccess> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (DatabaseAccess databaseAccess : scopes) {
+            databaseAccess.rows.add(rows);
+        }
+    }
+
+    /**
+     * Data Base access of single scope.
+     *
+     * Scope may be updated by several threads at once (for example, request's task, which is still running
+     * in other thread after request is timed out, and thread, which completes request), so counters are
+     * thread-safe.
+     */
+    public static final class DatabaseAccess {
+
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder elapsedNanos = new LongAdder();
+
+        private DatabaseAccess() {
+        }
+
+        /**
+         * @return number of executed statements (JDBC batch is counted as single statement).
+         */
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        /**
+         * @return number of read (fetched from result sets) and updated rows.
+         */
+        public long getRows() {
+            return rows.sum();
+        }
+
+        /**
+         * @return time of statements' execution (without time of reading result sets), in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos.sum();
+        }
+    }
+}
@@ -2,23 +2,34 @@ package org.alex323glo.its_simulator.config;
 
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.exception.PlanetDuplicationException;
+import org.alex323glo.its_simulator.service.GalaxyGenerator;
 import org.alex323glo.its_simulator.service.PlanetService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 @Component
+@DependsOn("idSequencesInitializingBean")
 public class DefaultPlanetsInitializingBean implements InitializingBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPlanetsInitializingBean.class);
 
+    private static final int DEFAULT_GENERATED_PLANETS = 0;
+    private static final long DEFAULT_GENERATOR_SEED = 0;
+    private static final long DEFAULT_GENERATOR_MAP_SIZE = 10_000;
+    private static final String GENERATED_PLANET_NAME_PREFIX = "G-";
+
     private final PlanetService planetService;
+    private final Environment environment;
 
     @Autowired
-    public DefaultPlanetsInitializingBean(PlanetService planetService) {
+    public DefaultPlanetsInitializingBean(PlanetService planetService, Environment environment) {
         this.planetService = planetService;
+        this.environment = environment;
     }
 
     /**
@@ -47,5 +58,34 @@ public class DefaultPlanetsInitializingBean implements InitializingBean {
         } catch (AppException e) {
             LOGGER.error("Can't initialize (prepare) System after start: " + e.getMessage(), e);
         }
+
+        generateGalaxy();
+    }
+
+    /**
+     * Registers procedurally generated Planets (if 'game.galaxy.generator.planets' is positive).
+     * Generated Planets are the same on every start (for the same seed and map size),
+     * so Planets, registered before, are skipped.
+     */
+    private void generateGalaxy() {
+        int planetsNumber = environment.getProperty("game.galaxy.generator.planets", Integer.class,
+                DEFAULT_GENERATED_PLANETS);
+        if (planetsNumber <= 0) {
+            return;
+        }
+
+        long seed = environment.getProperty("game.galaxy.generator.seed", Long.class, DEFAULT_GENERATOR_SEED);
+        long mapSize = environment.getProperty("game.galaxy.generator.map_size", Long.class,
+                DEFAULT_GENERATOR_MAP_SIZE);
+
+        try {
+            planetService.createPlanets(new GalaxyGenerator(seed, mapSize)
+                    .generate(planetsNumber, GENERATED_PLANET_NAME_PREFIX));
+
+            LOGGER.info("Successfully registered generated Planets (" + planetsNumber + " Planets, seed " +
+                    seed + ").");
+        } catch (AppException | IllegalArgumentException e) {
+            LOGGER.error("Can't register generated Planets: " + e.getMessage(), e);
+        }
     }
 }
@@ -8,10 +8,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 @Component
+@DependsOn("idSequencesInitializingBean")
 public class DefaultUserInitializingBean implements InitializingBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultUserInitializingBean.class);
@@ -0,0 +1,53 @@
+package org.alex323glo.its_simulator.config;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.service.GameMechanics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint for game mechanics coefficients.
+ *
+ * Serves such operations:
+ *  1) '/actuator/gamemechanics'
+ *      - method: GET;
+ *      - response: current game coefficients;
+ *
+ *  2) '/actuator/gamemechanics'
+ *      - method: POST (administrators only);
+ *      - body (JSON, all fields are optional): shipLevelCoefficient, timeCoefficientSeconds,
+ *          experiencePayloadCoefficient (missing ones are parsed from System's properties again);
+ *      - response: reloaded game coefficients.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see GameMechanics
+ */
+@Component
+@Endpoint(id = "gamemechanics")
+public class GameMechanicsEndpoint {
+
+    private final GameMechanics gameMechanics;
+
+    @Autowired
+    public GameMechanicsEndpoint(GameMechanics gameMechanics) {
+        this.gameMechanics = gameMechanics;
+    }
+
+    @ReadOperation
+    public GameMechanics.Coefficients coefficients() {
+        return gameMechanics.getCoefficients();
+    }
+
+    @WriteOperation
+    public GameMechanics.Coefficients reload(@Nullable Double shipLevelCoefficient,
+                                             @Nullable Double timeCoefficientSeconds,
+                                             @Nullable Double experiencePayloadCoefficient) throws AppException {
+        return gameMechanics.reload(shipLevelCoefficient, timeCoefficientSeconds, experiencePayloadCoefficient);
+    }
+}
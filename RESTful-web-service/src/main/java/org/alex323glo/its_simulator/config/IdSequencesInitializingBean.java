@@ -0,0 +1,70 @@
+package org.alex323glo.its_simulator.config;
+
+import org.alex323glo.its_simulator.model.IdGenerators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aligns ID sequences of Entities (see IdGenerators) with already saved rows after start:
+ * sequence, which would return ID of existent row (for example, sequence, created for Data Base,
+ * where IDs were generated by other sequence before), is restarted after the greatest existent ID.
+ *
+ * Must be initialized before any other bean, which saves Entities on start.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see IdGenerators
+ */
+@Component
+public class IdSequencesInitializingBean implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequencesInitializingBean.class);
+
+    private static final String SELECT_NEXT_VALUE_SQL = "select current_value + increment " +
+            "from information_schema.sequences where lower(sequence_name) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param entityManagerFactory is needed only to be sure, that Data Base schema (with sequences)
+     *                             is created (updated) before this bean.
+     */
+    @Autowired
+    public IdSequencesInitializingBean(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Invoked by a BeanFactory after it has set all bean properties supplied
+     * (and satisfied BeanFactoryAware and ApplicationContextAware).
+     *
+     * @throws Exception if initialization fails.
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Map<String, String> tablesBySequence = new LinkedHashMap<>();
+        tablesBySequence.put(IdGenerators.USERS_SEQUENCE, "users");
+        tablesBySequence.put(IdGenerators.SPACE_SHIPS_SEQUENCE, "space_ships");
+        tablesBySequence.put(IdGenerators.PLANETS_SEQUENCE, "planets");
+        tablesBySequence.put(IdGenerators.MISSIONS_SEQUENCE, "missions");
+
+        for (Map.Entry<String, String> entry : tablesBySequence.entrySet()) {
+            String sequence = entry.getKey();
+            Long maxId = jdbcTemplate.queryForObject("select max(id) from " + entry.getValue(), Long.class);
+            Long nextValue = jdbcTemplate.queryForObject(SELECT_NEXT_VALUE_SQL, Long.class, sequence);
+            if (maxId != null && nextValue != null && nextValue <= maxId) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+                LOGGER.info("Successfully restarted ID sequence '" + sequence + "' after existent ID " + maxId + ".");
+            }
+        }
+    }
+}
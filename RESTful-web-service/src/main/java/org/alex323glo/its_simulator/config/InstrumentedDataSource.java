@@ -0,0 +1,155 @@
+package org.alex323glo.its_simulator.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource, which reports every executed statement (with number of updated rows and time of execution)
+ * and every row, read from result set, to DatabaseAccessRecorder.
+ *
+ * Connections, statements and result sets of target DataSource are wrapped into JDK dynamic proxies,
+ * so all clients of DataSource (Hibernate, JdbcTemplate) are instrumented.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DatabaseAccessRecorder
+ * @see DataSourceConfiguration
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public InstrumentedDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static ResultSet instrumentedResultSet(ResultSet resultSet) {
+        return resultSet == null ? null : proxy(ResultSet.class, new ResultSetHandler(resultSet));
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // proxy is equal only to itself (connections are compared by transaction infrastructure):
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            Object result = InstrumentedDataSource.invoke(connection, method, args);
+            if (result instanceof Statement) {
+                // Statement, PreparedStatement or CallableStatement (declared return type of method):
+                @SuppressWarnings("unchecked")
+                Class<Statement> statementType = (Class<Statement>) method.getReturnType();
+                return proxy(statementType, new StatementHandler((Statement) result));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+
+        private StatementHandler(Statement statement) {
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute") || !DatabaseAccessRecorder.isRecording()) {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                return result instanceof ResultSet ? instrumentedResultSet((ResultSet) result) : result;
+            }
+
+            long startTime = System.nanoTime();
+            long rows = 0;
+            try {
+                Object result = InstrumentedDataSource.invoke(statement, method, args);
+                if (result instanceof ResultSet) {
+                    return instrumentedResultSet((ResultSet) result);
+                }
+                rows = updatedRows(result);
+                return result;
+            } finally {
+                DatabaseAccessRecorder.recordStatement(rows, System.nanoTime() - startTime);
+            }
+        }
+
+        private static long updatedRows(Object result) {
+            if (result instanceof Integer || result instanceof Long) {
+                return Math.max(0, ((Number) result).longValue());
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int updateCount : (int[]) result) {
+                    rows += Math.max(0, updateCount);
+                }
+            } else if (result instanceof long[]) {
+                for (long updateCount : (long[]) result) {
+                    rows += Math.max(0, updateCount);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+
+        private ResultSetHandler(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                DatabaseAccessRecorder.recordRows(1);
+            }
+            return result;
+        }
+    }
+}
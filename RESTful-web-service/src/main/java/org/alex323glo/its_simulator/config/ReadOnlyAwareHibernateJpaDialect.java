@@ -0,0 +1,83 @@
+package org.alex323glo.its_simulator.config;
+
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+/**
+ * HibernateJpaDialect, which also makes Hibernate Session read-only during read-only transactions.
+ *
+ * Besides of MANUAL flush mode (already set by HibernateJpaDialect), Entities, loaded in read-only
+ * transaction, are loaded as read-only ones: Hibernate doesn't keep their snapshots for dirty checking.
+ * Session, which outlives transaction (EntityManager, bound before transaction, for example, in
+ * "open EntityManager in view" mode), isn't switched to read-only mode: its Entities can be modified
+ * by following read-write transactions of the same request.
+ * That's why "open EntityManager in view" mode is disabled ('spring.jpa.open-in-view' property):
+ * otherwise read-only transactions of web requests would keep snapshots too.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see TransactionManagementConfiguration
+ */
+public class ReadOnlyAwareHibernateJpaDialect extends HibernateJpaDialect {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || isPreBound(entityManager)) {
+            return transactionData;
+        }
+
+        Session session = getSession(entityManager);
+        ReadOnlyTransactionData readOnlyTransactionData =
+                new ReadOnlyTransactionData(transactionData, session, session.isDefaultReadOnly());
+        session.setDefaultReadOnly(true);
+        return readOnlyTransactionData;
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData) {
+            ReadOnlyTransactionData readOnlyTransactionData = (ReadOnlyTransactionData) transactionData;
+            readOnlyTransactionData.session.setDefaultReadOnly(readOnlyTransactionData.previousDefaultReadOnly);
+            super.cleanupTransaction(readOnlyTransactionData.transactionData);
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private static boolean isPreBound(EntityManager entityManager) {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder &&
+                    ((EntityManagerHolder) resource).getEntityManager() == entityManager) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ReadOnlyTransactionData {
+
+        private final Object transactionData;
+        private final Session session;
+        private final boolean previousDefaultReadOnly;
+
+        private ReadOnlyTransactionData(Object transactionData, Session session, boolean previousDefaultReadOnly) {
+            this.transactionData = transactionData;
+            this.session = session;
+            this.previousDefaultReadOnly = previousDefaultReadOnly;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource, which routes connections of read-only transactions to read replica of Data Base,
+ * and all other connections (read-write transactions, work without transaction) to primary Data Base.
+ *
+ * Decision is made, when connection is requested, so this DataSource must be wrapped into
+ * LazyConnectionDataSourceProxy: then connection is requested only by first statement of transaction,
+ * when transaction's read-only flag is already known (see DataSourceConfiguration).
+ *
+ * Replica may lag behind primary, so reads of read-only transactions aren't read-your-writes: data, committed
+ * by previous read-write transaction, may be not visible yet. Methods, which must see the latest data
+ * (for example, loading of just registered User for authentication, or restoring of Mission deadlines),
+ * must not be marked as read-only.
+ *
+ * Every decision is counted by 'datasource.routing' counter (tagged by 'target': 'primary' or 'replica').
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DataSourceConfiguration
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final String ROUTING_METER_NAME = "datasource.routing";
+
+    private final Counter primaryCounter;
+    private final Counter replicaCounter;
+
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                                        MeterRegistry meterRegistry) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primaryDataSource);
+        targetDataSources.put(REPLICA, replicaDataSource);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+
+        this.primaryCounter = meterRegistry.counter(ROUTING_METER_NAME, "target", PRIMARY);
+        this.replicaCounter = meterRegistry.counter(ROUTING_METER_NAME, "target", REPLICA);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive() &&
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            replicaCounter.increment();
+            return REPLICA;
+        }
+        primaryCounter.increment();
+        return PRIMARY;
+    }
+}
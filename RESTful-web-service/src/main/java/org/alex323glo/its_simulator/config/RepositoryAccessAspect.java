@@ -0,0 +1,86 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alex323glo.its_simulator.config.DatabaseAccessRecorder.DatabaseAccess;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect, which records Data Base access of every call of repository method (repositories of
+ * 'org.alex323glo.its_simulator.repository' package).
+ *
+ * Data Base access of call is published as histograms, tagged by repository method
+ * (for example, 'MissionRepository.findMissionsPage'): 'db.repository.statements', 'db.repository.rows'
+ * and 'db.repository.time'. Statements of lazy loading, caused by returned Entities, aren't counted here
+ * (they are counted by request, see DatabaseAccessInterceptor).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see DatabaseAccessRecorder
+ */
+@Aspect
+@Component
+public class RepositoryAccessAspect {
+
+    private static final String REPOSITORY_PACKAGE = "org.alex323glo.its_simulator.repository";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RepositoryAccessAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryAccess(ProceedingJoinPoint joinPoint) throws Throwable {
+        DatabaseAccess databaseAccess = DatabaseAccessRecorder.start();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DatabaseAccessRecorder.stop(databaseAccess);
+
+            String method = repositoryName(joinPoint.getTarget().getClass()) + "." +
+                    joinPoint.getSignature().getName();
+            DistributionSummary.builder("db.repository.statements")
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(databaseAccess.getStatements());
+            DistributionSummary.builder("db.repository.rows")
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(databaseAccess.getRows());
+            Timer.builder("db.repository.time")
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(databaseAccess.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return simple name of repository interface, implemented by target (Spring Data proxy) class.
+     */
+    private String repositoryName(Class<?> targetClass) {
+        return repositoryNames.computeIfAbsent(targetClass, type -> {
+            for (Class<?> repositoryInterface : type.getInterfaces()) {
+                if (repositoryInterface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package org.alex323glo.its_simulator.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Main Scheduling configuration class
+ * (enables background tasks: automatic completion of Missions, archiving of finished Missions
+ * and heartbeats of status events).
+ *
+ * Scheduler has a thread per background task, so every task runs in its own thread, and long
+ * (self-throttled) archiving doesn't delay completion of Missions or heartbeats.
+ * POOL_SIZE must be changed together with number of @Scheduled methods.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+    // MissionCompletionScheduler, MissionArchivingScheduler and StatusEventBroker (heartbeats):
+    private static final int POOL_SIZE = 3;
+
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(POOL_SIZE);
+        taskScheduler.setThreadNamePrefix("scheduling-");
+        return taskScheduler;
+    }
+}
@@ -0,0 +1,60 @@
+package org.alex323glo.its_simulator.config;
+
+import org.alex323glo.its_simulator.controller.StatusEventsWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Status events configuration class
+ * (enables WebSocket endpoint of status events and defines pool of threads, which deliver status events).
+ *
+ * Connections (Server-Sent Events streams and WebSocket sessions) don't hold threads, while they are idle:
+ * buffered events of connections are written by 'game.events.delivery.pool_size' shared threads.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.service.StatusEventBroker
+ */
+@Configuration
+@EnableWebSocket
+public class StatusEventsConfiguration implements WebSocketConfigurer {
+
+    private static final int DEFAULT_DELIVERY_POOL_SIZE = 4;
+
+    private final Environment environment;
+    private final StatusEventsWebSocketHandler statusEventsWebSocketHandler;
+
+    // handler is lazy: it depends (through StatusEventBroker) on executor, defined by this configuration
+    @Autowired
+    public StatusEventsConfiguration(Environment environment,
+                                     @Lazy StatusEventsWebSocketHandler statusEventsWebSocketHandler) {
+        this.environment = environment;
+        this.statusEventsWebSocketHandler = statusEventsWebSocketHandler;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor statusEventsExecutor() {
+        int poolSize = Math.max(1, environment.getProperty("game.events.delivery.pool_size", Integer.class,
+                DEFAULT_DELIVERY_POOL_SIZE));
+
+        // queue is unbounded, but holds at most one task per connection (see StatusEventBroker):
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("status-events-");
+        return executor;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(statusEventsWebSocketHandler, "/private/events/ws");
+    }
+}
@@ -0,0 +1,87 @@
+package org.alex323glo.its_simulator.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ContextAttributes;
+import org.alex323glo.its_simulator.util.TimestampFormat;
+import org.springframework.boot.actuate.endpoint.http.ActuatorMediaType;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timestamp format negotiation configuration class.
+ *
+ * Registers JSON converter per compact TimestampFormat (with vendor media type, see TimestampFormat),
+ * so clients choose format of timestamps by 'Accept' header. Default JSON converter serves only
+ * 'application/json' (legacy OBJECT format of front-end) and media type of Actuator's endpoints, so requests
+ * with wildcard 'Accept' header still get legacy format.
+ *
+ * Converters are global, so besides of JSON, response bodies of all endpoints (except of streamed ones, such as
+ * exports and events) can be requested in binary formats: CBOR ('application/cbor') or Smile
+ * ('application/x-jackson-smile'), which converters are registered by Spring MVC. Binary formats don't repeat
+ * field names as text, so they are much smaller and faster to parse for long lists (of Missions, Planets
+ * or SpaceShips). They always write timestamps as EPOCH_MILLIS.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer
+ */
+@Configuration
+public class TimestampFormatConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2HttpMessageConverter defaultConverter = null;
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                defaultConverter = (MappingJackson2HttpMessageConverter) converter;
+                break;
+            }
+        }
+        if (defaultConverter == null) {
+            throw new IllegalStateException("Can't configure timestamp formats: no JSON converter was registered.");
+        }
+
+        // vendor media types (application/vnd.*+json) of timestamp formats mustn't be served by default converter
+        // (but media type of Actuator's endpoints must, as they prefer it to 'application/json'):
+        defaultConverter.setSupportedMediaTypes(Arrays.asList(MediaType.APPLICATION_JSON,
+                MediaType.APPLICATION_JSON_UTF8, MediaType.valueOf(ActuatorMediaType.V2_JSON)));
+
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter &&
+                    !(converter instanceof MappingJackson2HttpMessageConverter)) {
+                setTimestampFormat(((AbstractJackson2HttpMessageConverter) converter).getObjectMapper(),
+                        TimestampFormat.EPOCH_MILLIS);
+            }
+        }
+
+        for (TimestampFormat format : TimestampFormat.values()) {
+            if (format.getMediaType() != null) {
+                converters.add(createConverter(defaultConverter.getObjectMapper(), format));
+            }
+        }
+    }
+
+    private static MappingJackson2HttpMessageConverter createConverter(ObjectMapper defaultObjectMapper,
+                                                                       TimestampFormat format) {
+        ObjectMapper objectMapper = defaultObjectMapper.copy();
+        setTimestampFormat(objectMapper, format);
+
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        converter.setSupportedMediaTypes(Collections.singletonList(MediaType.valueOf(format.getMediaType())));
+        return converter;
+    }
+
+    private static void setTimestampFormat(ObjectMapper objectMapper, TimestampFormat format) {
+        objectMapper.setConfig(objectMapper.getSerializationConfig().with(ContextAttributes.getEmpty()
+                .withSharedAttribute(TimestampFormat.ATTRIBUTE, format)));
+    }
+}
@@ -11,6 +11,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * Main Transaction management's configuration class
  * (holds bean factory of PlatformTransactionManager bean).
  *
+ * Read-only transactions don't flush Hibernate Session and don't keep snapshots
+ * of loaded Entities (see ReadOnlyAwareHibernateJpaDialect).
+ *
  * @author Alexey_O
  * @version 0.1
  */
@@ -20,6 +23,8 @@ public class TransactionManagementConfiguration {
 
     @Bean
     public PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean factoryBean) {
+        // is used by transaction manager too (transaction manager takes JpaDialect of EntityManagerFactory):
+        factoryBean.setJpaDialect(new ReadOnlyAwareHibernateJpaDialect());
         return new JpaTransactionManager(factoryBean.getObject());
     }
 
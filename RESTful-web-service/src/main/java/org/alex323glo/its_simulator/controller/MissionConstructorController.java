@@ -1,23 +1,35 @@
 package org.alex323glo.its_simulator.controller;
 
+import org.alex323glo.its_simulator.config.Bulkhead;
 import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
 import org.alex323glo.its_simulator.model.game.MissionMetrics;
-import org.alex323glo.its_simulator.model.game.Planet;
-import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.MissionRoute;
 import org.alex323glo.its_simulator.service.MissionService;
+import org.alex323glo.its_simulator.service.PlanetCatalog;
 import org.alex323glo.its_simulator.service.PlanetService;
 import org.alex323glo.its_simulator.service.SpaceShipService;
-import org.alex323glo.its_simulator.util.CircularityResolver;
+import org.alex323glo.its_simulator.util.PlanetCatalogETag;
+import org.alex323glo.its_simulator.util.ResponseMediaTypeNegotiator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Mission Constructor REST Controller.
@@ -29,13 +41,15 @@ import java.util.List;
  *  1) '/private/mission-constructor/planet-list'
  *      - method: GET;
  *      - params: no;
- *      - response: OK (200) with List of Planets as body;
+ *      - headers: If-None-Match (optional, ETag of previous response);
+ *      - response: OK (200) with List of Planet DTOs as body (and ETag of Planet catalog's version),
+ *          or NOT_MODIFIED (304) without body, if Planets weren't changed since previous response;
  *      - must be authenticated!
  *
  *  2) '/private/mission-constructor/free-ship-list'
  *      - method: GET;
  *      - params: no;
- *      - response: OK (200) with List of SpaceShips (with FREE status) as body;
+ *      - response: OK (200) with List of SpaceShip DTOs (with FREE status) as body;
  *      - must be authenticated!
  *
  *  3) '/private/mission-constructor/analyze'
@@ -47,9 +61,20 @@ import java.util.List;
  *  4) '/private/mission-constructor/construct'
  *      - method: POST;
  *      - params: start, destination, ship, payload (see analyzeMission() method for details);
- *      - response: OK (200) with Mission object as body;
+ *      - response: OK (200) with Mission DTO as body;
  *      - must be authenticated!
  *
+ *  5) '/private/mission-constructor/route'
+ *      - method: GET;
+ *      - params: start, destination, ship (see analyzeMission() method for details);
+ *      - response: OK (200) with MissionRoute object (the fastest multi-hop route) as body,
+ *          or NOT_FOUND (404), if SpaceShip or some of Planets doesn't exist or destination is unreachable;
+ *      - must be authenticated!
+ *
+ * Requests (except of '/planet-list', which is served from memory) are served asynchronously
+ * by 'missionConstructorBulkhead' (see ControllerBulkheadsConfiguration): if it's overloaded,
+ * requests fail fast with SERVICE UNAVAILABLE (503) status.
+ *
  * @author Alexey_O
  * @version 0.1
  */
@@ -62,137 +87,192 @@ public class MissionConstructorController {
     private final PlanetService planetService;
     private final SpaceShipService spaceShipService;
     private final MissionService missionService;
+    private final Bulkhead missionConstructorBulkhead;
+    private final ResponseMediaTypeNegotiator responseMediaTypeNegotiator;
 
     @Autowired
-    public MissionConstructorController(PlanetService planetService, SpaceShipService spaceShipService, MissionService missionService) {
+    public MissionConstructorController(PlanetService planetService, SpaceShipService spaceShipService, MissionService missionService,
+                                        @Qualifier("missionConstructorBulkhead") Bulkhead missionConstructorBulkhead,
+                                        ResponseMediaTypeNegotiator responseMediaTypeNegotiator) {
         this.planetService = planetService;
         this.spaceShipService = spaceShipService;
         this.missionService = missionService;
+        this.missionConstructorBulkhead = missionConstructorBulkhead;
+        this.responseMediaTypeNegotiator = responseMediaTypeNegotiator;
     }
 
     @GetMapping("/planet-list")
-    public ResponseEntity<?> getAllPlanets(Principal principal) {
+    public ResponseEntity<?> getAllPlanets(Principal principal, NativeWebRequest webRequest)
+            throws HttpMediaTypeNotAcceptableException {
+
         LOGGER.info("Serving '/private/mission-constructor/planet-list' endpoint (GET request)...");
         if (principal == null) {
             LOGGER.warn("Non-authorized User tries to access private info!");
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
-        try {
-            List<Planet> planetList = planetService.findAllPlanets();
-
+        PlanetCatalog planetCatalog = planetService.getPlanetCatalog();
+        MediaType mediaType = responseMediaTypeNegotiator.negotiate(webRequest, List.class);
+        String eTag = PlanetCatalogETag.of(planetCatalog.getVersion(), mediaType);
+        if (webRequest.checkNotModified(eTag)) {
             LOGGER.info("Successfully served '/private/mission-constructor/planet-list' endpoint " +
-                    "(send List of Planets to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(planetList, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                    "(List of Planets of '" + principal.getName() + "' user is not modified).");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(PlanetCatalogETag.cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
         }
+
+        List<PlanetDTO> planetList = planetCatalog.getPlanets().stream()
+                .map(PlanetDTO::of)
+                .collect(Collectors.toList());
+
+        LOGGER.info("Successfully served '/private/mission-constructor/planet-list' endpoint " +
+                "(send List of Planets to '" + principal.getName() + "' user).");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(PlanetCatalogETag.cacheControl())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(planetList);
     }
 
     @GetMapping("/free-ship-list")
-    public ResponseEntity<?> getAllFreeShips(Principal principal) {
-        LOGGER.info("Serving '/private/mission-constructor/planet-list' endpoint (GET request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
-
-        try {
+    public CompletableFuture<ResponseEntity<?>> getAllFreeShips(Principal principal) {
+        return missionConstructorBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission-constructor/planet-list' endpoint (GET request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-            List<SpaceShip> freeSpaceShipList = spaceShipService.findAllFreeShips(principal.getName());
+            try {
 
-            freeSpaceShipList.forEach(ship -> {
-                ship.setUserGameProfile(null);
-            });
+                List<SpaceShipDTO> freeSpaceShipList = spaceShipService.findAllFreeShipDTOs(principal.getName());
 
-            LOGGER.info("Successfully served '/private/mission-constructor/planet-list' endpoint " +
-                    "(send List of free SpaceShips to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(freeSpaceShipList, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+                LOGGER.info("Successfully served '/private/mission-constructor/planet-list' endpoint " +
+                        "(send List of free SpaceShips to '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(freeSpaceShipList, HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
     @GetMapping("/analyze")
-    public ResponseEntity<?> analyzeMission(
+    public CompletableFuture<ResponseEntity<?>> analyzeMission(
             @RequestParam(name = "start") String startPlanetName,
             @RequestParam(name = "destination") String destinationPlanetName,
             @RequestParam(name = "ship") String spaceShipName,
             @RequestParam(name = "payload") String payload,
             Principal principal) {
-        LOGGER.info("Serving '/private/mission-constructor/analyze' endpoint (GET request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+        return missionConstructorBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission-constructor/analyze' endpoint (GET request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        Double convertedPayload = null;
-        try {
-            convertedPayload = Double.valueOf(payload);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission payload was sent.", HttpStatus.BAD_REQUEST);
-        }
+            Double convertedPayload = null;
+            try {
+                convertedPayload = Double.valueOf(payload);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission payload was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-        try {
+            try {
 
-            MissionMetrics missionMetrics = missionService.generateMissionMetrics(
-                    principal.getName(),
-                    startPlanetName,
-                    destinationPlanetName,
-                    spaceShipName,
-                    convertedPayload);
+                MissionMetrics missionMetrics = missionService.generateMissionMetrics(
+                        principal.getName(),
+                        startPlanetName,
+                        destinationPlanetName,
+                        spaceShipName,
+                        convertedPayload);
 
-            LOGGER.info("Successfully served '/private/mission-constructor/analyze' endpoint " +
-                    "(send calculated MissionMetrics to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(missionMetrics, HttpStatus.OK);
+                LOGGER.info("Successfully served '/private/mission-constructor/analyze' endpoint " +
+                        "(send calculated MissionMetrics to '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(missionMetrics, HttpStatus.OK);
 
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
-    @PostMapping("/construct")
-    public ResponseEntity<?> constructNewMission(
+    @GetMapping("/route")
+    public CompletableFuture<ResponseEntity<?>> planMissionRoute(
             @RequestParam(name = "start") String startPlanetName,
             @RequestParam(name = "destination") String destinationPlanetName,
             @RequestParam(name = "ship") String spaceShipName,
-            @RequestParam(name = "payload") String payload,
             Principal principal) {
+        return missionConstructorBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission-constructor/route' endpoint (GET request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        LOGGER.info("Serving '/private/mission-constructor/construct' endpoint (POST request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            try {
 
-        Double convertedPayload = null;
-        try {
-            convertedPayload = Double.valueOf(payload);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission payload was sent.", HttpStatus.BAD_REQUEST);
-        }
+                MissionRoute missionRoute = missionService.generateMissionRoute(
+                        principal.getName(),
+                        startPlanetName,
+                        destinationPlanetName,
+                        spaceShipName);
+
+                if (missionRoute == null) {
+                    LOGGER.warn("Can't serve '/private/mission-constructor/route' endpoint: route wasn't found.");
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+
+                LOGGER.info("Successfully served '/private/mission-constructor/route' endpoint " +
+                        "(send planned MissionRoute to '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(missionRoute, HttpStatus.OK);
 
-        try {
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    @PostMapping("/construct")
+    public CompletableFuture<ResponseEntity<?>> constructNewMission(
+            @RequestParam(name = "start") String startPlanetName,
+            @RequestParam(name = "destination") String destinationPlanetName,
+            @RequestParam(name = "ship") String spaceShipName,
+            @RequestParam(name = "payload") String payload,
+            Principal principal) {
+        return missionConstructorBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission-constructor/construct' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-            Mission mission = missionService.constructNewMission(principal.getName(),
-                    startPlanetName, destinationPlanetName, spaceShipName, convertedPayload);
+            Double convertedPayload = null;
+            try {
+                convertedPayload = Double.valueOf(payload);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission payload was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-            mission.setUserGameProfile(
-                    CircularityResolver.resolveLazyGameProfile(
-                            mission.getUserGameProfile()));
+            try {
 
-            LOGGER.info("Successfully served '/private/mission-constructor/construct' endpoint " +
-                    "(construct and send new Mission to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(mission, HttpStatus.OK);
+                Mission mission = missionService.constructNewMission(principal.getName(),
+                        startPlanetName, destinationPlanetName, spaceShipName, convertedPayload);
 
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+                LOGGER.info("Successfully served '/private/mission-constructor/construct' endpoint " +
+                        "(construct and send new Mission to '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(MissionDTO.of(mission), HttpStatus.OK);
+
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 }
@@ -1,16 +1,23 @@
 package org.alex323glo.its_simulator.controller;
 
+import org.alex323glo.its_simulator.config.Bulkhead;
 import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionBatchResult;
 import org.alex323glo.its_simulator.service.MissionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Mission REST Controller.
@@ -21,27 +28,48 @@ import java.security.Principal;
  *  1) '/private/mission/details'
  *      - method: GET;
  *      - params: id (of mission);
- *      - response: OK (200) with Mission object as body;
+ *      - response: OK (200) with Mission DTO as body;
  *      - must be authenticated!
  *
  *  2) '/private/mission/start'
  *      - method: POST;
  *      - params: id (of mission);
- *      - response: OK (200) with Mission object as body;
+ *      - response: OK (200) with Mission DTO as body;
  *      - must be authenticated!
  *
  *  3) '/private/mission/cancel'
  *      - method: POST;
  *      - params: id (of mission);
- *      - response: OK (200) with Mission object as body;
+ *      - response: OK (200) with Mission DTO as body;
  *      - must be authenticated!
  *
  *  4) '/private/mission/complete'
  *      - method: POST;
  *      - params: id (of mission);
- *      - response: OK (200) with Mission object as body;
+ *      - response: OK (200) with Mission DTO as body;
  *      - must be authenticated!
  *
+ *  5) '/private/mission/start-batch'
+ *      - method: POST;
+ *      - params: ids (of missions, comma separated or repeated);
+ *      - response: OK (200) with List of MissionBatchResult objects as body;
+ *      - must be authenticated!
+ *
+ *  6) '/private/mission/cancel-batch'
+ *      - method: POST;
+ *      - params: ids (of missions, comma separated or repeated);
+ *      - response: OK (200) with List of MissionBatchResult objects as body;
+ *      - must be authenticated!
+ *
+ *  7) '/private/mission/complete-batch'
+ *      - method: POST;
+ *      - params: ids (of missions, comma separated or repeated);
+ *      - response: OK (200) with List of MissionBatchResult objects as body;
+ *      - must be authenticated!
+ *
+ * Requests are served asynchronously by 'missionBulkhead' (see ControllerBulkheadsConfiguration):
+ * if it's overloaded, requests fail fast with SERVICE UNAVAILABLE (503) status.
+ *
  * @author Alexey_O
  * @version 0.1
  */
@@ -52,166 +80,260 @@ public class MissionController {
     private static final Logger LOGGER = LoggerFactory.getLogger(MissionController.class);
 
     private final MissionService missionService;
+    private final Bulkhead missionBulkhead;
 
     @Autowired
-    public MissionController(MissionService missionService) {
+    public MissionController(MissionService missionService, @Qualifier("missionBulkhead") Bulkhead missionBulkhead) {
         this.missionService = missionService;
+        this.missionBulkhead = missionBulkhead;
     }
 
     @GetMapping("/details")
-    public ResponseEntity<?> getMission(
+    public CompletableFuture<ResponseEntity<?>> getMission(
             @RequestParam(name = "id") String missionId,
             Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/details' endpoint (GET request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        LOGGER.info("Serving '/private/mission/details' endpoint (GET request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            Long convertedMissionId = null;
+            try {
+                convertedMissionId = Long.valueOf(missionId);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-        Long convertedMissionId = null;
-        try {
-            convertedMissionId = Long.valueOf(missionId);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
-        }
+            try {
+                MissionDTO mission = missionService.findMissionDTO(principal.getName(), convertedMissionId);
 
-        try {
-            Mission mission = missionService.findMission(principal.getName(), convertedMissionId);
+                if (mission == null) {
+                    LOGGER.warn("Can't find such mission in Data Base.");
+                    return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+                }
 
-            if (mission == null) {
-                LOGGER.warn("Can't find such mission in Data Base.");
-                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+                LOGGER.info("Successfully served '/private/mission/details' endpoint " +
+                        "(send Mission to '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(mission, HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
-
-            mission.setUserGameProfile(null);
-            mission.getSpaceShip().setUserGameProfile(null);
-
-            LOGGER.info("Successfully served '/private/mission/details' endpoint " +
-                    "(send Mission to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(mission, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+        });
     }
 
     @PostMapping("/start")
-    public ResponseEntity<?> startMission(
+    public CompletableFuture<ResponseEntity<?>> startMission(
             @RequestParam(name = "id") String missionId,
             Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/start' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        LOGGER.info("Serving '/private/mission/start' endpoint (POST request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            Long convertedMissionId = null;
+            try {
+                convertedMissionId = Long.valueOf(missionId);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-        Long convertedMissionId = null;
-        try {
-            convertedMissionId = Long.valueOf(missionId);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
-        }
+            try {
+                Mission startedMission = missionService.startMission(principal.getName(), convertedMissionId);
+                if (startedMission == null) {
+                    LOGGER.warn("Can't find such mission in Data Base.");
+                    return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+                }
+
+                LOGGER.info("Successfully served '/private/mission/start' endpoint " +
+                        "(start Mission of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(MissionDTO.of(startedMission), HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
 
-        try {
-            Mission mission = missionService.findMission(principal.getName(), convertedMissionId);
-            if (mission == null) {
-                LOGGER.warn("Can't find such mission in Data Base.");
-                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+    @PostMapping("/cancel")
+    public CompletableFuture<ResponseEntity<?>> cancelMission(
+            @RequestParam(name = "id") String missionId,
+            Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/cancel' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
             }
 
-            Mission startedMission = missionService.startMission(principal.getName(), mission);
-            startedMission.setUserGameProfile(null);
-            startedMission.getSpaceShip().setUserGameProfile(null);
+            Long convertedMissionId = null;
+            try {
+                convertedMissionId = Long.valueOf(missionId);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-            LOGGER.info("Successfully served '/private/mission/start' endpoint " +
-                    "(start Mission of '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(startedMission, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+            try {
+                Mission canceledMission = missionService.cancelMission(principal.getName(), convertedMissionId);
+                if (canceledMission == null) {
+                    LOGGER.warn("Can't find such mission in Data Base.");
+                    return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+                }
+
+                LOGGER.info("Successfully served '/private/mission/cancel' endpoint " +
+                        "(cancel Mission of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(MissionDTO.of(canceledMission), HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
-    @PostMapping("/cancel")
-    public ResponseEntity<?> cancelMission(
+    @PostMapping("/complete")
+    public CompletableFuture<ResponseEntity<?>> completeMission(
             @RequestParam(name = "id") String missionId,
             Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/complete' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        LOGGER.info("Serving '/private/mission/cancel' endpoint (POST request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            Long convertedMissionId = null;
+            try {
+                convertedMissionId = Long.valueOf(missionId);
+            } catch (NumberFormatException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-        Long convertedMissionId = null;
-        try {
-            convertedMissionId = Long.valueOf(missionId);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
-        }
+            try {
+                Mission completedMission = missionService.completeMission(principal.getName(), convertedMissionId);
+                if (completedMission == null) {
+                    LOGGER.warn("Can't find such mission in Data Base.");
+                    return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+                }
+
+                LOGGER.info("Successfully served '/private/mission/complete' endpoint " +
+                        "(complete Mission of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(MissionDTO.of(completedMission), HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
 
-        try {
-            Mission mission = missionService.findMission(principal.getName(), convertedMissionId);
-            if (mission == null) {
-                LOGGER.warn("Can't find such mission in Data Base.");
-                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+    @PostMapping("/start-batch")
+    public CompletableFuture<ResponseEntity<?>> startMissions(
+            @RequestParam(name = "ids") List<String> missionIds,
+            Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/start-batch' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
+
+            List<Long> convertedMissionIds = convertMissionIds(missionIds);
+            if (convertedMissionIds == null) {
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
             }
 
-            Mission canceledMission = missionService.cancelMission(principal.getName(), mission);
-            canceledMission.setUserGameProfile(null);
-            canceledMission.getSpaceShip().setUserGameProfile(null);
+            try {
+                List<MissionBatchResult> results = missionService.startMissions(principal.getName(),
+                        convertedMissionIds);
 
-            LOGGER.info("Successfully served '/private/mission/cancel' endpoint " +
-                    "(cancel Mission of '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(canceledMission, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
-        }
+                LOGGER.info("Successfully served '/private/mission/start-batch' endpoint " +
+                        "(start batch of Missions of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(results, HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
-    @PostMapping("/complete")
-    public ResponseEntity<?> completeMission(
-            @RequestParam(name = "id") String missionId,
+    @PostMapping("/cancel-batch")
+    public CompletableFuture<ResponseEntity<?>> cancelMissions(
+            @RequestParam(name = "ids") List<String> missionIds,
             Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/cancel-batch' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
 
-        LOGGER.info("Serving '/private/mission/complete' endpoint (POST request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        }
+            List<Long> convertedMissionIds = convertMissionIds(missionIds);
+            if (convertedMissionIds == null) {
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
+            }
 
-        Long convertedMissionId = null;
-        try {
-            convertedMissionId = Long.valueOf(missionId);
-        } catch (NumberFormatException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
-        }
+            try {
+                List<MissionBatchResult> results = missionService.cancelMissions(principal.getName(),
+                        convertedMissionIds);
+
+                LOGGER.info("Successfully served '/private/mission/cancel-batch' endpoint " +
+                        "(cancel batch of Missions of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(results, HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
 
-        try {
-            Mission mission = missionService.findMission(principal.getName(), convertedMissionId);
-            if (mission == null) {
-                LOGGER.warn("Can't find such mission in Data Base.");
-                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.NOT_FOUND);
+    @PostMapping("/complete-batch")
+    public CompletableFuture<ResponseEntity<?>> completeMissions(
+            @RequestParam(name = "ids") List<String> missionIds,
+            Principal principal) {
+        return missionBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/mission/complete-batch' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            }
+
+            List<Long> convertedMissionIds = convertMissionIds(missionIds);
+            if (convertedMissionIds == null) {
+                return new ResponseEntity<>("Wrong mission ID was sent.", HttpStatus.BAD_REQUEST);
             }
 
-            Mission completedMission = missionService.completeMission(principal.getName(), mission);
-            completedMission.setUserGameProfile(null);
-            completedMission.getSpaceShip().setUserGameProfile(null);
+            try {
+                List<MissionBatchResult> results = missionService.completeMissions(principal.getName(),
+                        convertedMissionIds);
 
-            LOGGER.info("Successfully served '/private/mission/complete' endpoint " +
-                    "(complete Mission of '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(completedMission, HttpStatus.OK);
-        } catch (AppException e) {
-            LOGGER.error(e.getMessage(), e);
-            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                LOGGER.info("Successfully served '/private/mission/complete-batch' endpoint " +
+                        "(complete batch of Missions of '" + principal.getName() + "' user).");
+                return new ResponseEntity<>(results, HttpStatus.OK);
+            } catch (AppException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    private List<Long> convertMissionIds(List<String> missionIds) {
+        List<Long> convertedMissionIds = new ArrayList<>(missionIds.size());
+        for (String missionId : missionIds) {
+            try {
+                convertedMissionIds.add(Long.valueOf(missionId.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Wrong mission ID was sent: '" + missionId + "'.");
+                return null;
+            }
         }
+        return convertedMissionIds;
     }
 
 }
@@ -1,19 +1,34 @@
 package org.alex323glo.its_simulator.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alex323glo.its_simulator.config.DatabaseAccessBudget;
 import org.alex323glo.its_simulator.exception.AppException;
-import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionCursor;
+import org.alex323glo.its_simulator.model.game.MissionPage;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
 import org.alex323glo.its_simulator.service.MissionService;
+import org.alex323glo.its_simulator.util.MissionExportFormat;
+import org.alex323glo.its_simulator.util.MissionExportWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Mission Management REST Controller.
@@ -23,8 +38,22 @@ import java.util.List;
  * Serves such endpoints:
  *  1) '/private/mission-management/missions'
  *      - method: GET;
- *      - params: no;
- *      - response: OK (200) with List of Missions as body;
+ *      - params (all are optional):
+ *          cursor - value of 'X-Next-Cursor' header of previous page (first page is returned without it),
+ *          limit - maximal number of Missions on page,
+ *          status - needed status of Missions (may be repeated; all statuses are returned without it);
+ *      - response: OK (200) with List of Mission DTOs (page of User's Missions, newest first) as body
+ *          and 'X-Next-Cursor' header (only if next page exists);
+ *      - must be authenticated!
+ *
+ *  2) '/private/mission-management/missions/export'
+ *      - method: GET;
+ *      - params (all are optional):
+ *          format - 'ndjson' (newline delimited JSON, default) or 'csv',
+ *          status - needed status of Missions (may be repeated; all statuses are returned without it);
+ *      - headers: Accept-Encoding (optional, content is compressed on the fly, if 'gzip' is accepted);
+ *      - response: OK (200) with whole User's Mission history (newest first) as streamed attachment
+ *          ('missions.ndjson' or 'missions.csv');
  *      - must be authenticated!
  *
  * @author Alexey_O
@@ -36,38 +65,167 @@ public class MissionManagementController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MissionManagementController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private final MissionService missionService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public MissionManagementController(MissionService missionService) {
+    public MissionManagementController(MissionService missionService, ObjectMapper objectMapper) {
         this.missionService = missionService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/missions")
-    public ResponseEntity<List<Mission>> getMissionsList(Principal principal) {
+    @DatabaseAccessBudget(statements = 2)
+    public ResponseEntity<?> getMissionsList(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) String limit,
+            @RequestParam(name = "status", required = false) List<String> statuses,
+            Principal principal) {
         LOGGER.info("Serving '/private/mission-management/missions' endpoint (GET request)...");
         if (principal == null) {
             LOGGER.warn("Non-authorized User tries to access private info (List of User's Missions)!");
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
+        MissionCursor convertedCursor = null;
+        Integer convertedLimit = null;
+        List<MissionStatus> convertedStatuses = new ArrayList<>();
+        try {
+            if (cursor != null) {
+                convertedCursor = MissionCursor.decode(cursor);
+            }
+            if (limit != null) {
+                convertedLimit = Integer.valueOf(limit);
+            }
+            if (statuses != null) {
+                for (String status : statuses) {
+                    convertedStatuses.add(MissionStatus.valueOf(status));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.error(e.getMessage(), e);
+            return new ResponseEntity<>("Wrong cursor, limit or status was sent.", HttpStatus.BAD_REQUEST);
+        }
+
         try {
-            List<Mission> allMissions = missionService.findAllMissions(principal.getName());
-            allMissions.forEach(mission ->  {
-                mission.setUserGameProfile(null);
-                mission.getSpaceShip().setUserGameProfile(null);
-            });
+            MissionPage missionPage = missionService.findMissionsPage(principal.getName(),
+                    convertedCursor, convertedStatuses, convertedLimit);
 
+            HttpHeaders headers = new HttpHeaders();
+            if (missionPage.getNextCursor() != null) {
+                headers.set(NEXT_CURSOR_HEADER, missionPage.getNextCursor().encode());
+            }
 
             LOGGER.info("Successfully served '/private/mission-management/missions' endpoint " +
                     "(send List of Missions to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(allMissions, HttpStatus.OK);
+            return new ResponseEntity<>(missionPage.getMissions(), headers, HttpStatus.OK);
         } catch (AppException e) {
             LOGGER.error(e.getMessage(), e);
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    @GetMapping("/missions/export")
+    public ResponseEntity<StreamingResponseBody> exportMissions(
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "status", required = false) List<String> statuses,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            Principal principal) {
+        LOGGER.info("Serving '/private/mission-management/missions/export' endpoint (GET request)...");
+        if (principal == null) {
+            LOGGER.warn("Non-authorized User tries to access private info (User's Mission history)!");
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        MissionExportFormat convertedFormat = MissionExportFormat.NDJSON;
+        List<MissionStatus> convertedStatuses = new ArrayList<>();
+        try {
+            if (format != null) {
+                convertedFormat = MissionExportFormat.of(format);
+            }
+            if (statuses != null) {
+                for (String status : statuses) {
+                    convertedStatuses.add(MissionStatus.valueOf(status));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            LOGGER.error(e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        String username = principal.getName();
+        MissionExportFormat exportFormat = convertedFormat;
+        boolean gzipped = acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf(exportFormat.getMediaType()));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"missions." + exportFormat.getFileExtension() + "\"");
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+
+        // Missions are written, while they are read from Data Base (in thread of asynchronous requests' executor):
+        StreamingResponseBody body = outputStream -> {
+            ExportGZIPOutputStream gzipStream = gzipped ?
+                    new ExportGZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : null;
+            OutputStream targetStream = gzipped ? gzipStream : outputStream;
+            try {
+                MissionExportWriter writer = exportFormat.open(targetStream, objectMapper);
+                long exportedMissions = missionService.exportMissions(username, convertedStatuses, writer);
+                writer.finish();
+                if (gzipped) {
+                    gzipStream.finish();
+                }
+
+                LOGGER.info("Successfully served '/private/mission-management/missions/export' endpoint " +
+                        "(send " + exportedMissions + " Mission(s) to '" + username + "' user).");
+            } catch (AppException e) {
+                // response is already committed, so export can only be interrupted:
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                if (gzipped) {
+                    gzipStream.release();
+                }
+            }
+        };
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * GZIPOutputStream, which releases its Deflater (native memory) without closing of target stream:
+     * interrupted export isn't finished, so it doesn't look like complete one.
+     */
+    private static final class ExportGZIPOutputStream extends GZIPOutputStream {
+
+        private ExportGZIPOutputStream(OutputStream outputStream, int size) throws IOException {
+            super(outputStream, size);
+        }
+
+        private void release() {
+            def.end();
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP_ENCODING.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 
     // TODO add more endpoints...
 
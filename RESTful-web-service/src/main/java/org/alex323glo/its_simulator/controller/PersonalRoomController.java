@@ -1,18 +1,21 @@
 package org.alex323glo.its_simulator.controller;
 
+import org.alex323glo.its_simulator.config.Bulkhead;
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.model.UserExtension;
-import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.UserExtensionDTO;
+import org.alex323glo.its_simulator.model.dto.UserGameProfileDTO;
 import org.alex323glo.its_simulator.service.UserService;
-import org.alex323glo.its_simulator.util.CircularityResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Personal Room REST Controller.
@@ -23,15 +26,18 @@ import java.security.Principal;
  *  1) '/private/personal-room/user-data'
  *      - method: GET;
  *      - params: no;
- *      - response: OK (200) with UserGameProfile object as body;
+ *      - response: OK (200) with UserGameProfile DTO as body;
  *      - must be authenticated!
  *
  *  2) '/private/personal-room/edit'
  *      - method: POST;
  *      - params: UserExtension object;
- *      - response: OK (200) with UserExtension object as body;
+ *      - response: OK (200) with UserExtension DTO as body;
  *      - must be authenticated!
  *
+ * Requests are served asynchronously by 'personalRoomBulkhead' (see ControllerBulkheadsConfiguration):
+ * if it's overloaded, requests fail fast with SERVICE UNAVAILABLE (503) status.
+ *
  * @author Alexey_O
  * @version 0.1
  */
@@ -42,75 +48,75 @@ public class PersonalRoomController {
     private static final Logger LOGGER = LoggerFactory.getLogger(PersonalRoomController.class);
 
     private final UserService userService;
+    private final Bulkhead personalRoomBulkhead;
 
     @Autowired
-    public PersonalRoomController(UserService userService) {
+    public PersonalRoomController(UserService userService,
+                                  @Qualifier("personalRoomBulkhead") Bulkhead personalRoomBulkhead) {
         this.userService = userService;
+        this.personalRoomBulkhead = personalRoomBulkhead;
     }
 
 
     @GetMapping("/user-data")
-    public ResponseEntity<UserGameProfile> sendUserData(Principal principal) {
-        LOGGER.info("Serving '/private/personal-room/user-extension' endpoint (GET request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to access private info (User object data)!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        } else {
-
-            try {
-                UserGameProfile userGameProfile = userService.findUserGameProfile(principal.getName());
-
-                if (userGameProfile == null) {
-                    LOGGER.error("Can't find needed User in Data Base.");
-                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public CompletableFuture<ResponseEntity<UserGameProfileDTO>> sendUserData(Principal principal) {
+        return personalRoomBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/personal-room/user-extension' endpoint (GET request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to access private info (User object data)!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            } else {
+
+                try {
+                    UserGameProfileDTO userGameProfile = userService.findUserGameProfileDTO(principal.getName());
+
+                    if (userGameProfile == null) {
+                        LOGGER.error("Can't find needed User in Data Base.");
+                        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                    }
+
+                    LOGGER.info("Successfully served '/private/personal-room/user-extension' endpoint " +
+                            "(send User object data to '" + principal.getName() + "' user).");
+                    return new ResponseEntity<>(userGameProfile, HttpStatus.OK);
+                } catch (AppException e) {
+                    LOGGER.error(e.getMessage(), e);
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
                 }
-
-                userGameProfile = CircularityResolver.resolveLazyGameProfile(userGameProfile);
-                userGameProfile.getUser().setPassword(null);
-
-                LOGGER.info("Successfully served '/private/personal-room/user-extension' endpoint " +
-                        "(send User object data to '" + principal.getName() + "' user).");
-                return new ResponseEntity<>(userGameProfile, HttpStatus.OK);
-            } catch (AppException e) {
-                LOGGER.error(e.getMessage(), e);
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
-        }
+        });
     }
 
 
     @PostMapping("/edit")
-    public ResponseEntity<UserExtension> editUserExtension(
+    public CompletableFuture<ResponseEntity<UserExtensionDTO>> editUserExtension(
             @RequestBody UserExtension newUserExtension, Principal principal) {
-
-        LOGGER.info("Serving '/private/personal-room/edit' endpoint (POST request)...");
-        if (principal == null) {
-            LOGGER.warn("Non-authorized User tries to edit private info (UserExtension object data)!");
-            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
-        } else {
-
-            try {
-                UserExtension userExtension = userService.findUserExtension(principal.getName());
-
-                if (userExtension == null) {
-                    LOGGER.error("Can't find needed User in Data Base.");
-                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        return personalRoomBulkhead.submit(() -> {
+            LOGGER.info("Serving '/private/personal-room/edit' endpoint (POST request)...");
+            if (principal == null) {
+                LOGGER.warn("Non-authorized User tries to edit private info (UserExtension object data)!");
+                return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+            } else {
+
+                try {
+                    UserExtension userExtension = userService.findUserExtension(principal.getName());
+
+                    if (userExtension == null) {
+                        LOGGER.error("Can't find needed User in Data Base.");
+                        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                    }
+
+                    UserExtension changedUserExtension = userService
+                            .changeUserExtension(principal.getName(), newUserExtension);
+
+                    LOGGER.info("Successfully served '/private/personal-room/user-extension' endpoint " +
+                            "(edited UserExtension object data of '" + principal.getName() + "' user).");
+                    return new ResponseEntity<>(UserExtensionDTO.of(changedUserExtension), HttpStatus.OK);
+                } catch (AppException e) {
+                    LOGGER.error(e.getMessage(), e);
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
                 }
-
-                UserExtension changedUserExtension = userService
-                        .changeUserExtension(principal.getName(), newUserExtension);
-
-                changedUserExtension = CircularityResolver
-                        .resolveUserExtensionWithLazyGameProfile(changedUserExtension);
-
-                LOGGER.info("Successfully served '/private/personal-room/user-extension' endpoint " +
-                        "(edited UserExtension object data of '" + principal.getName() + "' user).");
-                return new ResponseEntity<>(changedUserExtension, HttpStatus.OK);
-            } catch (AppException e) {
-                LOGGER.error(e.getMessage(), e);
-                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
             }
-        }
+        });
     }
 
 }
@@ -0,0 +1,50 @@
+package org.alex323glo.its_simulator.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handler of requests, rejected because of overload: requests, which don't fit into bulkhead of their
+ * controller (see Bulkhead), or into executor of asynchronous requests (see AsyncRequestsConfiguration),
+ * fail at once with SERVICE UNAVAILABLE (503) status and 'Retry-After' header (without body).
+ * Requests, which still wait in queue of their bulkhead, when its timeout is over, fail with the same response
+ * (they are never served, so they can be retried). Requests, which are served longer, than timeout of their
+ * bulkhead, fail with GATEWAY TIMEOUT (504) status without 'Retry-After' header: their changes may still be
+ * committed, so they must not be retried blindly.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+@RestControllerAdvice
+public class RejectedRequestsHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RejectedRequestsHandler.class);
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleRejectedRequest(RejectedExecutionException exception,
+                                                      HttpServletRequest request) {
+        LOGGER.warn("Request '" + request.getMethod() + " " + request.getRequestURI() + "' is rejected: " +
+                exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Void> handleTimedOutRequest(TimeoutException exception, HttpServletRequest request) {
+        LOGGER.warn("Request '" + request.getMethod() + " " + request.getRequestURI() + "' is timed out: " +
+                exception.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+    }
+}
@@ -1,19 +1,30 @@
 package org.alex323glo.its_simulator.controller;
 
 import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
 import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.model.game.PlanetViewport;
+import org.alex323glo.its_simulator.service.PlanetCatalog;
 import org.alex323glo.its_simulator.service.PlanetService;
+import org.alex323glo.its_simulator.util.PlanetCatalogETag;
+import org.alex323glo.its_simulator.util.ResponseMediaTypeNegotiator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Space Map REST Controller.
@@ -24,7 +35,22 @@ import java.util.List;
  *  1) '/private/space-map/planets'
  *      - method: GET;
  *      - params: no;
- *      - response: OK (200) with List of Planets as body;
+ *      - headers: If-None-Match (optional, ETag of previous response);
+ *      - response: OK (200) with List of Planet DTOs as body (and ETag of Planet catalog's version),
+ *          or NOT_MODIFIED (304) without body, if Planets weren't changed since previous response;
+ *      - must be authenticated!
+ *
+ *  2) '/private/space-map/viewport'
+ *      - method: GET;
+ *      - params: minX, minY, maxX, maxY (borders of viewport);
+ *      - response: OK (200) with List of Planet DTOs inside of viewport as body
+ *          (and 'X-Viewport-Truncated: true' header, if viewport contains more Planets, than were sent);
+ *      - must be authenticated!
+ *
+ *  3) '/private/space-map/nearest'
+ *      - method: GET;
+ *      - params: planet (name of central planet), k (number of needed planets);
+ *      - response: OK (200) with List of k nearest Planet DTOs (ordered by distance) as body;
  *      - must be authenticated!
  *
  * @author Alexey_O
@@ -36,32 +62,136 @@ public class SpaceMapController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SpaceMapController.class);
 
+    static final String VIEWPORT_TRUNCATED_HEADER = "X-Viewport-Truncated";
+
     private final PlanetService planetService;
+    private final ResponseMediaTypeNegotiator responseMediaTypeNegotiator;
 
     @Autowired
-    public SpaceMapController(PlanetService planetService) {
+    public SpaceMapController(PlanetService planetService, ResponseMediaTypeNegotiator responseMediaTypeNegotiator) {
         this.planetService = planetService;
+        this.responseMediaTypeNegotiator = responseMediaTypeNegotiator;
     }
 
     @GetMapping("/planets")
-    public ResponseEntity<?> getAllPlanets(Principal principal) {
+    public ResponseEntity<?> getAllPlanets(Principal principal, NativeWebRequest webRequest)
+            throws HttpMediaTypeNotAcceptableException {
+
         LOGGER.info("Serving '/private/space-map/planets' endpoint (GET request)...");
         if (principal == null) {
             LOGGER.warn("Non-authorized User tries to access private info!");
             return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
 
+        PlanetCatalog planetCatalog = planetService.getPlanetCatalog();
+        MediaType mediaType = responseMediaTypeNegotiator.negotiate(webRequest, List.class);
+        String eTag = PlanetCatalogETag.of(planetCatalog.getVersion(), mediaType);
+        if (webRequest.checkNotModified(eTag)) {
+            LOGGER.info("Successfully served '/private/space-map/planets' endpoint " +
+                    "(Planets of '" + principal.getName() + "' user are not modified).");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(PlanetCatalogETag.cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        List<PlanetDTO> allPlanets = toDTOs(planetCatalog.getPlanets());
+
+        LOGGER.info("Successfully served '/private/space-map/planets' endpoint " +
+                "(send all Planets to '" + principal.getName() + "' user).");
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(PlanetCatalogETag.cacheControl())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(allPlanets);
+    }
+
+    @GetMapping("/viewport")
+    public ResponseEntity<?> getPlanetsInViewport(
+            @RequestParam(name = "minX") String minX,
+            @RequestParam(name = "minY") String minY,
+            @RequestParam(name = "maxX") String maxX,
+            @RequestParam(name = "maxY") String maxY,
+            Principal principal) {
+
+        LOGGER.info("Serving '/private/space-map/viewport' endpoint (GET request)...");
+        if (principal == null) {
+            LOGGER.warn("Non-authorized User tries to access private info!");
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        Long convertedMinX;
+        Long convertedMinY;
+        Long convertedMaxX;
+        Long convertedMaxY;
         try {
-            List<Planet> allPlanets = planetService.findAllPlanets();
+            convertedMinX = Long.valueOf(minX);
+            convertedMinY = Long.valueOf(minY);
+            convertedMaxX = Long.valueOf(maxX);
+            convertedMaxY = Long.valueOf(maxY);
+        } catch (NumberFormatException e) {
+            LOGGER.warn(e.getMessage(), e);
+            return new ResponseEntity<>("Wrong viewport coordinates were sent.", HttpStatus.BAD_REQUEST);
+        }
 
-            LOGGER.info("Successfully served '/private/space-map/planets' endpoint " +
-                    "(send all Planets to '" + principal.getName() + "' user).");
-            return new ResponseEntity<>(allPlanets, HttpStatus.OK);
+        try {
+            PlanetViewport planetViewport = planetService.findPlanetsInViewport(
+                    convertedMinX, convertedMinY, convertedMaxX, convertedMaxY);
+
+            HttpHeaders headers = new HttpHeaders();
+            if (planetViewport.isTruncated()) {
+                headers.set(VIEWPORT_TRUNCATED_HEADER, Boolean.TRUE.toString());
+            }
+
+            LOGGER.info("Successfully served '/private/space-map/viewport' endpoint " +
+                    "(send Planets in viewport to '" + principal.getName() + "' user).");
+            return new ResponseEntity<>(toDTOs(planetViewport.getPlanets()), headers, HttpStatus.OK);
         } catch (AppException e) {
             LOGGER.error(e.getMessage(), e);
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<?> getNearestPlanets(
+            @RequestParam(name = "planet") String planetName,
+            @RequestParam(name = "k") String k,
+            Principal principal) {
+
+        LOGGER.info("Serving '/private/space-map/nearest' endpoint (GET request)...");
+        if (principal == null) {
+            LOGGER.warn("Non-authorized User tries to access private info!");
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        Integer convertedK;
+        try {
+            convertedK = Integer.valueOf(k);
+        } catch (NumberFormatException e) {
+            LOGGER.warn(e.getMessage(), e);
+            return new ResponseEntity<>("Wrong number of planets was sent.", HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            List<Planet> planets = planetService.findNearestPlanets(planetName, convertedK);
+            if (planets == null) {
+                LOGGER.warn("Can't find such planet in Data Base.");
+                return new ResponseEntity<>("Wrong planet name was sent.", HttpStatus.NOT_FOUND);
+            }
+
+            LOGGER.info("Successfully served '/private/space-map/nearest' endpoint " +
+                    "(send nearest Planets to '" + principal.getName() + "' user).");
+            return new ResponseEntity<>(toDTOs(planets), HttpStatus.OK);
+        } catch (AppException e) {
+            LOGGER.error(e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
+    private static List<PlanetDTO> toDTOs(List<Planet> planets) {
+        return planets.stream()
+                .map(PlanetDTO::of)
+                .collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,128 @@
+package org.alex323glo.its_simulator.controller;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
+import org.alex323glo.its_simulator.service.StatusEventBroker;
+import org.alex323glo.its_simulator.service.StatusEventSink;
+import org.alex323glo.its_simulator.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Status Events REST Controller.
+ *
+ * Uses UserService and StatusEventBroker to subscribe clients to status events of their Missions and SpaceShips.
+ *
+ * Serves such endpoints:
+ *  1) '/private/events'
+ *      - method: GET;
+ *      - params: no;
+ *      - response: OK (200) with stream of Server-Sent Events (content type 'text/event-stream'):
+ *          events 'mission-status' and 'ship-status' with Status Event DTO as data, and heartbeat comments;
+ *          stream is closed after 'game.events.connection.timeout_ms' milliseconds (or if client is too slow),
+ *          so client must reconnect (and re-fetch state of Missions);
+ *      - must be authenticated!
+ *
+ * The same events are sent to WebSocket clients of '/private/events/ws' endpoint
+ * (see StatusEventsWebSocketHandler).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+@RestController
+@RequestMapping("/private/events")
+public class StatusEventsController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusEventsController.class);
+
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 1_800_000;
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final UserService userService;
+    private final StatusEventBroker statusEventBroker;
+    private final long connectionTimeout;
+
+    @Autowired
+    public StatusEventsController(UserService userService, StatusEventBroker statusEventBroker,
+                                  Environment environment) {
+        this.userService = userService;
+        this.statusEventBroker = statusEventBroker;
+        this.connectionTimeout = environment.getProperty("game.events.connection.timeout_ms", Long.class,
+                DEFAULT_CONNECTION_TIMEOUT_MS);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(Principal principal) {
+        LOGGER.info("Serving '/private/events' endpoint (GET request)...");
+        if (principal == null) {
+            LOGGER.warn("Non-authorized User tries to access private info (stream of User's status events)!");
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        Long userId;
+        try {
+            userId = userService.findUserId(principal.getName());
+        } catch (AppException e) {
+            LOGGER.error(e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (userId == null) {
+            LOGGER.error("Can't find needed User in Data Base.");
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        SseEmitter emitter = new SseEmitter(connectionTimeout);
+        StatusEventSink sink = new SseEmitterSink(emitter);
+        emitter.onCompletion(() -> statusEventBroker.unsubscribe(userId, sink));
+        emitter.onError(e -> statusEventBroker.unsubscribe(userId, sink));
+        // expired stream is closed normally (not with error), so client just reconnects:
+        emitter.onTimeout(emitter::complete);
+        statusEventBroker.subscribe(userId, sink);
+
+        LOGGER.info("Successfully served '/private/events' endpoint " +
+                "(subscribed '" + principal.getName() + "' user to status events).");
+        return new ResponseEntity<>(emitter, HttpStatus.OK);
+    }
+
+    private static class SseEmitterSink implements StatusEventSink {
+
+        private final SseEmitter emitter;
+
+        private SseEmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(StatusEventDTO event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .name(event.getType())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void sendHeartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Can't complete stream of status events: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.alex323glo.its_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
+import org.alex323glo.its_simulator.service.StatusEventBroker;
+import org.alex323glo.its_simulator.service.StatusEventSink;
+import org.alex323glo.its_simulator.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Status Events WebSocket handler (fallback of '/private/events' Server-Sent Events stream
+ * for clients, which can't use it).
+ *
+ * Serves such endpoints:
+ *  1) '/private/events/ws'
+ *      - WebSocket;
+ *      - messages: Status Event DTOs as JSON text messages (from server only), and heartbeat pings;
+ *          session is closed, if client is too slow (client must reconnect and re-fetch state of Missions);
+ *      - must be authenticated!
+ *
+ * Sending of message to session is limited by 'game.events.websocket.send_time_limit_ms' milliseconds
+ * and 'game.events.websocket.buffer_size_limit' bytes.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see StatusEventsController
+ */
+@Component
+public class StatusEventsWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusEventsWebSocketHandler.class);
+
+    private static final int DEFAULT_SEND_TIME_LIMIT_MS = 10_000;
+    private static final int DEFAULT_BUFFER_SIZE_LIMIT = 65_536;
+
+    private static final String USER_ID_ATTRIBUTE = "statusEvents.userId";
+    private static final String SINK_ATTRIBUTE = "statusEvents.sink";
+
+    private final UserService userService;
+    private final StatusEventBroker statusEventBroker;
+    private final ObjectMapper objectMapper;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+
+    @Autowired
+    public StatusEventsWebSocketHandler(UserService userService, StatusEventBroker statusEventBroker,
+                                        ObjectMapper objectMapper, Environment environment) {
+        this.userService = userService;
+        this.statusEventBroker = statusEventBroker;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimit = environment.getProperty("game.events.websocket.send_time_limit_ms", Integer.class,
+                DEFAULT_SEND_TIME_LIMIT_MS);
+        this.bufferSizeLimit = environment.getProperty("game.events.websocket.buffer_size_limit", Integer.class,
+                DEFAULT_BUFFER_SIZE_LIMIT);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        LOGGER.info("Serving '/private/events/ws' endpoint (WebSocket session)...");
+        Principal principal = session.getPrincipal();
+        if (principal == null) {
+            LOGGER.warn("Non-authorized User tries to access private info (User's status events)!");
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+
+        Long userId;
+        try {
+            userId = userService.findUserId(principal.getName());
+        } catch (AppException e) {
+            LOGGER.error(e.getMessage(), e);
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
+        if (userId == null) {
+            LOGGER.error("Can't find needed User in Data Base.");
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+
+        StatusEventSink sink = new WebSocketSessionSink(
+                new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, bufferSizeLimit));
+        session.getAttributes().put(USER_ID_ATTRIBUTE, userId);
+        session.getAttributes().put(SINK_ATTRIBUTE, sink);
+        statusEventBroker.subscribe(userId, sink);
+
+        LOGGER.info("Successfully served '/private/events/ws' endpoint " +
+                "(subscribed '" + principal.getName() + "' user to status events).");
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Long userId = (Long) session.getAttributes().get(USER_ID_ATTRIBUTE);
+        StatusEventSink sink = (StatusEventSink) session.getAttributes().get(SINK_ATTRIBUTE);
+        if (userId != null && sink != null) {
+            statusEventBroker.unsubscribe(userId, sink);
+        }
+    }
+
+    private class WebSocketSessionSink implements StatusEventSink {
+
+        private final WebSocketSession session;
+
+        private WebSocketSessionSink(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void send(StatusEventDTO event) throws IOException {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+        }
+
+        @Override
+        public void sendHeartbeat() throws IOException {
+            session.sendMessage(new PingMessage());
+        }
+
+        @Override
+        public void close() {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Can't close WebSocket session of status events: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.alex323glo.its_simulator.model;
+
+/**
+ * Common settings of identifier generators of JPA Entities.
+ *
+ * Every Entity with own identifier has its own sequence, which is incremented by ALLOCATION_SIZE:
+ * single sequence call reserves block of ALLOCATION_SIZE identifiers ("pooled-lo" optimizer,
+ * so block of sequence value V is [V, V + ALLOCATION_SIZE)). Blocks can also be reserved outside
+ * of Hibernate (for example, by bulk JDBC inserts) the same way.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+public final class IdGenerators {
+
+    public static final String SEQUENCE_GENERATOR = "org.hibernate.id.enhanced.SequenceStyleGenerator";
+    public static final String OPTIMIZER = "pooled-lo";
+
+    public static final int ALLOCATION_SIZE = 50;
+    public static final String ALLOCATION_SIZE_VALUE = "" + ALLOCATION_SIZE;
+
+    public static final String USERS_SEQUENCE = "users_id_sequence";
+    public static final String SPACE_SHIPS_SEQUENCE = "space_ships_id_sequence";
+    public static final String PLANETS_SEQUENCE = "planets_id_sequence";
+    public static final String MISSIONS_SEQUENCE = "missions_id_sequence";
+
+    private IdGenerators() {
+    }
+}
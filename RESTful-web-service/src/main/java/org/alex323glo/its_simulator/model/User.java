@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.persistence.*;
@@ -27,8 +30,16 @@ import javax.persistence.*;
 @Builder
 public class User {
 
+    public static final String USER_ROLE = "USER";
+    public static final String ADMIN_ROLE = "ADMIN";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "users_id_generator")
+    @GenericGenerator(name = "users_id_generator", strategy = IdGenerators.SEQUENCE_GENERATOR, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = IdGenerators.USERS_SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdGenerators.ALLOCATION_SIZE_VALUE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdGenerators.OPTIMIZER)
+    })
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -64,10 +75,23 @@ public class User {
      * @see UserDetails
      */
     public UserDetails generateUserDetails() {
+        return generateUserDetails(false);
+    }
+
+    /**
+     * Generates UserDetails object for Security purposes.
+     *
+     * @param admin whether User is System's administrator.
+     * @return UserDetails object with assigned 'username',
+     * 'password' and 'roles="USER"' (or 'roles="USER","ADMIN"' for administrator) fields.
+     *
+     * @see UserDetails
+     */
+    public UserDetails generateUserDetails(boolean admin) {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(username)
                 .password(password)
-                .roles("USER")
+                .roles(admin ? new String[]{USER_ROLE, ADMIN_ROLE} : new String[]{USER_ROLE})
                 .build();
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
 
@@ -18,8 +19,11 @@ import java.time.LocalDateTime;
  * @version 0.1
  */
 @Entity
-@Table(name = "user_extensions")
+@Table(name = "user_extensions", indexes = {
+        @Index(name = "idx_user_extensions_email", columnList = "email")
+})
 @Data
+@EqualsAndHashCode(exclude = "user")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
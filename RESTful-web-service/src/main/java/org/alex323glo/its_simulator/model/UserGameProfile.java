@@ -3,9 +3,11 @@ package org.alex323glo.its_simulator.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.alex323glo.its_simulator.model.game.Mission;
 import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.util.List;
@@ -14,12 +16,18 @@ import java.util.List;
  * User's game profile model.
  * Is a JPA Entity. Represents 'user_game_profiles' SQL table.
  *
+ * Counters of completed Missions and experience are changed only by atomic SQL increments
+ * (see UserGameProfileRepository.addCompletedMissions()): they aren't updatable, so UPDATEs of this Entity
+ * (which contain only changed columns, @DynamicUpdate) never overwrite counters with stale values.
+ *
  * @author Alexey_O
  * @version 0.1
  */
 @Entity
+@DynamicUpdate
 @Table(name = "user_game_profiles")
 @Data
+@EqualsAndHashCode(exclude = "user")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -52,10 +60,10 @@ public class UserGameProfile {
 
     // Additional
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Long experience;
 
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer completedMissionsNumber;
 
     @Column(nullable = false)
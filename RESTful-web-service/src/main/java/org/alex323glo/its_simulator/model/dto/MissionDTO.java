@@ -0,0 +1,90 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mission response DTO (immutable, is sent to clients instead of Mission Entity,
+ * without reference to owner's game profile).
+ *
+ * Is filled straight from projection queries (see JPQL_CONSTRUCTOR) or from loaded Mission (see of()).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Mission
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class MissionDTO {
+
+    /**
+     * JPQL constructor expression, which creates MissionDTO from Mission (or ArchivedMission) 'm',
+     * joined with its SpaceShip 's', start Planet 'sp' and destination Planet 'dp'.
+     */
+    public static final String JPQL_CONSTRUCTOR = "new org.alex323glo.its_simulator.model.dto.MissionDTO(" +
+            "m.id, s.id, s.name, s.maxCargoCapacity, s.creationTime, s.spaceShipStatus, s.level, s.speed, " +
+            "sp.id, sp.name, sp.positionX, sp.positionY, sp.radius, sp.color, sp.circles, " +
+            "dp.id, dp.name, dp.positionX, dp.positionY, dp.radius, dp.color, dp.circles, " +
+            "m.registrationTime, m.startTime, m.finishTime, m.payload, m.duration, m.missionStatus)";
+
+    private Long id;
+    private SpaceShipDTO spaceShip;
+    private PlanetDTO startPoint;
+    private PlanetDTO destinationPoint;
+
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime registrationTime;
+
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime startTime;
+
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime finishTime;
+
+    private Double payload;
+    private Long duration;
+    private MissionStatus missionStatus;
+
+    /**
+     * Flat constructor of projection queries (see JPQL_CONSTRUCTOR).
+     */
+    public MissionDTO(Long id,
+                      Long shipId, String shipName, Double shipMaxCargoCapacity, LocalDateTime shipCreationTime,
+                      SpaceShipStatus shipStatus, Integer shipLevel, Double shipSpeed,
+                      Long startId, String startName, Long startPositionX, Long startPositionY,
+                      Integer startRadius, String startColor, Integer startCircles,
+                      Long destinationId, String destinationName, Long destinationPositionX,
+                      Long destinationPositionY, Integer destinationRadius, String destinationColor,
+                      Integer destinationCircles,
+                      LocalDateTime registrationTime, LocalDateTime startTime, LocalDateTime finishTime,
+                      Double payload, Long duration, MissionStatus missionStatus) {
+        this(id,
+                new SpaceShipDTO(shipId, shipName, shipMaxCargoCapacity, shipCreationTime, shipStatus,
+                        shipLevel, shipSpeed),
+                new PlanetDTO(startId, startName, startPositionX, startPositionY, startRadius, startColor,
+                        startCircles),
+                new PlanetDTO(destinationId, destinationName, destinationPositionX, destinationPositionY,
+                        destinationRadius, destinationColor, destinationCircles),
+                registrationTime, startTime, finishTime, payload, duration, missionStatus);
+    }
+
+    /**
+     * @return (not null) DTO with data of proposed Mission (its SpaceShip and Planets must be loaded).
+     */
+    public static MissionDTO of(Mission mission) {
+        return new MissionDTO(mission.getId(), SpaceShipDTO.of(mission.getSpaceShip()),
+                PlanetDTO.of(mission.getStartPoint()), PlanetDTO.of(mission.getDestinationPoint()),
+                mission.getRegistrationTime(), mission.getStartTime(), mission.getFinishTime(),
+                mission.getPayload(), mission.getDuration(), mission.getMissionStatus());
+    }
+}
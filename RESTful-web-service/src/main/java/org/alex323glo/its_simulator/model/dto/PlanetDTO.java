@@ -0,0 +1,36 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.alex323glo.its_simulator.model.game.Planet;
+
+/**
+ * Planet response DTO (immutable, is sent to clients instead of Planet Entity).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Planet
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class PlanetDTO {
+
+    private Long id;
+    private String name;
+    private Long positionX;
+    private Long positionY;
+    private Integer radius;
+    private String color;
+    private Integer circles;
+
+    /**
+     * @return (not null) DTO with data of proposed Planet.
+     */
+    public static PlanetDTO of(Planet planet) {
+        return new PlanetDTO(planet.getId(), planet.getName(), planet.getPositionX(), planet.getPositionY(),
+                planet.getRadius(), planet.getColor(), planet.getCircles());
+    }
+}
@@ -0,0 +1,54 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * SpaceShip response DTO (immutable, is sent to clients instead of SpaceShip Entity,
+ * without reference to owner's game profile).
+ *
+ * Is filled straight from projection queries (see JPQL_CONSTRUCTOR) or from loaded SpaceShip (see of()).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see SpaceShip
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class SpaceShipDTO {
+
+    /**
+     * JPQL constructor expression, which creates SpaceShipDTO from SpaceShip 's'.
+     */
+    public static final String JPQL_CONSTRUCTOR = "new org.alex323glo.its_simulator.model.dto.SpaceShipDTO(" +
+            "s.id, s.name, s.maxCargoCapacity, s.creationTime, s.spaceShipStatus, s.level, s.speed)";
+
+    private Long id;
+    private String name;
+    private Double maxCargoCapacity;
+
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime creationTime;
+
+    private SpaceShipStatus spaceShipStatus;
+    private Integer level;
+    private Double speed;
+
+    /**
+     * @return (not null) DTO with data of proposed SpaceShip.
+     */
+    public static SpaceShipDTO of(SpaceShip spaceShip) {
+        return new SpaceShipDTO(spaceShip.getId(), spaceShip.getName(), spaceShip.getMaxCargoCapacity(),
+                spaceShip.getCreationTime(), spaceShip.getSpaceShipStatus(), spaceShip.getLevel(),
+                spaceShip.getSpeed());
+    }
+}
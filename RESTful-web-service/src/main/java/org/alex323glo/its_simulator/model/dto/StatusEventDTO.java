@@ -0,0 +1,62 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+
+/**
+ * Status event DTO (immutable, is pushed to User's clients, when status of User's Mission or SpaceShip changes).
+ *
+ * Mission status events carry ID and new status of Mission (and ID of its SpaceShip),
+ * SpaceShip status events carry ID, name and new status of SpaceShip. Absent fields aren't sent.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.service.StatusEventBroker
+ */
+@Value
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatusEventDTO {
+
+    public static final String MISSION_STATUS = "mission-status";
+    public static final String SPACE_SHIP_STATUS = "ship-status";
+
+    private String type;
+    private Long missionId;
+    private MissionStatus missionStatus;
+    private Long spaceShipId;
+    private String spaceShipName;
+    private SpaceShipStatus spaceShipStatus;
+
+    /**
+     * @return (not null) event with current status of proposed Mission (its SpaceShip must be loaded).
+     */
+    public static StatusEventDTO ofMission(Mission mission) {
+        return StatusEventDTO.builder()
+                .type(MISSION_STATUS)
+                .missionId(mission.getId())
+                .missionStatus(mission.getMissionStatus())
+                .spaceShipId(mission.getSpaceShip().getId())
+                .build();
+    }
+
+    /**
+     * @return (not null) event with current status of proposed SpaceShip.
+     */
+    public static StatusEventDTO ofSpaceShip(SpaceShip spaceShip) {
+        return StatusEventDTO.builder()
+                .type(SPACE_SHIP_STATUS)
+                .spaceShipId(spaceShip.getId())
+                .spaceShipName(spaceShip.getName())
+                .spaceShipStatus(spaceShip.getSpaceShipStatus())
+                .build();
+    }
+}
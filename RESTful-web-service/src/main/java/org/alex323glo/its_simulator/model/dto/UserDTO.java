@@ -0,0 +1,22 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * User response DTO (immutable, public data of User: username and UserExtension, without password).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.model.User
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class UserDTO {
+
+    private String username;
+    private UserExtensionDTO userExtension;
+}
@@ -0,0 +1,36 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.alex323glo.its_simulator.model.UserExtension;
+import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserExtension response DTO (immutable, is sent to clients instead of UserExtension Entity).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see UserExtension
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class UserExtensionDTO {
+
+    private String email;
+
+    @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
+    private LocalDateTime registrationTime;
+
+    /**
+     * @return (not null) DTO with data of proposed UserExtension.
+     */
+    public static UserExtensionDTO of(UserExtension userExtension) {
+        return new UserExtensionDTO(userExtension.getEmail(), userExtension.getRegistrationTime());
+    }
+}
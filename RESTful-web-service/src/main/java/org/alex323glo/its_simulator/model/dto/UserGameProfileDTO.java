@@ -0,0 +1,45 @@
+package org.alex323glo.its_simulator.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserGameProfile response DTO (immutable, is sent to clients instead of UserGameProfile Entity,
+ * without SpaceShips and Missions).
+ *
+ * Is filled straight from projection query (see JPQL_CONSTRUCTOR).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.model.UserGameProfile
+ */
+@Value
+@Builder
+@AllArgsConstructor
+public class UserGameProfileDTO {
+
+    /**
+     * JPQL constructor expression, which creates UserGameProfileDTO from UserGameProfile 'p',
+     * joined with its User 'u' and UserExtension 'e'.
+     */
+    public static final String JPQL_CONSTRUCTOR = "new org.alex323glo.its_simulator.model.dto.UserGameProfileDTO(" +
+            "u.username, e.email, e.registrationTime, p.experience, p.completedMissionsNumber, p.shipsNumber)";
+
+    private UserDTO user;
+    private Long experience;
+    private Integer completedMissionsNumber;
+    private Integer shipsNumber;
+
+    /**
+     * Flat constructor of projection query (see JPQL_CONSTRUCTOR).
+     */
+    public UserGameProfileDTO(String username, String email, LocalDateTime registrationTime,
+                              Long experience, Integer completedMissionsNumber, Integer shipsNumber) {
+        this(new UserDTO(username, new UserExtensionDTO(email, registrationTime)),
+                experience, completedMissionsNumber, shipsNumber);
+    }
+}
@@ -0,0 +1,92 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Archived (finished long ago) Mission model.
+ * Is a JPA Entity. Represents 'mission_archive' SQL table.
+ *
+ * Finished (COMPLETED and CANCELED) Missions are moved from 'missions' table by MissionArchivingScheduler,
+ * so 'missions' table (and its indexes) keeps only recent and active Missions. Archived Mission keeps
+ * ID and all data of original Mission, is never changed (so isn't dirty checked) and has single index,
+ * which serves User's Mission history.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Mission
+ */
+@Entity
+@Immutable
+@Table(name = "mission_archive", indexes = {
+        @Index(name = "idx_mission_archive_profile_registration_time",
+                columnList = "user_game_profile_user_id, registrationTime, id")
+})
+@Data
+@EqualsAndHashCode(exclude = "userGameProfile")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedMission {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private UserGameProfile userGameProfile;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private SpaceShip spaceShip;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Planet startPoint;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Planet destinationPoint;
+
+    @Column(nullable = false)
+    private LocalDateTime registrationTime;
+
+    @Column(nullable = true)
+    private LocalDateTime startTime;
+
+    @Column(nullable = true)
+    private LocalDateTime finishTime;
+
+    @Column(precision = 3)
+    private Double payload;
+
+    @Column(nullable = false)
+    private Long duration;
+
+    @Enumerated(EnumType.STRING)
+    private MissionStatus missionStatus;
+
+    /**
+     * @return (not null) new (not managed) Mission with the same data.
+     */
+    public Mission toMission() {
+        return Mission.builder()
+                .id(id)
+                .userGameProfile(userGameProfile)
+                .spaceShip(spaceShip)
+                .startPoint(startPoint)
+                .destinationPoint(destinationPoint)
+                .registrationTime(registrationTime)
+                .startTime(startTime)
+                .finishTime(finishTime)
+                .payload(payload)
+                .duration(duration)
+                .missionStatus(missionStatus)
+                .build();
+    }
+}
@@ -4,9 +4,14 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.IdGenerators;
 import org.alex323glo.its_simulator.model.UserGameProfile;
 import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -19,15 +24,25 @@ import java.time.LocalDateTime;
  * @version 0.1
  */
 @Entity
-@Table(name = "missions")
+@Table(name = "missions", indexes = {
+        @Index(name = "idx_missions_status_finish_time", columnList = "missionStatus, finishTime"),
+        @Index(name = "idx_missions_profile_registration_time",
+                columnList = "user_game_profile_user_id, registrationTime, id")
+})
 @Data
+@EqualsAndHashCode(exclude = "userGameProfile")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Mission {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "missions_id_generator")
+    @GenericGenerator(name = "missions_id_generator", strategy = IdGenerators.SEQUENCE_GENERATOR, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = IdGenerators.MISSIONS_SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdGenerators.ALLOCATION_SIZE_VALUE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdGenerators.OPTIMIZER)
+    })
     private Long id;
 
     @ManyToOne
@@ -65,8 +80,19 @@ public class Mission {
     @Column(nullable = false)
     private Long duration;
 
+    // is changed only by conditional UPDATE (see MissionRepository.updateMissionStatus()),
+    // so dirty checking doesn't write it again:
+    @Column(updatable = false)
     @Enumerated(EnumType.STRING)
     private MissionStatus missionStatus;
 
+    /**
+     * Changes status of loaded Mission only: it is never written by dirty checking or save(),
+     * so its new value must be stored by MissionRepository.updateMissionStatus().
+     */
+    public void setMissionStatus(MissionStatus missionStatus) {
+        this.missionStatus = missionStatus;
+    }
+
     // TODO complete...
 }
@@ -0,0 +1,28 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of single Mission's processing inside of batch operation
+ * (start, cancel or complete many Missions at once).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Mission
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MissionBatchResult {
+
+    private Long missionId;
+    private Boolean success;
+    private MissionStatus missionStatus;
+    private String message;
+
+}
@@ -0,0 +1,71 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in User's Mission history (keyset pagination cursor):
+ * registration time and ID of the last Mission of previous page.
+ *
+ * Is sent to clients as opaque URL-safe string (see encode() and decode() methods).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionPage
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MissionCursor {
+
+    private static final String SEPARATOR = "_";
+
+    private LocalDateTime registrationTime;
+    private Long id;
+
+    /**
+     * @return cursor, which points to proposed Mission.
+     */
+    public static MissionCursor of(MissionDTO mission) {
+        return new MissionCursor(mission.getRegistrationTime(), mission.getId());
+    }
+
+    /**
+     * @return (not null) opaque URL-safe representation of cursor.
+     */
+    public String encode() {
+        String plain = registrationTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses cursor from its opaque representation.
+     *
+     * @param encodedCursor result of encode() method.
+     * @return (not null) parsed cursor.
+     * @throws IllegalArgumentException if proposed String isn't valid cursor.
+     */
+    public static MissionCursor decode(String encodedCursor) {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+            int separatorIndex = plain.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Wrong Mission cursor: '" + encodedCursor + "'.");
+            }
+            return new MissionCursor(LocalDateTime.parse(plain.substring(0, separatorIndex)),
+                    Long.valueOf(plain.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Wrong Mission cursor: '" + encodedCursor + "'.", e);
+        }
+    }
+}
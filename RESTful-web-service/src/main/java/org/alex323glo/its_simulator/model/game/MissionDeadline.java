@@ -0,0 +1,29 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Container for planned finish time of started Mission.
+ * Deadlines are ordered by finish time (and then by Mission ID).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see Mission
+ */
+@Data
+@AllArgsConstructor
+public class MissionDeadline implements Comparable<MissionDeadline> {
+
+    private final Long missionId;
+    private final LocalDateTime finishTime;
+
+    @Override
+    public int compareTo(MissionDeadline other) {
+        int result = finishTime.compareTo(other.finishTime);
+        return result != 0 ? result : missionId.compareTo(other.missionId);
+    }
+}
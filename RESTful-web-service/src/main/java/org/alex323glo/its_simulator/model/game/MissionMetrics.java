@@ -36,64 +36,4 @@ public class MissionMetrics {
 
     private Double distance;
     private Long duration;
-
-    public void refreshDistanceAndDuration(Double shipLevelCoefficient, Double timeCoefficientSeconds) {
-        distance = calculateDistance(startPositionX, startPositionY, destinationPositionX, destinationPositionY);
-        duration = calculateDuration(distance, shipSpeed, shipLevel, shipLevelCoefficient, timeCoefficientSeconds);
-    }
-
-    /**
-     *
-     * @param startX
-     * @param startY
-     * @param destinationX
-     * @param destinationY
-     * @return
-     */
-    public static Double calculateDistance(Long startX, Long startY, Long destinationX, Long destinationY) {
-        if (startX == null || startY == null || destinationX == null || destinationY == null) {
-            // TODO log ...
-            // TODO throw Exception ...
-            return null;
-        }
-
-        if (startX < 0 || startY < 0 || destinationX < 0 || destinationY < 0) {
-            // TODO log ...
-            // TODO throw Exception ...
-            return null;
-        }
-
-        return Math.sqrt((destinationX - startX) * (destinationX - startX) +
-                        (destinationY - startY) * (destinationY - startY));
-    }
-
-    /**
-     *
-     * @param distance
-     * @param shipSpeed
-     * @param shipLevel
-     * @param shipLevelCoefficient
-     * @param timeCoefficientSeconds
-     * @return
-     */
-    public static Long calculateDuration(Double distance, Double shipSpeed, Integer shipLevel,
-                                              Double shipLevelCoefficient, Double timeCoefficientSeconds) {
-        if (distance == null || shipSpeed == null || shipLevel == null) {
-            // TODO log ...
-            // TODO throw Exception ...
-            return null;
-        }
-
-        if (distance <= 0 || shipSpeed <= 0 || shipLevel < 1) {
-            // TODO log ...
-            // TODO throw Exception ...
-            return null;
-        }
-
-        Double time = distance / (shipSpeed + (shipLevel * shipLevelCoefficient) );
-
-        time *= timeCoefficientSeconds;
-
-        return Math.round(time);
-    }
 }
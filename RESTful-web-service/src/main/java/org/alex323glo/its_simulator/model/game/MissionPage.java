@@ -0,0 +1,31 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+
+import java.util.List;
+
+/**
+ * Page of User's Mission history (keyset pagination), which consists of Missions' response DTOs.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionCursor
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MissionPage {
+
+    private List<MissionDTO> missions;
+
+    /**
+     * Cursor of next page, or null, if this page is the last one.
+     */
+    private MissionCursor nextCursor;
+}
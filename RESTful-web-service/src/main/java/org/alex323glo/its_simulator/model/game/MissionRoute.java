@@ -0,0 +1,37 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
+
+import java.util.List;
+
+/**
+ * Container for multi-hop route of Mission (the fastest route between two Planets for some SpaceShip).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionMetrics
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class MissionRoute {
+
+    private String shipName;
+    private Integer shipLevel;
+    private Double shipSpeed;
+
+    private String startPlanetName;
+    private String destinationPlanetName;
+
+    private List<PlanetDTO> planets;
+    private Integer hops;
+
+    private Double distance;
+    private Long duration;
+}
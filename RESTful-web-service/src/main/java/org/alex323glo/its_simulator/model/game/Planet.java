@@ -4,6 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.IdGenerators;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.awt.*;
@@ -24,7 +28,12 @@ import java.awt.*;
 public class Planet {
 
    @Id
-   @GeneratedValue
+   @GeneratedValue(generator = "planets_id_generator")
+   @GenericGenerator(name = "planets_id_generator", strategy = IdGenerators.SEQUENCE_GENERATOR, parameters = {
+           @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = IdGenerators.PLANETS_SEQUENCE),
+           @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdGenerators.ALLOCATION_SIZE_VALUE),
+           @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdGenerators.OPTIMIZER)
+   })
    private Long id;
 
    @Column(nullable = false, unique = true)
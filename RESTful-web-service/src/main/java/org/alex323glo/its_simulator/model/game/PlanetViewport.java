@@ -0,0 +1,29 @@
+package org.alex323glo.its_simulator.model.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Planets, found inside of rectangular viewport of Space map.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class PlanetViewport {
+
+    private List<Planet> planets;
+
+    /**
+     * True, if viewport contains more Planets, than System returns at once
+     * (see 'game.space_map.viewport.max_planets' property), so some of them are missing.
+     */
+    private boolean truncated;
+}
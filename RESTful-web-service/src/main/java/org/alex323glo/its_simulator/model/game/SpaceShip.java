@@ -4,9 +4,14 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.alex323glo.its_simulator.model.IdGenerators;
 import org.alex323glo.its_simulator.model.UserGameProfile;
 import org.alex323glo.its_simulator.util.CustomLocalDateTimeSerializer;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -19,15 +24,23 @@ import java.time.LocalDateTime;
  * @version 0.1
  */
 @Entity
-@Table(name = "space_ships")
+@Table(name = "space_ships", indexes = {
+        @Index(name = "idx_space_ships_profile_name", columnList = "user_game_profile_user_id, name")
+})
 @Data
+@EqualsAndHashCode(exclude = "userGameProfile")
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class SpaceShip {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "space_ships_id_generator")
+    @GenericGenerator(name = "space_ships_id_generator", strategy = IdGenerators.SEQUENCE_GENERATOR, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = IdGenerators.SPACE_SHIPS_SEQUENCE),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = IdGenerators.ALLOCATION_SIZE_VALUE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = IdGenerators.OPTIMIZER)
+    })
     private Long id;
 
     @ManyToOne
@@ -43,6 +56,9 @@ public class SpaceShip {
     @JsonSerialize(using = CustomLocalDateTimeSerializer.class)
     private LocalDateTime creationTime;
 
+    // is changed only by conditional UPDATE (see SpaceShipRepository.updateSpaceShipStatus()),
+    // so dirty checking doesn't write it again:
+    @Column(updatable = false)
     @Enumerated(EnumType.STRING)
     private SpaceShipStatus spaceShipStatus;
 
@@ -58,5 +74,12 @@ public class SpaceShip {
     @Column(nullable = false)
     private Double speed;
 
+    /**
+     * Changes status of loaded SpaceShip only: it is never written by dirty checking or save(),
+     * so its new value must be stored by SpaceShipRepository.updateSpaceShipStatus().
+     */
+    public void setSpaceShipStatus(SpaceShipStatus spaceShipStatus) {
+        this.spaceShipStatus = spaceShipStatus;
+    }
 
 }
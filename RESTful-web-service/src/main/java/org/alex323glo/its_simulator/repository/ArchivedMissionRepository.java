@@ -0,0 +1,107 @@
+package org.alex323glo.its_simulator.repository;
+
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+import org.alex323glo.its_simulator.model.game.ArchivedMission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface ArchivedMissionRepository extends JpaRepository<ArchivedMission, Long> {
+
+    /**
+     * Lists all archived Missions of needed User, together with their SpaceShips and Planets.
+     */
+    @Query("select a from ArchivedMission a join fetch a.spaceShip join fetch a.startPoint " +
+            "join fetch a.destinationPoint join fetch a.userGameProfile p join fetch p.user u " +
+            "where u.username = :username")
+    List<ArchivedMission> findAllByUsername(@Param("username") String username);
+
+    /**
+     * Loads first page of User's archived Missions as DTOs (see MissionRepository.findMissionsPage()).
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from ArchivedMission m join m.spaceShip s " +
+            "join m.startPoint sp join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses " +
+            "order by m.registrationTime desc, m.id desc")
+    List<MissionDTO> findMissionsPage(@Param("username") String username,
+                                      @Param("statuses") Collection<MissionStatus> statuses,
+                                      Pageable pageable);
+
+    /**
+     * Loads next page of User's archived Missions as DTOs (see MissionRepository.findMissionsPageAfter()).
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from ArchivedMission m join m.spaceShip s " +
+            "join m.startPoint sp join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses and " +
+            "(m.registrationTime < :registrationTime or (m.registrationTime = :registrationTime and m.id < :id)) " +
+            "order by m.registrationTime desc, m.id desc")
+    List<MissionDTO> findMissionsPageAfter(@Param("username") String username,
+                                           @Param("statuses") Collection<MissionStatus> statuses,
+                                           @Param("registrationTime") LocalDateTime registrationTime,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Streams all User's archived Missions as DTOs (see MissionRepository.streamMissions()).
+     * Must be called inside of transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from ArchivedMission m join m.spaceShip s " +
+            "join m.startPoint sp join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses " +
+            "order by m.registrationTime desc, m.id desc")
+    Stream<MissionDTO> streamMissions(@Param("username") String username,
+                                      @Param("statuses") Collection<MissionStatus> statuses);
+
+    /**
+     * Searches for archived Mission, owned by needed User, together with its SpaceShip and Planets.
+     */
+    @Query("select a from ArchivedMission a join fetch a.spaceShip join fetch a.startPoint " +
+            "join fetch a.destinationPoint join fetch a.userGameProfile p join fetch p.user u " +
+            "where a.id = :id and u.username = :username")
+    ArchivedMission findOwnedMission(@Param("id") Long missionId, @Param("username") String username);
+
+    /**
+     * Searches for archived Mission, owned by needed User, as DTO (single SELECT with projection).
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from ArchivedMission m join m.spaceShip s " +
+            "join m.startPoint sp join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where m.id = :id and u.username = :username")
+    MissionDTO findOwnedMissionDTO(@Param("id") Long missionId, @Param("username") String username);
+
+    /**
+     * Copies Missions with needed IDs (only finished ones) from 'missions' table (single INSERT ... SELECT).
+     *
+     * @return number of archived Missions.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into mission_archive (id, user_game_profile_user_id, " +
+            "space_ship_id, start_point_id, destination_point_id, registration_time, start_time, finish_time, " +
+            "payload, duration, mission_status) " +
+            "select id, user_game_profile_user_id, space_ship_id, start_point_id, destination_point_id, " +
+            "registration_time, start_time, finish_time, payload, duration, mission_status from missions " +
+            "where id in :ids and mission_status in ('COMPLETED', 'CANCELED')")
+    int copyFinishedMissions(@Param("ids") Collection<Long> missionIds);
+
+    /**
+     * Deletes all archived Missions of needed User (single DELETE, without loading of archived Missions).
+     */
+    @Modifying
+    @Query("delete from ArchivedMission a where a.userGameProfile.id in " +
+            "(select p.id from UserGameProfile p where p.user.username = :username)")
+    int deleteAllByUsername(@Param("username") String username);
+}
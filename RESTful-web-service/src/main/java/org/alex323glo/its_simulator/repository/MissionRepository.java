@@ -1,14 +1,184 @@
 package org.alex323glo.its_simulator.repository;
 
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionDeadline;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface MissionRepository extends JpaRepository<Mission, Long> {
 
-    List<Mission> findAllByUserGameProfile_User_Username(String username);
+    /**
+     * Lists all Missions of needed User (inner joins let Data Base start from owner).
+     */
+    @Query("select m from Mission m join m.userGameProfile p join p.user u where u.username = :username")
+    List<Mission> findAllByUserGameProfile_User_Username(@Param("username") String username);
+
+    /**
+     * Loads first page of User's Mission history (newest Missions first) with needed statuses, as DTOs
+     * together with SpaceShips and Planets (single SELECT with projection, without loading of Entities;
+     * uses 'idx_missions_profile_registration_time' index). Page size is set by Pageable.
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from Mission m join m.spaceShip s join m.startPoint sp " +
+            "join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses " +
+            "order by m.registrationTime desc, m.id desc")
+    List<MissionDTO> findMissionsPage(@Param("username") String username,
+                                      @Param("statuses") Collection<MissionStatus> statuses,
+                                      Pageable pageable);
+
+    /**
+     * Loads next page of User's Mission history (Missions, registered before Mission with proposed
+     * registration time and ID). See findMissionsPage().
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from Mission m join m.spaceShip s join m.startPoint sp " +
+            "join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses and " +
+            "(m.registrationTime < :registrationTime or (m.registrationTime = :registrationTime and m.id < :id)) " +
+            "order by m.registrationTime desc, m.id desc")
+    List<MissionDTO> findMissionsPageAfter(@Param("username") String username,
+                                           @Param("statuses") Collection<MissionStatus> statuses,
+                                           @Param("registrationTime") LocalDateTime registrationTime,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * Streams whole Mission history of User (newest Missions first) with needed statuses, as DTOs
+     * (see findMissionsPage()). Rows are read by Data Base cursor with bounded fetch size, and DTOs aren't
+     * kept by persistence context, so memory doesn't depend on size of history. Must be called inside of transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from Mission m join m.spaceShip s join m.startPoint sp " +
+            "join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where u.username = :username and m.missionStatus in :statuses " +
+            "order by m.registrationTime desc, m.id desc")
+    Stream<MissionDTO> streamMissions(@Param("username") String username,
+                                      @Param("statuses") Collection<MissionStatus> statuses);
+
+    /**
+     * Searches for Mission, owned by needed User (ownership is checked by Data Base),
+     * together with its SpaceShip, Planets and owner's game profile (single SELECT).
+     */
+    @Query("select m from Mission m join fetch m.spaceShip join fetch m.startPoint join fetch m.destinationPoint " +
+            "join fetch m.userGameProfile p join fetch p.user u where m.id = :id and u.username = :username")
+    Mission findOwnedMission(@Param("id") Long missionId, @Param("username") String username);
+
+    /**
+     * Searches for Mission, owned by needed User, as DTO (single SELECT with projection). See findOwnedMission().
+     */
+    @Query("select " + MissionDTO.JPQL_CONSTRUCTOR + " from Mission m join m.spaceShip s join m.startPoint sp " +
+            "join m.destinationPoint dp join m.userGameProfile p join p.user u " +
+            "where m.id = :id and u.username = :username")
+    MissionDTO findOwnedMissionDTO(@Param("id") Long missionId, @Param("username") String username);
+
+    /**
+     * Searches for Missions, owned by needed User, together with their SpaceShips
+     * and owner's game profile (single SELECT for whole batch of IDs).
+     */
+    @Query("select m from Mission m join fetch m.spaceShip join fetch m.userGameProfile p join p.user u " +
+            "where m.id in :ids and u.username = :username")
+    List<Mission> findAllOwnedMissions(@Param("ids") Collection<Long> missionIds, @Param("username") String username);
+
+    /**
+     * Locks Missions with needed IDs, owned by needed User, till end of transaction (SELECT ... FOR UPDATE
+     * in order of IDs, so concurrent batches don't deadlock). H2 doesn't lock rows of SELECT with joins,
+     * so only IDs are selected, and owner is checked by subquery. Statuses of locked Missions can't be changed
+     * by concurrent operations, so whole batch can be claimed by updateMissionsStatus().
+     * Must be called inside of transaction.
+     *
+     * @return IDs of locked Missions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m.id from Mission m where m.id in :ids and m.userGameProfile.id in " +
+            "(select p.id from UserGameProfile p join p.user u where u.username = :username) order by m.id")
+    List<Long> lockOwnedMissions(@Param("ids") Collection<Long> missionIds, @Param("username") String username);
+
+    /**
+     * Locks Missions with needed IDs (of any Users) till end of transaction (see lockOwnedMissions()).
+     * Must be called inside of transaction.
+     *
+     * @return IDs of locked Missions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m.id from Mission m where m.id in :ids order by m.id")
+    List<Long> lockMissions(@Param("ids") Collection<Long> missionIds);
+
+    /**
+     * Streams deadlines of Missions with needed status, ordered by finish time
+     * (uses 'idx_missions_status_finish_time' index). Must be called inside of transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new org.alex323glo.its_simulator.model.game.MissionDeadline(m.id, m.finishTime) " +
+            "from Mission m where m.missionStatus = :status order by m.finishTime")
+    Stream<MissionDeadline> streamDeadlinesByMissionStatus(@Param("status") MissionStatus status);
+
+    /**
+     * Searches for Missions with needed IDs (of any Users) together with their SpaceShips and owners' game profiles
+     * (single SELECT for whole batch of IDs; is used to complete expired Missions on behalf of System).
+     */
+    @Query("select m from Mission m join fetch m.spaceShip join fetch m.userGameProfile where m.id in :ids")
+    List<Mission> findAllWithSpaceShipAndGameProfileByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically changes status of Mission, if its current status is one of expected ones
+     * (conditional UPDATE: concurrent transitions of the same Mission can't both succeed).
+     *
+     * @return number of updated rows (1, if Mission was claimed, or 0, if its status isn't expected anymore).
+     */
+    @Modifying
+    @Query("update Mission m set m.missionStatus = :newStatus " +
+            "where m.id = :id and m.missionStatus in :expectedStatuses")
+    int updateMissionStatus(@Param("id") Long id,
+                            @Param("expectedStatuses") Collection<MissionStatus> expectedStatuses,
+                            @Param("newStatus") MissionStatus newStatus);
+
+    /**
+     * Changes status of batch of Missions, which current status is one of expected ones (single set-based UPDATE;
+     * see updateMissionStatus()). Is used for Missions, locked by lockOwnedMissions() or lockMissions().
+     *
+     * @return number of updated rows.
+     */
+    @Modifying
+    @Query("update Mission m set m.missionStatus = :newStatus " +
+            "where m.id in :ids and m.missionStatus in :expectedStatuses")
+    int updateMissionsStatus(@Param("ids") Collection<Long> ids,
+                             @Param("expectedStatuses") Collection<MissionStatus> expectedStatuses,
+                             @Param("newStatus") MissionStatus newStatus);
+
+    /**
+     * Lists IDs of Missions with needed (finished) statuses, which were finished before proposed time
+     * (uses 'idx_missions_status_finish_time' index). Number of IDs is limited by Pageable.
+     */
+    @Query("select m.id from Mission m where m.missionStatus in :statuses and m.finishTime < :finishedBefore")
+    List<Long> findFinishedMissionIds(@Param("statuses") Collection<MissionStatus> statuses,
+                                      @Param("finishedBefore") LocalDateTime finishedBefore,
+                                      Pageable pageable);
+
+    /**
+     * Deletes Missions with needed IDs and statuses (single DELETE, without cascades to SpaceShips).
+     *
+     * @return number of deleted Missions.
+     */
+    @Modifying
+    @Query("delete from Mission m where m.id in :ids and m.missionStatus in :statuses")
+    int deleteMissions(@Param("ids") Collection<Long> missionIds,
+                       @Param("statuses") Collection<MissionStatus> statuses);
 
 }
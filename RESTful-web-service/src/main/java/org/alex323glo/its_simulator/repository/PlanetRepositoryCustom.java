@@ -0,0 +1,33 @@
+package org.alex323glo.its_simulator.repository;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk operations of PlanetRepository, which are carried out with plain JDBC
+ * (bypassing JPA persistence context).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetRepository
+ */
+public interface PlanetRepositoryCustom {
+
+    /**
+     * Loads names of all saved Planets (single SELECT of one column).
+     */
+    Set<String> findAllNames();
+
+    /**
+     * Inserts new Planets with batched JDBC INSERT statements. IDs are reserved from
+     * Planets' ID sequence by blocks (single query per batch, see IdGenerators) and set to proposed Planet objects.
+     *
+     * @param planets   new Planets (with unique names, without IDs).
+     * @param batchSize number of rows per JDBC batch.
+     * @return number of inserted rows.
+     */
+    int insertAll(List<Planet> planets, int batchSize);
+}
@@ -0,0 +1,74 @@
+package org.alex323glo.its_simulator.repository;
+
+import org.alex323glo.its_simulator.model.IdGenerators;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of PlanetRepositoryCustom interface (H2 specific). See more in abstraction.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetRepositoryCustom
+ */
+public class PlanetRepositoryImpl implements PlanetRepositoryCustom {
+
+    private static final String SELECT_NAMES_SQL = "select name from planets";
+
+    private static final String RESERVE_ID_BLOCKS_SQL =
+            "select next value for " + IdGenerators.PLANETS_SEQUENCE + " from system_range(1, ?)";
+
+    private static final String INSERT_SQL =
+            "insert into planets (id, name, positionx, positiony, radius, color, circles) " +
+                    "values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PlanetRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findAllNames() {
+        Set<String> names = new HashSet<>();
+        jdbcTemplate.query(SELECT_NAMES_SQL, resultSet -> {
+            names.add(resultSet.getString(1));
+        });
+        return names;
+    }
+
+    @Override
+    public int insertAll(List<Planet> planets, int batchSize) {
+        int insertedRows = 0;
+        for (int from = 0; from < planets.size(); from += batchSize) {
+            List<Planet> batch = planets.subList(from, Math.min(planets.size(), from + batchSize));
+
+            // every sequence value V reserves block of IDs [V, V + ALLOCATION_SIZE) (see IdGenerators):
+            int blocks = (batch.size() + IdGenerators.ALLOCATION_SIZE - 1) / IdGenerators.ALLOCATION_SIZE;
+            List<Long> blockStarts = jdbcTemplate.queryForList(RESERVE_ID_BLOCKS_SQL, Long.class, blocks);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(blockStarts.get(i / IdGenerators.ALLOCATION_SIZE) + i % IdGenerators.ALLOCATION_SIZE);
+            }
+
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (PreparedStatement statement, Planet planet) -> {
+                statement.setLong(1, planet.getId());
+                statement.setString(2, planet.getName());
+                statement.setLong(3, planet.getPositionX());
+                statement.setLong(4, planet.getPositionY());
+                statement.setInt(5, planet.getRadius());
+                statement.setString(6, planet.getColor());
+                statement.setInt(7, planet.getCircles());
+            });
+            insertedRows += batch.size();
+        }
+        return insertedRows;
+    }
+}
@@ -1,19 +1,69 @@
 package org.alex323glo.its_simulator.repository;
 
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
 import org.alex323glo.its_simulator.model.game.SpaceShip;
 import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Note: queries by owner's username use inner joins (derived queries would use outer ones,
+ * which force Data Base to scan whole 'space_ships' table instead of starting from owner).
+ */
 @Repository
 public interface SpaceShipRepository extends JpaRepository<SpaceShip, Long> {
 
-    SpaceShip findByNameAndUserGameProfile_User_Username(String spaceShipName, String username);
+    @Query("select s from SpaceShip s join s.userGameProfile p join p.user u " +
+            "where s.name = :name and u.username = :username")
+    SpaceShip findByNameAndUserGameProfile_User_Username(@Param("name") String spaceShipName,
+                                                         @Param("username") String username);
 
-    List<SpaceShip> findAllByUserGameProfile_User_Username(String username);
+    @Query("select s from SpaceShip s join s.userGameProfile p join p.user u where u.username = :username")
+    List<SpaceShip> findAllByUserGameProfile_User_Username(@Param("username") String username);
 
-    List<SpaceShip> findAllByUserGameProfile_User_UsernameAndSpaceShipStatus(String username, SpaceShipStatus status);
+    @Query("select s from SpaceShip s join s.userGameProfile p join p.user u " +
+            "where u.username = :username and s.spaceShipStatus = :status")
+    List<SpaceShip> findAllByUserGameProfile_User_UsernameAndSpaceShipStatus(@Param("username") String username,
+                                                                             @Param("status") SpaceShipStatus status);
+
+    /**
+     * Lists User's SpaceShips with needed status as DTOs (single SELECT with projection, without loading of Entities).
+     */
+    @Query("select " + SpaceShipDTO.JPQL_CONSTRUCTOR + " from SpaceShip s join s.userGameProfile p join p.user u " +
+            "where u.username = :username and s.spaceShipStatus = :status")
+    List<SpaceShipDTO> findAllDTOsByUsernameAndSpaceShipStatus(@Param("username") String username,
+                                                               @Param("status") SpaceShipStatus status);
+
+    /**
+     * Atomically changes status of SpaceShip, if its current status is expected one
+     * (conditional UPDATE: concurrent claims of the same SpaceShip can't both succeed).
+     *
+     * @return number of updated rows (1, if SpaceShip was claimed, or 0, if its status isn't expected anymore).
+     */
+    @Modifying
+    @Query("update SpaceShip s set s.spaceShipStatus = :newStatus " +
+            "where s.id = :id and s.spaceShipStatus = :expectedStatus")
+    int updateSpaceShipStatus(@Param("id") Long id,
+                              @Param("expectedStatus") SpaceShipStatus expectedStatus,
+                              @Param("newStatus") SpaceShipStatus newStatus);
+
+    /**
+     * Changes status of batch of SpaceShips, which current status is expected one (single set-based UPDATE;
+     * see updateSpaceShipStatus()).
+     *
+     * @return number of updated rows.
+     */
+    @Modifying
+    @Query("update SpaceShip s set s.spaceShipStatus = :newStatus " +
+            "where s.id in :ids and s.spaceShipStatus = :expectedStatus")
+    int updateSpaceShipsStatus(@Param("ids") Collection<Long> ids,
+                               @Param("expectedStatus") SpaceShipStatus expectedStatus,
+                               @Param("newStatus") SpaceShipStatus newStatus);
 
 }
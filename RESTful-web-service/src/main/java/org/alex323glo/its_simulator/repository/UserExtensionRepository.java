@@ -2,6 +2,8 @@ package org.alex323glo.its_simulator.repository;
 
 import org.alex323glo.its_simulator.model.UserExtension;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -9,6 +11,8 @@ public interface UserExtensionRepository extends JpaRepository<UserExtension, Lo
 
     UserExtension findByEmail(String email);
 
-    UserExtension findByUser_Username(String username);
+    // inner join lets Data Base start from owner (derived query would scan whole table):
+    @Query("select e from UserExtension e join e.user u where u.username = :username")
+    UserExtension findByUser_Username(@Param("username") String username);
 
 }
@@ -1,12 +1,57 @@
 package org.alex323glo.its_simulator.repository;
 
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.UserGameProfileDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserGameProfileRepository extends JpaRepository<UserGameProfile, Long> {
 
-    UserGameProfile findByUser_Username(String username);
+    // inner join lets Data Base start from owner (derived query would scan whole table):
+    @Query("select p from UserGameProfile p join p.user u where u.username = :username")
+    UserGameProfile findByUser_Username(@Param("username") String username);
+
+    /**
+     * Searches for UserGameProfile as DTO, together with username and UserExtension's data
+     * (single SELECT with projection, without loading of Entities and their one-to-one associations).
+     */
+    @Query("select " + UserGameProfileDTO.JPQL_CONSTRUCTOR + " from UserGameProfile p join p.user u " +
+            "join u.userExtension e where u.username = :username")
+    UserGameProfileDTO findDTOByUsername(@Param("username") String username);
+
+    /**
+     * Atomically adds completed Missions and experience to counters of UserGameProfile
+     * (single UPDATE with SQL increments: concurrent additions can't be lost).
+     *
+     * @return number of updated rows.
+     */
+    @Modifying
+    @Query("update UserGameProfile p set p.completedMissionsNumber = p.completedMissionsNumber + :completedMissions, " +
+            "p.experience = p.experience + :experience where p.id = :id")
+    int addCompletedMissions(@Param("id") Long id,
+                             @Param("completedMissions") int completedMissions,
+                             @Param("experience") long experience);
+
+    /**
+     * Searches for current counters of UserGameProfile (single SELECT of one row by primary key),
+     * for example, to sync managed UserGameProfile after addCompletedMissions().
+     */
+    @Query("select p.completedMissionsNumber as completedMissionsNumber, p.experience as experience " +
+            "from UserGameProfile p where p.id = :id")
+    UserGameProfileCounters findCountersById(@Param("id") Long id);
+
+    /**
+     * Projection of UserGameProfile's counters (see findCountersById()).
+     */
+    interface UserGameProfileCounters {
+
+        Integer getCompletedMissionsNumber();
+
+        Long getExperience();
+    }
 
 }
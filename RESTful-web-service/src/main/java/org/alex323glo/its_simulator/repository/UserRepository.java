@@ -2,6 +2,8 @@ package org.alex323glo.its_simulator.repository;
 
 import org.alex323glo.its_simulator.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -10,4 +12,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User findByUsername(String username);
     User findByUserExtension_Email(String email);
 
+    @Query("select u.id from User u where u.username = :username")
+    Long findIdByUsername(@Param("username") String username);
+
 }
@@ -1,10 +1,12 @@
 package org.alex323glo.its_simulator.security;
 
+import org.alex323glo.its_simulator.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,6 +20,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
  * Main security configuration class
  * (customizes logic of Spring Security module).
  *
+ * Metrics of System and write operations of Actuator's endpoints (such as reloading of game mechanics)
+ * are served to administrators only (see 'users.admins' property).
+ *
  * @author Alexey_O
  * @version 0.1
  */
@@ -41,6 +46,11 @@ public class MainSecurityConfiguration extends WebSecurityConfigurerAdapter {
                 .csrf().disable()
                 .authorizeRequests()
                     .antMatchers("/private/**").authenticated()
+                    .antMatchers("/actuator/health", "/actuator/info").permitAll()
+                    .antMatchers("/actuator/metrics/**").hasRole(User.ADMIN_ROLE)
+                    .antMatchers(HttpMethod.POST, "/actuator/**").hasRole(User.ADMIN_ROLE)
+                    .antMatchers(HttpMethod.DELETE, "/actuator/**").hasRole(User.ADMIN_ROLE)
+                    .antMatchers("/actuator/**").authenticated()
                     .anyRequest().permitAll()
                     .and()
                 .formLogin()
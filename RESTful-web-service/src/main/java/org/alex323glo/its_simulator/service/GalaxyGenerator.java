@@ -0,0 +1,107 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Procedural generator of Planets (galaxy generator).
+ *
+ * Places Planets along spiral arms around center of square Space map (with random scatter),
+ * so generated galaxy has dense and sparse regions. Generation is deterministic:
+ * the same seed, map size and number of Planets always produce the same Planets.
+ *
+ * Generated Planets are valid (non-negative coordinates inside of map, radius and circles number,
+ * '#rrggbb' color) and have unique names ('namePrefix' + zero-padded index), but don't have IDs.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetService#createPlanets(List)
+ */
+public final class GalaxyGenerator {
+
+    private static final int ARMS = 4;
+    private static final double ARM_TWIST = 3 * Math.PI;
+    private static final double ARM_SCATTER = 0.08;
+
+    private static final int MIN_RADIUS = 5;
+    private static final int MAX_RADIUS = 25;
+    private static final int MAX_CIRCLES = 3;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long seed;
+    private final long mapSize;
+
+    /**
+     * @param seed    seed of generator.
+     * @param mapSize (positive) size of square Space map (coordinates are from 0 to mapSize).
+     */
+    public GalaxyGenerator(long seed, long mapSize) {
+        if (mapSize <= 0) {
+            throw new IllegalArgumentException("Map size must be positive.");
+        }
+        this.seed = seed;
+        this.mapSize = mapSize;
+    }
+
+    /**
+     * Generates new Planets.
+     *
+     * @param count      number of Planets.
+     * @param namePrefix (not null) prefix of Planets' names.
+     * @return (not null) List of generated Planets (without IDs).
+     */
+    public List<Planet> generate(int count, String namePrefix) {
+        Random random = new Random(seed);
+        int nameDigits = String.valueOf(count).length();
+        double center = mapSize / 2.0;
+
+        List<Planet> planets = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            // distance from center: square root keeps density of Planets moderate at the edge
+            double distance = Math.sqrt(random.nextDouble());
+            double angle = 2 * Math.PI * random.nextInt(ARMS) / ARMS + ARM_TWIST * distance;
+            double scatter = ARM_SCATTER * mapSize;
+
+            double x = center + distance * center * Math.cos(angle) + random.nextGaussian() * scatter;
+            double y = center + distance * center * Math.sin(angle) + random.nextGaussian() * scatter;
+
+            planets.add(Planet.builder()
+                    .name(name(namePrefix, i, nameDigits))
+                    .positionX(clamp(x))
+                    .positionY(clamp(y))
+                    .radius(MIN_RADIUS + random.nextInt(MAX_RADIUS - MIN_RADIUS + 1))
+                    .color(hexColor(random.nextInt(1 << 24)))
+                    .circles(random.nextInt(MAX_CIRCLES + 1))
+                    .build());
+        }
+        return planets;
+    }
+
+    private long clamp(double coordinate) {
+        return Math.max(0, Math.min(mapSize, Math.round(coordinate)));
+    }
+
+    private static String name(String namePrefix, int index, int digits) {
+        String number = String.valueOf(index);
+        StringBuilder name = new StringBuilder(namePrefix.length() + digits).append(namePrefix);
+        for (int i = number.length(); i < digits; i++) {
+            name.append('0');
+        }
+        return name.append(number).toString();
+    }
+
+    private static String hexColor(int rgb) {
+        char[] chars = new char[7];
+        chars[0] = '#';
+        for (int i = 6; i >= 1; i--) {
+            chars[i] = HEX_DIGITS[rgb & 0xF];
+            rgb >>>= 4;
+        }
+        return new String(chars);
+    }
+}
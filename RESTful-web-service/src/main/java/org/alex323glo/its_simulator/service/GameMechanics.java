@@ -0,0 +1,186 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Game mechanics engine: holds game coefficients (parsed from 'game.mechanics.*' properties only once,
+ * not on every request) and calculates distance, duration and experience reward of Missions
+ * on primitive values only.
+ *
+ * Coefficients are kept in immutable Coefficients snapshot, which is replaced as a whole on reload,
+ * so concurrent calculations always see consistent set of coefficients.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.config.GameMechanicsEndpoint
+ */
+@Component
+public class GameMechanics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GameMechanics.class);
+
+    static final String SHIP_LEVEL_COEFFICIENT_PROP_NAME = "game.mechanics.ship_level_coefficient";
+    static final String TIME_COEFFICIENT_SECONDS_PROP_NAME = "game.mechanics.time_coefficient_seconds";
+    static final String EXPERIENCE_PAYLOAD_COEFFICIENT_PROP_NAME = "game.mechanics.experience_payload_coefficient";
+
+    private static final double DEFAULT_EXPERIENCE_PAYLOAD_COEFFICIENT = 100;
+
+    private final Environment environment;
+
+    private volatile Coefficients coefficients;
+
+    @Autowired
+    public GameMechanics(Environment environment) throws AppException {
+        this.environment = environment;
+        reload();
+    }
+
+    /**
+     * Calculates distance between two points of Space map.
+     *
+     * @return euclidean distance between (startX, startY) and (destinationX, destinationY).
+     */
+    public static double calculateDistance(long startX, long startY, long destinationX, long destinationY) {
+        double deltaX = destinationX - startX;
+        double deltaY = destinationY - startY;
+        return Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+    }
+
+    /**
+     * Calculates duration of Mission (in seconds) with explicitly specified coefficients.
+     *
+     * @return rounded duration of Mission (in seconds).
+     */
+    public static long calculateDuration(double distance, double shipSpeed, int shipLevel,
+                                         double shipLevelCoefficient, double timeCoefficientSeconds) {
+        double time = distance / (shipSpeed + (shipLevel * shipLevelCoefficient));
+        return Math.round(time * timeCoefficientSeconds);
+    }
+
+    /**
+     * Calculates duration of Mission (in seconds) with current coefficients.
+     *
+     * @param distance  (positive) distance of Mission.
+     * @param shipSpeed (positive) speed of SpaceShip, which serves the Mission.
+     * @param shipLevel (not less then 1) level of SpaceShip, which serves the Mission.
+     * @return rounded duration of Mission (in seconds).
+     */
+    public long calculateDuration(double distance, double shipSpeed, int shipLevel) {
+        Coefficients current = coefficients;
+        return calculateDuration(distance, shipSpeed, shipLevel,
+                current.shipLevelCoefficient, current.timeCoefficientSeconds);
+    }
+
+    /**
+     * Calculates experience, which User gets for completed Mission.
+     *
+     * @param shipLevel level of SpaceShip, which served the Mission.
+     * @param payload   cargo, which was transported during the Mission.
+     * @return experience reward.
+     */
+    public long calculateExperienceReward(int shipLevel, double payload) {
+        return shipLevel * Math.round(payload * coefficients.experiencePayloadCoefficient);
+    }
+
+    /**
+     * @return (not null) current snapshot of game coefficients.
+     */
+    public Coefficients getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * Parses game coefficients from System's properties again and replaces current ones.
+     *
+     * @return (not null) new snapshot of game coefficients.
+     * @throws AppException if some of properties is missing or isn't valid number
+     *                      (current coefficients stay unchanged in this case).
+     */
+    public Coefficients reload() throws AppException {
+        return reload(null, null, null);
+    }
+
+    /**
+     * Replaces current game coefficients. Missing (null) values are parsed from System's properties.
+     *
+     * @return (not null) new snapshot of game coefficients.
+     * @throws AppException if some of coefficients is missing or isn't valid number
+     *                      (current coefficients stay unchanged in this case).
+     */
+    public Coefficients reload(Double shipLevelCoefficient, Double timeCoefficientSeconds,
+                               Double experiencePayloadCoefficient) throws AppException {
+        LOGGER.info("Trying to reload game mechanics coefficients...");
+
+        Coefficients reloaded;
+        try {
+            reloaded = new Coefficients(
+                    shipLevelCoefficient != null ? shipLevelCoefficient :
+                            Double.parseDouble(environment.getRequiredProperty(SHIP_LEVEL_COEFFICIENT_PROP_NAME)),
+                    timeCoefficientSeconds != null ? timeCoefficientSeconds :
+                            Double.parseDouble(environment.getRequiredProperty(TIME_COEFFICIENT_SECONDS_PROP_NAME)),
+                    experiencePayloadCoefficient != null ? experiencePayloadCoefficient :
+                            environment.getProperty(EXPERIENCE_PAYLOAD_COEFFICIENT_PROP_NAME, Double.class,
+                                    DEFAULT_EXPERIENCE_PAYLOAD_COEFFICIENT));
+        } catch (RuntimeException e) {
+            AppException exception = new AppException("Can't reload game mechanics coefficients. " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        if (Double.isNaN(reloaded.shipLevelCoefficient) || reloaded.shipLevelCoefficient < 0 ||
+                Double.isNaN(reloaded.timeCoefficientSeconds) || reloaded.timeCoefficientSeconds <= 0 ||
+                Double.isNaN(reloaded.experiencePayloadCoefficient) || reloaded.experiencePayloadCoefficient < 0) {
+            AppException exception = new AppException("Can't reload game mechanics coefficients. " +
+                    "Wrong coefficients: " + reloaded + ".");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        coefficients = reloaded;
+
+        LOGGER.info("Successfully reloaded game mechanics coefficients: " + reloaded + ".");
+        return reloaded;
+    }
+
+    /**
+     * Immutable snapshot of game coefficients.
+     */
+    public static final class Coefficients {
+
+        private final double shipLevelCoefficient;
+        private final double timeCoefficientSeconds;
+        private final double experiencePayloadCoefficient;
+
+        Coefficients(double shipLevelCoefficient, double timeCoefficientSeconds,
+                     double experiencePayloadCoefficient) {
+            this.shipLevelCoefficient = shipLevelCoefficient;
+            this.timeCoefficientSeconds = timeCoefficientSeconds;
+            this.experiencePayloadCoefficient = experiencePayloadCoefficient;
+        }
+
+        public double getShipLevelCoefficient() {
+            return shipLevelCoefficient;
+        }
+
+        public double getTimeCoefficientSeconds() {
+            return timeCoefficientSeconds;
+        }
+
+        public double getExperiencePayloadCoefficient() {
+            return experiencePayloadCoefficient;
+        }
+
+        @Override
+        public String toString() {
+            return "Coefficients(shipLevelCoefficient=" + shipLevelCoefficient +
+                    ", timeCoefficientSeconds=" + timeCoefficientSeconds +
+                    ", experiencePayloadCoefficient=" + experiencePayloadCoefficient + ")";
+        }
+    }
+}
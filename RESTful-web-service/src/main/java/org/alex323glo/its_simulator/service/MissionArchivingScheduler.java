@@ -0,0 +1,146 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alex323glo.its_simulator.exception.AppException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background task, which moves finished (COMPLETED and CANCELED) Missions, finished long ago,
+ * from 'missions' table to 'mission_archive' table (see MissionService.archiveFinishedMissions()).
+ *
+ * Missions are moved by chunks (single transaction per chunk). Task throttles itself: after every chunk
+ * it pauses, so it spends in transactions not more then 'duty_cycle' part of its running time
+ * (for example, chunk, moved in 50 ms, is followed by 200 ms pause with 0.2 duty cycle).
+ *
+ * Is configured by such properties:
+ *  - 'game.missions.archive.enabled' - switches archiving on/off (default: true);
+ *  - 'game.missions.archive.poll_delay_ms' - delay between runs of archiving (default: 60000);
+ *  - 'game.missions.archive.min_age_minutes' - Missions, finished earlier, are archived (default: 10080, a week);
+ *  - 'game.missions.archive.chunk_size' - max number of Missions, moved in single transaction (default: 500);
+ *  - 'game.missions.archive.duty_cycle' - max part of running time, spent in transactions, in (0, 1] range
+ *    (default: 0.2).
+ *
+ * Publishes 'missions.archive.archived' counter and 'missions.archive.chunk' timer (time of chunk's transaction).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.model.game.ArchivedMission
+ */
+@Component
+public class MissionArchivingScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissionArchivingScheduler.class);
+
+    private static final long DEFAULT_MIN_AGE_MINUTES = 7 * 24 * 60;
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final double DEFAULT_DUTY_CYCLE = 0.2;
+
+    private final MissionService missionService;
+    private final Counter archivedMissionsCounter;
+    private final Timer chunkTimer;
+    private final boolean enabled;
+    private final long minAgeMinutes;
+    private final int chunkSize;
+    private final double dutyCycle;
+
+    @Autowired
+    public MissionArchivingScheduler(MissionService missionService, MeterRegistry meterRegistry,
+                                     Environment environment) {
+        this.missionService = missionService;
+        this.archivedMissionsCounter = meterRegistry.counter("missions.archive.archived");
+        this.chunkTimer = meterRegistry.timer("missions.archive.chunk");
+        this.enabled = environment.getProperty("game.missions.archive.enabled", Boolean.class, true);
+        this.minAgeMinutes = environment.getProperty("game.missions.archive.min_age_minutes", Long.class,
+                DEFAULT_MIN_AGE_MINUTES);
+        this.chunkSize = environment.getProperty("game.missions.archive.chunk_size", Integer.class,
+                DEFAULT_CHUNK_SIZE);
+        this.dutyCycle = validDutyCycle(environment.getProperty("game.missions.archive.duty_cycle", Double.class,
+                DEFAULT_DUTY_CYCLE));
+    }
+
+    @Scheduled(initialDelayString = "${game.missions.archive.poll_delay_ms:60000}",
+            fixedDelayString = "${game.missions.archive.poll_delay_ms:60000}")
+    public void onSchedule() {
+        if (enabled) {
+            archiveFinishedMissions(LocalDateTime.now().minusMinutes(minAgeMinutes));
+        }
+    }
+
+    /**
+     * Archives all Missions, finished before proposed time (by chunks, single transaction per chunk,
+     * with pauses between chunks).
+     *
+     * @param finishedBefore Missions, finished before this time, are archived.
+     * @return number of archived Missions.
+     */
+    public int archiveFinishedMissions(LocalDateTime finishedBefore) {
+        int archivedMissionsNumber = 0;
+
+        int chunkMissionsNumber;
+        do {
+            long startTime = System.nanoTime();
+            try {
+                chunkMissionsNumber = missionService.archiveFinishedMissions(finishedBefore, chunkSize);
+            } catch (AppException | RuntimeException e) {
+                LOGGER.error("Can't archive chunk of finished Missions, it will be retried later. " +
+                        e.getMessage(), e);
+                break;
+            }
+            long elapsedNanos = System.nanoTime() - startTime;
+            chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            archivedMissionsCounter.increment(chunkMissionsNumber);
+            archivedMissionsNumber += chunkMissionsNumber;
+
+            if (chunkMissionsNumber == chunkSize && !pause(elapsedNanos)) {
+                break;
+            }
+        } while (chunkMissionsNumber == chunkSize);
+
+        if (archivedMissionsNumber > 0) {
+            LOGGER.info("Archived " + archivedMissionsNumber + " finished Mission(s).");
+        }
+        return archivedMissionsNumber;
+    }
+
+    /**
+     * Checks, that duty cycle is in (0, 1] range (pause after chunk is divided by it),
+     * otherwise default duty cycle is used.
+     */
+    private static double validDutyCycle(double dutyCycle) {
+        if (dutyCycle > 0 && dutyCycle <= 1) {
+            return dutyCycle;
+        }
+        LOGGER.warn("Duty cycle of Missions archiving must be in (0, 1] range, but it is " + dutyCycle +
+                ". Default duty cycle (" + DEFAULT_DUTY_CYCLE + ") is used.");
+        return DEFAULT_DUTY_CYCLE;
+    }
+
+    /**
+     * Pauses after chunk, which took proposed time, to keep duty cycle.
+     *
+     * @return false, if thread was interrupted.
+     */
+    private boolean pause(long chunkElapsedNanos) {
+        if (dutyCycle >= 1) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep((long) (chunkElapsedNanos * (1 - dutyCycle) / dutyCycle));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background task, which completes started Missions, when their finish time is reached
+ * (frees their SpaceShips and credits experience to their owners without any client request).
+ *
+ * On start of System restores deadlines of STARTED Missions from Data Base
+ * and completes Missions, which expired while System was down.
+ *
+ * Is configured by such properties:
+ *  - 'game.missions.auto_completion.enabled' - switches automatic completion on/off (default: true);
+ *  - 'game.missions.auto_completion.poll_delay_ms' - delay between checks of deadlines queue (default: 1000);
+ *  - 'game.missions.auto_completion.batch_size' - max number of Missions, completed in single transaction (default: 500);
+ *  - 'game.missions.auto_completion.retry_delay_ms' - delay before first retry of failed completion (default: 1000);
+ *  - 'game.missions.auto_completion.max_retry_delay_ms' - max delay between retries (default: 60000).
+ *
+ * If batch can't be completed, its Missions are completed one at a time (single transaction per Mission),
+ * so one broken Mission doesn't hold back the others. Missions, which still fail, are logged by ID and retried
+ * with exponential backoff (their deadlines are never dropped).
+ *
+ * Publishes 'missions.completion.lag' metric (time between Mission's finish time and its actual completion).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionDeadlineQueue
+ */
+@Component
+public class MissionCompletionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissionCompletionScheduler.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final long DEFAULT_RETRY_DELAY_MS = 1000;
+    private static final long DEFAULT_MAX_RETRY_DELAY_MS = 60000;
+
+    private final MissionService missionService;
+    private final MissionDeadlineQueue missionDeadlineQueue;
+    private final Timer completionLagTimer;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final long maxRetryDelayMs;
+
+    // numbers of failed completion attempts by Missions' IDs:
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MissionCompletionScheduler(MissionService missionService, MissionDeadlineQueue missionDeadlineQueue,
+                                      MeterRegistry meterRegistry, Environment environment) {
+        this.missionService = missionService;
+        this.missionDeadlineQueue = missionDeadlineQueue;
+        this.completionLagTimer = meterRegistry.timer("missions.completion.lag");
+        this.enabled = environment.getProperty("game.missions.auto_completion.enabled", Boolean.class, true);
+        this.batchSize = environment.getProperty("game.missions.auto_completion.batch_size", Integer.class,
+                DEFAULT_BATCH_SIZE);
+        this.retryDelayMs = Math.max(1, environment.getProperty("game.missions.auto_completion.retry_delay_ms",
+                Long.class, DEFAULT_RETRY_DELAY_MS));
+        this.maxRetryDelayMs = Math.max(retryDelayMs, environment.getProperty(
+                "game.missions.auto_completion.max_retry_delay_ms", Long.class, DEFAULT_MAX_RETRY_DELAY_MS));
+    }
+
+    /**
+     * Restores deadlines of Missions, started before restart of System, and completes
+     * Missions, which expired while System was down (in batches).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            missionService.restoreMissionDeadlines();
+        } catch (AppException e) {
+            LOGGER.error("Can't restore deadlines of STARTED Missions after start. " + e.getMessage(), e);
+        }
+        completeDueMissions();
+    }
+
+    @Scheduled(fixedDelayString = "${game.missions.auto_completion.poll_delay_ms:1000}")
+    public void onSchedule() {
+        if (enabled) {
+            completeDueMissions();
+        }
+    }
+
+    /**
+     * Completes all started Missions, which finish time is already reached
+     * (in batches, single transaction per batch; Missions of failed batch are completed one at a time).
+     *
+     * @return number of completed Missions.
+     */
+    public int completeDueMissions() {
+        int completedMissionsNumber = 0;
+
+        List<MissionDeadline> dueDeadlines;
+        do {
+            dueDeadlines = missionDeadlineQueue.pollDue(LocalDateTime.now(), batchSize);
+            if (dueDeadlines.isEmpty()) {
+                break;
+            }
+
+            try {
+                completedMissionsNumber += completeMissions(dueDeadlines);
+            } catch (AppException | RuntimeException e) {
+                LOGGER.warn("Can't automatically complete batch of " + dueDeadlines.size() + " Mission(s), " +
+                        "they will be completed one at a time. " + e.getMessage(), e);
+                for (MissionDeadline deadline : dueDeadlines) {
+                    completedMissionsNumber += completeMissionOrRetryLater(deadline);
+                }
+            }
+        } while (dueDeadlines.size() == batchSize);
+
+        if (completedMissionsNumber > 0) {
+            LOGGER.info("Automatically completed " + completedMissionsNumber + " Mission(s).");
+        }
+        return completedMissionsNumber;
+    }
+
+    // completes Missions of deadlines in single transaction (and returns number of completed Missions):
+    private int completeMissions(List<MissionDeadline> deadlines) throws AppException {
+        Map<Long, LocalDateTime> finishTimes = new HashMap<>();
+        deadlines.forEach(deadline -> finishTimes.put(deadline.getMissionId(), deadline.getFinishTime()));
+
+        int completedMissionsNumber = 0;
+        for (Mission completedMission : missionService.completeExpiredMissions(finishTimes.keySet())) {
+            completionLagTimer.record(Duration.between(
+                    finishTimes.get(completedMission.getId()), completedMission.getFinishTime()));
+            completedMissionsNumber++;
+        }
+        finishTimes.keySet().forEach(failedAttempts::remove);
+        return completedMissionsNumber;
+    }
+
+    private int completeMissionOrRetryLater(MissionDeadline deadline) {
+        try {
+            return completeMissions(Collections.singletonList(deadline));
+        } catch (AppException | RuntimeException e) {
+            int attempts = failedAttempts.merge(deadline.getMissionId(), 1, Integer::sum);
+            long delayMs = Math.min(maxRetryDelayMs, retryDelayMs << Math.min(attempts - 1, 20));
+            LOGGER.error("Can't automatically complete Mission (ID: " + deadline.getMissionId() + ", failed " +
+                    attempts + " time(s)), it will be retried in " + delayMs + " ms. " + e.getMessage(), e);
+            missionDeadlineQueue.retryAt(deadline, LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.game.MissionDeadline;
+import org.alex323glo.its_simulator.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * In-memory queue of started Missions' deadlines (ordered by finish time).
+ *
+ * Is filled by MissionService, when Missions are started, and drained
+ * by MissionCompletionScheduler, when their finish time is reached.
+ *
+ * Deadlines of Missions, which completion failed, are kept aside until time of their retry
+ * (see retryAt()), so they don't block other deadlines.
+ *
+ * Publishes such metrics:
+ *  - 'missions.completion.pending' - number of deadlines in queue (retried ones included);
+ *  - 'missions.completion.retried' - number of deadlines, waiting for retry of failed completion;
+ *  - 'missions.completion.overdue' - seconds, passed since the earliest deadline in queue
+ *      (0 if no deadline is reached yet).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionCompletionScheduler
+ */
+@Component
+public class MissionDeadlineQueue {
+
+    private final PriorityQueue<MissionDeadline> deadlines = new PriorityQueue<>();
+    private final PriorityQueue<RetriedDeadline> retriedDeadlines = new PriorityQueue<>();
+
+    @Autowired
+    public MissionDeadlineQueue(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("missions.completion.pending", this, MissionDeadlineQueue::size);
+        meterRegistry.gauge("missions.completion.retried", this, MissionDeadlineQueue::retriedSize);
+        meterRegistry.gauge("missions.completion.overdue", this, queue -> queue.overdueSeconds(LocalDateTime.now()));
+    }
+
+    /**
+     * Adds deadline to queue after commit of current transaction
+     * (so Mission can't be completed before its start is saved).
+     *
+     * @param deadline deadline of started Mission.
+     */
+    public void register(MissionDeadline deadline) {
+        TransactionCallbacks.afterCommit(() -> add(deadline));
+    }
+
+    /**
+     * Adds deadlines to queue immediately (is used to restore queue from Data Base).
+     *
+     * @param deadlines Stream of deadlines (preferably, ordered by finish time).
+     * @return number of added deadlines.
+     */
+    public synchronized int addAll(Stream<MissionDeadline> deadlines) {
+        int sizeBefore = this.deadlines.size();
+        deadlines.forEach(this.deadlines::add);
+        return this.deadlines.size() - sizeBefore;
+    }
+
+    /**
+     * Adds deadline to queue immediately, but it isn't polled before proposed time
+     * (is used to retry failed completion of Mission later).
+     *
+     * @param deadline  deadline of started Mission.
+     * @param retryTime time, when deadline becomes due again.
+     */
+    public synchronized void retryAt(MissionDeadline deadline, LocalDateTime retryTime) {
+        retriedDeadlines.add(new RetriedDeadline(deadline, retryTime));
+    }
+
+    /**
+     * Removes from queue deadlines, which are reached at the moment.
+     *
+     * @param now current time.
+     * @param maxCount maximum number of deadlines to remove.
+     * @return (not null) List of reached deadlines, ordered by finish time.
+     */
+    public synchronized List<MissionDeadline> pollDue(LocalDateTime now, int maxCount) {
+        while (!retriedDeadlines.isEmpty() && !retriedDeadlines.peek().retryTime.isAfter(now)) {
+            deadlines.add(retriedDeadlines.poll().deadline);
+        }
+
+        List<MissionDeadline> dueDeadlines = new ArrayList<>();
+        while (dueDeadlines.size() < maxCount && !deadlines.isEmpty() &&
+                !deadlines.peek().getFinishTime().isAfter(now)) {
+            dueDeadlines.add(deadlines.poll());
+        }
+        return dueDeadlines;
+    }
+
+    public synchronized int size() {
+        return deadlines.size() + retriedDeadlines.size();
+    }
+
+    public synchronized int retriedSize() {
+        return retriedDeadlines.size();
+    }
+
+    public synchronized void clear() {
+        deadlines.clear();
+        retriedDeadlines.clear();
+    }
+
+    private synchronized void add(MissionDeadline deadline) {
+        deadlines.add(deadline);
+    }
+
+    private synchronized double overdueSeconds(LocalDateTime now) {
+        MissionDeadline earliest = deadlines.peek();
+        if (earliest == null || earliest.getFinishTime().isAfter(now)) {
+            return 0;
+        }
+        return Duration.between(earliest.getFinishTime(), now).toMillis() / 1000.0;
+    }
+
+    private static class RetriedDeadline implements Comparable<RetriedDeadline> {
+
+        private final MissionDeadline deadline;
+        private final LocalDateTime retryTime;
+
+        private RetriedDeadline(MissionDeadline deadline, LocalDateTime retryTime) {
+            this.deadline = deadline;
+            this.retryTime = retryTime;
+        }
+
+        @Override
+        public int compareTo(RetriedDeadline other) {
+            int result = retryTime.compareTo(other.retryTime);
+            return result != 0 ? result : deadline.compareTo(other.deadline);
+        }
+    }
+}
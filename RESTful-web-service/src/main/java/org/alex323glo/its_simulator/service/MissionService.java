@@ -1,9 +1,18 @@
 package org.alex323glo.its_simulator.service;
 
 import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionBatchResult;
+import org.alex323glo.its_simulator.model.game.MissionCursor;
 import org.alex323glo.its_simulator.model.game.MissionMetrics;
+import org.alex323glo.its_simulator.model.game.MissionPage;
+import org.alex323glo.its_simulator.model.game.MissionRoute;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.util.MissionExportWriter;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,16 +25,27 @@ import java.util.List;
 public interface MissionService {
 
     /**
-     * Searches for existent Mission in System.
+     * Searches for existent (active, finished or archived) Mission in System.
      *
      * @param username unique and valid username of registered User.
      * @param missionId unique identifier of existent mission.
-     * @return needed Mission, if it was created before, or null, if it wasn't.
+     * @return needed Mission, if it was created before (by this User), or null, if it wasn't.
      * @throws AppException if System can't carry out this operation in some reasons
      * (see more in method's realisation).
      */
     Mission findMission(String username, Long missionId) throws AppException;
 
+    /**
+     * Searches for existent (active, finished or archived) Mission in System as response DTO.
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return needed Mission's DTO, if Mission was created before (by this User), or null, if it wasn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    MissionDTO findMissionDTO(String username, Long missionId) throws AppException;
+
     /**
      * Starts User's (created) Mission.
      *
@@ -37,6 +57,17 @@ public interface MissionService {
      */
     Mission startMission(String username, Mission mission) throws AppException;
 
+    /**
+     * Starts User's (created) Mission (ownership is checked together with search of Mission).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    Mission startMission(String username, Long missionId) throws AppException;
+
     /**
      * Cancels User's (started) Mission.
      *
@@ -48,6 +79,17 @@ public interface MissionService {
      */
     Mission cancelMission(String username, Mission mission) throws AppException;
 
+    /**
+     * Cancels User's (created or started) Mission (ownership is checked together with search of Mission).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    Mission cancelMission(String username, Long missionId) throws AppException;
+
     /**
      * Completes User's (started) Mission.
      *
@@ -59,6 +101,105 @@ public interface MissionService {
      */
     Mission completeMission(String username, Mission mission) throws AppException;
 
+    /**
+     * Completes User's (started) Mission (ownership is checked together with search of Mission).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    Mission completeMission(String username, Long missionId) throws AppException;
+
+    /**
+     * Starts many User's (created) Missions at once (in single transaction).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of results (one per each unique ID, in request order). Missions, which
+     * don't exist, aren't owned by User or can't be started in their current status, are reported
+     * as failed and don't affect other Missions of batch.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<MissionBatchResult> startMissions(String username, List<Long> missionIds) throws AppException;
+
+    /**
+     * Cancels many User's (created or started) Missions at once (in single transaction).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of results (one per each unique ID, in request order). Missions, which
+     * don't exist, aren't owned by User or can't be canceled in their current status, are reported
+     * as failed and don't affect other Missions of batch.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<MissionBatchResult> cancelMissions(String username, List<Long> missionIds) throws AppException;
+
+    /**
+     * Completes many User's (started) Missions at once (in single transaction).
+     *
+     * @param username unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of results (one per each unique ID, in request order). Missions, which
+     * don't exist, aren't owned by User or can't be completed in their current status, are reported
+     * as failed and don't affect other Missions of batch.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<MissionBatchResult> completeMissions(String username, List<Long> missionIds) throws AppException;
+
+    /**
+     * Completes started Missions on behalf of System (without User's request),
+     * when their finish time is reached. All Missions are completed in single transaction.
+     *
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of completed Missions (Missions, which don't exist or
+     * aren't STARTED anymore, are skipped).
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<Mission> completeExpiredMissions(Collection<Long> missionIds) throws AppException;
+
+    /**
+     * Loads deadlines of all STARTED Missions from Data Base to MissionDeadlineQueue
+     * (for example, after restart of System).
+     *
+     * @return number of loaded deadlines.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    int restoreMissionDeadlines() throws AppException;
+
+    /**
+     * Moves finished (COMPLETED and CANCELED) Missions, which were finished before proposed time,
+     * to archive (see ArchivedMission). Missions are moved in single transaction.
+     *
+     * @param finishedBefore (not null) Missions, finished before this time, are archived.
+     * @param maxMissions (positive) maximal number of archived Missions.
+     * @return number of archived Missions.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    int archiveFinishedMissions(LocalDateTime finishedBefore, int maxMissions) throws AppException;
+
+    /**
+     * Plans the fastest multi-hop route (MissionRoute object) between two Planets for proposed SpaceShip.
+     *
+     * @param username unique and valid username of registered User.
+     * @param startPlanetName start point of route.
+     * @param destinationPlanetName destination point of route.
+     * @param spaceShipName target SpaceShip, which will fly the route.
+     * @return MissionRoute, if operation was successful, or null, if SpaceShip or some of Planets
+     * doesn't exist, or destination Planet is unreachable.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    MissionRoute generateMissionRoute(String username, String startPlanetName, String destinationPlanetName,
+                                      String spaceShipName) throws AppException;
+
     /**
      * Calculates Mission metrics (MissionMetrics object) according to proposed params.
      *
@@ -90,7 +231,7 @@ public interface MissionService {
                                 String spaceShipName, Double payload) throws AppException;
 
     /**
-     * Lists all User's existent Missions.
+     * Lists all User's existent Missions (including archived ones).
      *
      * @param username unique and valid username of registered User.
      * @return (not null) List of target User's Missions, if operation was successful.
@@ -99,4 +240,34 @@ public interface MissionService {
      */
     List<Mission> findAllMissions(String username) throws AppException;
 
+    /**
+     * Lists page of User's Missions as response DTOs (newest Missions first, including archived ones).
+     *
+     * @param username unique and valid username of registered User.
+     * @param cursor position of previous page's end (see MissionPage.nextCursor), or null for first page.
+     * @param statuses needed statuses of Missions, or null (or empty Collection) for all statuses.
+     * @param limit maximal number of Missions on page (is limited by System), or null for default one.
+     * @return (not null) page of target User's Missions, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    MissionPage findMissionsPage(String username, MissionCursor cursor, Collection<MissionStatus> statuses,
+                                 Integer limit) throws AppException;
+
+    /**
+     * Exports whole User's Mission history as response DTOs (newest Missions first, including archived ones).
+     * <p>
+     * Missions are read by Data Base cursors and are passed to writer one by one,
+     * so memory doesn't depend on size of history.
+     *
+     * @param username unique and valid username of registered User.
+     * @param statuses needed statuses of Missions, or null (or empty Collection) for all statuses.
+     * @param writer (not null) writer of exported Missions.
+     * @return number of exported Missions, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    long exportMissions(String username, Collection<MissionStatus> statuses, MissionExportWriter writer)
+            throws AppException;
+
 }
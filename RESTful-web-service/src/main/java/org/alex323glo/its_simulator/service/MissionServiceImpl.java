@@ -2,19 +2,30 @@ package org.alex323glo.its_simulator.service;
 
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.exception.ValidationException;
+import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
 import org.alex323glo.its_simulator.model.game.*;
+import org.alex323glo.its_simulator.repository.ArchivedMissionRepository;
 import org.alex323glo.its_simulator.repository.MissionRepository;
+import org.alex323glo.its_simulator.repository.SpaceShipRepository;
+import org.alex323glo.its_simulator.repository.UserGameProfileRepository;
+import org.alex323glo.its_simulator.repository.UserGameProfileRepository.UserGameProfileCounters;
+import org.alex323glo.its_simulator.util.MissionExportWriter;
 import org.alex323glo.its_simulator.util.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of MissionService interface. See more in abstraction.
@@ -29,21 +40,64 @@ public class MissionServiceImpl implements MissionService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MissionServiceImpl.class);
 
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final int DEFAULT_HISTORY_PAGE_LIMIT = 50;
+    private static final int DEFAULT_MAX_HISTORY_PAGE_LIMIT = 500;
+
+    private static final Set<MissionStatus> STARTABLE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(MissionStatus.CREATED));
+    private static final Set<MissionStatus> CANCELABLE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(MissionStatus.CREATED, MissionStatus.STARTED));
+    private static final Set<MissionStatus> COMPLETABLE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(MissionStatus.STARTED));
+    private static final Set<MissionStatus> FINISHED_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(MissionStatus.COMPLETED, MissionStatus.CANCELED));
+
+    // newest Missions first (order of User's Mission history):
+    private static final Comparator<MissionDTO> HISTORY_ORDER = Comparator
+            .comparing(MissionDTO::getRegistrationTime)
+            .thenComparing(MissionDTO::getId)
+            .reversed();
+
     private final Validator validator;
     private final MissionRepository missionRepository;
+    private final ArchivedMissionRepository archivedMissionRepository;
+    private final SpaceShipRepository spaceShipRepository;
+    private final UserGameProfileRepository userGameProfileRepository;
     private final SpaceShipService spaceShipService;
     private final PlanetService planetService;
-    private final Environment environment;
+    private final MissionDeadlineQueue missionDeadlineQueue;
+    private final GameMechanics gameMechanics;
+    private final StatusEventBroker statusEventBroker;
+    private final int maxBatchSize;
+    private final int defaultHistoryPageLimit;
+    private final int maxHistoryPageLimit;
 
     @Autowired
     public MissionServiceImpl(Validator validator, MissionRepository missionRepository,
-                              SpaceShipService spaceShipService, PlanetService planetService, Environment environment) {
+                              ArchivedMissionRepository archivedMissionRepository,
+                              SpaceShipRepository spaceShipRepository,
+                              UserGameProfileRepository userGameProfileRepository,
+                              SpaceShipService spaceShipService, PlanetService planetService,
+                              MissionDeadlineQueue missionDeadlineQueue, GameMechanics gameMechanics,
+                              StatusEventBroker statusEventBroker, Environment environment) {
 
         this.validator = validator;
         this.missionRepository = missionRepository;
+        this.archivedMissionRepository = archivedMissionRepository;
+        this.spaceShipRepository = spaceShipRepository;
+        this.userGameProfileRepository = userGameProfileRepository;
         this.spaceShipService = spaceShipService;
         this.planetService = planetService;
-        this.environment = environment;
+        this.missionDeadlineQueue = missionDeadlineQueue;
+        this.gameMechanics = gameMechanics;
+        this.statusEventBroker = statusEventBroker;
+        this.maxBatchSize = environment.getProperty("game.missions.batch.max_size", Integer.class,
+                DEFAULT_MAX_BATCH_SIZE);
+        this.defaultHistoryPageLimit = environment.getProperty("game.missions.history.default_limit",
+                Integer.class, DEFAULT_HISTORY_PAGE_LIMIT);
+        this.maxHistoryPageLimit = environment.getProperty("game.missions.history.max_limit",
+                Integer.class, DEFAULT_MAX_HISTORY_PAGE_LIMIT);
     }
 
     /**
@@ -51,38 +105,69 @@ public class MissionServiceImpl implements MissionService {
      *
      * @param username  unique and valid username of registered User.
      * @param missionId unique identifier of existent mission.
-     * @return needed Mission, if it was created before, or null, if it wasn't.
+     * @return needed Mission, if it was created before (by this User), or null, if it wasn't.
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public Mission findMission(String username, Long missionId) throws AppException {
         LOGGER.info("Trying to find Mission by ID and User's username...");
 
         try {
-            validator.validateUsername(username);
+            validator.validateUsername(username).ifNull(missionId);
         } catch (ValidationException e) {
             LOGGER.error("Can't find Mission by ID and User's username. " + e.getMessage(), e);
             throw new AppException(e);
         }
 
-        Optional<Mission> mission = missionRepository.findById(missionId);
-        if (!mission.isPresent()) {
-            LOGGER.warn("No Mission with such ID was saved to System.");
-            return null;
+        Mission mission = missionRepository.findOwnedMission(missionId, username);
+        if (mission == null) {
+            ArchivedMission archivedMission = archivedMissionRepository.findOwnedMission(missionId, username);
+            if (archivedMission == null) {
+                LOGGER.warn("No Mission with such ID was saved to System by this User.");
+                return null;
+            }
+            mission = archivedMission.toMission();
         }
 
-        String storedUsername = mission.get().getUserGameProfile().getUser().getUsername();
-        if (!username.equals(storedUsername)) {     // TODO replace with more special Exception type!!!
-            AppException exception = new AppException(
-                    "Attempt to access private data (Mission) by User, who is not its owner at all");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
+        LOGGER.info("Successfully found Mission by ID and User's username.");
+        return mission;
+    }
+
+    /**
+     * Searches for existent (active, finished or archived) Mission in System as response DTO
+     * (single SELECT with projection, Mission Entity isn't loaded).
+     *
+     * @param username  unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return needed Mission's DTO, if Mission was created before (by this User), or null, if it wasn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public MissionDTO findMissionDTO(String username, Long missionId) throws AppException {
+        LOGGER.info("Trying to find Mission's DTO by ID and User's username...");
+
+        try {
+            validator.validateUsername(username).ifNull(missionId);
+        } catch (ValidationException e) {
+            LOGGER.error("Can't find Mission's DTO by ID and User's username. " + e.getMessage(), e);
+            throw new AppException(e);
         }
 
-        LOGGER.info("Successfully found Mission by ID and User's username.");
-        return mission.get();
+        MissionDTO mission = missionRepository.findOwnedMissionDTO(missionId, username);
+        if (mission == null) {
+            mission = archivedMissionRepository.findOwnedMissionDTO(missionId, username);
+            if (mission == null) {
+                LOGGER.warn("No Mission with such ID was saved to System by this User.");
+                return null;
+            }
+        }
+
+        LOGGER.info("Successfully found Mission's DTO by ID and User's username.");
+        return mission;
     }
 
     /**
@@ -97,56 +182,97 @@ public class MissionServiceImpl implements MissionService {
     @Transactional
     @Override
     public Mission startMission(String username, Mission mission) throws AppException {
-        LOGGER.info("Trying to start Mission by User's username and Mission instance...");
+        return startMission(username, extractMissionId(mission));
+    }
 
-        if (mission == null || mission.getId() == null) {
-            AppException exception =
-                    new AppException("Can't user Mission instance: Mission instance is null of Mission.id is null.");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
-        }
+    /**
+     * Starts User's (created) Mission.
+     *
+     * @param username  unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public Mission startMission(String username, Long missionId) throws AppException {
+        LOGGER.info("Trying to start Mission by User's username and Mission's ID...");
 
         try {
-            validator.validateUsername(username);
+            validator.validateUsername(username).ifNull(missionId);
         } catch (ValidationException e) {
-            LOGGER.error("Can't start Mission by User's username and Mission instance. " + e.getMessage(), e);
+            LOGGER.error("Can't start Mission by User's username and Mission's ID. " + e.getMessage(), e);
             throw new AppException(e);
         }
 
-        Optional<Mission> storedMission = missionRepository.findById(mission.getId());
-        if (!storedMission.isPresent()) {
-            LOGGER.warn("No Mission with such ID was saved to System.");
+        Mission storedMission = missionRepository.findOwnedMission(missionId, username);
+        if (storedMission == null) {
+            LOGGER.warn("No Mission with such ID was saved to System by this User.");
             return null;
         }
 
-        String storedUsername = storedMission.get().getUserGameProfile().getUser().getUsername();
-        if (!username.equals(storedUsername)) {     // TODO replace with more special Exception type!!!
-            AppException exception = new AppException(
-                    "Attempt to access private data (Mission) by User, who is not its owner at all");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
-        }
+        checkStart(storedMission);
+        claimMission(storedMission, STARTABLE_STATUSES, MissionStatus.STARTED);
+        applyStart(storedMission, LocalDateTime.now());
 
-        MissionStatus missionStatus = storedMission.get().getMissionStatus();
-        if (missionStatus != MissionStatus.CREATED) {
-            AppException exception = new AppException("Attempt to start Mission, which status is " +
-                    missionStatus.name() + " (not CREATED, as required).");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
+        LOGGER.info("Successfully started Mission by User's username and Mission's ID.");
+        return storedMission;
+    }
+
+    /**
+     * Cancels User's (started) Mission.
+     *
+     * @param username unique and valid username of registered User.
+     * @param mission  needed Mission instance.
+     * @return (not null) updated Mission object, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public Mission cancelMission(String username, Mission mission) throws AppException {
+        return cancelMission(username, extractMissionId(mission));
+    }
+
+    /**
+     * Cancels User's (created or started) Mission.
+     *
+     * @param username  unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public Mission cancelMission(String username, Long missionId) throws AppException {
+        LOGGER.info("Trying to cancel Mission by User's username and Mission's ID...");
+
+        try {
+            validator.validateUsername(username).ifNull(missionId);
+        } catch (ValidationException e) {
+            LOGGER.error("Can't cancel Mission by User's username and Mission's ID. " + e.getMessage(), e);
+            throw new AppException(e);
         }
 
-        storedMission.get().setMissionStatus(MissionStatus.STARTED);
+        Mission storedMission = missionRepository.findOwnedMission(missionId, username);
+        if (storedMission == null) {
+            LOGGER.warn("No Mission with such ID was saved to System by this User.");
+            return null;
+        }
 
-        storedMission.get().setStartTime(LocalDateTime.now());
-        storedMission.get().setFinishTime(LocalDateTime.now().plusSeconds(storedMission.get().getDuration()));
-//        missionRepository.flush();
+        checkCancel(storedMission);
+        claimMission(storedMission, CANCELABLE_STATUSES, MissionStatus.CANCELED);
+        releaseSpaceShip(storedMission.getSpaceShip());
+        applyCancel(storedMission, LocalDateTime.now());
 
-        LOGGER.info("Successfully started Mission by User's username and Mission instance.");
-        return storedMission.get();
+        LOGGER.info("Successfully canceled Mission by User's username and Mission's ID.");
+        return storedMission;
     }
 
     /**
-     * Cancels User's (started) Mission.
+     * Completes User's (started) Mission.
      *
      * @param username unique and valid username of registered User.
      * @param mission  needed Mission instance.
@@ -156,127 +282,311 @@ public class MissionServiceImpl implements MissionService {
      */
     @Transactional
     @Override
-    public Mission cancelMission(String username, Mission mission) throws AppException {
-        LOGGER.info("Trying to cancel Mission by User's username and Mission instance...");
+    public Mission completeMission(String username, Mission mission) throws AppException {
+        return completeMission(username, extractMissionId(mission));
+    }
 
-        if (mission == null || mission.getId() == null) {
-            AppException exception =
-                    new AppException("Can't use Mission instance: Mission instance is null or Mission.id is null.");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
-        }
+    /**
+     * Completes User's (started) Mission.
+     *
+     * @param username  unique and valid username of registered User.
+     * @param missionId unique identifier of existent mission.
+     * @return updated Mission object, if operation was successful, or null, if there is no such User's Mission.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public Mission completeMission(String username, Long missionId) throws AppException {
+        LOGGER.info("Trying to complete Mission by User's username and Mission's ID...");
 
         try {
-            validator.validateUsername(username);
+            validator.validateUsername(username).ifNull(missionId);
         } catch (ValidationException e) {
-            LOGGER.error("Can't cancel Mission by User's username and Mission instance. " + e.getMessage(), e);
+            LOGGER.error("Can't complete Mission by User's username and Mission's ID. " + e.getMessage(), e);
             throw new AppException(e);
         }
 
-        Optional<Mission> storedMission = missionRepository.findById(mission.getId());
-        if (!storedMission.isPresent()) {
-            LOGGER.warn("No Mission with such ID was saved to System.");
+        Mission storedMission = missionRepository.findOwnedMission(missionId, username);
+        if (storedMission == null) {
+            LOGGER.warn("No Mission with such ID was saved to System by this User.");
             return null;
         }
 
-        String storedUsername = storedMission.get().getUserGameProfile().getUser().getUsername();
-        if (!username.equals(storedUsername)) {     // TODO replace with more special Exception type!!!
-            AppException exception = new AppException(
-                    "Attempt to access private data (Mission) by User, who is not its owner at all.");
+        LocalDateTime now = LocalDateTime.now();
+        checkCompletion(storedMission, now);
+        claimMission(storedMission, COMPLETABLE_STATUSES, MissionStatus.COMPLETED);
+        releaseSpaceShip(storedMission.getSpaceShip());
+        applyCompletion(storedMission, now);
+        addRewards(Collections.singletonList(storedMission));
+
+        LOGGER.info("Successfully completed Mission by User's username and Mission's ID.");
+        return storedMission;
+    }
+
+    /**
+     * Starts many User's Missions at once (in single transaction).
+     *
+     * @param username   unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of per-Mission results.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public List<MissionBatchResult> startMissions(String username, List<Long> missionIds) throws AppException {
+        return processMissionsBatch(username, missionIds, "start", (mission, now) -> checkStart(mission),
+                (missions, now) -> {
+                    claimMissions(missions, STARTABLE_STATUSES, MissionStatus.STARTED);
+                    missions.forEach(mission -> applyStart(mission, now));
+                });
+    }
+
+    /**
+     * Cancels many User's Missions at once (in single transaction).
+     *
+     * @param username   unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of per-Mission results.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public List<MissionBatchResult> cancelMissions(String username, List<Long> missionIds) throws AppException {
+        return processMissionsBatch(username, missionIds, "cancel", (mission, now) -> checkCancel(mission),
+                (missions, now) -> {
+                    claimMissions(missions, CANCELABLE_STATUSES, MissionStatus.CANCELED);
+                    releaseSpaceShips(missions);
+                    missions.forEach(mission -> applyCancel(mission, now));
+                });
+    }
+
+    /**
+     * Completes many User's Missions at once (in single transaction).
+     *
+     * @param username   unique and valid username of registered User.
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of per-Mission results.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public List<MissionBatchResult> completeMissions(String username, List<Long> missionIds) throws AppException {
+        return processMissionsBatch(username, missionIds, "complete", this::checkCompletion,
+                (missions, now) -> {
+                    claimMissions(missions, COMPLETABLE_STATUSES, MissionStatus.COMPLETED);
+                    releaseSpaceShips(missions);
+                    missions.forEach(mission -> applyCompletion(mission, now));
+                    addRewards(missions);
+                });
+    }
+
+    /**
+     * Completes started Missions on behalf of System (without User's request),
+     * when their finish time is reached. All Missions are completed in single transaction.
+     *
+     * @param missionIds unique identifiers of existent missions.
+     * @return (not null) List of completed Missions (Missions, which don't exist or
+     * aren't STARTED anymore, are skipped).
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public List<Mission> completeExpiredMissions(Collection<Long> missionIds) throws AppException {
+        LOGGER.info("Trying to complete expired Missions by their IDs...");
+
+        if (missionIds == null) {
+            AppException exception = new AppException("Can't complete expired Missions: List of IDs is null.");
             LOGGER.error(exception.getMessage(), exception);
             throw exception;
         }
 
-        MissionStatus missionStatus = storedMission.get().getMissionStatus();
-        if (missionStatus != MissionStatus.CREATED && missionStatus != MissionStatus.STARTED) {
-            AppException exception = new AppException("Attempt to start Mission, which status is " +
-                    missionStatus.name() + " (not CREATED or STARTED, as required).");
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
+        List<Mission> completedMissions = new ArrayList<>();
+        if (missionIds.isEmpty()) {
+            return completedMissions;
         }
 
-        storedMission.get().getSpaceShip().setSpaceShipStatus(SpaceShipStatus.FREE);
+        LocalDateTime now = LocalDateTime.now();
+        // Missions are locked, so their statuses can't be changed by concurrent operations till commit:
+        List<Long> lockedMissionIds = missionRepository.lockMissions(missionIds);
+        if (lockedMissionIds.isEmpty()) {
+            return completedMissions;
+        }
+        for (Mission mission : missionRepository.findAllWithSpaceShipAndGameProfileByIdIn(lockedMissionIds)) {
+            if (mission.getMissionStatus() != MissionStatus.STARTED) {
+                LOGGER.info("Mission is not STARTED anymore (it was canceled or completed before).");
+                continue;
+            }
+            if (mission.getFinishTime().isAfter(now)) {
+                LOGGER.warn("Mission can't be completed. Its registered finishTime is not reached yet.");
+                continue;
+            }
+            completedMissions.add(mission);
+        }
 
-        storedMission.get().setMissionStatus(MissionStatus.CANCELED);
-        storedMission.get().setFinishTime(LocalDateTime.now());
-//        missionRepository.flush();
+        claimMissions(completedMissions, COMPLETABLE_STATUSES, MissionStatus.COMPLETED);
+        releaseSpaceShips(completedMissions);
+        completedMissions.forEach(mission -> applyCompletion(mission, now));
+        addRewards(completedMissions);
 
-        LOGGER.info("Successfully canceled Mission by User's username and Mission instance.");
-        return storedMission.get();
+        LOGGER.info("Successfully completed " + completedMissions.size() + " expired Mission(s) by their IDs.");
+        return completedMissions;
     }
 
     /**
-     * Completes User's (started) Mission.
+     * Loads deadlines of all STARTED Missions from Data Base to MissionDeadlineQueue
+     * (for example, after restart of System).
      *
-     * @param username unique and valid username of registered User.
-     * @param mission  needed Mission instance.
-     * @return (not null) updated Mission object, if operation was successful.
+     * Transaction isn't read-only, so deadlines are read from primary Data Base: deadline of Mission,
+     * which is started just before restoring, mustn't be lost because of lag of read replica
+     * (see ReadReplicaRoutingDataSource).
+     *
+     * @return number of loaded deadlines.
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
     @Transactional
     @Override
-    public Mission completeMission(String username, Mission mission) throws AppException {
-        LOGGER.info("Trying to complete Mission by User's username and Mission instance...");
-
-        if (mission == null || mission.getId() == null) {
+    public int restoreMissionDeadlines() throws AppException {
+        LOGGER.info("Trying to restore deadlines of STARTED Missions...");
+
+        int restoredDeadlinesNumber;
+        try (Stream<MissionDeadline> deadlines =
+                     missionRepository.streamDeadlinesByMissionStatus(MissionStatus.STARTED)) {
+            restoredDeadlinesNumber = missionDeadlineQueue.addAll(deadlines);
+        } catch (RuntimeException e) {
             AppException exception =
-                    new AppException("Can't use Mission instance: Mission instance is null or Mission.id is null.");
+                    new AppException("Can't restore deadlines of STARTED Missions. " + e.getMessage(), e);
             LOGGER.error(exception.getMessage(), exception);
             throw exception;
         }
 
-        try {
-            validator.validateUsername(username);
-        } catch (ValidationException e) {
-            LOGGER.error("Can't complete Mission by User's username and Mission instance. " + e.getMessage(), e);
-            throw new AppException(e);
+        LOGGER.info("Successfully restored " + restoredDeadlinesNumber + " deadline(s) of STARTED Missions.");
+        return restoredDeadlinesNumber;
+    }
+
+    /**
+     * Moves finished Missions to archive with set-based statements (whole chunk is moved by single
+     * SELECT of IDs, single INSERT ... SELECT to 'mission_archive' table and single DELETE from 'missions'
+     * table), without loading of Missions.
+     *
+     * @param finishedBefore (not null) Missions, finished before this time, are archived.
+     * @param maxMissions    (positive) maximal number of archived Missions.
+     * @return number of archived Missions.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(rollbackFor = AppException.class)
+    @Override
+    public int archiveFinishedMissions(LocalDateTime finishedBefore, int maxMissions) throws AppException {
+        LOGGER.info("Trying to archive finished Missions...");
+
+        if (finishedBefore == null || maxMissions < 1) {
+            AppException exception = new AppException("Can't archive finished Missions. " +
+                    "Finish time is null or maximal number of Missions isn't positive.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
         }
 
-        Optional<Mission> storedMission = missionRepository.findById(mission.getId());
-        if (!storedMission.isPresent()) {
-            LOGGER.warn("No Mission with such ID was saved to System.");
-            return null;
+        List<Long> missionIds = missionRepository.findFinishedMissionIds(FINISHED_STATUSES, finishedBefore,
+                PageRequest.of(0, maxMissions));
+        if (missionIds.isEmpty()) {
+            LOGGER.info("Successfully archived 0 finished Missions (no Missions to archive).");
+            return 0;
         }
 
-        String storedUsername = storedMission.get().getUserGameProfile().getUser().getUsername();
-        if (!username.equals(storedUsername)) {     // TODO replace with more special Exception type!!!
-            AppException exception = new AppException(
-                    "Attempt to access private data (Mission) by User, who is not its owner at all.");
+        int archivedMissionsNumber = archivedMissionRepository.copyFinishedMissions(missionIds);
+        int deletedMissionsNumber = missionRepository.deleteMissions(missionIds, FINISHED_STATUSES);
+        if (archivedMissionsNumber != deletedMissionsNumber) {
+            AppException exception = new AppException("Can't archive finished Missions. " +
+                    archivedMissionsNumber + " Mission(s) were copied to archive, but " + deletedMissionsNumber +
+                    " Mission(s) were deleted (archiving is rolled back).");
             LOGGER.error(exception.getMessage(), exception);
             throw exception;
         }
 
-        MissionStatus missionStatus = storedMission.get().getMissionStatus();
-        if (missionStatus != MissionStatus.STARTED) {
-            AppException exception = new AppException("Attempt to complete Mission, which status is " +
-                    missionStatus.name() + " (not STARTED, as required).");
+        LOGGER.info("Successfully archived " + archivedMissionsNumber + " finished Mission(s).");
+        return archivedMissionsNumber;
+    }
+
+    /**
+     * Plans the fastest multi-hop route (MissionRoute object) between two Planets for proposed SpaceShip.
+     * <p>
+     * Route is searched in route graph of Planets (see PlanetService.findRoute()). Its duration is the sum
+     * of durations of its hops (each hop is calculated as separate Mission).
+     *
+     * @param username              unique and valid username of registered User.
+     * @param startPlanetName       start point of route.
+     * @param destinationPlanetName destination point of route.
+     * @param spaceShipName         target SpaceShip, which will fly the route.
+     * @return MissionRoute, if operation was successful, or null, if SpaceShip or some of Planets
+     * doesn't exist, or destination Planet is unreachable.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public MissionRoute generateMissionRoute(String username, String startPlanetName,
+                                             String destinationPlanetName, String spaceShipName) throws AppException {
+        LOGGER.info("Trying to generate MissionRoute by User's username and route details(...) ...");
+
+        try {
+            validator.validateUsername(username).validatePlanetName(startPlanetName)
+                    .validatePlanetName(destinationPlanetName).validateSpaceShipName(spaceShipName);
+        } catch (ValidationException e) {
+            AppException exception = new AppException("Can't generate MissionRoute. " + e.getMessage());
             LOGGER.error(exception.getMessage(), exception);
             throw exception;
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        if (storedMission.get().getFinishTime().isAfter(now)) {
+        SpaceShip spaceShip = spaceShipService.findSpaceShip(username, spaceShipName);
+        Planet startPlanet = planetService.findPlanet(startPlanetName);
+        Planet destinationPlanet = planetService.findPlanet(destinationPlanetName);
+        if (spaceShip == null || startPlanet == null || destinationPlanet == null) {
+            LOGGER.warn("Can't generate MissionRoute: no SpaceShip or Planet with such name was saved to System.");
+            return null;
+        }
+
+        if (startPlanet.getPositionX().equals(destinationPlanet.getPositionX()) &&
+                startPlanet.getPositionY().equals(destinationPlanet.getPositionY())) {
             AppException exception =
-                    new AppException("Mission can't be completed. Its registered finishTime is not reached yet.");
+                    new AppException("Wrong start and/or destination planet(s): their positions are equal.");
             LOGGER.error(exception.getMessage(), exception);
             throw exception;
         }
 
-        storedMission.get().getSpaceShip().setSpaceShipStatus(SpaceShipStatus.FREE);
+        List<Planet> routePlanets = planetService.findRoute(startPlanet, destinationPlanet);
+        if (routePlanets == null) {
+            LOGGER.warn("Can't generate MissionRoute: destination Planet is unreachable.");
+            return null;
+        }
 
-        storedMission.get().setMissionStatus(MissionStatus.COMPLETED);
-        storedMission.get().setFinishTime(LocalDateTime.now());
-        storedMission.get().getUserGameProfile().setCompletedMissionsNumber(
-                storedMission.get().getUserGameProfile().getCompletedMissionsNumber() + 1);
-        storedMission.get().getUserGameProfile().setExperience(
-                storedMission.get().getUserGameProfile().getExperience() +
-                        storedMission.get().getSpaceShip().getLevel() *
-                                Math.round(storedMission.get().getPayload() * 100));
-//        missionRepository.flush();
+        double distance = 0;
+        long duration = 0;
+        for (int i = 1; i < routePlanets.size(); i++) {
+            double hopDistance = planetService.findDistance(routePlanets.get(i - 1), routePlanets.get(i));
+            distance += hopDistance;
+            duration += gameMechanics.calculateDuration(hopDistance, spaceShip.getSpeed(), spaceShip.getLevel());
+        }
 
-        LOGGER.info("Successfully completed Mission by User's username and Mission instance.");
-        return storedMission.get();
+        MissionRoute missionRoute = MissionRoute.builder()
+                .shipName(spaceShip.getName())
+                .shipLevel(spaceShip.getLevel())
+                .shipSpeed(spaceShip.getSpeed())
+                .startPlanetName(startPlanet.getName())
+                .destinationPlanetName(destinationPlanet.getName())
+                .planets(routePlanets.stream().map(PlanetDTO::of).collect(Collectors.toList()))
+                .hops(routePlanets.size() - 1)
+                .distance(distance)
+                .duration(duration)
+                .build();
+
+        LOGGER.info("Successfully generated MissionRoute by User's username and route details(...).");
+        return missionRoute;
     }
 
     /**
@@ -291,7 +601,7 @@ public class MissionServiceImpl implements MissionService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public MissionMetrics generateMissionMetrics(String username, String startPlanetName,
                                                  String destinationPlanetName, String spaceShipName,
@@ -341,20 +651,10 @@ public class MissionServiceImpl implements MissionService {
                 .destinationPositionY(destinationPlanet.getPositionY())
                 .build();
 
-        Double shipLevelCoefficient;
-        Double timeCoefficient;
-        try {
-            shipLevelCoefficient = Double.valueOf(environment.getProperty("game.mechanics.ship_level_coefficient"));
-            timeCoefficient = Double.valueOf(environment.getProperty("game.mechanics.time_coefficient_seconds"));
-        } catch (NumberFormatException e) {
-            AppException exception =
-                    new AppException("Can't generate MissionMetrics by User's username and Mission details(...). " +
-                            e.getMessage());
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
-        }
-
-        missionMetrics.refreshDistanceAndDuration(shipLevelCoefficient, timeCoefficient);
+        double distance = planetService.findDistance(startPlanet, destinationPlanet);
+        missionMetrics.setDistance(distance);
+        missionMetrics.setDuration(
+                gameMechanics.calculateDuration(distance, spaceShip.getSpeed(), spaceShip.getLevel()));
 
         LOGGER.info("Successfully generated MissionMetrics by User's username and Mission details(...).");
         return missionMetrics;
@@ -414,20 +714,9 @@ public class MissionServiceImpl implements MissionService {
             throw exception;
         }
 
-        Double shipLevelCoefficient;
-        Double timeCoefficient;
-        try {
-            shipLevelCoefficient = Double.valueOf(environment.getProperty("game.mechanics.ship_level_coefficient"));
-            timeCoefficient = Double.valueOf(environment.getProperty("game.mechanics.time_coefficient_seconds"));
-        } catch (NumberFormatException e) {
-            AppException exception =
-                    new AppException("Can't construct new Mission by User's username and Mission details(...). " +
-                            e.getMessage());
-            LOGGER.error(exception.getMessage(), exception);
-            throw exception;
-        }
+        double distance = planetService.findDistance(startPlanet, destinationPlanet);
 
-        spaceShip.setSpaceShipStatus(SpaceShipStatus.BUSY);
+        claimSpaceShip(spaceShip);
 
         Mission savedMission = missionRepository.save(Mission.builder()
                 .userGameProfile(spaceShip.getUserGameProfile())
@@ -436,19 +725,14 @@ public class MissionServiceImpl implements MissionService {
                 .destinationPoint(destinationPlanet)
                 .registrationTime(LocalDateTime.now())
                 .payload(payload)
-                .duration(MissionMetrics.calculateDuration(
-                        MissionMetrics.calculateDistance(
-                                startPlanet.getPositionX(),
-                                startPlanet.getPositionY(),
-                                destinationPlanet.getPositionX(),
-                                destinationPlanet.getPositionY()),
-                        spaceShip.getSpeed(),
-                        spaceShip.getLevel(),
-                        shipLevelCoefficient,
-                        timeCoefficient))
+                .duration(gameMechanics.calculateDuration(distance, spaceShip.getSpeed(), spaceShip.getLevel()))
                 .missionStatus(MissionStatus.CREATED)
                 .build());
 
+        Long userId = spaceShip.getUserGameProfile().getId();
+        statusEventBroker.publishAfterCommit(userId, StatusEventDTO.ofSpaceShip(spaceShip));
+        statusEventBroker.publishAfterCommit(userId, StatusEventDTO.ofMission(savedMission));
+
         LOGGER.info("Successfully constructed new Mission by User's username and Mission details(...).");
         return savedMission;
     }
@@ -461,7 +745,7 @@ public class MissionServiceImpl implements MissionService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<Mission> findAllMissions(String username) throws AppException {
         LOGGER.info("Trying to list all Missions by User's game profile...");
@@ -475,9 +759,438 @@ public class MissionServiceImpl implements MissionService {
             throw exception;
         }
 
-        List<Mission> allMissions = missionRepository.findAllByUserGameProfile_User_Username(username);
+        List<Mission> allMissions = new ArrayList<>(missionRepository.findAllByUserGameProfile_User_Username(username));
+        for (ArchivedMission archivedMission : archivedMissionRepository.findAllByUsername(username)) {
+            allMissions.add(archivedMission.toMission());
+        }
 
         LOGGER.info("Successfully listed all Missions by User's username");
         return allMissions;
     }
+
+    /**
+     * Lists page of User's Missions (newest Missions first), using keyset pagination by
+     * (registration time, ID): every page is loaded by single SELECT with projection to response DTOs
+     * (together with SpaceShips and Planets), which seeks to cursor position with index instead of skipping rows.
+     *
+     * @param username unique and valid username of registered User.
+     * @param cursor   position of previous page's end (see MissionPage.nextCursor), or null for first page.
+     * @param statuses needed statuses of Missions, or null (or empty Collection) for all statuses.
+     * @param limit    maximal number of Missions on page (from 1 to 'game.missions.history.max_limit'),
+     *                 or null for 'game.missions.history.default_limit'.
+     * @return (not null) page of target User's Missions, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public MissionPage findMissionsPage(String username, MissionCursor cursor, Collection<MissionStatus> statuses,
+                                        Integer limit) throws AppException {
+        LOGGER.info("Trying to list page of Missions by User's username...");
+
+        try {
+            validator.validateUsername(username);
+        } catch (ValidationException e) {
+            AppException exception =
+                    new AppException("Can't list page of Missions by User's username. " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        int pageLimit = limit != null ? limit : defaultHistoryPageLimit;
+        if (pageLimit < 1 || pageLimit > maxHistoryPageLimit) {
+            AppException exception = new AppException("Can't list page of Missions by User's username. " +
+                    "Wrong limit: must be from 1 to " + maxHistoryPageLimit + ".");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        if (cursor != null && (cursor.getRegistrationTime() == null || cursor.getId() == null)) {
+            AppException exception =
+                    new AppException("Can't list page of Missions by User's username. Wrong cursor.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        Collection<MissionStatus> filteredStatuses = statuses == null || statuses.isEmpty() ?
+                EnumSet.allOf(MissionStatus.class) : statuses;
+
+        // one extra Mission shows, whether next page exists:
+        PageRequest pageRequest = PageRequest.of(0, pageLimit + 1);
+        List<MissionDTO> missions = new ArrayList<>(cursor == null ?
+                missionRepository.findMissionsPage(username, filteredStatuses, pageRequest) :
+                missionRepository.findMissionsPageAfter(username, filteredStatuses,
+                        cursor.getRegistrationTime(), cursor.getId(), pageRequest));
+
+        // archive keeps only finished Missions, so it's read only if finished Missions are requested
+        // (pages of both tables are merged in history order):
+        if (!Collections.disjoint(filteredStatuses, FINISHED_STATUSES)) {
+            List<MissionDTO> archivedMissions = cursor == null ?
+                    archivedMissionRepository.findMissionsPage(username, filteredStatuses, pageRequest) :
+                    archivedMissionRepository.findMissionsPageAfter(username, filteredStatuses,
+                            cursor.getRegistrationTime(), cursor.getId(), pageRequest);
+            if (!archivedMissions.isEmpty()) {
+                missions.addAll(archivedMissions);
+                missions.sort(HISTORY_ORDER);
+            }
+        }
+
+        MissionCursor nextCursor = null;
+        List<MissionDTO> pageMissions = missions;
+        if (missions.size() > pageLimit) {
+            pageMissions = new ArrayList<>(missions.subList(0, pageLimit));
+            nextCursor = MissionCursor.of(pageMissions.get(pageLimit - 1));
+        }
+
+        LOGGER.info("Successfully listed page of " + pageMissions.size() + " Mission(s) by User's username.");
+        return MissionPage.builder()
+                .missions(pageMissions)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Exports whole User's Mission history as response DTOs (newest Missions first, including archived ones).
+     * <p>
+     * Missions and archived Missions are streamed by two Data Base cursors (with bounded fetch size),
+     * which are merged in history order, so only one Mission of every cursor is kept in memory.
+     * Archive is read only if finished Missions are requested.
+     * <p>
+     * Cursor of Missions is opened before cursor of archive, and archiving only moves Missions to archive
+     * (keeping their IDs), so Mission, archived between opening of cursors, can't be missed, but is read
+     * by both cursors: such duplicate (equal position in history order) is exported once.
+     *
+     * @param username unique and valid username of registered User.
+     * @param statuses needed statuses of Missions, or null (or empty Collection) for all statuses.
+     * @param writer   (not null) writer of exported Missions.
+     * @return number of exported Missions, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public long exportMissions(String username, Collection<MissionStatus> statuses, MissionExportWriter writer)
+            throws AppException {
+        LOGGER.info("Trying to export Missions by User's username...");
+
+        try {
+            validator.validateUsername(username).ifNull(writer);
+        } catch (ValidationException e) {
+            AppException exception =
+                    new AppException("Can't export Missions by User's username. " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        Collection<MissionStatus> filteredStatuses = statuses == null || statuses.isEmpty() ?
+                EnumSet.allOf(MissionStatus.class) : statuses;
+
+        long exportedMissions = 0;
+        try (Stream<MissionDTO> missions = missionRepository.streamMissions(username, filteredStatuses);
+             Stream<MissionDTO> archivedMissions = Collections.disjoint(filteredStatuses, FINISHED_STATUSES) ?
+                     Stream.empty() : archivedMissionRepository.streamMissions(username, filteredStatuses)) {
+
+            Iterator<MissionDTO> missionIterator = missions.iterator();
+            Iterator<MissionDTO> archivedMissionIterator = archivedMissions.iterator();
+            MissionDTO mission = missionIterator.hasNext() ? missionIterator.next() : null;
+            MissionDTO archivedMission = archivedMissionIterator.hasNext() ? archivedMissionIterator.next() : null;
+
+            while (mission != null || archivedMission != null) {
+                int order = archivedMission == null ? -1 :
+                        mission == null ? 1 : HISTORY_ORDER.compare(mission, archivedMission);
+                if (order <= 0) {
+                    writer.write(mission);
+                    mission = missionIterator.hasNext() ? missionIterator.next() : null;
+                    if (order == 0) {
+                        // the same Mission (was archived after cursor of Missions was opened):
+                        archivedMission = archivedMissionIterator.hasNext() ? archivedMissionIterator.next() : null;
+                    }
+                } else {
+                    writer.write(archivedMission);
+                    archivedMission = archivedMissionIterator.hasNext() ? archivedMissionIterator.next() : null;
+                }
+                exportedMissions++;
+            }
+        } catch (Exception e) {
+            AppException exception = new AppException("Can't export Missions by User's username " +
+                    "(after " + exportedMissions + " Mission(s)). " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        LOGGER.info("Successfully exported " + exportedMissions + " Mission(s) by User's username.");
+        return exportedMissions;
+    }
+
+    /**
+     * Checks every Mission of batch separately, and then changes all passed Missions at once: batch is locked
+     * (see MissionRepository.lockOwnedMissions()), so checked statuses stay valid till commit, and they are
+     * claimed by set-based UPDATEs (see claimMissions()) instead of conditional UPDATE per Mission.
+     */
+    private List<MissionBatchResult> processMissionsBatch(String username, List<Long> missionIds,
+                                                         String operationName, MissionCheck check,
+                                                         MissionsTransition transition) throws AppException {
+        LOGGER.info("Trying to " + operationName + " batch of Missions by User's username and Missions' IDs...");
+
+        try {
+            validator.validateUsername(username).ifNull(missionIds);
+        } catch (ValidationException e) {
+            LOGGER.error("Can't " + operationName + " batch of Missions by User's username and Missions' IDs. " +
+                    e.getMessage(), e);
+            throw new AppException(e);
+        }
+
+        Set<Long> uniqueMissionIds = new LinkedHashSet<>(missionIds);
+        uniqueMissionIds.remove(null);
+
+        if (uniqueMissionIds.size() > maxBatchSize) {
+            AppException exception = new AppException("Batch of " + uniqueMissionIds.size() +
+                    " Missions exceeds maximal batch size (" + maxBatchSize + ").");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        Map<Long, Mission> storedMissions = new HashMap<>();
+        List<Long> lockedMissionIds = uniqueMissionIds.isEmpty() ? Collections.emptyList() :
+                missionRepository.lockOwnedMissions(uniqueMissionIds, username);
+        if (!lockedMissionIds.isEmpty()) {
+            for (Mission mission : missionRepository.findAllOwnedMissions(lockedMissionIds, username)) {
+                storedMissions.put(mission.getId(), mission);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> failureMessages = new HashMap<>();
+        List<Mission> checkedMissions = new ArrayList<>();
+        for (Long missionId : uniqueMissionIds) {
+            Mission mission = storedMissions.get(missionId);
+            if (mission == null) {
+                failureMessages.put(missionId, "No Mission with such ID was saved to System by this User.");
+                continue;
+            }
+
+            try {
+                check.apply(mission, now);
+                checkedMissions.add(mission);
+            } catch (AppException e) {
+                failureMessages.put(missionId, e.getMessage());
+            }
+        }
+
+        transition.apply(checkedMissions, now);
+
+        List<MissionBatchResult> results = new ArrayList<>(uniqueMissionIds.size());
+        for (Long missionId : uniqueMissionIds) {
+            Mission mission = storedMissions.get(missionId);
+            String failureMessage = failureMessages.get(missionId);
+            results.add(MissionBatchResult.builder()
+                    .missionId(missionId)
+                    .success(failureMessage == null)
+                    .missionStatus(mission != null ? mission.getMissionStatus() : null)
+                    .message(failureMessage)
+                    .build());
+        }
+
+        LOGGER.info("Successfully processed batch of Missions (" + operationName + "): " +
+                checkedMissions.size() + " of " + results.size() + " succeeded.");
+        return results;
+    }
+
+    private void checkStart(Mission mission) throws AppException {
+        MissionStatus missionStatus = mission.getMissionStatus();
+        if (!STARTABLE_STATUSES.contains(missionStatus)) {
+            AppException exception = new AppException("Attempt to start Mission, which status is " +
+                    missionStatus.name() + " (not CREATED, as required).");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+    }
+
+    private void checkCancel(Mission mission) throws AppException {
+        MissionStatus missionStatus = mission.getMissionStatus();
+        if (!CANCELABLE_STATUSES.contains(missionStatus)) {
+            AppException exception = new AppException("Attempt to cancel Mission, which status is " +
+                    missionStatus.name() + " (not CREATED or STARTED, as required).");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+    }
+
+    private void checkCompletion(Mission mission, LocalDateTime now) throws AppException {
+        MissionStatus missionStatus = mission.getMissionStatus();
+        if (!COMPLETABLE_STATUSES.contains(missionStatus)) {
+            AppException exception = new AppException("Attempt to complete Mission, which status is " +
+                    missionStatus.name() + " (not STARTED, as required).");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        if (mission.getFinishTime().isAfter(now)) {
+            AppException exception =
+                    new AppException("Mission can't be completed. Its registered finishTime is not reached yet.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+    }
+
+    // changes of claimed Missions (in memory only, they are flushed together at the end of transaction):
+
+    private void applyStart(Mission mission, LocalDateTime now) {
+        mission.setStartTime(now);
+        mission.setFinishTime(now.plusSeconds(mission.getDuration()));
+
+        missionDeadlineQueue.register(new MissionDeadline(mission.getId(), mission.getFinishTime()));
+    }
+
+    private void applyCancel(Mission mission, LocalDateTime now) {
+        mission.setFinishTime(now);
+    }
+
+    private void applyCompletion(Mission mission, LocalDateTime now) {
+        mission.setFinishTime(now);
+    }
+
+    /**
+     * Credits rewards of completed Missions to their owners: rewards are summed up by UserGameProfile,
+     * and every UserGameProfile gets single atomic increment (in order of IDs, so concurrent batches lock
+     * rows of profiles in the same order) and single re-read of its counters.
+     */
+    private void addRewards(List<Mission> completedMissions) {
+        Map<Long, List<Mission>> missionsByProfile = completedMissions.stream().collect(Collectors.groupingBy(
+                mission -> mission.getUserGameProfile().getId(), TreeMap::new, Collectors.toList()));
+
+        for (List<Mission> profileMissions : missionsByProfile.values()) {
+            long experience = profileMissions.stream()
+                    .mapToLong(mission -> gameMechanics.calculateExperienceReward(
+                            mission.getSpaceShip().getLevel(), mission.getPayload()))
+                    .sum();
+
+            // atomic increments (not read-modify-write of managed UserGameProfile), so concurrent completions
+            // of the same User's Missions don't lose each other's rewards:
+            UserGameProfile userGameProfile = profileMissions.get(0).getUserGameProfile();
+            userGameProfileRepository.addCompletedMissions(userGameProfile.getId(), profileMissions.size(),
+                    experience);
+
+            // managed UserGameProfile doesn't see SQL increments, so its counters (never flushed) are re-read:
+            UserGameProfileCounters counters = userGameProfileRepository.findCountersById(userGameProfile.getId());
+            userGameProfile.setCompletedMissionsNumber(counters.getCompletedMissionsNumber());
+            userGameProfile.setExperience(counters.getExperience());
+        }
+    }
+
+    /**
+     * Atomically marks FREE SpaceShip as BUSY (see SpaceShipRepository.updateSpaceShipStatus()):
+     * of concurrent claims of the same SpaceShip only one succeeds.
+     */
+    private void claimSpaceShip(SpaceShip spaceShip) throws AppException {
+        if (spaceShipRepository.updateSpaceShipStatus(spaceShip.getId(), SpaceShipStatus.FREE,
+                SpaceShipStatus.BUSY) == 0) {
+            AppException exception = new AppException(
+                    "Attempt to attach to new Mission BUSY SpaceShip (it was attached to concurrent Mission).");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+        // only mirrors stored status (SpaceShip.spaceShipStatus isn't updatable, so it isn't flushed again):
+        spaceShip.setSpaceShipStatus(SpaceShipStatus.BUSY);
+    }
+
+    private void releaseSpaceShip(SpaceShip spaceShip) {
+        if (spaceShipRepository.updateSpaceShipStatus(spaceShip.getId(), SpaceShipStatus.BUSY,
+                SpaceShipStatus.FREE) == 0) {
+            LOGGER.warn("SpaceShip of finished Mission is not BUSY (it was released before).");
+        }
+        mirrorReleasedSpaceShip(spaceShip);
+    }
+
+    /**
+     * Marks BUSY SpaceShips of batch of Missions as FREE (single set-based UPDATE, see releaseSpaceShip()).
+     */
+    private void releaseSpaceShips(List<Mission> missions) {
+        if (missions.isEmpty()) {
+            return;
+        }
+
+        List<Long> spaceShipIds = missions.stream()
+                .map(mission -> mission.getSpaceShip().getId())
+                .collect(Collectors.toList());
+        int releasedSpaceShipsNumber = spaceShipRepository.updateSpaceShipsStatus(spaceShipIds,
+                SpaceShipStatus.BUSY, SpaceShipStatus.FREE);
+        if (releasedSpaceShipsNumber < spaceShipIds.size()) {
+            LOGGER.warn((spaceShipIds.size() - releasedSpaceShipsNumber) + " SpaceShip(s) of finished Missions " +
+                    "are not BUSY (they were released before).");
+        }
+        missions.forEach(mission -> mirrorReleasedSpaceShip(mission.getSpaceShip()));
+    }
+
+    private void mirrorReleasedSpaceShip(SpaceShip spaceShip) {
+        // only mirrors stored status (see claimSpaceShip()):
+        spaceShip.setSpaceShipStatus(SpaceShipStatus.FREE);
+
+        statusEventBroker.publishAfterCommit(spaceShip.getUserGameProfile().getId(),
+                StatusEventDTO.ofSpaceShip(spaceShip));
+    }
+
+    /**
+     * Atomically changes status of Mission (see MissionRepository.updateMissionStatus()):
+     * of concurrent transitions of the same Mission only one succeeds.
+     */
+    private void claimMission(Mission mission, Collection<MissionStatus> expectedStatuses,
+                              MissionStatus newStatus) throws AppException {
+        if (missionRepository.updateMissionStatus(mission.getId(), expectedStatuses, newStatus) == 0) {
+            AppException exception = new AppException("Attempt to change status of Mission to " + newStatus.name() +
+                    ", which status was changed by concurrent operation (not " + expectedStatuses + ", as required).");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+        mirrorClaimedMission(mission, newStatus);
+    }
+
+    /**
+     * Changes status of locked batch of Missions (single set-based UPDATE instead of conditional UPDATE
+     * per Mission, see claimMission()). Missions must be locked (see MissionRepository.lockOwnedMissions())
+     * and checked, so all of them are claimed.
+     */
+    private void claimMissions(List<Mission> missions, Collection<MissionStatus> expectedStatuses,
+                               MissionStatus newStatus) {
+        if (missions.isEmpty()) {
+            return;
+        }
+
+        List<Long> missionIds = missions.stream().map(Mission::getId).collect(Collectors.toList());
+        int claimedMissionsNumber = missionRepository.updateMissionsStatus(missionIds, expectedStatuses, newStatus);
+        if (claimedMissionsNumber != missionIds.size()) {
+            // runtime exception rolls back whole batch:
+            throw new IllegalStateException("Only " + claimedMissionsNumber + " of " + missionIds.size() +
+                    " locked Missions were changed to " + newStatus.name() + " (not " + expectedStatuses +
+                    ", as expected).");
+        }
+        missions.forEach(mission -> mirrorClaimedMission(mission, newStatus));
+    }
+
+    private void mirrorClaimedMission(Mission mission, MissionStatus newStatus) {
+        // only mirrors stored status (Mission.missionStatus isn't updatable, so it isn't flushed again):
+        mission.setMissionStatus(newStatus);
+
+        statusEventBroker.publishAfterCommit(mission.getUserGameProfile().getId(), StatusEventDTO.ofMission(mission));
+    }
+
+    private Long extractMissionId(Mission mission) throws AppException {
+        if (mission == null || mission.getId() == null) {
+            AppException exception =
+                    new AppException("Can't use Mission instance: Mission instance is null or Mission.id is null.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+        return mission.getId();
+    }
+
+    @FunctionalInterface
+    private interface MissionCheck {
+        void apply(Mission mission, LocalDateTime now) throws AppException;
+    }
+
+    @FunctionalInterface
+    private interface MissionsTransition {
+        void apply(List<Mission> missions, LocalDateTime now);
+    }
 }
@@ -0,0 +1,150 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of all existent Planets (Planet catalog).
+ *
+ * Is never modified after creation (except of lazily built spatial index and route graph): every change of Planets
+ * produces new snapshot with greater version, which replaces previous one in PlanetService as a whole.
+ * So snapshot can be read without any locks, and its version can be used to detect
+ * changes of Planets (for example, by HTTP caches).
+ *
+ * Planets, kept in snapshot, are shared between all readers and mustn't be modified.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetService
+ */
+public final class PlanetCatalog {
+
+    private final long version;
+    private final List<Planet> planets;
+    private final Map<String, Planet> planetsByName;
+
+    private volatile PlanetSpatialIndex spatialIndex;
+    private volatile PlanetRouteGraph routeGraph;
+
+    private PlanetCatalog(long version, List<Planet> planets) {
+        this.version = version;
+        this.planets = Collections.unmodifiableList(planets);
+
+        Map<String, Planet> planetsByName = new HashMap<>(planets.size() * 4 / 3 + 1);
+        for (Planet planet : planets) {
+            planetsByName.put(planet.getName(), planet);
+        }
+        this.planetsByName = planetsByName;
+    }
+
+    /**
+     * Creates snapshot of proposed Planets (ordered by ID).
+     *
+     * @param version version of new snapshot.
+     * @param planets all existent Planets.
+     * @return (not null) new snapshot.
+     */
+    public static PlanetCatalog of(long version, Collection<Planet> planets) {
+        List<Planet> orderedPlanets = new ArrayList<>(planets);
+        orderedPlanets.sort(Comparator.comparing(Planet::getId));
+        return new PlanetCatalog(version, orderedPlanets);
+    }
+
+    /**
+     * @return (not null) next snapshot, which contains all Planets of this one and proposed new Planet.
+     */
+    public PlanetCatalog withPlanet(Planet planet) {
+        List<Planet> extendedPlanets = new ArrayList<>(planets.size() + 1);
+        extendedPlanets.addAll(planets);
+        extendedPlanets.add(planet);
+        return new PlanetCatalog(version + 1, extendedPlanets);
+    }
+
+    /**
+     * @return (not null) next snapshot, which contains all Planets of this one and proposed new Planets.
+     */
+    public PlanetCatalog withPlanets(Collection<Planet> newPlanets) {
+        List<Planet> extendedPlanets = new ArrayList<>(planets.size() + newPlanets.size());
+        extendedPlanets.addAll(planets);
+        extendedPlanets.addAll(newPlanets);
+        return new PlanetCatalog(version + 1, extendedPlanets);
+    }
+
+    /**
+     * @return (not null) next snapshot without any Planets.
+     */
+    public PlanetCatalog cleared() {
+        return new PlanetCatalog(version + 1, new ArrayList<>());
+    }
+
+    /**
+     * @return version of snapshot (is increased on every change of Planets).
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return needed Planet, if it exists in snapshot, or null, if it doesn't.
+     */
+    public Planet findPlanet(String planetName) {
+        return planetsByName.get(planetName);
+    }
+
+    /**
+     * @return (not null) unmodifiable List of all Planets, ordered by ID.
+     */
+    public List<Planet> getPlanets() {
+        return planets;
+    }
+
+    /**
+     * Returns spatial index of Planets of this snapshot (is built lazily, once per snapshot).
+     *
+     * @return (not null) spatial index of Planets.
+     */
+    public PlanetSpatialIndex getSpatialIndex() {
+        PlanetSpatialIndex index = spatialIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = spatialIndex;
+                if (index == null) {
+                    index = new PlanetSpatialIndex(planets);
+                    spatialIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns route graph of Planets of this snapshot (is built lazily, once per snapshot and graph parameters).
+     *
+     * @param maxHopDistance maximal distance of single flight (hop).
+     * @param maxNeighbours  (positive) maximal number of nearest neighbours, connected with each Planet.
+     * @return (not null) route graph of Planets.
+     */
+    public PlanetRouteGraph getRouteGraph(double maxHopDistance, int maxNeighbours) {
+        PlanetRouteGraph graph = routeGraph;
+        if (graph == null || graph.getMaxHopDistance() != maxHopDistance || graph.getMaxNeighbours() != maxNeighbours) {
+            synchronized (this) {
+                graph = routeGraph;
+                if (graph == null || graph.getMaxHopDistance() != maxHopDistance ||
+                        graph.getMaxNeighbours() != maxNeighbours) {
+                    graph = new PlanetRouteGraph(getSpatialIndex(), maxHopDistance, maxNeighbours);
+                    routeGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return number of Planets in snapshot.
+     */
+    public int size() {
+        return planets.size();
+    }
+}
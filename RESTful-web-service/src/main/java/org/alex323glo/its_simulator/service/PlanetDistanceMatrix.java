@@ -0,0 +1,260 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of distances between all pairs of Planets.
+ *
+ * Planets are addressed by dense index (in order of registration). Distances are stored in
+ * primitive double[] as lower triangle of matrix (without diagonal), so matrix of N Planets
+ * takes N * (N - 1) / 2 * 8 bytes (for example, ~16 MB for 2 048 Planets and ~380 MB for 10 000 Planets).
+ * That's why number of indexed Planets is limited by 'game.planets.distance_matrix.max_planets'
+ * property: distance of not indexed Planets is calculated on the fly.
+ *
+ * Note: while distance is plain euclidean one, random lookup in big matrix (cache miss) is slower than
+ * calculation itself (see PlanetDistanceMatrixBenchmarkTest), so matrix is disabled by default
+ * (max_planets = 0). Disabled matrix isn't built at all: registrations, rebuilds and lookups are skipped.
+ *
+ * Matrix is append-only: registration of new Planet adds one row of matrix, deletion of all Planets
+ * drops matrix at all. Lookups don't take locks.
+ *
+ * Publishes such metrics:
+ *  - 'planets.distance_matrix.planets' - number of indexed Planets;
+ *  - 'planets.distance_matrix.bytes' - memory, taken by matrix and Planets' coordinates;
+ *  - 'planets.distance_matrix.rebuild' - time of full rebuild of matrix.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetService
+ */
+@Component
+public class PlanetDistanceMatrix {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlanetDistanceMatrix.class);
+
+    private static final int DEFAULT_MAX_PLANETS = 0;
+    private static final int MAX_PLANETS_LIMIT = 65536;     // N * (N - 1) / 2 must fit into int
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maxPlanets;
+    private final Timer rebuildTimer;
+
+    private final Map<Long, Integer> indexes = new ConcurrentHashMap<>();
+
+    private volatile State state = State.empty(INITIAL_CAPACITY);
+    private boolean overflowReported;
+
+    @Autowired
+    public PlanetDistanceMatrix(Environment environment, MeterRegistry meterRegistry) {
+        this(Math.min(MAX_PLANETS_LIMIT, environment.getProperty(
+                "game.planets.distance_matrix.max_planets", Integer.class, DEFAULT_MAX_PLANETS)), meterRegistry);
+    }
+
+    PlanetDistanceMatrix(int maxPlanets, MeterRegistry meterRegistry) {
+        this.maxPlanets = maxPlanets;
+        this.rebuildTimer = meterRegistry.timer("planets.distance_matrix.rebuild");
+        meterRegistry.gauge("planets.distance_matrix.planets", this, PlanetDistanceMatrix::size);
+        meterRegistry.gauge("planets.distance_matrix.bytes", this, PlanetDistanceMatrix::memoryBytes);
+    }
+
+    /**
+     * Returns distance between two Planets: from matrix, if both of them are indexed,
+     * or calculated on the fly, if they aren't.
+     *
+     * @param start       (not null) start Planet.
+     * @param destination (not null) destination Planet.
+     * @return distance between Planets.
+     */
+    public double distance(Planet start, Planet destination) {
+        if (!isEnabled()) {
+            return GameMechanics.calculateDistance(start.getPositionX(), start.getPositionY(),
+                    destination.getPositionX(), destination.getPositionY());
+        }
+
+        Integer startIndex = indexes.get(start.getId());
+        Integer destinationIndex = indexes.get(destination.getId());
+
+        if (startIndex != null && destinationIndex != null) {
+            State current = state;
+            int i = startIndex;
+            int j = destinationIndex;
+            // indexes may belong to dropped matrix: coordinates must match too
+            if (current.contains(i, start) && current.contains(j, destination)) {
+                if (i == j) {
+                    return 0;
+                }
+                return current.distances[i > j ? cell(i, j) : cell(j, i)];
+            }
+        }
+
+        return GameMechanics.calculateDistance(start.getPositionX(), start.getPositionY(),
+                destination.getPositionX(), destination.getPositionY());
+    }
+
+    /**
+     * Adds Planet to matrix after commit of current transaction
+     * (or immediately, if there is no active transaction).
+     *
+     * @param planet saved Planet.
+     */
+    public void register(Planet planet) {
+        if (!isEnabled()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> add(planet));
+    }
+
+    /**
+     * Drops matrix after commit of current transaction
+     * (or immediately, if there is no active transaction).
+     */
+    public void invalidate() {
+        if (!isEnabled()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(this::clear);
+    }
+
+    /**
+     * Drops matrix and fills it again with proposed Planets.
+     *
+     * @param planets all existent Planets.
+     */
+    public synchronized void rebuild(Collection<Planet> planets) {
+        if (!isEnabled()) {
+            LOGGER.info("Planets' distance matrix is disabled (max_planets = 0): it isn't built.");
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+
+        clear();
+        planets.forEach(this::add);
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        rebuildTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        LOGGER.info("Rebuilt Planets' distance matrix: " + state.size + " Planet(s), " +
+                memoryBytes() / 1024 + " KB, " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms.");
+    }
+
+    /**
+     * Adds Planet to matrix immediately (calculates distances to all indexed Planets).
+     *
+     * @param planet saved Planet.
+     * @return true, if Planet was added, or false, if it was indexed before or matrix is full.
+     */
+    public synchronized boolean add(Planet planet) {
+        if (indexes.containsKey(planet.getId())) {
+            return false;
+        }
+        State current = state;
+        int index = current.size;
+        if (index >= maxPlanets) {
+            if (!overflowReported && maxPlanets > 0) {
+                overflowReported = true;
+                LOGGER.warn("Planets' distance matrix is full (" + maxPlanets + " Planets). " +
+                        "Distances of next Planets will be calculated on the fly.");
+            }
+            return false;
+        }
+
+        long[] positionsX = current.positionsX;
+        long[] positionsY = current.positionsY;
+        double[] distances = current.distances;
+        if (index == positionsX.length) {
+            int capacity = Math.min(maxPlanets, positionsX.length * 2);
+            positionsX = Arrays.copyOf(positionsX, capacity);
+            positionsY = Arrays.copyOf(positionsY, capacity);
+            distances = Arrays.copyOf(distances, cell(capacity, 0));
+        }
+
+        long x = planet.getPositionX();
+        long y = planet.getPositionY();
+        positionsX[index] = x;
+        positionsY[index] = y;
+
+        int rowOffset = cell(index, 0);
+        for (int j = 0; j < index; j++) {
+            distances[rowOffset + j] = GameMechanics.calculateDistance(x, y, positionsX[j], positionsY[j]);
+        }
+
+        // readers see new row only after publication of new State
+        state = new State(positionsX, positionsY, distances, index + 1);
+        indexes.put(planet.getId(), index);
+        return true;
+    }
+
+    /**
+     * Drops matrix immediately.
+     */
+    public synchronized void clear() {
+        indexes.clear();
+        state = State.empty(INITIAL_CAPACITY);
+        overflowReported = false;
+    }
+
+    /**
+     * @return true, if matrix may index Planets (max_planets is positive).
+     */
+    public boolean isEnabled() {
+        return maxPlanets > 0;
+    }
+
+    /**
+     * @return number of indexed Planets.
+     */
+    public int size() {
+        return state.size;
+    }
+
+    /**
+     * @return memory (in bytes), taken by matrix and Planets' coordinates.
+     */
+    public long memoryBytes() {
+        State current = state;
+        return 8L * current.distances.length + 16L * current.positionsX.length;
+    }
+
+    private static int cell(int row, int column) {
+        return (int) ((long) row * (row - 1) / 2) + column;
+    }
+
+    private static final class State {
+
+        private final long[] positionsX;
+        private final long[] positionsY;
+        private final double[] distances;
+        private final int size;
+
+        private State(long[] positionsX, long[] positionsY, double[] distances, int size) {
+            this.positionsX = positionsX;
+            this.positionsY = positionsY;
+            this.distances = distances;
+            this.size = size;
+        }
+
+        private static State empty(int capacity) {
+            return new State(new long[capacity], new long[capacity], new double[cell(capacity, 0)], 0);
+        }
+
+        private boolean contains(int index, Planet planet) {
+            return index < size &&
+                    positionsX[index] == planet.getPositionX() && positionsY[index] == planet.getPositionY();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable graph of possible flights between Planets (route graph), used to plan multi-hop routes.
+ *
+ * Every Planet is connected with its nearest neighbours (not more then 'maxNeighbours' ones), which are
+ * not farther then 'maxHopDistance' from it. Connections are symmetric. Nodes of graph are positions of
+ * Planets in spatial index, edges are stored in primitive arrays (CSR layout: node -> range of edges).
+ *
+ * Fastest route is searched by A* algorithm (with straight-line distance to destination as heuristic)
+ * over primitive arrays and primitive binary heap. Route duration is proportional to its distance
+ * for any SpaceShip, so the shortest route is the fastest one.
+ *
+ * Is built once per version of PlanetCatalog (see PlanetCatalog.getRouteGraph()).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetCatalog
+ * @see PlanetSpatialIndex
+ */
+public final class PlanetRouteGraph {
+
+    private final PlanetSpatialIndex spatialIndex;
+    private final double maxHopDistance;
+    private final int maxNeighbours;
+
+    private final int[] edgeStarts;
+    private final int[] edgeTargets;
+    private final double[] edgeDistances;
+    private final Map<Long, Integer> nodesByPlanetId;
+
+    /**
+     * Builds graph over Planets of proposed spatial index.
+     *
+     * @param spatialIndex   (not null) spatial index of all Planets.
+     * @param maxHopDistance maximal distance of single flight (hop).
+     * @param maxNeighbours  (positive) maximal number of nearest neighbours, connected with each Planet.
+     */
+    public PlanetRouteGraph(PlanetSpatialIndex spatialIndex, double maxHopDistance, int maxNeighbours) {
+        this.spatialIndex = spatialIndex;
+        this.maxHopDistance = maxHopDistance;
+        this.maxNeighbours = maxNeighbours;
+
+        int size = spatialIndex.size();
+
+        // nearest neighbours of each node (directed, 'maxNeighbours' slots per node):
+        int[] neighbours = new int[size * maxNeighbours];
+        int[] neighboursCounts = new int[size];
+        int[] found = new int[maxNeighbours];
+        for (int node = 0; node < size; node++) {
+            int count = spatialIndex.findNearestPositions(spatialIndex.positionXAt(node),
+                    spatialIndex.positionYAt(node), maxNeighbours, spatialIndex.planetAt(node),
+                    maxHopDistance, found);
+            System.arraycopy(found, 0, neighbours, node * maxNeighbours, count);
+            neighboursCounts[node] = count;
+        }
+
+        // symmetric edges: (node -> neighbour) and (neighbour -> node), if node isn't neighbour's neighbour:
+        int[] degrees = new int[size];
+        for (int node = 0; node < size; node++) {
+            for (int i = 0; i < neighboursCounts[node]; i++) {
+                int neighbour = neighbours[node * maxNeighbours + i];
+                degrees[node]++;
+                if (!contains(neighbours, neighbour * maxNeighbours, neighboursCounts[neighbour], node)) {
+                    degrees[neighbour]++;
+                }
+            }
+        }
+
+        int[] edgeStarts = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            edgeStarts[node + 1] = edgeStarts[node] + degrees[node];
+        }
+        int[] nextEdges = Arrays.copyOf(edgeStarts, size);
+        int[] edgeTargets = new int[edgeStarts[size]];
+        for (int node = 0; node < size; node++) {
+            for (int i = 0; i < neighboursCounts[node]; i++) {
+                int neighbour = neighbours[node * maxNeighbours + i];
+                edgeTargets[nextEdges[node]++] = neighbour;
+                if (!contains(neighbours, neighbour * maxNeighbours, neighboursCounts[neighbour], node)) {
+                    edgeTargets[nextEdges[neighbour]++] = node;
+                }
+            }
+        }
+
+        double[] edgeDistances = new double[edgeTargets.length];
+        for (int node = 0; node < size; node++) {
+            for (int edge = edgeStarts[node]; edge < edgeStarts[node + 1]; edge++) {
+                edgeDistances[edge] = distance(node, edgeTargets[edge]);
+            }
+        }
+
+        Map<Long, Integer> nodesByPlanetId = new HashMap<>(size * 4 / 3 + 1);
+        for (int node = 0; node < size; node++) {
+            nodesByPlanetId.put(spatialIndex.planetAt(node).getId(), node);
+        }
+
+        this.edgeStarts = edgeStarts;
+        this.edgeTargets = edgeTargets;
+        this.edgeDistances = edgeDistances;
+        this.nodesByPlanetId = nodesByPlanetId;
+    }
+
+    /**
+     * Searches for the shortest (and so the fastest) route between two Planets.
+     *
+     * @param start       (not null) start Planet.
+     * @param destination (not null) destination Planet.
+     * @return (unmodifiable) List of Planets of route (from start Planet to destination one, both are included),
+     * or null, if some of Planets isn't in graph or destination Planet is unreachable.
+     */
+    public List<Planet> findRoute(Planet start, Planet destination) {
+        Integer startNode = nodesByPlanetId.get(start.getId());
+        Integer destinationNode = nodesByPlanetId.get(destination.getId());
+        if (startNode == null || destinationNode == null) {
+            return null;
+        }
+
+        int size = spatialIndex.size();
+        double[] distances = new double[size];
+        int[] previousNodes = new int[size];
+        boolean[] visited = new boolean[size];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+
+        long destinationX = spatialIndex.positionXAt(destinationNode);
+        long destinationY = spatialIndex.positionYAt(destinationNode);
+
+        // min-heap of (estimated route distance, node) pairs (stale pairs are skipped on poll):
+        NodeHeap heap = new NodeHeap();
+        distances[startNode] = 0;
+        previousNodes[startNode] = -1;
+        heap.add(distance(startNode, destinationX, destinationY), startNode);
+
+        while (heap.size() > 0) {
+            int node = heap.poll();
+            if (visited[node]) {
+                continue;
+            }
+            if (node == destinationNode) {
+                return route(previousNodes, destinationNode);
+            }
+            visited[node] = true;
+
+            for (int edge = edgeStarts[node]; edge < edgeStarts[node + 1]; edge++) {
+                int target = edgeTargets[edge];
+                double distance = distances[node] + edgeDistances[edge];
+                if (!visited[target] && distance < distances[target]) {
+                    distances[target] = distance;
+                    previousNodes[target] = node;
+                    heap.add(distance + distance(target, destinationX, destinationY), target);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return maximal distance of single flight (hop).
+     */
+    public double getMaxHopDistance() {
+        return maxHopDistance;
+    }
+
+    /**
+     * @return maximal number of nearest neighbours, connected with each Planet.
+     */
+    public int getMaxNeighbours() {
+        return maxNeighbours;
+    }
+
+    /**
+     * @return number of Planets in graph.
+     */
+    public int size() {
+        return spatialIndex.size();
+    }
+
+    /**
+     * @return number of directed edges in graph.
+     */
+    public int edgeCount() {
+        return edgeTargets.length;
+    }
+
+    private List<Planet> route(int[] previousNodes, int destinationNode) {
+        List<Planet> route = new ArrayList<>();
+        for (int node = destinationNode; node != -1; node = previousNodes[node]) {
+            route.add(spatialIndex.planetAt(node));
+        }
+        Collections.reverse(route);
+        return Collections.unmodifiableList(route);
+    }
+
+    private double distance(int node, int anotherNode) {
+        return distance(node, spatialIndex.positionXAt(anotherNode), spatialIndex.positionYAt(anotherNode));
+    }
+
+    private double distance(int node, long x, long y) {
+        return GameMechanics.calculateDistance(spatialIndex.positionXAt(node), spatialIndex.positionYAt(node), x, y);
+    }
+
+    private static boolean contains(int[] array, int from, int length, int value) {
+        for (int i = from; i < from + length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Growable binary min-heap of (priority, node) pairs over primitive arrays.
+     */
+    private static final class NodeHeap {
+
+        private double[] priorities = new double[64];
+        private int[] nodes = new int[64];
+        private int size;
+
+        private void add(double priority, int node) {
+            if (size == nodes.length) {
+                priorities = Arrays.copyOf(priorities, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (priorities[parent] <= priority) {
+                    break;
+                }
+                priorities[index] = priorities[parent];
+                nodes[index] = nodes[parent];
+                index = parent;
+            }
+            priorities[index] = priority;
+            nodes[index] = node;
+        }
+
+        private int poll() {
+            int polled = nodes[0];
+            double priority = priorities[--size];
+            int node = nodes[size];
+
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                    child++;
+                }
+                if (priorities[child] >= priority) {
+                    break;
+                }
+                priorities[index] = priorities[child];
+                nodes[index] = nodes[child];
+                index = child;
+            }
+            priorities[index] = priority;
+            nodes[index] = node;
+            return polled;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
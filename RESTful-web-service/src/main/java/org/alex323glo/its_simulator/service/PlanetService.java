@@ -2,6 +2,7 @@ package org.alex323glo.its_simulator.service;
 
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.model.game.PlanetViewport;
 
 import java.util.List;
 
@@ -30,6 +31,17 @@ public interface PlanetService {
     Planet createPlanet(String planetName, Long positionX, Long positionY, Integer radius,
                         String hexColorString, Integer circlesNumber) throws AppException;
 
+    /**
+     * Saves many new Planets to System at once (bulk loading).
+     *
+     * @param planets (not null) valid new Planets (without IDs).
+     * @return (not null) List of saved Planets (Planets with duplicate names are skipped),
+     * if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<Planet> createPlanets(List<Planet> planets) throws AppException;
+
     /**
      * Searches for existent Planet.
      *
@@ -49,6 +61,81 @@ public interface PlanetService {
      */
     List<Planet> findAllPlanets() throws AppException;
 
+    /**
+     * Searches for Planets inside of rectangular viewport of Space map (borders are included).
+     *
+     * @param minX left border of viewport.
+     * @param minY top border of viewport.
+     * @param maxX right border of viewport.
+     * @param maxY bottom border of viewport.
+     * @return (not null) found Planets (number of them is limited by System, so they are marked as truncated,
+     * if viewport contains more of them), if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    PlanetViewport findPlanetsInViewport(Long minX, Long minY, Long maxX, Long maxY) throws AppException;
+
+    /**
+     * Searches for k Planets, nearest to needed Planet.
+     *
+     * @param planetName unique and valid name of central Planet.
+     * @param k number of needed Planets (is limited by System).
+     * @return List of found Planets (without central one), ordered by distance to central Planet,
+     * or null, if there is no central Planet in System.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<Planet> findNearestPlanets(String planetName, Integer k) throws AppException;
+
+    /**
+     * Searches for the shortest multi-hop route between two existent Planets
+     * (every hop is not longer then maximal hop distance of System).
+     *
+     * @param startPlanet (not null) start Planet.
+     * @param destinationPlanet (not null) destination Planet.
+     * @return List of Planets of route (from start Planet to destination one, both are included),
+     * or null, if destination Planet is unreachable.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<Planet> findRoute(Planet startPlanet, Planet destinationPlanet) throws AppException;
+
+    /**
+     * Returns current snapshot of all existent Planets (Planet catalog).
+     * Reading of snapshot doesn't access Data Base and doesn't take any locks.
+     *
+     * @return (not null) current Planet catalog.
+     */
+    PlanetCatalog getPlanetCatalog();
+
+    /**
+     * Returns version of current Planet catalog (is increased on every change of Planets).
+     *
+     * @return version of Planet catalog.
+     */
+    long getPlanetCatalogVersion();
+
+    /**
+     * Loads Planet catalog from Data Base again
+     * (is needed only if Planets were changed bypassing PlanetService).
+     *
+     * @return (not null) reloaded Planet catalog.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    PlanetCatalog reloadPlanetCatalog() throws AppException;
+
+    /**
+     * Returns distance between two existent Planets.
+     *
+     * @param startPlanet (not null) start Planet.
+     * @param destinationPlanet (not null) destination Planet.
+     * @return distance between Planets, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    double findDistance(Planet startPlanet, Planet destinationPlanet) throws AppException;
+
     /**
      * Deletes all planets from System.
      *
@@ -3,15 +3,24 @@ package org.alex323glo.its_simulator.service;
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.exception.ValidationException;
 import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.model.game.PlanetViewport;
 import org.alex323glo.its_simulator.repository.PlanetRepository;
+import org.alex323glo.its_simulator.util.TransactionCallbacks;
 import org.alex323glo.its_simulator.util.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of PlanetService interface. See more in abstraction.
@@ -22,17 +31,53 @@ import java.util.List;
  * @see PlanetService
  */
 @Service
-public class PlanetServiceImpl implements PlanetService {
+public class PlanetServiceImpl implements PlanetService, InitializingBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlanetServiceImpl.class);
 
+    private static final int DEFAULT_MAX_VIEWPORT_PLANETS = 10_000;
+    private static final int DEFAULT_MAX_NEAREST_PLANETS = 100;
+    private static final int DEFAULT_BULK_LOAD_BATCH_SIZE = 1000;
+    private static final double DEFAULT_MAX_HOP_DISTANCE = 1000;
+    private static final int DEFAULT_MAX_ROUTE_NEIGHBOURS = 16;
+
     private final Validator validator;
     private final PlanetRepository planetRepository;
+    private final PlanetDistanceMatrix planetDistanceMatrix;
+    private final int maxViewportPlanets;
+    private final int maxNearestPlanets;
+    private final int bulkLoadBatchSize;
+    private final double maxHopDistance;
+    private final int maxRouteNeighbours;
+
+    // versions start from start time of System, so versions (and ETags) of different runs don't collide:
+    private final AtomicReference<PlanetCatalog> planetCatalog =
+            new AtomicReference<>(PlanetCatalog.of(System.currentTimeMillis(), Collections.emptyList()));
 
     @Autowired
-    public PlanetServiceImpl(Validator validator, PlanetRepository planetRepository) {
+    public PlanetServiceImpl(Validator validator, PlanetRepository planetRepository,
+                             PlanetDistanceMatrix planetDistanceMatrix, Environment environment) {
         this.validator = validator;
         this.planetRepository = planetRepository;
+        this.planetDistanceMatrix = planetDistanceMatrix;
+        this.maxViewportPlanets = environment.getProperty("game.space_map.viewport.max_planets", Integer.class,
+                DEFAULT_MAX_VIEWPORT_PLANETS);
+        this.maxNearestPlanets = environment.getProperty("game.space_map.nearest.max_planets", Integer.class,
+                DEFAULT_MAX_NEAREST_PLANETS);
+        this.bulkLoadBatchSize = Math.max(1, environment.getProperty("game.planets.bulk_load.batch_size",
+                Integer.class, DEFAULT_BULK_LOAD_BATCH_SIZE));
+        this.maxHopDistance = environment.getProperty("game.routes.max_hop_distance", Double.class,
+                DEFAULT_MAX_HOP_DISTANCE);
+        this.maxRouteNeighbours = Math.max(1, environment.getProperty("game.routes.max_neighbours",
+                Integer.class, DEFAULT_MAX_ROUTE_NEIGHBOURS));
+    }
+
+    /**
+     * Loads Planet catalog and builds Planets' distance matrix for Planets, saved to System before its start.
+     */
+    @Override
+    public void afterPropertiesSet() throws AppException {
+        reloadPlanetCatalog();
     }
 
     /**
@@ -83,20 +128,99 @@ public class PlanetServiceImpl implements PlanetService {
                 .build();
 
         Planet savedPlanet = planetRepository.save(planet);
+        TransactionCallbacks.afterCommit(() ->
+                planetCatalog.updateAndGet(catalog -> catalog.withPlanet(savedPlanet)));
+        planetDistanceMatrix.register(savedPlanet);
 
         LOGGER.info("Successfully created new Planet.");
         return savedPlanet;
     }
 
     /**
-     * Searches for existent Planet.
+     * Saves many new Planets to System at once (bulk loading).
+     * <p>
+     * All Planets are validated before insertion (one invalid Planet rejects whole operation).
+     * Uniqueness of names is checked in single pass: names of saved Planets are loaded with one query,
+     * and Planets with duplicate names (saved before or repeated in proposed List) are skipped.
+     * Other Planets are inserted with batched JDBC statements ('game.planets.bulk_load.batch_size' rows
+     * per batch), and are added to Planet catalog as one new version after commit.
+     *
+     * @param planets (not null) valid new Planets (without IDs).
+     * @return (not null) List of saved Planets (Planets with duplicate names are skipped),
+     * if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional
+    @Override
+    public List<Planet> createPlanets(List<Planet> planets) throws AppException {
+        LOGGER.info("Trying to create new Planets...");
+        long startNanos = System.nanoTime();
+
+        if (planets == null || planets.contains(null)) {
+            AppException exception = new AppException("Can't create new Planets. Planet is null.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        try {
+            for (Planet planet : planets) {
+                validator.validatePlanetName(planet.getName())
+                        .validatePlanetCoordinate(planet.getPositionX())
+                        .validatePlanetCoordinate(planet.getPositionY())
+                        .validatePlanetRadius(planet.getRadius())
+                        .validateHexColorString(planet.getColor())
+                        .validatePlanetCirclesNumber(planet.getCircles());
+            }
+        } catch (ValidationException e) {
+            AppException exception = new AppException("Can't create new Planets. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        List<Planet> savedPlanets;
+        try {
+            Set<String> names = planetRepository.findAllNames();
+            List<Planet> newPlanets = new ArrayList<>(planets.size());
+            for (Planet planet : planets) {
+                if (names.add(planet.getName())) {
+                    newPlanets.add(planet);
+                }
+            }
+            if (newPlanets.size() < planets.size()) {
+                LOGGER.warn("Skipped " + (planets.size() - newPlanets.size()) + " Planet(s) with duplicate names.");
+            }
+
+            planetRepository.insertAll(newPlanets, bulkLoadBatchSize);
+            savedPlanets = Collections.unmodifiableList(newPlanets);
+        } catch (Exception e) {
+            AppException exception = new AppException("Can't create new Planets. " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            planetCatalog.updateAndGet(catalog -> catalog.withPlanets(savedPlanets));
+            if (planetDistanceMatrix.isEnabled()) {
+                savedPlanets.forEach(planetDistanceMatrix::add);
+            }
+        });
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        LOGGER.info("Successfully created " + savedPlanets.size() + " new Planet(s) in " +
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms (" +
+                savedPlanets.size() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos + " rows/sec).");
+        return savedPlanets;
+    }
+
+    /**
+     * Searches for existent Planet (in Planet catalog, without access to Data Base).
      *
      * @param planetName unique and valid Planet name.
      * @return needed Planet, if it was created before, or null, if it wasn't.
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
     @Override
     public Planet findPlanet(String planetName) throws AppException {
         LOGGER.info("Trying to find Planet by its name...");
@@ -109,30 +233,220 @@ public class PlanetServiceImpl implements PlanetService {
             throw exception;
         }
 
-        Planet planet = planetRepository.findByName(planetName);
+        Planet planet = planetCatalog.get().findPlanet(planetName);
 
         LOGGER.info("Successfully found Planet by its name.");
         return planet;
     }
 
     /**
-     * Lists all existent Planets.
+     * Lists all existent Planets (from Planet catalog, without access to Data Base).
      *
-     * @return (not null) List of existent Planets, if operation was successful.
+     * @return (not null) unmodifiable List of existent Planets (ordered by ID), if operation was successful.
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
     @Override
     public List<Planet> findAllPlanets() throws AppException {
         LOGGER.info("Trying to list all Planets...");
 
-        List<Planet> planetList = planetRepository.findAll();
+        List<Planet> planetList = planetCatalog.get().getPlanets();
 
-        LOGGER.info("Successfully found Planet by its name.");
+        LOGGER.info("Successfully listed all Planets.");
         return planetList;
     }
 
+    /**
+     * Searches for Planets inside of rectangular viewport of Space map (using spatial index of Planet catalog).
+     *
+     * @param minX left border of viewport.
+     * @param minY top border of viewport.
+     * @param maxX right border of viewport.
+     * @param maxY bottom border of viewport.
+     * @return (not null) found Planets (not more then 'game.space_map.viewport.max_planets', marked as truncated,
+     * if viewport contains more of them), if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Override
+    public PlanetViewport findPlanetsInViewport(Long minX, Long minY, Long maxX, Long maxY) throws AppException {
+        LOGGER.info("Trying to find Planets in viewport...");
+
+        try {
+            validator.ifNull(minX).ifNull(minY).ifNull(maxX).ifNull(maxY);
+        } catch (ValidationException e) {
+            AppException exception = new AppException("Can't find Planets in viewport. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        if (minX > maxX || minY > maxY) {
+            AppException exception = new AppException("Can't find Planets in viewport. " +
+                    "Wrong viewport: min coordinate is greater then max one.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        // one extra Planet shows, that viewport is truncated:
+        List<Planet> planetList = planetCatalog.get().getSpatialIndex()
+                .findInViewport(minX, minY, maxX, maxY, (int) Math.min(Integer.MAX_VALUE, maxViewportPlanets + 1L));
+        boolean truncated = planetList.size() > maxViewportPlanets;
+        if (truncated) {
+            planetList = planetList.subList(0, maxViewportPlanets);
+        }
+
+        LOGGER.info("Successfully found " + planetList.size() + " Planet(s) in viewport" +
+                (truncated ? " (truncated)." : "."));
+        return new PlanetViewport(planetList, truncated);
+    }
+
+    /**
+     * Searches for k Planets, nearest to needed Planet (using spatial index of Planet catalog).
+     *
+     * @param planetName unique and valid name of central Planet.
+     * @param k          number of needed Planets (from 1 to 'game.space_map.nearest.max_planets').
+     * @return List of found Planets (without central one), ordered by distance to central Planet,
+     * or null, if there is no central Planet in System.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Override
+    public List<Planet> findNearestPlanets(String planetName, Integer k) throws AppException {
+        LOGGER.info("Trying to find Planets, nearest to Planet with needed name...");
+
+        try {
+            validator.validatePlanetName(planetName).ifNull(k);
+        } catch (ValidationException e) {
+            AppException exception = new AppException("Can't find nearest Planets. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        if (k < 1 || k > maxNearestPlanets) {
+            AppException exception = new AppException("Can't find nearest Planets. " +
+                    "Wrong number of Planets: must be from 1 to " + maxNearestPlanets + ".");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        PlanetCatalog catalog = planetCatalog.get();
+        Planet centralPlanet = catalog.findPlanet(planetName);
+        if (centralPlanet == null) {
+            LOGGER.warn("No Planet with such name was saved to System.");
+            return null;
+        }
+
+        List<Planet> planetList = catalog.getSpatialIndex()
+                .findNearest(centralPlanet.getPositionX(), centralPlanet.getPositionY(), k, centralPlanet);
+
+        LOGGER.info("Successfully found " + planetList.size() + " Planet(s), nearest to Planet with needed name.");
+        return planetList;
+    }
+
+    /**
+     * Searches for the shortest multi-hop route between two existent Planets (using route graph of Planet catalog).
+     * <p>
+     * Every Planet is connected with not more then 'game.routes.max_neighbours' nearest Planets,
+     * which are not farther then 'game.routes.max_hop_distance' from it.
+     *
+     * @param startPlanet       (not null) start Planet.
+     * @param destinationPlanet (not null) destination Planet.
+     * @return List of Planets of route (from start Planet to destination one, both are included),
+     * or null, if destination Planet is unreachable.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Override
+    public List<Planet> findRoute(Planet startPlanet, Planet destinationPlanet) throws AppException {
+        LOGGER.info("Trying to find route between Planets...");
+
+        if (startPlanet == null || destinationPlanet == null) {
+            AppException exception = new AppException("Can't find route between Planets. Planet is null.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        List<Planet> route = planetCatalog.get().getRouteGraph(maxHopDistance, maxRouteNeighbours)
+                .findRoute(startPlanet, destinationPlanet);
+        if (route == null) {
+            LOGGER.warn("Destination Planet is unreachable from start one.");
+            return null;
+        }
+
+        LOGGER.info("Successfully found route between Planets (" + (route.size() - 1) + " hop(s)).");
+        return route;
+    }
+
+    /**
+     * Returns current snapshot of all existent Planets.
+     *
+     * @return (not null) current Planet catalog.
+     */
+    @Override
+    public PlanetCatalog getPlanetCatalog() {
+        return planetCatalog.get();
+    }
+
+    /**
+     * Returns version of current Planet catalog (is increased on every change of Planets).
+     *
+     * @return version of Planet catalog.
+     */
+    @Override
+    public long getPlanetCatalogVersion() {
+        return planetCatalog.get().getVersion();
+    }
+
+    /**
+     * Loads Planet catalog (and Planets' distance matrix) from Data Base again.
+     *
+     * @return (not null) reloaded Planet catalog.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PlanetCatalog reloadPlanetCatalog() throws AppException {
+        LOGGER.info("Trying to reload Planet catalog...");
+
+        List<Planet> planets;
+        try {
+            planets = planetRepository.findAll();
+        } catch (Exception e) {
+            AppException exception = new AppException("Can't reload Planet catalog. " + e.getMessage(), e);
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        PlanetCatalog reloadedCatalog =
+                planetCatalog.updateAndGet(catalog -> PlanetCatalog.of(catalog.getVersion() + 1, planets));
+        planetDistanceMatrix.rebuild(reloadedCatalog.getPlanets());
+
+        LOGGER.info("Successfully reloaded Planet catalog (" + reloadedCatalog.size() + " Planets, version " +
+                reloadedCatalog.getVersion() + ").");
+        return reloadedCatalog;
+    }
+
+    /**
+     * Returns distance between two existent Planets (from Planets' distance matrix, if possible).
+     *
+     * @param startPlanet       (not null) start Planet.
+     * @param destinationPlanet (not null) destination Planet.
+     * @return distance between Planets, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Override
+    public double findDistance(Planet startPlanet, Planet destinationPlanet) throws AppException {
+        if (startPlanet == null || destinationPlanet == null) {
+            AppException exception = new AppException("Can't find distance between Planets. Planet is null.");
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        return planetDistanceMatrix.distance(startPlanet, destinationPlanet);
+    }
+
     /**
      * Deletes all planets from System.
      * <p>
@@ -148,6 +462,8 @@ public class PlanetServiceImpl implements PlanetService {
 
         try {
             planetRepository.deleteAll();
+            TransactionCallbacks.afterCommit(() -> planetCatalog.updateAndGet(PlanetCatalog::cleared));
+            planetDistanceMatrix.invalidate();
         } catch (Exception e) {
             AppException exception = new AppException("Can't delete all planets. " + e.getMessage(), e);
             LOGGER.error(exception.getMessage(), exception);
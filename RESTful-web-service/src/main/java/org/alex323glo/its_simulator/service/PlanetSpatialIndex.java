@@ -0,0 +1,331 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable uniform grid over Planets' positions (spatial index of Space map).
+ *
+ * Space, covered by Planets, is split into square cells (about 2 Planets per cell).
+ * Planets are stored grouped by cell in primitive arrays (CSR layout: cell -> range of Planets),
+ * so viewport query visits only cells, which intersect viewport, and k-nearest-neighbours query
+ * visits only rings of cells around target point until k nearest Planets are found.
+ *
+ * Is built once per version of PlanetCatalog (see PlanetCatalog.getSpatialIndex()).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetCatalog
+ */
+public final class PlanetSpatialIndex {
+
+    private static final int PLANETS_PER_CELL = 2;
+    private static final int MAX_CELLS_PER_AXIS = 4096;
+
+    private final long minX;
+    private final long minY;
+    private final long maxX;
+    private final long maxY;
+    private final long cellSize;
+    private final int columns;
+    private final int rows;
+
+    private final int[] cellStarts;
+    private final long[] positionsX;
+    private final long[] positionsY;
+    private final Planet[] planets;
+
+    /**
+     * Builds index of proposed Planets.
+     *
+     * @param planets (not null) Planets with not null positions.
+     */
+    public PlanetSpatialIndex(List<Planet> planets) {
+        int size = planets.size();
+
+        long minX = Long.MAX_VALUE;
+        long minY = Long.MAX_VALUE;
+        long maxX = Long.MIN_VALUE;
+        long maxY = Long.MIN_VALUE;
+        for (Planet planet : planets) {
+            minX = Math.min(minX, planet.getPositionX());
+            minY = Math.min(minY, planet.getPositionY());
+            maxX = Math.max(maxX, planet.getPositionX());
+            maxY = Math.max(maxY, planet.getPositionY());
+        }
+        if (size == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        long width = maxX - minX + 1;
+        long height = maxY - minY + 1;
+        int cellsPerAxis = (int) Math.max(1, Math.min(MAX_CELLS_PER_AXIS,
+                Math.ceil(Math.sqrt((double) size / PLANETS_PER_CELL))));
+        long cellSize = Math.max(1, (Math.max(width, height) + cellsPerAxis - 1) / cellsPerAxis);
+
+        this.minX = minX;
+        this.minY = minY;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.cellSize = cellSize;
+        this.columns = (int) ((width + cellSize - 1) / cellSize);
+        this.rows = (int) ((height + cellSize - 1) / cellSize);
+
+        // counting sort of Planets by cell:
+        int[] planetCells = new int[size];
+        int[] cellStarts = new int[columns * rows + 1];
+        for (int i = 0; i < size; i++) {
+            Planet planet = planets.get(i);
+            planetCells[i] = cellOf(planet.getPositionX(), planet.getPositionY());
+            cellStarts[planetCells[i] + 1]++;
+        }
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+
+        int[] nextPositions = Arrays.copyOf(cellStarts, cellStarts.length - 1);
+        this.positionsX = new long[size];
+        this.positionsY = new long[size];
+        this.planets = new Planet[size];
+        for (int i = 0; i < size; i++) {
+            Planet planet = planets.get(i);
+            int position = nextPositions[planetCells[i]]++;
+            this.positionsX[position] = planet.getPositionX();
+            this.positionsY[position] = planet.getPositionY();
+            this.planets[position] = planet;
+        }
+        this.cellStarts = cellStarts;
+    }
+
+    /**
+     * Searches for Planets inside of rectangular viewport (borders are included).
+     *
+     * @param minX     left border of viewport.
+     * @param minY     top border of viewport.
+     * @param maxX     right border of viewport.
+     * @param maxY     bottom border of viewport.
+     * @param maxCount maximal number of returned Planets.
+     * @return (not null) List of found Planets (not more then maxCount), grouped by cells of index.
+     */
+    public List<Planet> findInViewport(long minX, long minY, long maxX, long maxY, int maxCount) {
+        List<Planet> foundPlanets = new ArrayList<>();
+        if (planets.length == 0 || minX > maxX || minY > maxY) {
+            return foundPlanets;
+        }
+
+        int fromColumn = column(minX);
+        int toColumn = column(maxX);
+        int fromRow = row(minY);
+        int toRow = row(maxY);
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                int cell = row * columns + column;
+                for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                    long x = positionsX[i];
+                    long y = positionsY[i];
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        if (foundPlanets.size() == maxCount) {
+                            return foundPlanets;
+                        }
+                        foundPlanets.add(planets[i]);
+                    }
+                }
+            }
+        }
+        return foundPlanets;
+    }
+
+    /**
+     * Searches for k Planets, nearest to target point.
+     *
+     * @param x       X coordinate of target point.
+     * @param y       Y coordinate of target point.
+     * @param k       number of needed Planets.
+     * @param exclude Planet, which must be skipped (for example, Planet in target point), or null.
+     * @return (not null) List of found Planets (not more then k), ordered by distance to target point.
+     */
+    public List<Planet> findNearest(long x, long y, int k, Planet exclude) {
+        if (k <= 0 || planets.length == 0) {
+            return new ArrayList<>();
+        }
+
+        int[] nearestPositions = new int[k];
+        int count = findNearestPositions(x, y, k, exclude, Double.POSITIVE_INFINITY, nearestPositions);
+
+        List<Planet> nearestPlanets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nearestPlanets.add(planets[nearestPositions[i]]);
+        }
+        return nearestPlanets;
+    }
+
+    /**
+     * Searches for k Planets, nearest to target point, and not farther then maxDistance from it.
+     *
+     * @param x           X coordinate of target point.
+     * @param y           Y coordinate of target point.
+     * @param k           number of needed Planets (positive).
+     * @param exclude     Planet, which must be skipped, or null.
+     * @param maxDistance maximal distance of found Planets (inclusive).
+     * @param result      (not less then k) array, which receives positions of found Planets in index
+     *                    (see planetAt()), ordered by distance to target point.
+     * @return number of found Planets.
+     */
+    int findNearestPositions(long x, long y, int k, Planet exclude, double maxDistance, int[] result) {
+        if (planets.length == 0) {
+            return 0;
+        }
+
+        // bounded max-heap of (squared distance, Planet position) pairs:
+        double[] heapDistances = new double[k];
+        int[] heapPositions = new int[k];
+        int heapSize = 0;
+        double maxSquaredDistance = maxDistance * maxDistance;
+
+        int centerColumn = column(x);
+        int centerRow = row(y);
+        int maxRing = Math.max(Math.max(centerColumn, columns - 1 - centerColumn),
+                Math.max(centerRow, rows - 1 - centerRow));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // nearest point of current ring is not closer then (ring - 1) cells from target point:
+            double ringDistance = Math.max(0, ring - 1) * (double) cellSize;
+            if (ringDistance * ringDistance > (heapSize == k ? heapDistances[0] : maxSquaredDistance)) {
+                break;
+            }
+
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if (row < 0 || row >= rows) {
+                    continue;
+                }
+                boolean borderRow = row == centerRow - ring || row == centerRow + ring;
+                int columnStep = borderRow ? 1 : Math.max(1, 2 * ring);
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += columnStep) {
+                    if (column < 0 || column >= columns) {
+                        continue;
+                    }
+                    int cell = row * columns + column;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        if (planets[i] == exclude) {
+                            continue;
+                        }
+                        // target point may be far outside of index, so difference mustn't overflow long:
+                        double deltaX = (double) positionsX[i] - x;
+                        double deltaY = (double) positionsY[i] - y;
+                        double distance = deltaX * deltaX + deltaY * deltaY;
+                        if (distance > maxSquaredDistance) {
+                            continue;
+                        }
+
+                        if (heapSize < k) {
+                            heapDistances[heapSize] = distance;
+                            heapPositions[heapSize] = i;
+                            siftUp(heapDistances, heapPositions, heapSize++);
+                        } else if (distance < heapDistances[0]) {
+                            heapDistances[0] = distance;
+                            heapPositions[0] = i;
+                            siftDown(heapDistances, heapPositions, heapSize);
+                        }
+                    }
+                }
+            }
+        }
+
+        int count = heapSize;
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heapPositions[0];
+            heapDistances[0] = heapDistances[i];
+            heapPositions[0] = heapPositions[i];
+            siftDown(heapDistances, heapPositions, i);
+        }
+        return count;
+    }
+
+    /**
+     * @return Planet, stored in index at proposed position.
+     */
+    Planet planetAt(int position) {
+        return planets[position];
+    }
+
+    long positionXAt(int position) {
+        return positionsX[position];
+    }
+
+    long positionYAt(int position) {
+        return positionsY[position];
+    }
+
+    /**
+     * @return number of indexed Planets.
+     */
+    public int size() {
+        return planets.length;
+    }
+
+    private int cellOf(long x, long y) {
+        return row(y) * columns + column(x);
+    }
+
+    // coordinates are clamped to bounds of index before subtraction, so it can't overflow long:
+    private int column(long x) {
+        return clamp((clamp(x, minX, maxX) - minX) / cellSize, columns);
+    }
+
+    private int row(long y) {
+        return clamp((clamp(y, minY, maxY) - minY) / cellSize, rows);
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static int clamp(long value, int bound) {
+        return (int) Math.max(0, Math.min(bound - 1, value));
+    }
+
+    private static void siftUp(double[] distances, int[] positions, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (distances[parent] >= distances[index]) {
+                return;
+            }
+            swap(distances, positions, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(double[] distances, int[] positions, int size) {
+        int index = 0;
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && distances[left] > distances[largest]) {
+                largest = left;
+            }
+            if (right < size && distances[right] > distances[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(distances, positions, largest, index);
+            index = largest;
+        }
+    }
+
+    private static void swap(double[] distances, int[] positions, int i, int j) {
+        double distance = distances[i];
+        distances[i] = distances[j];
+        distances[j] = distance;
+        int position = positions[i];
+        positions[i] = positions[j];
+        positions[j] = position;
+    }
+}
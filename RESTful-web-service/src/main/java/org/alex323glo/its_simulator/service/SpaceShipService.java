@@ -1,6 +1,7 @@
 package org.alex323glo.its_simulator.service;
 
 import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
 import org.alex323glo.its_simulator.model.game.SpaceShip;
 
 import java.util.List;
@@ -59,4 +60,14 @@ public interface SpaceShipService {
      * (see more in method's realisation).
      */
     List<SpaceShip> findAllFreeShips(String username) throws AppException;
+
+    /**
+     * Lists all User's existent SpaceShips with FREE status as response DTOs.
+     *
+     * @param username unique and valid username of registered User.
+     * @return (not null) List of User's FREE SpaceShip's DTOs, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    List<SpaceShipDTO> findAllFreeShipDTOs(String username) throws AppException;
 }
@@ -3,6 +3,7 @@ package org.alex323glo.its_simulator.service;
 import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.exception.ValidationException;
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
 import org.alex323glo.its_simulator.model.game.SpaceShip;
 import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
 import org.alex323glo.its_simulator.repository.SpaceShipRepository;
@@ -110,7 +111,7 @@ public class SpaceShipServiceImpl implements SpaceShipService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public SpaceShip findSpaceShip(String username, String shipName) throws AppException {
         LOGGER.info("Trying to find SpaceShip by User's username and SpaceShip's name...");
@@ -151,7 +152,7 @@ public class SpaceShipServiceImpl implements SpaceShipService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<SpaceShip> findAllShips(String username) throws AppException {
         LOGGER.info("Trying to list all SpaceShips by User's username...");
@@ -179,7 +180,7 @@ public class SpaceShipServiceImpl implements SpaceShipService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<SpaceShip> findAllFreeShips(String username) throws AppException {
         LOGGER.info("Trying to list all free SpaceShips by User's username...");
@@ -199,4 +200,34 @@ public class SpaceShipServiceImpl implements SpaceShipService {
         LOGGER.info("Successfully listed all free SpaceShips by User's username.");
         return spaceShipList;
     }
+
+    /**
+     * Lists all User's existent SpaceShips with FREE status as response DTOs
+     * (single SELECT with projection, SpaceShip Entities aren't loaded).
+     *
+     * @param username unique and valid username of registered User.
+     * @return (not null) List of User's FREE SpaceShip's DTOs, if operation was successful.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<SpaceShipDTO> findAllFreeShipDTOs(String username) throws AppException {
+        LOGGER.info("Trying to list all free SpaceShips' DTOs by User's username...");
+
+        try {
+            validator.validateUsername(username);
+        } catch (ValidationException e) {
+            AppException exception =
+                    new AppException("Can't list all free SpaceShips' DTOs by User's username. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        List<SpaceShipDTO> spaceShipList = spaceShipRepository
+                .findAllDTOsByUsernameAndSpaceShipStatus(username, SpaceShipStatus.FREE);
+
+        LOGGER.info("Successfully listed all free SpaceShips' DTOs by User's username.");
+        return spaceShipList;
+    }
 }
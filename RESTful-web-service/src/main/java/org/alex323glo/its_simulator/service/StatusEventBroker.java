@@ -0,0 +1,219 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
+import org.alex323glo.its_simulator.util.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory broker of status events: delivers events about User's Missions and SpaceShips
+ * to all connections (Server-Sent Events streams and WebSocket sessions) of this User.
+ *
+ * Connections don't own threads: every connection has bounded buffer of pending events
+ * ('game.events.connection.buffer_size'), which is drained by shared pool of delivery threads
+ * ('statusEventsExecutor'). Connection, which buffer overflows (its client reads slower than events arrive),
+ * is closed, so client must reconnect and re-fetch current state. Idle connections get heartbeats
+ * every 'game.events.heartbeat_ms' milliseconds.
+ *
+ * Events are delivered only to connections of this node.
+ *
+ * Publishes such metrics:
+ *  - 'events.connections' - number of open connections;
+ *  - 'events.published' - number of events, published to Users with open connections;
+ *  - 'events.connections.dropped' - number of connections, closed because of buffer overflow.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see StatusEventSink
+ */
+@Component
+public class StatusEventBroker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusEventBroker.class);
+
+    private static final int DEFAULT_BUFFER_SIZE = 64;
+
+    // placeholder of heartbeat in connection's buffer:
+    private static final StatusEventDTO HEARTBEAT = StatusEventDTO.builder().build();
+
+    private final ConcurrentHashMap<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final TaskExecutor executor;
+    private final int bufferSize;
+    private final Counter publishedEvents;
+    private final Counter droppedConnections;
+
+    @Autowired
+    public StatusEventBroker(@Qualifier("statusEventsExecutor") TaskExecutor executor,
+                             MeterRegistry meterRegistry, Environment environment) {
+        this.executor = executor;
+        this.bufferSize = Math.max(1, environment.getProperty("game.events.connection.buffer_size",
+                Integer.class, DEFAULT_BUFFER_SIZE));
+        this.publishedEvents = meterRegistry.counter("events.published");
+        this.droppedConnections = meterRegistry.counter("events.connections.dropped");
+        meterRegistry.gauge("events.connections", this, StatusEventBroker::size);
+    }
+
+    /**
+     * Subscribes connection to events of User.
+     *
+     * @param userId ID of User (and of his UserGameProfile).
+     * @param sink   (not null) connection of User's client.
+     */
+    public void subscribe(Long userId, StatusEventSink sink) {
+        connections.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet())
+                .add(new Connection(userId, sink));
+        connectionCount.incrementAndGet();
+    }
+
+    /**
+     * Unsubscribes connection from events of User (for example, when connection is closed by client).
+     *
+     * @param userId ID of User (and of his UserGameProfile).
+     * @param sink   (not null) connection of User's client.
+     */
+    public void unsubscribe(Long userId, StatusEventSink sink) {
+        connections.computeIfPresent(userId, (id, userConnections) -> {
+            if (userConnections.removeIf(connection -> connection.sink == sink)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    /**
+     * Publishes event to User's connections after commit of current transaction
+     * (so clients don't see changes, which may be rolled back).
+     *
+     * @param userId ID of User (and of his UserGameProfile).
+     * @param event  (not null) status event.
+     */
+    public void publishAfterCommit(Long userId, StatusEventDTO event) {
+        if (!connections.containsKey(userId)) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> publish(userId, event));
+    }
+
+    /**
+     * Sends heartbeats to connections, which have nothing to send.
+     */
+    @Scheduled(fixedDelayString = "${game.events.heartbeat_ms:30000}")
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (connection.buffer.isEmpty()) {
+                connection.offer(HEARTBEAT);
+            }
+        }));
+    }
+
+    public int size() {
+        return connectionCount.get();
+    }
+
+    private void publish(Long userId, StatusEventDTO event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return;
+        }
+        publishedEvents.increment();
+        userConnections.forEach(connection -> connection.offer(event));
+    }
+
+    private void disconnect(Connection connection) {
+        unsubscribe(connection.userId, connection.sink);
+        connection.sink.close();
+    }
+
+    /**
+     * Subscribed connection with its buffer of pending events.
+     * Buffer is drained by at most one delivery thread at a time.
+     */
+    private class Connection {
+
+        private final Long userId;
+        private final StatusEventSink sink;
+        private final BlockingQueue<StatusEventDTO> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, StatusEventSink sink) {
+            this.userId = userId;
+            this.sink = sink;
+        }
+
+        private void offer(StatusEventDTO event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                LOGGER.warn("Closing connection of slow client: buffer of " + bufferSize +
+                        " status events is full.");
+                droppedConnections.increment();
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOGGER.warn("Delivery of status events is rejected (delivery pool is shut down).");
+            }
+        }
+
+        private void drain() {
+            try {
+                StatusEventDTO event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        sink.sendHeartbeat();
+                    } else {
+                        sink.send(event);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.info("Closing broken connection: " + e.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // events, offered after last poll() and before reset of flag, must not wait for next event:
+            if (!closed.get() && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                disconnect(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
+
+import java.io.IOException;
+
+/**
+ * Single client connection (Server-Sent Events stream or WebSocket session), subscribed to status events
+ * of its User (see StatusEventBroker).
+ *
+ * Methods are called by one thread at a time (by delivery threads of StatusEventBroker).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see StatusEventBroker
+ */
+public interface StatusEventSink {
+
+    /**
+     * Writes event to connection.
+     *
+     * @param event (not null) status event.
+     * @throws IOException if connection is broken (connection is closed by StatusEventBroker).
+     */
+    void send(StatusEventDTO event) throws IOException;
+
+    /**
+     * Writes heartbeat (message without event) to idle connection, so broken connections are detected
+     * and proxies don't close idle ones.
+     *
+     * @throws IOException if connection is broken (connection is closed by StatusEventBroker).
+     */
+    void sendHeartbeat() throws IOException;
+
+    /**
+     * Closes connection (for example, when its client is too slow). Must not throw any Exception.
+     */
+    void close();
+}
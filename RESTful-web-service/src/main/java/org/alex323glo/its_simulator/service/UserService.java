@@ -4,6 +4,7 @@ import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.model.User;
 import org.alex323glo.its_simulator.model.UserExtension;
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.UserGameProfileDTO;
 
 import java.util.List;
 
@@ -38,6 +39,27 @@ public interface UserService {
      */
     UserGameProfile findUserGameProfile(String username) throws AppException;
 
+    /**
+     * Searches for User's Game Profile (personal game data) as response DTO
+     * (together with username and UserExtension's data).
+     *
+     * @param username unique and valid username of registered User.
+     * @return needed User's UserGameProfile DTO, if User exists, or null, if it doesn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    UserGameProfileDTO findUserGameProfileDTO(String username) throws AppException;
+
+    /**
+     * Searches for ID of User (which is also ID of his UserGameProfile).
+     *
+     * @param username unique and valid username of registered User.
+     * @return needed User's ID, if User exists, or null, if it doesn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     * (see more in method's realisation).
+     */
+    Long findUserId(String username) throws AppException;
+
     /**
      * Searches for User's Extension (additional personal data).
      *
@@ -6,6 +6,8 @@ import org.alex323glo.its_simulator.exception.ValidationException;
 import org.alex323glo.its_simulator.model.User;
 import org.alex323glo.its_simulator.model.UserExtension;
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.UserGameProfileDTO;
+import org.alex323glo.its_simulator.repository.ArchivedMissionRepository;
 import org.alex323glo.its_simulator.repository.UserExtensionRepository;
 import org.alex323glo.its_simulator.repository.UserGameProfileRepository;
 import org.alex323glo.its_simulator.repository.UserRepository;
@@ -14,6 +16,7 @@ import org.alex323glo.its_simulator.util.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -23,7 +26,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of UserService and UserDetailsService interfaces. See more in abstraction.
@@ -43,15 +49,22 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     private final UserRepository userRepository;
     private final UserExtensionRepository userExtensionRepository;
     private final UserGameProfileRepository userGameProfileRepository;
+    private final ArchivedMissionRepository archivedMissionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final Set<String> adminUsernames;
 
     @Autowired
-    public UserServiceImpl(Validator validator, UserRepository userRepository, UserExtensionRepository userExtensionRepository, UserGameProfileRepository userGameProfileRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(Validator validator, UserRepository userRepository, UserExtensionRepository userExtensionRepository, UserGameProfileRepository userGameProfileRepository, ArchivedMissionRepository archivedMissionRepository, PasswordEncoder passwordEncoder, Environment environment) {
         this.validator = validator;
         this.userRepository = userRepository;
         this.userExtensionRepository = userExtensionRepository;
         this.userGameProfileRepository = userGameProfileRepository;
+        this.archivedMissionRepository = archivedMissionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.adminUsernames = Arrays.stream(environment.getProperty("users.admins", String[].class, new String[0]))
+                .map(String::trim)
+                .filter(username -> !username.isEmpty())
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -126,7 +139,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public UserGameProfile findUserGameProfile(String username) throws AppException {
         LOGGER.info("Trying to find UserGameProfile by User's username...");
@@ -146,6 +159,63 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         return userGameProfile;
     }
 
+    /**
+     * Searches for User's Game Profile (personal game data) as response DTO
+     * (single SELECT with projection, Entities aren't loaded).
+     *
+     * @param username unique and valid username of registered User.
+     * @return needed User's UserGameProfile DTO, if User exists, or null, if it doesn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public UserGameProfileDTO findUserGameProfileDTO(String username) throws AppException {
+        LOGGER.info("Trying to find UserGameProfile's DTO by User's username...");
+
+        try {
+            validator.validateUsername(username);
+        } catch (ValidationException e) {
+            AppException exception =
+                    new AppException("Can't find UserGameProfile's DTO by User's username. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        UserGameProfileDTO userGameProfile = userGameProfileRepository.findDTOByUsername(username);
+
+        LOGGER.info("Successfully found UserGameProfile's DTO by User's username.");
+        return userGameProfile;
+    }
+
+    /**
+     * Searches for ID of User (which is also ID of his UserGameProfile)
+     * (single SELECT of ID, Entities aren't loaded).
+     *
+     * @param username unique and valid username of registered User.
+     * @return needed User's ID, if User exists, or null, if it doesn't.
+     * @throws AppException if System can't carry out this operation in some reasons
+     *                      (see more in method's realisation).
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Long findUserId(String username) throws AppException {
+        LOGGER.info("Trying to find User's ID by User's username...");
+
+        try {
+            validator.validateUsername(username);
+        } catch (ValidationException e) {
+            AppException exception = new AppException("Can't find User's ID by User's username. " + e.getMessage());
+            LOGGER.error(exception.getMessage(), exception);
+            throw exception;
+        }
+
+        Long userId = userRepository.findIdByUsername(username);
+
+        LOGGER.info("Successfully found User's ID by User's username.");
+        return userId;
+    }
+
     /**
      * Searches for User's Extension (additional personal data).
      *
@@ -154,7 +224,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public UserExtension findUserExtension(String username) throws AppException {
         LOGGER.info("Trying to find UserExtension by User's username...");
@@ -232,7 +302,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      * @throws AppException if System can't carry out this operation in some reasons
      *                      (see more in method's realisation).
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<User> listAllUsers() throws AppException {
         LOGGER.info("Trying to list all Users...");
@@ -280,6 +350,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
             throw exception;
         }
 
+        // archived Missions aren't mapped by UserGameProfile, so they are deleted by single bulk DELETE:
+        archivedMissionRepository.deleteAllByUsername(username);
         userRepository.delete(user);
 
         LOGGER.info("Successfully deleted personal data of single User by User's username.");
@@ -299,6 +371,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
         LOGGER.info("Trying to delete personal data of all Users...");
 
         try {
+            archivedMissionRepository.deleteAllInBatch();
             userRepository.deleteAll();
         } catch (Exception e) {
             AppException exception =
@@ -322,6 +395,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      * @throws UsernameNotFoundException if the user could not be found or the user has no
      *                                   GrantedAuthority
      *
+     * Transaction isn't read-only, so User is read from primary Data Base: just registered User
+     * must be able to log in, even if read replica isn't updated yet (see ReadReplicaRoutingDataSource).
+     *
      * @see UserDetailsService
      */
     @Transactional
@@ -338,7 +414,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
             throw exception;
         }
 
-        UserDetails userDetails = userRepository.findByUsername(username).generateUserDetails();
+        UserDetails userDetails = userRepository.findByUsername(username)
+                .generateUserDetails(adminUsernames.contains(username));
 
         LOGGER.info("Successfully loaded User (UserDetails) by username (for Security).");
         return userDetails;
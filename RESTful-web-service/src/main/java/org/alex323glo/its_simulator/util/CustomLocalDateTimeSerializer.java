@@ -5,16 +5,32 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 
 /**
  * Custom JSON serializer for LocalDateTime objects serialization.
  *
+ * Writes value in TimestampFormat, set as serialization attribute (see TimestampFormat.ATTRIBUTE),
+ * or in legacy OBJECT format, if attribute isn't set.
+ *
+ * Values are local date-times of System's default time zone. Current zone offset is computed once
+ * and is cached until next transition of zone rules (instead of creating ZonedDateTime.now() for every value).
+ *
  * @author Alexey_O
  * @version 0.1
+ *
+ * @see TimestampFormat
  */
 public class CustomLocalDateTimeSerializer extends JsonSerializer<LocalDateTime> {
+
+    private static volatile CachedOffset cachedOffset;
+
     /**
      * Method that can be called to ask implementation to serialize
      * values of type this serializer handles.
@@ -26,15 +42,89 @@ public class CustomLocalDateTimeSerializer extends JsonSerializer<LocalDateTime>
     @Override
     public void serialize(LocalDateTime value, JsonGenerator gen,
                           SerializerProvider serializers) throws IOException {
-        gen.writeStartObject();
-        gen.writeNumberField("year", value.getYear());
-        gen.writeNumberField("month", value.getMonthValue());
-        gen.writeNumberField("dayOfMonth", value.getDayOfMonth());
-        gen.writeNumberField("hour", value.getHour());
-        gen.writeNumberField("minute", value.getMinute());
-        gen.writeNumberField("second", value.getSecond());
-        gen.writeNumberField("dayOfYear", value.getDayOfYear());
-        gen.writeNumberField("zoneOffsetSeconds", ZonedDateTime.now().getOffset().getTotalSeconds());
-        gen.writeEndObject();
+        Object format = serializers.getAttribute(TimestampFormat.ATTRIBUTE);
+        CachedOffset currentOffset = currentOffset();
+
+        if (format == TimestampFormat.EPOCH_MILLIS) {
+            gen.writeNumber(currentOffset.toInstant(value).toEpochMilli());
+        } else if (format == TimestampFormat.ISO_8601) {
+            gen.writeString(toIso8601(value, currentOffset));
+        } else {
+            gen.writeStartObject();
+            gen.writeNumberField("year", value.getYear());
+            gen.writeNumberField("month", value.getMonthValue());
+            gen.writeNumberField("dayOfMonth", value.getDayOfMonth());
+            gen.writeNumberField("hour", value.getHour());
+            gen.writeNumberField("minute", value.getMinute());
+            gen.writeNumberField("second", value.getSecond());
+            gen.writeNumberField("dayOfYear", value.getDayOfYear());
+            gen.writeNumberField("zoneOffsetSeconds", currentOffset.offset.getTotalSeconds());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Formats value in ISO_8601 TimestampFormat (for example, for non-JSON exports).
+     *
+     * @param value (not null) local date-time of System's default time zone.
+     * @return (not null) ISO-8601 string with zone offset, for example: "2018-05-01T12:30:00+03:00".
+     */
+    public static String toIso8601(LocalDateTime value) {
+        return toIso8601(value, currentOffset());
+    }
+
+    private static String toIso8601(LocalDateTime value, CachedOffset currentOffset) {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value.atOffset(currentOffset.offsetOf(value)));
+    }
+
+    private static CachedOffset currentOffset() {
+        CachedOffset offset = cachedOffset;
+        long nowMillis = System.currentTimeMillis();
+        if (offset == null || nowMillis >= offset.validUntilMillis) {
+            offset = new CachedOffset(ZoneId.systemDefault(), Instant.ofEpochMilli(nowMillis));
+            cachedOffset = offset;
+        }
+        return offset;
+    }
+
+    /**
+     * Zone offset of System's default time zone, which is valid between two transitions of zone rules.
+     */
+    private static final class CachedOffset {
+
+        private final ZoneRules rules;
+        private final ZoneOffset offset;
+        private final long validFromEpochSecond;
+        private final long validUntilEpochSecond;
+        private final long validUntilMillis;
+
+        private CachedOffset(ZoneId zone, Instant now) {
+            this.rules = zone.getRules();
+            this.offset = rules.getOffset(now);
+
+            ZoneOffsetTransition previousTransition = rules.previousTransition(now);
+            ZoneOffsetTransition nextTransition = rules.nextTransition(now);
+            this.validFromEpochSecond = previousTransition == null ?
+                    Long.MIN_VALUE : previousTransition.toEpochSecond();
+            this.validUntilEpochSecond = nextTransition == null ?
+                    Long.MAX_VALUE : nextTransition.toEpochSecond();
+            this.validUntilMillis = nextTransition == null ?
+                    Long.MAX_VALUE : nextTransition.getInstant().toEpochMilli();
+        }
+
+        /**
+         * @return zone offset of proposed local date-time (cached one, if value is inside of its period).
+         */
+        private ZoneOffset offsetOf(LocalDateTime value) {
+            long epochSecond = value.toEpochSecond(offset);
+            if (epochSecond >= validFromEpochSecond && epochSecond < validUntilEpochSecond) {
+                return offset;
+            }
+            return rules.getOffset(value);
+        }
+
+        private Instant toInstant(LocalDateTime value) {
+            return value.toInstant(offsetOf(value));
+        }
     }
 }
@@ -0,0 +1,182 @@
+package org.alex323glo.its_simulator.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Formats of Mission history export (see MissionService.exportMissions()).
+ *
+ * Both formats write one Mission per line, so exports of any size can be written (and read) as streams.
+ * Timestamps are written in ISO_8601 TimestampFormat.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionExportWriter
+ */
+public enum MissionExportFormat {
+
+    /**
+     * Newline delimited JSON: one Mission DTO (as in JSON responses) per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public MissionExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            ObjectWriter writer = objectMapper.writer()
+                    .withAttribute(TimestampFormat.ATTRIBUTE, TimestampFormat.ISO_8601)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+
+            return new MissionExportWriter() {
+                @Override
+                public void write(MissionDTO mission) throws IOException {
+                    writer.writeValue(generator, mission);
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    generator.flush();
+                }
+            };
+        }
+    },
+
+    /**
+     * Comma separated values (RFC 4180) with header line: flat columns of Mission, its SpaceShip and Planets.
+     */
+    CSV("text/csv", "csv") {
+        @Override
+        public MissionExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+
+            return new MissionExportWriter() {
+                @Override
+                public void write(MissionDTO mission) throws IOException {
+                    writer.write(String.valueOf(mission.getId()));
+                    writer.write(',');
+                    writer.write(mission.getMissionStatus().name());
+                    writer.write(',');
+                    writeTimestamp(writer, mission.getRegistrationTime());
+                    writer.write(',');
+                    writeTimestamp(writer, mission.getStartTime());
+                    writer.write(',');
+                    writeTimestamp(writer, mission.getFinishTime());
+                    writer.write(',');
+                    writer.write(String.valueOf(mission.getPayload()));
+                    writer.write(',');
+                    writer.write(String.valueOf(mission.getDuration()));
+                    writer.write(',');
+                    writer.write(String.valueOf(mission.getSpaceShip().getId()));
+                    writer.write(',');
+                    writeText(writer, mission.getSpaceShip().getName());
+                    writer.write(',');
+                    writer.write(String.valueOf(mission.getStartPoint().getId()));
+                    writer.write(',');
+                    writeText(writer, mission.getStartPoint().getName());
+                    writer.write(',');
+                    writer.write(String.valueOf(mission.getDestinationPoint().getId()));
+                    writer.write(',');
+                    writeText(writer, mission.getDestinationPoint().getName());
+                    writer.write(CSV_LINE_SEPARATOR);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    };
+
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+    private static final String CSV_FORMULA_PREFIXES = "=+-@\t\r";
+    private static final String CSV_HEADER = "id,missionStatus,registrationTime,startTime,finishTime,payload," +
+            "duration,spaceShipId,spaceShipName,startPointId,startPointName,destinationPointId," +
+            "destinationPointName" + CSV_LINE_SEPARATOR;
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    MissionExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Opens writer of exported Missions.
+     *
+     * @param outputStream (not null) target stream (isn't closed by writer).
+     * @param objectMapper (not null) ObjectMapper of JSON responses.
+     * @return (not null) opened writer.
+     * @throws IOException if writer can't be opened.
+     */
+    public abstract MissionExportWriter open(OutputStream outputStream, ObjectMapper objectMapper)
+            throws IOException;
+
+    /**
+     * @return (not null) media type of exported content.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return (not null) extension of exported file's name.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Searches for export format by its name (case insensitive).
+     *
+     * @param name name of format (for example, 'ndjson' or 'csv').
+     * @return (not null) needed export format.
+     * @throws IllegalArgumentException if there is no format with such name.
+     */
+    public static MissionExportFormat of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name of export format is null.");
+        }
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    private static void writeTimestamp(Writer writer, LocalDateTime value) throws IOException {
+        if (value != null) {
+            writer.write(CustomLocalDateTimeSerializer.toIso8601(value));
+        }
+    }
+
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        // text, which spreadsheets would evaluate as formula (CSV injection), is prefixed with apostrophe:
+        if (!value.isEmpty() && CSV_FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
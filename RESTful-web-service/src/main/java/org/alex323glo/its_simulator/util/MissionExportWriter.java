@@ -0,0 +1,32 @@
+package org.alex323glo.its_simulator.util;
+
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+
+import java.io.IOException;
+
+/**
+ * Writer of exported Missions (see MissionExportFormat), which writes every Mission
+ * straight to target stream (only small output buffer is kept in memory).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see MissionExportFormat
+ */
+public interface MissionExportWriter {
+
+    /**
+     * Writes next exported Mission.
+     *
+     * @param mission (not null) Mission DTO.
+     * @throws IOException if Mission can't be written to target stream.
+     */
+    void write(MissionDTO mission) throws IOException;
+
+    /**
+     * Flushes buffered data to target stream (target stream isn't closed).
+     *
+     * @throws IOException if data can't be written to target stream.
+     */
+    void finish() throws IOException;
+}
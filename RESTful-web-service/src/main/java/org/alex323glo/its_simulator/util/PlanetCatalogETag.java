@@ -0,0 +1,47 @@
+package org.alex323glo.its_simulator.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+
+/**
+ * Additional util class, which builds HTTP validators of Planet catalog's responses
+ * (strong ETags and Cache-Control header).
+ *
+ * ETag is derived from version of Planet catalog (see PlanetCatalog), so it changes only when Planets change
+ * and can be calculated without access to Data Base. Responses with the same version, but different media types
+ * (JSON, CBOR, Smile, timestamp formats), are different representations, so negotiated media type of response
+ * (see ResponseMediaTypeNegotiator) is a part of ETag too. Raw 'Accept' header isn't used: different headers
+ * (order, quality values or parameters of media types) may be negotiated to the same representation.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.service.PlanetCatalog
+ */
+public class PlanetCatalogETag {
+
+    private static final String PREFIX = "planets-";
+
+    /**
+     * Builds ETag of Planet catalog's representation.
+     *
+     * @param catalogVersion version of Planet catalog.
+     * @param mediaType      (not null) negotiated media type of response.
+     * @return (not null) ETag value (without quotes).
+     */
+    public static String of(long catalogVersion, MediaType mediaType) {
+        // parameters (such as charset) don't change representation:
+        String representation = mediaType.getType() + "/" + mediaType.getSubtype();
+        return PREFIX + Long.toHexString(catalogVersion) + "-" + Integer.toHexString(representation.hashCode());
+    }
+
+    /**
+     * Builds Cache-Control of Planet catalog's responses: browsers may keep them (in private cache only),
+     * but must revalidate them (with 'If-None-Match' header) before every reuse.
+     *
+     * @return (not null) Cache-Control directives.
+     */
+    public static CacheControl cacheControl() {
+        return CacheControl.noCache().cachePrivate();
+    }
+}
@@ -0,0 +1,91 @@
+package org.alex323glo.its_simulator.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Negotiator of media types of responses (before their bodies are built).
+ *
+ * Chooses media type of response body the same way, as Spring MVC does it, when body is written
+ * (by requested media types and media types of registered message converters), so handlers can derive
+ * validators of response (such as ETag) from its actual representation, not from raw 'Accept' header
+ * (which can be different for the same representation).
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see PlanetCatalogETag
+ */
+@Component
+public class ResponseMediaTypeNegotiator {
+
+    private static final MediaType MEDIA_TYPE_APPLICATION = new MediaType("application");
+
+    private final ContentNegotiationManager contentNegotiationManager;
+    private final RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    public ResponseMediaTypeNegotiator(ContentNegotiationManager contentNegotiationManager,
+                                       @Lazy RequestMappingHandlerAdapter handlerAdapter) {
+        this.contentNegotiationManager = contentNegotiationManager;
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    /**
+     * Negotiates media type of response body.
+     *
+     * @param webRequest current request.
+     * @param bodyClass  class of response body.
+     * @return (not null) concrete media type, which body will be written with.
+     * @throws HttpMediaTypeNotAcceptableException if no message converter can write body in requested media types
+     *                                             (Spring MVC answers with NOT ACCEPTABLE (406) status).
+     */
+    public MediaType negotiate(NativeWebRequest webRequest, Class<?> bodyClass)
+            throws HttpMediaTypeNotAcceptableException {
+
+        List<MediaType> acceptableMediaTypes = contentNegotiationManager.resolveMediaTypes(webRequest);
+
+        List<MediaType> producibleMediaTypes = new ArrayList<>();
+        for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+            if (converter.canWrite(bodyClass, null)) {
+                producibleMediaTypes.addAll(converter.getSupportedMediaTypes());
+            }
+        }
+
+        List<MediaType> compatibleMediaTypes = new ArrayList<>();
+        for (MediaType acceptableMediaType : acceptableMediaTypes) {
+            for (MediaType producibleMediaType : producibleMediaTypes) {
+                if (acceptableMediaType.isCompatibleWith(producibleMediaType)) {
+                    compatibleMediaTypes.add(mostSpecific(acceptableMediaType, producibleMediaType));
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(compatibleMediaTypes);
+
+        for (MediaType mediaType : compatibleMediaTypes) {
+            if (mediaType.isConcrete()) {
+                return mediaType;
+            }
+            if (mediaType.equals(MediaType.ALL) || mediaType.equals(MEDIA_TYPE_APPLICATION)) {
+                return MediaType.APPLICATION_OCTET_STREAM;
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(producibleMediaTypes);
+    }
+
+    private static MediaType mostSpecific(MediaType acceptableMediaType, MediaType producibleMediaType) {
+        MediaType producibleMediaTypeToUse = producibleMediaType.copyQualityValue(acceptableMediaType);
+        return MediaType.SPECIFICITY_COMPARATOR.compare(acceptableMediaType, producibleMediaTypeToUse) <= 0 ?
+                acceptableMediaType : producibleMediaTypeToUse;
+    }
+}
@@ -0,0 +1,53 @@
+package org.alex323glo.its_simulator.util;
+
+/**
+ * Wire formats of timestamps (LocalDateTime values) in JSON responses (see CustomLocalDateTimeSerializer).
+ *
+ * Format is negotiated by media type, requested in 'Accept' header:
+ *  - 'application/json' - OBJECT (legacy format of front-end);
+ *  - 'application/vnd.its-simulator.epoch-millis+json' - EPOCH_MILLIS;
+ *  - 'application/vnd.its-simulator.iso-8601+json' - ISO_8601;
+ *  - 'application/cbor' and 'application/x-jackson-smile' (binary formats) - EPOCH_MILLIS.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ *
+ * @see org.alex323glo.its_simulator.config.TimestampFormatConfiguration
+ */
+public enum TimestampFormat {
+
+    /**
+     * Object with date and time fields and zone offset, for example: {"year":2018,"month":5,"dayOfMonth":1,
+     * "hour":12,"minute":30,"second":0,"dayOfYear":121,"zoneOffsetSeconds":10800}.
+     */
+    OBJECT(null),
+
+    /**
+     * Number of milliseconds since epoch, for example: 1525167000000.
+     */
+    EPOCH_MILLIS("application/vnd.its-simulator.epoch-millis+json"),
+
+    /**
+     * ISO-8601 string with zone offset, for example: "2018-05-01T12:30:00+03:00".
+     */
+    ISO_8601("application/vnd.its-simulator.iso-8601+json");
+
+    /**
+     * Name of Jackson's serialization attribute, which holds needed TimestampFormat
+     * (OBJECT is used, if attribute isn't set).
+     */
+    public static final String ATTRIBUTE = TimestampFormat.class.getName();
+
+    private final String mediaType;
+
+    TimestampFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return media type, which requests this format, or null for default (legacy) format.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+}
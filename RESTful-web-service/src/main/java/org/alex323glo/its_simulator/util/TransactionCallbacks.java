@@ -0,0 +1,35 @@
+package org.alex323glo.its_simulator.util;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Additional util class, which helps to postpone in-memory side effects
+ * of transactional operations until their data is committed.
+ *
+ * @author Alexey_O
+ * @version 0.1
+ */
+public class TransactionCallbacks {
+
+    /**
+     * Runs action after commit of current transaction
+     * (or immediately, if there is no active transaction).
+     *
+     * @param action target action.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
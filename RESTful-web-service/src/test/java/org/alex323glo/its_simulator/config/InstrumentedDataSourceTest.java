@@ -0,0 +1,107 @@
+package org.alex323glo.its_simulator.config;
+
+import org.alex323glo.its_simulator.config.DatabaseAccessRecorder.DatabaseAccess;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class InstrumentedDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        jdbcTemplate = new JdbcTemplate(new InstrumentedDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:instrumented;DB_CLOSE_DELAY=-1", "root", "")));
+        jdbcTemplate.execute("drop table if exists numbers");
+        jdbcTemplate.execute("create table numbers (number int)");
+    }
+
+    @Test
+    public void statementsAndRowsAreRecorded() {
+        DatabaseAccess databaseAccess = DatabaseAccessRecorder.start();
+        jdbcTemplate.batchUpdate("insert into numbers (number) values (?)",
+                Arrays.asList(new Object[]{1}, new Object[]{2}, new Object[]{3}));
+        jdbcTemplate.update("update numbers set number = number + 1 where number > 1");
+        assertEquals(3, jdbcTemplate.queryForList("select number from numbers", Integer.class).size());
+        DatabaseAccessRecorder.stop(databaseAccess);
+
+        // batch is counted as single statement; 3 inserted, 2 updated and 3 read rows:
+        assertEquals(3, databaseAccess.getStatements());
+        assertEquals(8, databaseAccess.getRows());
+        assertTrue(databaseAccess.getElapsedNanos() > 0);
+    }
+
+    @Test
+    public void nestedScopesAreRecorded() {
+        DatabaseAccess outerAccess = DatabaseAccessRecorder.start();
+        jdbcTemplate.update("insert into numbers (number) values (1)");
+
+        DatabaseAccess innerAccess = DatabaseAccessRecorder.start();
+        jdbcTemplate.queryForList("select number from numbers", Integer.class);
+        DatabaseAccessRecorder.stop(innerAccess);
+
+        jdbcTemplate.queryForList("select number from numbers", Integer.class);
+        DatabaseAccessRecorder.stop(outerAccess);
+
+        assertEquals(1, innerAccess.getStatements());
+        assertEquals(1, innerAccess.getRows());
+        assertEquals(3, outerAccess.getStatements());
+        assertEquals(3, outerAccess.getRows());
+    }
+
+    @Test
+    public void scopeResumedByConcurrentThreadsIsRecorded() throws Exception {
+        final int threads = 4;
+        final int statementsPerThread = 50;
+
+        // for example, timed out request's task is still running, while request is completed in other thread:
+        DatabaseAccess databaseAccess = DatabaseAccessRecorder.start();
+        DatabaseAccessRecorder.stop(databaseAccess);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    DatabaseAccessRecorder.resume(databaseAccess);
+                    try {
+                        for (int j = 0; j < statementsPerThread; j++) {
+                            jdbcTemplate.update("insert into numbers (number) values (?)", j);
+                        }
+                    } finally {
+                        DatabaseAccessRecorder.stop(databaseAccess);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * statementsPerThread, databaseAccess.getStatements());
+        assertEquals(threads * statementsPerThread, databaseAccess.getRows());
+    }
+
+    @Test
+    public void statementsOutsideOfScopesAreNotRecorded() {
+        DatabaseAccess databaseAccess = DatabaseAccessRecorder.start();
+        DatabaseAccessRecorder.stop(databaseAccess);
+        jdbcTemplate.update("insert into numbers (number) values (1)");
+
+        assertEquals(0, databaseAccess.getStatements());
+        assertEquals(0, databaseAccess.getRows());
+    }
+}
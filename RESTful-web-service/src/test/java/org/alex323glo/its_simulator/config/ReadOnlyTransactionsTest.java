@@ -0,0 +1,170 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.repository.UserGameProfileRepository;
+import org.alex323glo.its_simulator.repository.UserRepository;
+import org.alex323glo.its_simulator.service.MissionService;
+import org.alex323glo.its_simulator.service.UserService;
+import org.hibernate.Session;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ReadOnlyTransactionsTest {
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_EMAIL = "alex@mail.com";
+
+    private static final String GET_LIST_OF_MISSIONS_URI = "/private/mission-management/missions";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserGameProfileRepository userGameProfileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Before
+    public void setUp() throws Exception {
+        userRepository.deleteAll();
+        userService.registerUser(TEST_USERNAME, TEST_PASSWORD, TEST_EMAIL);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void readOnlyTransactionDoesntKeepSnapshotsAndDoesntFlush() {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        readOnlyTransactionTemplate.execute(status -> {
+            UserGameProfile userGameProfile = userGameProfileRepository.findByUser_Username(TEST_USERNAME);
+            assertTrue(entityManager.unwrap(Session.class).isReadOnly(userGameProfile));
+
+            userGameProfile.setShipsNumber(1000);
+            return null;
+        });
+
+        assertNotEquals(Integer.valueOf(1000), userGameProfileRepository.findByUser_Username(TEST_USERNAME).getShipsNumber());
+
+        new TransactionTemplate(transactionManager).execute(status -> {
+            UserGameProfile userGameProfile = userGameProfileRepository.findByUser_Username(TEST_USERNAME);
+            assertFalse(entityManager.unwrap(Session.class).isReadOnly(userGameProfile));
+            return null;
+        });
+    }
+
+    @Test
+    public void readOnlyTransactionOfWebRequestDoesntKeepSnapshots() throws Exception {
+        JpaTransactionManager jpaTransactionManager = (JpaTransactionManager) transactionManager;
+        JpaDialect jpaDialect = jpaTransactionManager.getJpaDialect();
+
+        // records, if Session of every read-only transaction is switched to read-only mode:
+        List<Boolean> readOnlySessions = new CopyOnWriteArrayList<>();
+        jpaTransactionManager.setJpaDialect(new ReadOnlyAwareHibernateJpaDialect() {
+            @Override
+            public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                    throws PersistenceException, SQLException, TransactionException {
+                Object transactionData = super.beginTransaction(entityManager, definition);
+                if (definition.isReadOnly()) {
+                    readOnlySessions.add(entityManager.unwrap(Session.class).isDefaultReadOnly());
+                }
+                return transactionData;
+            }
+        });
+        try {
+            // synchronous endpoint: EntityManager would be bound to request thread in "open in view" mode
+            MockMvcBuilders.webAppContextSetup(webApplicationContext).build()
+                    .perform(get(GET_LIST_OF_MISSIONS_URI).principal(() -> TEST_USERNAME))
+                    .andExpect(status().isOk());
+        } finally {
+            jpaTransactionManager.setJpaDialect(jpaDialect);
+        }
+
+        assertFalse(readOnlySessions.isEmpty());
+        assertFalse(readOnlySessions.contains(false));
+    }
+
+    @Test
+    public void readOnlyServiceMethodsAreRoutedToReplica() throws Exception {
+        double replicaCount = routingCount(ReadReplicaRoutingDataSource.REPLICA);
+        double primaryCount = routingCount(ReadReplicaRoutingDataSource.PRIMARY);
+
+        assertNotNull(userService.findUserGameProfile(TEST_USERNAME));
+        assertEquals(replicaCount + 1, routingCount(ReadReplicaRoutingDataSource.REPLICA), 0.0);
+        assertEquals(primaryCount, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+
+        userService.deleteUserData(TEST_USERNAME);
+        assertEquals(primaryCount + 1, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+    }
+
+    @Test
+    public void methodsWhichMustSeeLatestDataAreRoutedToPrimary() throws Exception {
+        double replicaCount = routingCount(ReadReplicaRoutingDataSource.REPLICA);
+        double primaryCount = routingCount(ReadReplicaRoutingDataSource.PRIMARY);
+
+        assertNotNull(userDetailsService.loadUserByUsername(TEST_USERNAME));
+        assertEquals(primaryCount + 1, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+
+        missionService.restoreMissionDeadlines();
+        assertEquals(primaryCount + 2, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+        assertEquals(replicaCount, routingCount(ReadReplicaRoutingDataSource.REPLICA), 0.0);
+    }
+
+    private double routingCount(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,75 @@
+package org.alex323glo.its_simulator.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.Assert.*;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private MeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        // two different in-memory Data Bases (DATABASE() function returns name of Data Base):
+        DataSource primaryDataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "root", "");
+        DataSource replicaDataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "root", "");
+
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // LazyConnectionDataSourceProxy reads default connection properties from first (primary) connection:
+        jdbcTemplate.execute("select 1");
+    }
+
+    @Test
+    public void readOnlyTransactionsAreRoutedToReplica() {
+        double primaryCount = routingCount(ReadReplicaRoutingDataSource.PRIMARY);
+        transactionTemplate.setReadOnly(true);
+        String database = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class));
+
+        assertEquals("ROUTING_REPLICA", database);
+        assertEquals(1.0, routingCount(ReadReplicaRoutingDataSource.REPLICA), 0.0);
+        assertEquals(primaryCount, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+    }
+
+    @Test
+    public void readWriteTransactionsAreRoutedToPrimary() {
+        double primaryCount = routingCount(ReadReplicaRoutingDataSource.PRIMARY);
+        String database = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("select database()", String.class));
+
+        assertEquals("ROUTING_PRIMARY", database);
+        assertEquals(primaryCount + 1, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+        assertEquals(0.0, routingCount(ReadReplicaRoutingDataSource.REPLICA), 0.0);
+    }
+
+    @Test
+    public void workWithoutTransactionIsRoutedToPrimary() {
+        double primaryCount = routingCount(ReadReplicaRoutingDataSource.PRIMARY);
+        assertEquals("ROUTING_PRIMARY", jdbcTemplate.queryForObject("select database()", String.class));
+        assertEquals(primaryCount + 1, routingCount(ReadReplicaRoutingDataSource.PRIMARY), 0.0);
+    }
+
+    private double routingCount(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,79 @@
+package org.alex323glo.its_simulator.controller;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.IOException;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Performs requests to asynchronous handlers (which return CompletableFuture) by MockMvc with all filters:
+ * request is started, and its asynchronous result is dispatched through the same filters, so User and CSRF token
+ * of request are checked by Spring Security as usual.
+ *
+ * MockMvc of Spring Test 5.0 expects MockAsyncContext in started request, but Spring Security's request wrapper
+ * returns its own AsyncContext, so test classes, which perform asynchronous requests, import
+ * MockAsyncContextConfiguration (its filter is the last one and exposes MockAsyncContext of wrapped request).
+ */
+final class AsyncRequests {
+
+    private AsyncRequests() {
+    }
+
+    static ResultActions performAsync(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    @TestConfiguration
+    static class MockAsyncContextConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<MockAsyncContextFilter> mockAsyncContextFilter() {
+            FilterRegistrationBean<MockAsyncContextFilter> registration =
+                    new FilterRegistrationBean<>(new MockAsyncContextFilter());
+            registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    static class MockAsyncContextFilter extends GenericFilterBean {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            MockHttpServletRequest mockRequest = WebUtils.getNativeRequest(request, MockHttpServletRequest.class);
+            if (mockRequest == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            chain.doFilter(new HttpServletRequestWrapper((HttpServletRequest) request) {
+                @Override
+                public AsyncContext getAsyncContext() {
+                    return mockRequest.getAsyncContext();
+                }
+            }, response);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.alex323glo.its_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.util.TimestampFormat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of response formats (JSON with legacy and compact timestamps, CBOR and Smile)
+ * for lists of 1k and 10k Mission DTOs.
+ *
+ * Uses ObjectMappers of Spring MVC's converters, so encoded bytes are the same as responses' bodies.
+ * Reports (to log) byte size and encode time per response.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class BinaryFormatsBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryFormatsBenchmarkTest.class);
+
+    private static final int[] SIZES = {1000, 10000};
+    private static final int ELEMENTS_PER_MEASUREMENT = 200000;
+
+    @Autowired
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+    @Test
+    public void encodeTimeAndSize() throws Exception {
+        Map<String, ObjectMapper> objectMappers = new LinkedHashMap<>();
+        objectMappers.put("JSON", findObjectMapper(MediaType.APPLICATION_JSON));
+        objectMappers.put("JSON (epoch millis)", findObjectMapper(
+                MediaType.valueOf(TimestampFormat.EPOCH_MILLIS.getMediaType())));
+        objectMappers.put("CBOR", findObjectMapper(MediaType.valueOf("application/cbor")));
+        objectMappers.put("Smile", findObjectMapper(MediaType.valueOf("application/x-jackson-smile")));
+
+        for (int size : SIZES) {
+            List<MissionDTO> missions = generateMissions(size);
+            int iterations = ELEMENTS_PER_MEASUREMENT / size;
+
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            for (Map.Entry<String, ObjectMapper> entry : objectMappers.entrySet()) {
+                ObjectMapper objectMapper = entry.getValue();
+                int bytes = objectMapper.writeValueAsBytes(missions).length;
+                sizes.put(entry.getKey(), bytes);
+
+                for (int i = 0; i < iterations; i++) {
+                    objectMapper.writeValueAsBytes(missions);
+                }
+                long startTime = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    objectMapper.writeValueAsBytes(missions);
+                }
+                long elapsedMicros = (System.nanoTime() - startTime) / 1000 / iterations;
+
+                LOGGER.info(String.format("Formats benchmark (%d Missions): %s - %d bytes, %d us per response.",
+                        size, entry.getKey(), bytes, elapsedMicros));
+            }
+
+            // binary formats don't repeat field names as text:
+            assertTrue(sizes.get("CBOR") < sizes.get("JSON (epoch millis)"));
+            assertTrue(sizes.get("Smile") < sizes.get("JSON (epoch millis)"));
+        }
+    }
+
+    private ObjectMapper findObjectMapper(MediaType mediaType) {
+        for (HttpMessageConverter<?> converter : requestMappingHandlerAdapter.getMessageConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter &&
+                    converter.canWrite(MissionDTO.class, mediaType)) {
+                return ((AbstractJackson2HttpMessageConverter) converter).getObjectMapper();
+            }
+        }
+        throw new IllegalStateException("No converter for '" + mediaType + "' was registered.");
+    }
+
+    private static List<MissionDTO> generateMissions(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MissionDTO> missions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            missions.add(MissionDTO.builder()
+                    .id((long) i)
+                    .spaceShip(new SpaceShipDTO((long) i, "Dragon-" + i, 1.0, now.minusDays(1),
+                            SpaceShipStatus.BUSY, 1, 15.5))
+                    .startPoint(new PlanetDTO(1L, "P-001", 50L, 50L, 10, "#112233", 1))
+                    .destinationPoint(new PlanetDTO(2L, "P-002", 300L, 300L, 20, "#445566", 2))
+                    .registrationTime(now.minusMinutes(i))
+                    .startTime(now.minusMinutes(i))
+                    .finishTime(now.minusMinutes(i).plusSeconds(90))
+                    .payload(0.5)
+                    .duration(90L)
+                    .missionStatus(MissionStatus.COMPLETED)
+                    .build());
+        }
+        return missions;
+    }
+}
@@ -1,10 +1,11 @@
 package org.alex323glo.its_simulator.controller;
 
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
+import org.alex323glo.its_simulator.model.dto.SpaceShipDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
 import org.alex323glo.its_simulator.model.game.MissionMetrics;
-import org.alex323glo.its_simulator.model.game.Planet;
-import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.MissionRoute;
 import org.alex323glo.its_simulator.service.MissionService;
 import org.alex323glo.its_simulator.service.PlanetService;
 import org.alex323glo.its_simulator.service.SpaceShipService;
@@ -17,6 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.json.JacksonJsonParser;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -24,25 +27,32 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import static org.alex323glo.its_simulator.controller.AsyncRequests.performAsync;
 import static org.junit.Assert.*;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(AsyncRequests.MockAsyncContextConfiguration.class)
 public class MissionConstructorControllerTest {
 
     private static final String GET_ALL_PLANETS_URI = "/private/mission-constructor/planet-list";
     private static final String GET_ALL_FREE_SPACE_SHIPS_URI = "/private/mission-constructor/free-ship-list";
     private static final String ANALYZE_MISSION_URI = "/private/mission-constructor/analyze";
     private static final String CONSTRUCT_MISSION_URI = "/private/mission-constructor/construct";
+    private static final String PLAN_MISSION_ROUTE_URI = "/private/mission-constructor/route";
 
     private static final String TEST_USERNAME = "Alex";
     private static final String TEST_PASSWORD = "12345678";
@@ -119,7 +129,9 @@ public class MissionConstructorControllerTest {
     @Test
     @WithMockUser(username = TEST_USERNAME)
     public void getAllPlanets() throws Exception {
-        List<Planet> planetList = planetService.findAllPlanets();
+        List<PlanetDTO> planetList = planetService.findAllPlanets().stream()
+                .map(PlanetDTO::of)
+                .collect(Collectors.toList());
         String planetListJSON = new JacksonJsonProvider().toJson(planetList);
 
         mockMvc
@@ -130,14 +142,35 @@ public class MissionConstructorControllerTest {
 
     @Test
     @WithMockUser(username = TEST_USERNAME)
-    public void getAllFreeShips() throws Exception {
+    public void getAllPlanetsConditionally() throws Exception {
+        String eTag = mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).with(csrf()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        planetService.createPlanet("P-003", 500L, 500L, 30, "#778899", 3);
+
         mockMvc
-                .perform(get(GET_ALL_FREE_SPACE_SHIPS_URI).with(csrf()))
+                .perform(get(GET_ALL_PLANETS_URI).header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    public void getAllFreeShips() throws Exception {
+        performAsync(mockMvc, get(GET_ALL_FREE_SPACE_SHIPS_URI).with(user(TEST_USERNAME)).with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8))
                 .andDo(result -> {
-                    List<SpaceShip> freeSpaceShipList = spaceShipService.findAllFreeShips(TEST_USERNAME);
-                    freeSpaceShipList.forEach(ship -> ship.setUserGameProfile(null));
+                    List<SpaceShipDTO> freeSpaceShipList = spaceShipService.findAllFreeShips(TEST_USERNAME).stream()
+                            .map(SpaceShipDTO::of)
+                            .collect(Collectors.toList());
 
                     String freeSpaceShipListJSON = new JacksonJsonProvider().toJson(freeSpaceShipList);
                     assertEquals(freeSpaceShipListJSON, result.getResponse().getContentAsString());
@@ -145,33 +178,31 @@ public class MissionConstructorControllerTest {
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void analyzeMission() throws Exception {
         MissionMetrics missionMetrics = missionService.generateMissionMetrics(TEST_USERNAME,
                 TEST_START_PLANET_NAME, TEST_DESTINATION_PLANET_NAME,
                 TEST_FREE_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
         String missionMetricsJSON = new JacksonJsonProvider().toJson(missionMetrics);
 
-        mockMvc
-                .perform(get(ANALYZE_MISSION_URI)
+        performAsync(mockMvc, get(ANALYZE_MISSION_URI)
                         .param("start", TEST_START_PLANET_NAME)
                         .param("destination", TEST_DESTINATION_PLANET_NAME)
                         .param("ship", TEST_FREE_SPACE_SHIP_NAME)
                         .param("payload", TEST_MISSION_PAYLOAD.toString())
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(content().json(missionMetricsJSON));
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void constructNewMission() throws Exception {
-        mockMvc
-                .perform(post(CONSTRUCT_MISSION_URI)
+        performAsync(mockMvc, post(CONSTRUCT_MISSION_URI)
                         .param("start", TEST_START_PLANET_NAME)
                         .param("destination", TEST_DESTINATION_PLANET_NAME)
                         .param("ship", TEST_FREE_SPACE_SHIP_NAME)
                         .param("payload", TEST_MISSION_PAYLOAD.toString())
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andDo(result -> {
@@ -183,4 +214,45 @@ public class MissionConstructorControllerTest {
                     assertNotNull(savedMission);
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void planMissionRoute() throws Exception {
+        MissionRoute missionRoute = missionService.generateMissionRoute(TEST_USERNAME,
+                TEST_START_PLANET_NAME, TEST_DESTINATION_PLANET_NAME, TEST_FREE_SPACE_SHIP_NAME);
+        assertNotNull(missionRoute);
+        assertEquals(1, missionRoute.getHops().intValue());
+        String missionRouteJSON = new JacksonJsonProvider().toJson(missionRoute);
+
+        performAsync(mockMvc, get(PLAN_MISSION_ROUTE_URI)
+                        .param("start", TEST_START_PLANET_NAME)
+                        .param("destination", TEST_DESTINATION_PLANET_NAME)
+                        .param("ship", TEST_FREE_SPACE_SHIP_NAME)
+                        .with(user(TEST_USERNAME))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(missionRouteJSON));
+
+        performAsync(mockMvc, get(PLAN_MISSION_ROUTE_URI)
+                        .param("start", TEST_START_PLANET_NAME)
+                        .param("destination", "unknown_" + TEST_DESTINATION_PLANET_NAME)
+                        .param("ship", TEST_FREE_SPACE_SHIP_NAME)
+                        .with(user(TEST_USERNAME))
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void constructNewMissionWithoutUser() throws Exception {
+        mockMvc
+                .perform(post(CONSTRUCT_MISSION_URI)
+                        .param("start", TEST_START_PLANET_NAME)
+                        .param("destination", TEST_DESTINATION_PLANET_NAME)
+                        .param("ship", TEST_FREE_SPACE_SHIP_NAME)
+                        .param("payload", TEST_MISSION_PAYLOAD.toString())
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login.html"));
+
+        assertEquals(1, missionService.findAllMissions(TEST_USERNAME).size());
+    }
+}
@@ -1,6 +1,9 @@
 package org.alex323glo.its_simulator.controller;
 
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
 import org.alex323glo.its_simulator.model.game.MissionStatus;
 import org.alex323glo.its_simulator.service.MissionService;
@@ -14,27 +17,33 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.alex323glo.its_simulator.controller.AsyncRequests.performAsync;
 import static org.junit.Assert.*;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(AsyncRequests.MockAsyncContextConfiguration.class)
 public class MissionControllerTest {
 
     private static final String GET_MISSION_URI = "/private/mission/details";
     private static final String START_MISSION_URI = "/private/mission/start";
     private static final String CANCEL_MISSION_URI = "/private/mission/cancel";
+    private static final String START_MISSIONS_BATCH_URI = "/private/mission/start-batch";
 
     private static final String TEST_USERNAME = "Alex";
     private static final String TEST_PASSWORD = "12345678";
@@ -79,6 +88,9 @@ public class MissionControllerTest {
     @Autowired
     private SpaceShipService spaceShipService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Before
     public void setUp() throws Exception {
         userService.deleteAllUserData();
@@ -108,58 +120,94 @@ public class MissionControllerTest {
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void getMission() throws Exception {
-        testMission.setUserGameProfile(null);
-        testMission.getSpaceShip().setUserGameProfile(null);
+        DistributionSummary statements = meterRegistry.summary("db.request.statements",
+                "method", "GET", "uri", GET_MISSION_URI);
+        long requests = statements.count();
+        double totalStatements = statements.totalAmount();
 
-        String testMissionJSON = new JacksonJsonProvider().toJson(testMission);
-        mockMvc
-                .perform(get(GET_MISSION_URI)
+        String testMissionJSON = new JacksonJsonProvider().toJson(MissionDTO.of(testMission));
+        performAsync(mockMvc, get(GET_MISSION_URI)
                         .param("id", testMission.getId().toString())
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(content().json(testMissionJSON));
+
+        // statements, executed in thread of bulkhead, are recorded by scope of request:
+        assertEquals(requests + 1, statements.count());
+        assertTrue(statements.totalAmount() > totalStatements);
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void startMission() throws Exception {
-        mockMvc
-                .perform(post(START_MISSION_URI)
+        performAsync(mockMvc, post(START_MISSION_URI)
                         .param("id", testMission.getId().toString())
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andDo(result -> {
                     Mission mission = missionService.findMission(TEST_USERNAME, testMission.getId());
                     assertEquals(MissionStatus.STARTED, mission.getMissionStatus());
 
-                    mission.setUserGameProfile(null);
-                    mission.getSpaceShip().setUserGameProfile(null);
-
-                    String missionJSON = new JacksonJsonProvider().toJson(mission);
+                    String missionJSON = new JacksonJsonProvider().toJson(MissionDTO.of(mission));
                     assertEquals(missionJSON, result.getResponse().getContentAsString());
                 });
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void cancelMission() throws Exception {
         missionService.startMission(TEST_USERNAME, testMission);
-        mockMvc
-                .perform(post(CANCEL_MISSION_URI)
+        performAsync(mockMvc, post(CANCEL_MISSION_URI)
                         .param("id", testMission.getId().toString())
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andDo(result -> {
                     Mission mission = missionService.findMission(TEST_USERNAME, testMission.getId());
                     assertEquals(MissionStatus.CANCELED, mission.getMissionStatus());
 
-                    mission.setUserGameProfile(null);
-                    mission.getSpaceShip().setUserGameProfile(null);
-
-                    String missionJSON = new JacksonJsonProvider().toJson(mission);
+                    String missionJSON = new JacksonJsonProvider().toJson(MissionDTO.of(mission));
                     assertEquals(missionJSON, result.getResponse().getContentAsString());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void startMissionsBatch() throws Exception {
+        performAsync(mockMvc, post(START_MISSIONS_BATCH_URI)
+                        .param("ids", testMission.getId().toString(), "-1")
+                        .with(user(TEST_USERNAME))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].missionId").value(testMission.getId()))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].missionStatus").value(MissionStatus.STARTED.name()))
+                .andExpect(jsonPath("$[1].missionId").value(-1))
+                .andExpect(jsonPath("$[1].success").value(false));
+
+        Mission mission = missionService.findMission(TEST_USERNAME, testMission.getId());
+        assertEquals(MissionStatus.STARTED, mission.getMissionStatus());
+    }
+
+    @Test
+    public void startMissionsBatchWithWrongId() throws Exception {
+        performAsync(mockMvc, post(START_MISSIONS_BATCH_URI)
+                        .param("ids", testMission.getId().toString(), "abc")
+                        .with(user(TEST_USERNAME))
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void startMissionWithoutUser() throws Exception {
+        mockMvc
+                .perform(post(START_MISSION_URI)
+                        .param("id", testMission.getId().toString())
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login.html"));
+
+        Mission mission = missionService.findMission(TEST_USERNAME, testMission.getId());
+        assertEquals(MissionStatus.CREATED, mission.getMissionStatus());
+    }
+}
@@ -1,11 +1,19 @@
 package org.alex323glo.its_simulator.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.Mission;
 import org.alex323glo.its_simulator.service.MissionService;
 import org.alex323glo.its_simulator.service.PlanetService;
 import org.alex323glo.its_simulator.service.SpaceShipService;
 import org.alex323glo.its_simulator.service.UserService;
+import org.alex323glo.its_simulator.util.TimestampFormat;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -13,24 +21,46 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.alex323glo.its_simulator.controller.AsyncRequests.performAsync;
+import static org.junit.Assert.*;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(AsyncRequests.MockAsyncContextConfiguration.class)
 public class MissionManagementControllerTest {
 
     private static final String GET_LIST_OF_MISSIONS_URI = "/private/mission-management/missions";
+    private static final String EXPORT_MISSIONS_URI = "/private/mission-management/missions/export";
 
     private static final String TEST_USERNAME = "Alex";
     private static final String TEST_PASSWORD = "12345678";
@@ -72,6 +102,9 @@ public class MissionManagementControllerTest {
     @Autowired
     private MissionService missionService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Before
     public void setUp() throws Exception {
         userService.deleteAllUserData();
@@ -104,12 +137,9 @@ public class MissionManagementControllerTest {
     @Test
     @WithMockUser(username = TEST_USERNAME)
     public void getMissionsList() throws Exception {
-        List<Mission> allMissions = missionService.findAllMissions(TEST_USERNAME);
-        allMissions.forEach(mission -> {
-                    mission.setUserGameProfile(null);
-                    mission.getSpaceShip().setUserGameProfile(null);
-                }
-        );
+        List<MissionDTO> allMissions = missionService.findAllMissions(TEST_USERNAME).stream()
+                .map(MissionDTO::of)
+                .collect(Collectors.toList());
 
         String allMissionsJSON = new JacksonJsonProvider().toJson(allMissions);
 
@@ -118,4 +148,214 @@ public class MissionManagementControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(allMissionsJSON));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getMissionsListWithNegotiatedTimestampFormat() throws Exception {
+        LocalDateTime registrationTime = missionService.findAllMissions(TEST_USERNAME).get(0).getRegistrationTime();
+        ZonedDateTime zonedRegistrationTime = registrationTime.atZone(ZoneId.systemDefault());
+
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI).accept(MediaType.ALL).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].registrationTime.year").value(registrationTime.getYear()))
+                .andExpect(jsonPath("$[0].registrationTime.zoneOffsetSeconds").isNumber());
+
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .accept(TimestampFormat.EPOCH_MILLIS.getMediaType())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TimestampFormat.EPOCH_MILLIS.getMediaType()))
+                .andExpect(jsonPath("$[0].registrationTime")
+                        .value(zonedRegistrationTime.toInstant().toEpochMilli()));
+
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .accept(TimestampFormat.ISO_8601.getMediaType())
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TimestampFormat.ISO_8601.getMediaType()))
+                .andExpect(jsonPath("$[0].registrationTime")
+                        .value(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(zonedRegistrationTime)));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getMissionsListInBinaryFormats() throws Exception {
+        // binary formats write timestamps as epoch milliseconds:
+        JsonNode expectedMissions = new ObjectMapper().readTree(mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .accept(TimestampFormat.EPOCH_MILLIS.getMediaType())
+                        .with(csrf()))
+                .andReturn().getResponse().getContentAsByteArray());
+
+        byte[] cborMissions = mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI).accept("application/cbor").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(expectedMissions, new ObjectMapper(new CBORFactory()).readTree(cborMissions));
+
+        byte[] smileMissions = mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI).accept("application/x-jackson-smile").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(expectedMissions, new ObjectMapper(new SmileFactory()).readTree(smileMissions));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getMissionsListPages() throws Exception {
+        spaceShipService.createSpaceShip(TEST_USERNAME, "another_" + TEST_SPACE_SHIP_NAME,
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+        missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, "another_" + TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+
+        String nextCursor = mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .param("limit", "1")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .param("limit", "1")
+                        .param("cursor", nextCursor)
+                        .param("status", "CREATED")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI)
+                        .param("cursor", "wrong cursor")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getMissionsListWithinStatementBudget() throws Exception {
+        int missions = 20;
+        for (int i = 0; i < missions; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME + "-" + i,
+                    TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+            missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME + "-" + i, TEST_MISSION_PAYLOAD);
+        }
+
+        DistributionSummary statements = meterRegistry.summary("db.request.statements",
+                "method", "GET", "uri", GET_LIST_OF_MISSIONS_URI);
+        long requests = statements.count();
+        double totalStatements = statements.totalAmount();
+
+        // budget of endpoint is enforced in tests, so lazy loading of every Mission (N+1) would fail request:
+        mockMvc
+                .perform(get(GET_LIST_OF_MISSIONS_URI).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(missions + 1));
+
+        assertEquals(requests + 1, statements.count());
+        assertTrue(statements.totalAmount() - totalStatements <= 2);
+        assertTrue(meterRegistry.summary("db.repository.statements",
+                "method", "MissionRepository.findMissionsPage").count() > 0);
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void exportMissionsAsNdjson() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME + "-" + i,
+                    TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+            missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME + "-" + i, TEST_MISSION_PAYLOAD);
+        }
+        List<MissionDTO> expectedMissions = missionService.findMissionsPage(TEST_USERNAME, null, null, null)
+                .getMissions();
+
+        // Missions are streamed asynchronously:
+        String ndjson = performAsync(mockMvc, get(EXPORT_MISSIONS_URI)
+                        .with(user(TEST_USERNAME)).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"missions.ndjson\""))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(expectedMissions.size(), lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode mission = objectMapper.readTree(lines[i]);
+            assertEquals(expectedMissions.get(i).getId().longValue(), mission.get("id").asLong());
+            assertEquals(TEST_START_PLANET_NAME, mission.get("startPoint").get("name").asText());
+            // timestamps are exported as ISO-8601 strings:
+            assertEquals(expectedMissions.get(i).getRegistrationTime(),
+                    OffsetDateTime.parse(mission.get("registrationTime").asText())
+                            .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void exportMissionsAsGzippedCsv() throws Exception {
+        List<MissionDTO> expectedMissions = missionService.findMissionsPage(TEST_USERNAME, null, null, null)
+                .getMissions();
+
+        byte[] gzippedCsv = performAsync(mockMvc, get(EXPORT_MISSIONS_URI)
+                        .param("format", "csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8")
+                        .with(user(TEST_USERNAME)).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(gzippedCsv)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        assertEquals(expectedMissions.size() + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("id,missionStatus,registrationTime"));
+        assertTrue(lines.get(1).startsWith(expectedMissions.get(0).getId() + "," +
+                expectedMissions.get(0).getMissionStatus() + ","));
+        assertTrue(lines.get(1).endsWith("," + TEST_START_PLANET_NAME + "," +
+                expectedMissions.get(0).getDestinationPoint().getId() + "," + TEST_DESTINATION_PLANET_NAME));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void exportMissionsAsCsvWithFormulaLikeNames() throws Exception {
+        String formulaLikeName = "=HYPERLINK(\"http://example.com\",\"x\")";
+        spaceShipService.createSpaceShip(TEST_USERNAME, formulaLikeName,
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+        missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, formulaLikeName, TEST_MISSION_PAYLOAD);
+
+        String csv = performAsync(mockMvc, get(EXPORT_MISSIONS_URI).param("format", "csv")
+                        .with(user(TEST_USERNAME)).with(csrf()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // spreadsheets don't evaluate cell, which starts with apostrophe:
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://example.com\"\",\"\"x\"\")\","));
+        assertFalse(csv.contains(",=") || csv.contains(",\"="));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void exportMissionsWithWrongFormat() throws Exception {
+        mockMvc
+                .perform(get(EXPORT_MISSIONS_URI).param("format", "xml").with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
+}
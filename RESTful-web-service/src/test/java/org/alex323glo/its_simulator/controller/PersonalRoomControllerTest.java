@@ -1,34 +1,55 @@
 package org.alex323glo.its_simulator.controller;
 
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.config.Bulkhead;
 import org.alex323glo.its_simulator.model.UserExtension;
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.UserDTO;
+import org.alex323glo.its_simulator.model.dto.UserExtensionDTO;
+import org.alex323glo.its_simulator.model.dto.UserGameProfileDTO;
 import org.alex323glo.its_simulator.service.UserService;
-import org.alex323glo.its_simulator.util.CircularityResolver;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.alex323glo.its_simulator.controller.AsyncRequests.performAsync;
 import static org.junit.Assert.*;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(AsyncRequests.MockAsyncContextConfiguration.class)
 public class PersonalRoomControllerTest {
 
     private static final String SEND_USER_URI_DATA = "/private/personal-room/user-data";
@@ -44,6 +65,16 @@ public class PersonalRoomControllerTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    @Qualifier("personalRoomBulkhead")
+    private Bulkhead personalRoomBulkhead;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Before
     public void setUp() throws Exception {
         userService.deleteAllUserData();
@@ -56,42 +87,169 @@ public class PersonalRoomControllerTest {
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void sendUserData() throws Exception {
-        UserGameProfile userGameProfile = CircularityResolver
-                .resolveLazyGameProfile(userService.findUserGameProfile(TEST_USERNAME));
-        userGameProfile.getUser().setPassword(null);
-
-        String userGameProfileJSON = new JacksonJsonProvider().toJson(userGameProfile);
-
-        mockMvc
-                .perform(get(SEND_USER_URI_DATA).with(csrf()))
+        UserGameProfile userGameProfile = userService.findUserGameProfile(TEST_USERNAME);
+        UserExtension userExtension = userService.findUserExtension(TEST_USERNAME);
+        UserGameProfileDTO expectedUserGameProfile = UserGameProfileDTO.builder()
+                .user(new UserDTO(TEST_USERNAME, UserExtensionDTO.of(userExtension)))
+                .experience(userGameProfile.getExperience())
+                .completedMissionsNumber(userGameProfile.getCompletedMissionsNumber())
+                .shipsNumber(userGameProfile.getShipsNumber())
+                .build();
+
+        String userGameProfileJSON = new JacksonJsonProvider().toJson(expectedUserGameProfile);
+
+        performAsync(mockMvc, get(SEND_USER_URI_DATA).with(user(TEST_USERNAME)).with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(content().json(userGameProfileJSON));
     }
 
     @Test
-    @WithMockUser(username = TEST_USERNAME)
     public void editUserExtension() throws Exception {
         String newTestEmail = "new_" + TEST_EMAIL;
         String newUserExtensionJSON = new JacksonJsonProvider()
                 .toJson(UserExtension.builder().email(newTestEmail).build());
 
-        mockMvc
-                .perform(post(EDIT_USER_EXTENSION_URI)
+        performAsync(mockMvc, post(EDIT_USER_EXTENSION_URI)
                         .content(newUserExtensionJSON)
                         .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .with(user(TEST_USERNAME))
                         .with(csrf()))
                 .andExpect(status().isOk())
                 .andDo(result -> {
                     UserExtension storedUserExtension = userService.findUserExtension(TEST_USERNAME);
                     assertEquals(newTestEmail, storedUserExtension.getEmail());
 
-                    storedUserExtension = CircularityResolver
-                            .resolveUserExtensionWithLazyGameProfile(storedUserExtension);
-
-                    String storedUserExtensionJSON = new JacksonJsonProvider().toJson(storedUserExtension);
+                    String storedUserExtensionJSON = new JacksonJsonProvider()
+                            .toJson(UserExtensionDTO.of(storedUserExtension));
                     assertEquals(storedUserExtensionJSON, result.getResponse().getContentAsString());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void editUserExtensionWithoutUser() throws Exception {
+        String newUserExtensionJSON = new JacksonJsonProvider()
+                .toJson(UserExtension.builder().email("new_" + TEST_EMAIL).build());
+
+        mockMvc
+                .perform(post(EDIT_USER_EXTENSION_URI)
+                        .content(newUserExtensionJSON)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login.html"));
+
+        assertEquals(TEST_EMAIL, userService.findUserExtension(TEST_USERNAME).getEmail());
+    }
+
+    @Test
+    public void editUserExtensionWhenBulkheadIsTimedOut() throws Exception {
+        String newTestEmail = "new_" + TEST_EMAIL;
+        String newUserExtensionJSON = new JacksonJsonProvider()
+                .toJson(UserExtension.builder().email(newTestEmail).build());
+
+        // other transaction locks row of UserExtension longer, than timeout of personal room's bulkhead
+        // (see test configuration), so request is still running, when it's timed out:
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "UPDATE user_extensions SET email = email WHERE email = ?")) {
+                lock.setString(1, TEST_EMAIL);
+                assertEquals(1, lock.executeUpdate());
+            }
+
+            try {
+                performAsync(mockMvc, post(EDIT_USER_EXTENSION_URI)
+                                .content(newUserExtensionJSON)
+                                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                                .with(user(TEST_USERNAME))
+                                .with(csrf()))
+                        .andExpect(status().isGatewayTimeout())
+                        .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER));
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        // timed out request isn't interrupted, so its changes are committed after all (and mustn't be retried):
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!newTestEmail.equals(userService.findUserExtension(TEST_USERNAME).getEmail()) &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(newTestEmail, userService.findUserExtension(TEST_USERNAME).getEmail());
+    }
+
+    @Test
+    public void sendUserDataWhenBulkheadIsFull() throws Exception {
+        Counter rejectedRequests = meterRegistry.counter("web.bulkhead.rejected", "bulkhead", "personal_room");
+        double rejectedBefore = rejectedRequests.count();
+
+        // 1 running and 1 waiting task fill personal room's bulkhead (see test configuration):
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            personalRoomBulkhead.submit(() -> {
+                started.countDown();
+                return awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            personalRoomBulkhead.submit(() -> awaitQuietly(release));
+            assertEquals(1, personalRoomBulkhead.getQueueDepth());
+
+            mockMvc
+                    .perform(get(SEND_USER_URI_DATA).with(user(TEST_USERNAME)).with(csrf()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(rejectedBefore + 1, rejectedRequests.count(), 0);
+    }
+
+    @Test
+    public void sendUserDataWhenBulkheadIsTimedOut() throws Exception {
+        Counter timedOutRequests = meterRegistry.counter("web.bulkhead.timed_out", "bulkhead", "personal_room");
+        double timedOutBefore = timedOutRequests.count();
+
+        // 1 running task takes the only thread of personal room's bulkhead longer, than its timeout
+        // (see test configuration), so request waits in queue:
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            personalRoomBulkhead.submit(() -> {
+                started.countDown();
+                return awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            MvcResult mvcResult = mockMvc
+                    .perform(get(SEND_USER_URI_DATA).with(user(TEST_USERNAME)).with(csrf()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertEquals(1, personalRoomBulkhead.getQueueDepth());
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+            // timed out request is removed from queue, without waiting for free thread:
+            assertEquals(0, personalRoomBulkhead.getQueueDepth());
+        } finally {
+            release.countDown();
+        }
+
+        // running task (submitted earlier) is timed out before request:
+        assertEquals(timedOutBefore + 2, timedOutRequests.count(), 0);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
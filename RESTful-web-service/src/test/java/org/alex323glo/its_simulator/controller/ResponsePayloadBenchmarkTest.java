@@ -0,0 +1,132 @@
+package org.alex323glo.its_simulator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.service.MissionService;
+import org.alex323glo.its_simulator.service.PlanetService;
+import org.alex323glo.its_simulator.service.SpaceShipService;
+import org.alex323glo.its_simulator.service.UserService;
+import org.alex323glo.its_simulator.util.TimestampFormat;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of Mission history responses: Mission Entities (with nulled references to owner's game profile,
+ * as controllers did before) versus Mission response DTOs (loaded by projection query).
+ *
+ * Reports (to log) payload size and serialization time of the same page of Missions
+ * (and of Mission DTOs in every TimestampFormat).
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ResponsePayloadBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponsePayloadBenchmarkTest.class);
+
+    private static final int MISSIONS = 100;
+    private static final int WARM_UP_ITERATIONS = 50;
+    private static final int ITERATIONS = 500;
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_START_PLANET_NAME = "P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "P-002";
+    private static final String TEST_SPACE_SHIP_NAME_PREFIX = "Dragon-";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Before
+    public void setUp() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+
+        userService.registerUser(TEST_USERNAME, "12345678", "alex@mail.com");
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+
+        for (int i = 0; i < MISSIONS; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME_PREFIX + i, 1.0, 1, 15.5);
+            missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME_PREFIX + i, 0.5);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void missionsPayloadAndSerializationTime() throws Exception {
+        List<Mission> missions = missionService.findAllMissions(TEST_USERNAME);
+        missions.forEach(mission -> {
+            mission.setUserGameProfile(null);
+            mission.getSpaceShip().setUserGameProfile(null);
+        });
+        List<MissionDTO> missionDTOs = missionService.findMissionsPage(TEST_USERNAME, null, null, MISSIONS)
+                .getMissions();
+        assertEquals(MISSIONS, missions.size());
+        assertEquals(MISSIONS, missionDTOs.size());
+
+        int entitiesBytes = objectMapper.writeValueAsBytes(missions).length;
+        int dtosBytes = objectMapper.writeValueAsBytes(missionDTOs).length;
+        long entitiesMicros = measureSerialization(missions);
+        long dtosMicros = measureSerialization(missionDTOs);
+
+        LOGGER.info(String.format("Response payload benchmark (%d Missions): Entities - %d bytes, %d us; " +
+                        "DTOs - %d bytes, %d us (per serialization).",
+                MISSIONS, entitiesBytes, entitiesMicros, dtosBytes, dtosMicros));
+
+        // DTOs don't carry nulled references to owner's game profile:
+        assertTrue(dtosBytes < entitiesBytes);
+
+        for (TimestampFormat format : TimestampFormat.values()) {
+            ObjectWriter writer = objectMapper.writer().withAttribute(TimestampFormat.ATTRIBUTE, format);
+            LOGGER.info(String.format("Response payload benchmark (%d Missions, %s timestamps): " +
+                            "DTOs - %d bytes, %d us (per serialization).",
+                    MISSIONS, format, writer.writeValueAsBytes(missionDTOs).length,
+                    measureSerialization(writer, missionDTOs)));
+        }
+    }
+
+    private long measureSerialization(Object value) throws Exception {
+        return measureSerialization(objectMapper.writer(), value);
+    }
+
+    private long measureSerialization(ObjectWriter writer, Object value) throws Exception {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            writer.writeValueAsBytes(value);
+        }
+        long startTime = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.writeValueAsBytes(value);
+        }
+        return (System.nanoTime() - startTime) / 1000 / ITERATIONS;
+    }
+}
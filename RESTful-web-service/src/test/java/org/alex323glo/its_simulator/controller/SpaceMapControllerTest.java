@@ -1,7 +1,13 @@
 package org.alex323glo.its_simulator.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
-import org.alex323glo.its_simulator.model.game.Planet;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.alex323glo.its_simulator.model.dto.PlanetDTO;
 import org.alex323glo.its_simulator.service.PlanetService;
 import org.alex323glo.its_simulator.service.UserService;
 import org.junit.After;
@@ -11,16 +17,24 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -30,6 +44,11 @@ public class SpaceMapControllerTest {
 
     private static final String GET_ALL_PLANETS_URI = "/private/space-map/planets";
 
+    private static final String CBOR_MEDIA_TYPE = "application/cbor";
+    private static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    private static final String GET_PLANETS_IN_VIEWPORT_URI = "/private/space-map/viewport";
+    private static final String GET_NEAREST_PLANETS_URI = "/private/space-map/nearest";
+
     private static final String TEST_USERNAME = "Alex";
     private static final String TEST_PASSWORD = "12345678";
     private static final String TEST_EMAIL = "alex@mail.com";
@@ -57,6 +76,9 @@ public class SpaceMapControllerTest {
     @Autowired
     private PlanetService planetService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Before
     public void setUp() throws Exception {
         userService.deleteAllUserData();
@@ -82,7 +104,9 @@ public class SpaceMapControllerTest {
     @Test
     @WithMockUser(username = TEST_USERNAME)
     public void getAllPlanets() throws Exception {
-        List<Planet> allPlanets = planetService.findAllPlanets();
+        List<PlanetDTO> allPlanets = planetService.findAllPlanets().stream()
+                .map(PlanetDTO::of)
+                .collect(Collectors.toList());
         String allPlanetsJSON = new JacksonJsonProvider().toJson(allPlanets);
 
         mockMvc
@@ -90,4 +114,129 @@ public class SpaceMapControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(allPlanetsJSON));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getAllPlanetsInBinaryFormats() throws Exception {
+        JsonNode expectedPlanets = new ObjectMapper().readTree(mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).with(csrf()))
+                .andReturn().getResponse().getContentAsByteArray());
+
+        byte[] cborPlanets = mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).accept(CBOR_MEDIA_TYPE).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(expectedPlanets, new ObjectMapper(new CBORFactory()).readTree(cborPlanets));
+
+        byte[] smilePlanets = mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).accept(SMILE_MEDIA_TYPE).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE_MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(expectedPlanets, new ObjectMapper(new SmileFactory()).readTree(smilePlanets));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getAllPlanetsConditionally() throws Exception {
+        String eTag = mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        DistributionSummary statements = meterRegistry.summary("db.request.statements",
+                "method", "GET", "uri", GET_ALL_PLANETS_URI);
+        long requests = statements.count();
+        double totalStatements = statements.totalAmount();
+
+        mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().bytes(new byte[0]));
+
+        // not modified Planets are answered without access to Data Base:
+        assertEquals(requests + 1, statements.count());
+        assertEquals(totalStatements, statements.totalAmount(), 0);
+
+        // other 'Accept' header, negotiated to the same representation, has the same ETag:
+        mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).accept("application/json;q=0.9, text/html;q=0.8")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        // other representation of the same Planets has other ETag:
+        mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).accept(CBOR_MEDIA_TYPE)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isOk());
+
+        planetService.createPlanet("P-003", 500L, 500L, 30, "#778899", 3);
+
+        String newETag = mockMvc
+                .perform(get(GET_ALL_PLANETS_URI).header(HttpHeaders.IF_NONE_MATCH, eTag).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getPlanetsInViewport() throws Exception {
+        mockMvc
+                .perform(get(GET_PLANETS_IN_VIEWPORT_URI)
+                        .param("minX", "0")
+                        .param("minY", "0")
+                        .param("maxX", "100")
+                        .param("maxY", "100")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value(TEST_START_PLANET_NAME))
+                .andExpect(header().doesNotExist(SpaceMapController.VIEWPORT_TRUNCATED_HEADER));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getPlanetsInTruncatedViewport() throws Exception {
+        // viewport's limit is 2 Planets (see test application.properties):
+        planetService.createPlanet("P-003", 500L, 500L, 30, "#778899", 3);
+
+        mockMvc
+                .perform(get(GET_PLANETS_IN_VIEWPORT_URI)
+                        .param("minX", String.valueOf(Long.MIN_VALUE))
+                        .param("minY", String.valueOf(Long.MIN_VALUE))
+                        .param("maxX", String.valueOf(Long.MAX_VALUE))
+                        .param("maxY", String.valueOf(Long.MAX_VALUE))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().string(SpaceMapController.VIEWPORT_TRUNCATED_HEADER, "true"));
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void getNearestPlanets() throws Exception {
+        mockMvc
+                .perform(get(GET_NEAREST_PLANETS_URI)
+                        .param("planet", TEST_START_PLANET_NAME)
+                        .param("k", "5")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value(TEST_DESTINATION_PLANET_NAME));
+
+        mockMvc
+                .perform(get(GET_NEAREST_PLANETS_URI)
+                        .param("planet", "unknown")
+                        .param("k", "5")
+                        .with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+}
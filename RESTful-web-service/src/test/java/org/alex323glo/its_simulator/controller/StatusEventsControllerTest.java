@@ -0,0 +1,197 @@
+package org.alex323glo.its_simulator.controller;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.service.MissionService;
+import org.alex323glo.its_simulator.service.PlanetService;
+import org.alex323glo.its_simulator.service.SpaceShipService;
+import org.alex323glo.its_simulator.service.StatusEventBroker;
+import org.alex323glo.its_simulator.service.UserService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(AsyncRequests.MockAsyncContextConfiguration.class)
+public class StatusEventsControllerTest {
+
+    private static final String SUBSCRIBE_URI = "/private/events";
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_EMAIL = "alex@mail.com";
+
+    private static final String TEST_SPACE_SHIP_NAME = "Dragon-1";
+    private static final Integer TEST_SPACE_SHIP_LEVEL = 1;
+    private static final Double TEST_SPACE_SHIP_SPEED = 15.50;
+    private static final Double TEST_SPACE_SHIP_MAX_CARGO_CAPACITY = 1.0;
+
+    private static final String TEST_START_PLANET_NAME = "P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "P-002";
+
+    private static final Double TEST_MISSION_PAYLOAD = 0.5;
+
+    private static final long TEST_TIMEOUT_MS = 5000;
+
+    private static final int TEST_STREAMS = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private StatusEventBroker statusEventBroker;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+
+        userService.registerUser(TEST_USERNAME, TEST_PASSWORD, TEST_EMAIL);
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+        spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME,
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void subscribe() throws Exception {
+        int connectionsBefore = statusEventBroker.size();
+
+        MvcResult mvcResult = mockMvc.perform(get(SUBSCRIBE_URI)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .with(user(TEST_USERNAME)).with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(connectionsBefore + 1, statusEventBroker.size());
+
+        Mission mission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+        missionService.startMission(TEST_USERNAME, mission.getId());
+
+        MockHttpServletResponse response = mvcResult.getResponse();
+        String content = awaitContent(response, "\"missionStatus\":\"STARTED\"");
+
+        assertTrue(response.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+        assertTrue(content.contains("event:ship-status\ndata:{\"type\":\"ship-status\",\"spaceShipId\":" +
+                mission.getSpaceShip().getId() + ",\"spaceShipName\":\"" + TEST_SPACE_SHIP_NAME +
+                "\",\"spaceShipStatus\":\"BUSY\"}\n\n"));
+        assertTrue(content.contains("event:mission-status\ndata:{\"type\":\"mission-status\",\"missionId\":" +
+                mission.getId() + ",\"missionStatus\":\"CREATED\""));
+        assertTrue(content.indexOf("\"CREATED\"") < content.indexOf("\"STARTED\""));
+
+        mvcResult.getRequest().getAsyncContext().complete();
+        assertEquals(connectionsBefore, statusEventBroker.size());
+    }
+
+    @Test
+    public void openStreamsDontHoldConnections() throws Exception {
+        int activeConnectionsBefore = activeConnections();
+
+        List<MvcResult> mvcResults = new ArrayList<>();
+        for (int i = 0; i < TEST_STREAMS; i++) {
+            mvcResults.add(mockMvc.perform(get(SUBSCRIBE_URI)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .with(user(TEST_USERNAME)).with(csrf()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+
+        // EntityManager isn't kept open by requests ('spring.jpa.open-in-view' is off), so streams don't hold
+        // JDBC connections, after User's ID is read:
+        assertEquals(activeConnectionsBefore, activeConnections());
+
+        for (MvcResult mvcResult : mvcResults) {
+            mvcResult.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    public void subscribeUnknownUser() throws Exception {
+        mockMvc.perform(get(SUBSCRIBE_URI)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .with(user("Unknown")).with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void subscribeWithoutUser() throws Exception {
+        int connectionsBefore = statusEventBroker.size();
+
+        mockMvc.perform(get(SUBSCRIBE_URI)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login.html"));
+        assertEquals(connectionsBefore, statusEventBroker.size());
+    }
+
+    private String awaitContent(MockHttpServletResponse response, String expectedPart) throws Exception {
+        long deadline = System.currentTimeMillis() + TEST_TIMEOUT_MS;
+        String content = response.getContentAsString();
+        while (!content.contains(expectedPart) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertTrue("Expected event wasn't streamed in time: " + content, content.contains(expectedPart));
+        return content;
+    }
+
+    // active connections of all pools (primary and replica ones) behind routing DataSource:
+    @SuppressWarnings("unchecked")
+    private int activeConnections() {
+        DataSource routingDataSource = ((DelegatingDataSource) ((DelegatingDataSource) dataSource)
+                .getTargetDataSource()).getTargetDataSource();
+        Map<Object, DataSource> pools =
+                (Map<Object, DataSource>) ReflectionTestUtils.getField(routingDataSource, "resolvedDataSources");
+        return pools.values().stream()
+                .mapToInt(pool -> ((HikariDataSource) pool).getHikariPoolMXBean().getActiveConnections())
+                .sum();
+    }
+}
@@ -0,0 +1,311 @@
+package org.alex323glo.its_simulator.repository;
+
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Query plan audit of repository methods, which are used on hot paths of System.
+ *
+ * Seeds realistic volumes of data into H2 (with JDBC, bypassing JPA), records SQL of every statement,
+ * prepared by repository method (see SqlRecorder), and checks EXPLAIN of every recorded statement:
+ * full table scan of any table fails the test.
+ *
+ * Methods, which read whole tables by design (findAll(), count(), PlanetRepository.findAllNames()),
+ * aren't audited.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RepositoryQueryPlanTest {
+
+    private static final long SEED_ID_BASE = 1_000_000_000L;
+    private static final long SEED_ARCHIVE_ID_BASE = 2_000_000_000L;
+    private static final int SEED_USERS = 2_000;
+    private static final int SEED_SHIPS_PER_USER = 10;
+    private static final int SEED_PLANETS = 5_000;
+
+    private static final String SEED_USERNAME = "seed-user-17";
+    private static final String SEED_EMAIL = "seed-user-17@mail.com";
+    private static final String SEED_SHIP_NAME = "seed-ship-3";
+    private static final String SEED_PLANET_NAME = "seed-planet-42";
+
+    private static final String TABLE_SCAN_MARKER = ".tableScan";
+
+    private static final List<MissionStatus> FINISHED_STATUSES =
+            Arrays.asList(MissionStatus.COMPLETED, MissionStatus.CANCELED);
+
+    private static JdbcTemplate seededJdbcTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @Autowired
+    private ArchivedMissionRepository archivedMissionRepository;
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExtensionRepository userExtensionRepository;
+
+    @Autowired
+    private UserGameProfileRepository userGameProfileRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        if (seededJdbcTemplate == null) {
+            deleteSeededData(jdbcTemplate);
+            seedData();
+            jdbcTemplate.execute("analyze");
+            seededJdbcTemplate = jdbcTemplate;
+        }
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+        if (seededJdbcTemplate != null) {
+            deleteSeededData(seededJdbcTemplate);
+            seededJdbcTemplate = null;
+        }
+    }
+
+    @Test
+    public void missionRepositoryPlans() {
+        long missionId = SEED_ID_BASE + 17 * SEED_SHIPS_PER_USER + 3;
+        List<Long> missionIds = Arrays.asList(missionId, missionId + 1, missionId + 2);
+
+        assertNoTableScans("MissionRepository.findAllByUserGameProfile_User_Username",
+                () -> missionRepository.findAllByUserGameProfile_User_Username(SEED_USERNAME));
+        assertNoTableScans("MissionRepository.findMissionsPage",
+                () -> missionRepository.findMissionsPage(SEED_USERNAME, EnumSet.allOf(MissionStatus.class),
+                        PageRequest.of(0, 51)));
+        assertNoTableScans("MissionRepository.findMissionsPageAfter",
+                () -> missionRepository.findMissionsPageAfter(SEED_USERNAME,
+                        Collections.singletonList(MissionStatus.COMPLETED), LocalDateTime.now(), missionId,
+                        PageRequest.of(0, 51)));
+        assertNoTableScans("MissionRepository.streamMissions",
+                () -> missionRepository.streamMissions(SEED_USERNAME, EnumSet.allOf(MissionStatus.class))
+                        .limit(10).collect(Collectors.toList()));
+        assertNoTableScans("MissionRepository.findOwnedMission",
+                () -> missionRepository.findOwnedMission(missionId, SEED_USERNAME));
+        assertNoTableScans("MissionRepository.findOwnedMissionDTO",
+                () -> missionRepository.findOwnedMissionDTO(missionId, SEED_USERNAME));
+        assertNoTableScans("MissionRepository.findAllOwnedMissions",
+                () -> missionRepository.findAllOwnedMissions(missionIds, SEED_USERNAME));
+        assertNoTableScans("MissionRepository.lockOwnedMissions",
+                () -> missionRepository.lockOwnedMissions(missionIds, SEED_USERNAME));
+        assertNoTableScans("MissionRepository.lockMissions",
+                () -> missionRepository.lockMissions(missionIds));
+        assertNoTableScans("MissionRepository.streamDeadlinesByMissionStatus",
+                () -> missionRepository.streamDeadlinesByMissionStatus(MissionStatus.STARTED)
+                        .limit(10).collect(Collectors.toList()));
+        assertNoTableScans("MissionRepository.findAllWithSpaceShipAndGameProfileByIdIn",
+                () -> missionRepository.findAllWithSpaceShipAndGameProfileByIdIn(missionIds));
+        assertNoTableScans("MissionRepository.findById",
+                () -> missionRepository.findById(missionId));
+        assertNoTableScans("MissionRepository.findFinishedMissionIds",
+                () -> missionRepository.findFinishedMissionIds(FINISHED_STATUSES,
+                        LocalDateTime.now().minusDays(7), PageRequest.of(0, 500)));
+        assertNoTableScans("MissionRepository.deleteMissions",
+                () -> missionRepository.deleteMissions(missionIds, FINISHED_STATUSES));
+    }
+
+    @Test
+    public void archivedMissionRepositoryPlans() {
+        long missionId = SEED_ARCHIVE_ID_BASE + 17 * SEED_SHIPS_PER_USER + 3;
+        List<Long> missionIds = Arrays.asList(missionId, missionId + 1, missionId + 2);
+
+        assertNoTableScans("ArchivedMissionRepository.findAllByUsername",
+                () -> archivedMissionRepository.findAllByUsername(SEED_USERNAME));
+        assertNoTableScans("ArchivedMissionRepository.findMissionsPage",
+                () -> archivedMissionRepository.findMissionsPage(SEED_USERNAME, FINISHED_STATUSES,
+                        PageRequest.of(0, 51)));
+        assertNoTableScans("ArchivedMissionRepository.findMissionsPageAfter",
+                () -> archivedMissionRepository.findMissionsPageAfter(SEED_USERNAME, FINISHED_STATUSES,
+                        LocalDateTime.now(), missionId, PageRequest.of(0, 51)));
+        assertNoTableScans("ArchivedMissionRepository.streamMissions",
+                () -> archivedMissionRepository.streamMissions(SEED_USERNAME, FINISHED_STATUSES)
+                        .limit(10).collect(Collectors.toList()));
+        assertNoTableScans("ArchivedMissionRepository.findOwnedMission",
+                () -> archivedMissionRepository.findOwnedMission(missionId, SEED_USERNAME));
+        assertNoTableScans("ArchivedMissionRepository.findOwnedMissionDTO",
+                () -> archivedMissionRepository.findOwnedMissionDTO(missionId, SEED_USERNAME));
+        assertNoTableScans("ArchivedMissionRepository.copyFinishedMissions",
+                () -> archivedMissionRepository.copyFinishedMissions(missionIds));
+        assertNoTableScans("ArchivedMissionRepository.deleteAllByUsername",
+                () -> archivedMissionRepository.deleteAllByUsername(SEED_USERNAME));
+    }
+
+    @Test
+    public void planetRepositoryPlans() {
+        assertNoTableScans("PlanetRepository.findByName",
+                () -> planetRepository.findByName(SEED_PLANET_NAME));
+    }
+
+    @Test
+    public void spaceShipRepositoryPlans() {
+        assertNoTableScans("SpaceShipRepository.findByNameAndUserGameProfile_User_Username",
+                () -> spaceShipRepository.findByNameAndUserGameProfile_User_Username(SEED_SHIP_NAME, SEED_USERNAME));
+        assertNoTableScans("SpaceShipRepository.findAllByUserGameProfile_User_Username",
+                () -> spaceShipRepository.findAllByUserGameProfile_User_Username(SEED_USERNAME));
+        assertNoTableScans("SpaceShipRepository.findAllByUserGameProfile_User_UsernameAndSpaceShipStatus",
+                () -> spaceShipRepository.findAllByUserGameProfile_User_UsernameAndSpaceShipStatus(
+                        SEED_USERNAME, SpaceShipStatus.FREE));
+        assertNoTableScans("SpaceShipRepository.findAllDTOsByUsernameAndSpaceShipStatus",
+                () -> spaceShipRepository.findAllDTOsByUsernameAndSpaceShipStatus(SEED_USERNAME, SpaceShipStatus.FREE));
+    }
+
+    @Test
+    public void userRepositoriesPlans() {
+        assertNoTableScans("UserRepository.findByUsername",
+                () -> userRepository.findByUsername(SEED_USERNAME));
+        assertNoTableScans("UserRepository.findIdByUsername",
+                () -> userRepository.findIdByUsername(SEED_USERNAME));
+        assertNoTableScans("UserRepository.findByUserExtension_Email",
+                () -> userRepository.findByUserExtension_Email(SEED_EMAIL));
+        assertNoTableScans("UserExtensionRepository.findByEmail",
+                () -> userExtensionRepository.findByEmail(SEED_EMAIL));
+        assertNoTableScans("UserExtensionRepository.findByUser_Username",
+                () -> userExtensionRepository.findByUser_Username(SEED_USERNAME));
+        assertNoTableScans("UserGameProfileRepository.findByUser_Username",
+                () -> userGameProfileRepository.findByUser_Username(SEED_USERNAME));
+        assertNoTableScans("UserGameProfileRepository.findDTOByUsername",
+                () -> userGameProfileRepository.findDTOByUsername(SEED_USERNAME));
+        assertNoTableScans("UserGameProfileRepository.findCountersById",
+                () -> userGameProfileRepository.findCountersById(SEED_ID_BASE + 17));
+    }
+
+    private void assertNoTableScans(String methodName, Runnable repositoryCall) {
+        List<String> recordedSql = transactionTemplate.execute(status -> {
+            SqlRecorder.start();
+            try {
+                repositoryCall.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+            return SqlRecorder.stop();
+        });
+        assertFalse(methodName + " didn't prepare any statement", recordedSql.isEmpty());
+
+        for (String sql : recordedSql) {
+            String plan = explain(sql);
+            assertFalse(methodName + " scans whole table:\n" + sql + "\n" + plan, plan.contains(TABLE_SCAN_MARKER));
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                // parameters don't affect choice of indexes, so they are set to nulls:
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private void seedData() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userExtensions = new ArrayList<>();
+        List<Object[]> userGameProfiles = new ArrayList<>();
+        List<Object[]> spaceShips = new ArrayList<>();
+        List<Object[]> missions = new ArrayList<>();
+        List<Object[]> archivedMissions = new ArrayList<>();
+        for (int user = 0; user < SEED_USERS; user++) {
+            long userId = SEED_ID_BASE + user;
+            users.add(new Object[]{userId, "seed-user-" + user, "password"});
+            userExtensions.add(new Object[]{userId, "seed-user-" + user + "@mail.com", now});
+            userGameProfiles.add(new Object[]{userId, 0, 0L, SEED_SHIPS_PER_USER});
+
+            for (int ship = 0; ship < SEED_SHIPS_PER_USER; ship++) {
+                long id = SEED_ID_BASE + user * SEED_SHIPS_PER_USER + ship;
+                MissionStatus missionStatus = MissionStatus.values()[ship % MissionStatus.values().length];
+                spaceShips.add(new Object[]{id, userId, "seed-ship-" + ship, now, 1, 1.0, 10.0,
+                        missionStatus == MissionStatus.STARTED ? SpaceShipStatus.BUSY.name() :
+                                SpaceShipStatus.FREE.name()});
+                missions.add(new Object[]{id, userId, id, SEED_ID_BASE + ship, SEED_ID_BASE + ship + 1,
+                        Timestamp.valueOf(LocalDateTime.now().minusMinutes(ship)), now, now, 0.5, 60L,
+                        missionStatus.name()});
+                archivedMissions.add(new Object[]{SEED_ARCHIVE_ID_BASE + id - SEED_ID_BASE, userId, id,
+                        SEED_ID_BASE + ship, SEED_ID_BASE + ship + 1,
+                        Timestamp.valueOf(LocalDateTime.now().minusDays(30).minusMinutes(ship)), now, now, 0.5, 60L,
+                        FINISHED_STATUSES.get(ship % FINISHED_STATUSES.size()).name()});
+            }
+        }
+
+        List<Object[]> planets = new ArrayList<>();
+        for (int planet = 0; planet < SEED_PLANETS; planet++) {
+            planets.add(new Object[]{SEED_ID_BASE + planet, "seed-planet-" + planet,
+                    (long) planet, (long) planet, 10, "#112233", 1});
+        }
+
+        jdbcTemplate.batchUpdate("insert into users (id, username, password) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into user_extensions (user_id, email, registration_time) " +
+                "values (?, ?, ?)", userExtensions);
+        jdbcTemplate.batchUpdate("insert into user_game_profiles " +
+                "(user_id, completed_missions_number, experience, ships_number) values (?, ?, ?, ?)", userGameProfiles);
+        jdbcTemplate.batchUpdate("insert into planets (id, name, positionx, positiony, radius, color, circles) " +
+                "values (?, ?, ?, ?, ?, ?, ?)", planets);
+        jdbcTemplate.batchUpdate("insert into space_ships (id, user_game_profile_user_id, name, creation_time, " +
+                "level, max_cargo_capacity, speed, space_ship_status) values (?, ?, ?, ?, ?, ?, ?, ?)", spaceShips);
+        jdbcTemplate.batchUpdate("insert into missions (id, user_game_profile_user_id, space_ship_id, " +
+                "start_point_id, destination_point_id, registration_time, start_time, finish_time, payload, " +
+                "duration, mission_status) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", missions);
+        jdbcTemplate.batchUpdate("insert into mission_archive (id, user_game_profile_user_id, space_ship_id, " +
+                "start_point_id, destination_point_id, registration_time, start_time, finish_time, payload, " +
+                "duration, mission_status) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", archivedMissions);
+    }
+
+    private static void deleteSeededData(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("delete from mission_archive where id >= ?", SEED_ARCHIVE_ID_BASE);
+        for (String table : Arrays.asList("missions", "space_ships", "planets")) {
+            jdbcTemplate.update("delete from " + table + " where id >= ?", SEED_ID_BASE);
+        }
+        for (String table : Arrays.asList("user_game_profiles", "user_extensions")) {
+            jdbcTemplate.update("delete from " + table + " where user_id >= ?", SEED_ID_BASE);
+        }
+        jdbcTemplate.update("delete from users where id >= ?", SEED_ID_BASE);
+    }
+}
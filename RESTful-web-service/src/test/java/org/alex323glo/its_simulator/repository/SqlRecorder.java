@@ -0,0 +1,34 @@
+package org.alex323glo.its_simulator.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate StatementInspector, which records SQL of statements, prepared by current thread
+ * (only between start() and stop() calls). Is registered in test application.properties.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED_SQL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recordedSql = RECORDED_SQL.get();
+        if (recordedSql != null) {
+            recordedSql.add(sql);
+        }
+        return sql;
+    }
+
+    public static void start() {
+        RECORDED_SQL.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> recordedSql = RECORDED_SQL.get();
+        RECORDED_SQL.remove();
+        return recordedSql;
+    }
+}
@@ -0,0 +1,69 @@
+package org.alex323glo.its_simulator.security;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MainSecurityConfigurationTest {
+
+    private static final String METRICS_URI = "/actuator/metrics";
+    private static final String METRIC_URI = "/actuator/metrics/jvm.memory.used";
+    private static final String GAME_MECHANICS_URI = "/actuator/gamemechanics";
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_ADMIN_USERNAME = "Admin";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void denyMetricsToUser() throws Exception {
+        mockMvc.perform(get(METRICS_URI))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(METRIC_URI))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_ADMIN_USERNAME, roles = {"USER", "ADMIN"})
+    public void serveMetricsToAdmin() throws Exception {
+        mockMvc.perform(get(METRICS_URI))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(METRIC_URI))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_USERNAME)
+    public void denyGameMechanicsReloadToUser() throws Exception {
+        mockMvc.perform(get(GAME_MECHANICS_URI))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(GAME_MECHANICS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = TEST_ADMIN_USERNAME, roles = {"USER", "ADMIN"})
+    public void serveGameMechanicsReloadToAdmin() throws Exception {
+        mockMvc.perform(post(GAME_MECHANICS_URI)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,54 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.exception.ValidationException;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.util.Validator;
+import org.junit.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class GalaxyGeneratorTest {
+
+    private static final long TEST_SEED = 42;
+    private static final long TEST_MAP_SIZE = 5000;
+    private static final int TEST_PLANETS_NUMBER = 10_000;
+
+    @Test
+    public void generateIsDeterministic() {
+        List<Planet> first = new GalaxyGenerator(TEST_SEED, TEST_MAP_SIZE).generate(TEST_PLANETS_NUMBER, "G-");
+        List<Planet> second = new GalaxyGenerator(TEST_SEED, TEST_MAP_SIZE).generate(TEST_PLANETS_NUMBER, "G-");
+        List<Planet> other = new GalaxyGenerator(TEST_SEED + 1, TEST_MAP_SIZE).generate(TEST_PLANETS_NUMBER, "G-");
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    public void generateValidPlanets() throws ValidationException {
+        Validator validator = new Validator(new MockEnvironment());
+        List<Planet> planets = new GalaxyGenerator(TEST_SEED, TEST_MAP_SIZE).generate(TEST_PLANETS_NUMBER, "G-");
+
+        assertEquals(TEST_PLANETS_NUMBER, planets.size());
+        assertEquals("G-00001", planets.get(0).getName());
+        assertEquals("G-10000", planets.get(TEST_PLANETS_NUMBER - 1).getName());
+
+        Set<String> names = new HashSet<>();
+        for (Planet planet : planets) {
+            validator.validatePlanetName(planet.getName())
+                    .validatePlanetCoordinate(planet.getPositionX())
+                    .validatePlanetCoordinate(planet.getPositionY())
+                    .validatePlanetRadius(planet.getRadius())
+                    .validateHexColorString(planet.getColor())
+                    .validatePlanetCirclesNumber(planet.getCircles());
+            assertTrue(planet.getPositionX() <= TEST_MAP_SIZE);
+            assertTrue(planet.getPositionY() <= TEST_MAP_SIZE);
+            assertNull(planet.getId());
+            assertTrue(names.add(planet.getName()));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class GameMechanicsTest {
+
+    private static final double DELTA = 1e-9;
+
+    private static final int TEST_SHIP_LEVEL = 3;
+    private static final double TEST_SHIP_SPEED = 15.5;
+    private static final double TEST_PAYLOAD = 0.57;
+
+    @Autowired
+    private GameMechanics gameMechanics;
+
+    @Autowired
+    private Environment environment;
+
+    @After
+    public void tearDown() throws Exception {
+        gameMechanics.reload();
+    }
+
+    @Test
+    public void calculateDistanceAndDuration() {
+        double distance = GameMechanics.calculateDistance(50L, 50L, 300L, 300L);
+        assertEquals(250 * Math.sqrt(2), distance, DELTA);
+
+        double shipLevelCoefficient =
+                Double.valueOf(environment.getProperty(GameMechanics.SHIP_LEVEL_COEFFICIENT_PROP_NAME));
+        double timeCoefficientSeconds =
+                Double.valueOf(environment.getProperty(GameMechanics.TIME_COEFFICIENT_SECONDS_PROP_NAME));
+        long expectedDuration = Math.round(distance / (TEST_SHIP_SPEED + TEST_SHIP_LEVEL * shipLevelCoefficient) *
+                timeCoefficientSeconds);
+        assertEquals(expectedDuration, gameMechanics.calculateDuration(distance, TEST_SHIP_SPEED, TEST_SHIP_LEVEL));
+    }
+
+    @Test
+    public void calculateExperienceReward() {
+        assertEquals(TEST_SHIP_LEVEL * Math.round(TEST_PAYLOAD * 100),
+                gameMechanics.calculateExperienceReward(TEST_SHIP_LEVEL, TEST_PAYLOAD));
+    }
+
+    @Test
+    public void reload() throws AppException {
+        GameMechanics.Coefficients reloaded = gameMechanics.reload(null, 2.0, 10.0);
+
+        assertSame(reloaded, gameMechanics.getCoefficients());
+        assertEquals(2.0, reloaded.getTimeCoefficientSeconds(), DELTA);
+        assertEquals(TEST_SHIP_LEVEL * Math.round(TEST_PAYLOAD * 10),
+                gameMechanics.calculateExperienceReward(TEST_SHIP_LEVEL, TEST_PAYLOAD));
+
+        try {
+            gameMechanics.reload(null, -1.0, null);
+            fail("negative time coefficient must be rejected");
+        } catch (AppException e) {
+            assertSame(reloaded, gameMechanics.getCoefficients());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionPage;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.repository.ArchivedMissionRepository;
+import org.alex323glo.its_simulator.repository.MissionRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MissionArchivingSchedulerTest {
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_EMAIL = "alex@mail.com";
+
+    private static final String TEST_SPACE_SHIP_NAME = "Dragon-1";
+    private static final String TEST_START_PLANET_NAME = "P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "P-002";
+    private static final Double TEST_MISSION_PAYLOAD = 0.5;
+
+    // more, then 'game.missions.archive.chunk_size' of test configuration:
+    private static final int FINISHED_MISSIONS = 5;
+
+    private final List<Long> finishedMissionIds = new ArrayList<>();
+    private Mission activeMission;
+
+    @Autowired
+    private MissionArchivingScheduler missionArchivingScheduler;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @Autowired
+    private ArchivedMissionRepository archivedMissionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Before
+    public void setUp() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+
+        userService.registerUser(TEST_USERNAME, TEST_PASSWORD, TEST_EMAIL);
+        spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME, 1.0, 1, 15.5);
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+
+        for (int i = 0; i < FINISHED_MISSIONS; i++) {
+            Mission mission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+            missionService.cancelMission(TEST_USERNAME, mission.getId());
+            finishedMissionIds.add(mission.getId());
+        }
+        activeMission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void archiveFinishedMissions() throws Exception {
+        assertEquals(0, missionArchivingScheduler.archiveFinishedMissions(LocalDateTime.now().minusDays(1)));
+
+        assertEquals(FINISHED_MISSIONS,
+                missionArchivingScheduler.archiveFinishedMissions(LocalDateTime.now().plusMinutes(1)));
+        assertEquals(0, missionArchivingScheduler.archiveFinishedMissions(LocalDateTime.now().plusMinutes(1)));
+
+        // only active Mission is left in 'missions' table:
+        assertEquals(Collections.singletonList(activeMission.getId()), missionRepository.findAll().stream()
+                .map(Mission::getId).collect(Collectors.toList()));
+        assertEquals(FINISHED_MISSIONS, archivedMissionRepository.count());
+    }
+
+    @Test(timeout = 10000)
+    public void archiveFinishedMissionsWithInvalidDutyCycle() throws Exception {
+        // zero duty cycle would make pause after every chunk endless, so default duty cycle is used:
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("game.missions.archive.chunk_size", "2")
+                .withProperty("game.missions.archive.duty_cycle", "0");
+        MissionArchivingScheduler scheduler =
+                new MissionArchivingScheduler(missionService, new SimpleMeterRegistry(), environment);
+
+        assertEquals(FINISHED_MISSIONS, scheduler.archiveFinishedMissions(LocalDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    public void archivedMissionsAreReadTransparently() throws Exception {
+        missionArchivingScheduler.archiveFinishedMissions(LocalDateTime.now().plusMinutes(1));
+
+        Mission archivedMission = missionService.findMission(TEST_USERNAME, finishedMissionIds.get(0));
+        assertNotNull(archivedMission);
+        assertEquals(MissionStatus.CANCELED, archivedMission.getMissionStatus());
+        assertEquals(TEST_SPACE_SHIP_NAME, archivedMission.getSpaceShip().getName());
+        assertEquals(TEST_START_PLANET_NAME, archivedMission.getStartPoint().getName());
+
+        assertEquals(FINISHED_MISSIONS + 1, missionService.findAllMissions(TEST_USERNAME).size());
+
+        // pages of both tables are merged in history order (newest Missions first):
+        List<Long> expectedIds = new ArrayList<>(finishedMissionIds);
+        expectedIds.add(activeMission.getId());
+        Collections.reverse(expectedIds);
+
+        List<Long> pagedIds = new ArrayList<>();
+        MissionPage missionPage = missionService.findMissionsPage(TEST_USERNAME, null, null, 4);
+        missionPage.getMissions().forEach(mission -> pagedIds.add(mission.getId()));
+        assertNotNull(missionPage.getNextCursor());
+        missionPage = missionService.findMissionsPage(TEST_USERNAME, missionPage.getNextCursor(), null, 4);
+        missionPage.getMissions().forEach(mission -> pagedIds.add(mission.getId()));
+        assertNull(missionPage.getNextCursor());
+        assertEquals(expectedIds, pagedIds);
+
+        assertEquals(1, missionService.findMissionsPage(TEST_USERNAME, null,
+                Collections.singletonList(MissionStatus.CREATED), null).getMissions().size());
+    }
+}
@@ -0,0 +1,153 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.repository.MissionRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MissionCompletionSchedulerTest {
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_EMAIL = "alex@mail.com";
+
+    private static final String TEST_SPACE_SHIP_NAME = "Dragon-1";
+    private static final Integer TEST_SPACE_SHIP_LEVEL = 2;
+    private static final Double TEST_SPACE_SHIP_SPEED = 15.50;
+    private static final Double TEST_SPACE_SHIP_MAX_CARGO_CAPACITY = 1.0;
+
+    private static final String TEST_START_PLANET_NAME = "P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "P-002";
+
+    private static final Double TEST_MISSION_PAYLOAD = 0.5;
+
+    private static Mission testMission;
+
+    @Autowired
+    private MissionCompletionScheduler missionCompletionScheduler;
+
+    @Autowired
+    private MissionDeadlineQueue missionDeadlineQueue;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+        missionDeadlineQueue.clear();
+
+        userService.registerUser(TEST_USERNAME, TEST_PASSWORD, TEST_EMAIL);
+        spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME,
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+
+        testMission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        missionDeadlineQueue.clear();
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void completeDueMissions() throws Exception {
+        missionService.startMission(TEST_USERNAME, testMission);
+        assertEquals(1, missionDeadlineQueue.size());
+
+        assertEquals(1, missionCompletionScheduler.completeDueMissions());
+        assertEquals(0, missionDeadlineQueue.size());
+
+        Mission completedMission = missionService.findMission(TEST_USERNAME, testMission.getId());
+        assertEquals(MissionStatus.COMPLETED, completedMission.getMissionStatus());
+
+        SpaceShip spaceShip = spaceShipService.findSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME);
+        assertEquals(SpaceShipStatus.FREE, spaceShip.getSpaceShipStatus());
+
+        UserGameProfile userGameProfile = userService.findUserGameProfile(TEST_USERNAME);
+        assertEquals(Integer.valueOf(1), userGameProfile.getCompletedMissionsNumber());
+        assertEquals(Long.valueOf(TEST_SPACE_SHIP_LEVEL * Math.round(TEST_MISSION_PAYLOAD * 100)),
+                userGameProfile.getExperience());
+    }
+
+    @Test
+    public void restoreMissionDeadlines() throws Exception {
+        missionService.startMission(TEST_USERNAME, testMission);
+        missionDeadlineQueue.clear();
+
+        assertEquals(1, missionService.restoreMissionDeadlines());
+        assertEquals(1, missionDeadlineQueue.size());
+
+        assertEquals(1, missionCompletionScheduler.completeDueMissions());
+        assertEquals(MissionStatus.COMPLETED,
+                missionRepository.findById(testMission.getId()).get().getMissionStatus());
+    }
+
+    @Test
+    public void completeDueMissionsSkipsCanceledMission() throws Exception {
+        missionService.startMission(TEST_USERNAME, testMission);
+        missionService.cancelMission(TEST_USERNAME, testMission);
+
+        assertEquals(0, missionCompletionScheduler.completeDueMissions());
+        assertEquals(MissionStatus.CANCELED,
+                missionRepository.findById(testMission.getId()).get().getMissionStatus());
+    }
+
+    @Test
+    public void completeDueMissionsIsolatesBrokenMission() throws Exception {
+        spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME + "-2",
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+        Mission brokenMission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME + "-2", TEST_MISSION_PAYLOAD);
+        missionService.startMission(TEST_USERNAME, testMission);
+        missionService.startMission(TEST_USERNAME, brokenMission);
+        // Mission without finish time fails whole batch:
+        jdbcTemplate.update("update missions set finish_time = null where id = ?", brokenMission.getId());
+
+        assertEquals(1, missionCompletionScheduler.completeDueMissions());
+        assertEquals(MissionStatus.COMPLETED,
+                missionRepository.findById(testMission.getId()).get().getMissionStatus());
+        assertEquals(MissionStatus.STARTED,
+                missionRepository.findById(brokenMission.getId()).get().getMissionStatus());
+
+        // deadline of broken Mission isn't dropped, but isn't retried at once:
+        assertEquals(1, missionDeadlineQueue.size());
+        assertEquals(1, missionDeadlineQueue.retriedSize());
+        assertEquals(0, missionCompletionScheduler.completeDueMissions());
+        assertEquals(1, missionDeadlineQueue.retriedSize());
+    }
+}
@@ -0,0 +1,179 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.repository.PlanetRepository;
+import org.alex323glo.its_simulator.repository.UserRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Multi-threaded stress test of concurrent operations with the same SpaceShips and Missions.
+ *
+ * In every round CLIENTS concurrent clients try to attach every SpaceShip of User to new Mission
+ * (each SpaceShip must be attached to exactly one Mission: there must be no double-bookings),
+ * and then try to cancel every constructed Mission (each Mission must be canceled exactly once).
+ * Throughput of operations is reported to log.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MissionConcurrencyStressTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissionConcurrencyStressTest.class);
+
+    private static final int CLIENTS = 64;
+    private static final int SHIPS = 16;
+    private static final int ROUNDS = 3;
+
+    private static final String TEST_USERNAME = "stress-user";
+    private static final String TEST_SHIP_NAME_PREFIX = "Stress-";
+    private static final String TEST_START_PLANET_NAME = "Stress-P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "Stress-P-002";
+    private static final Double TEST_PAYLOAD = 0.5;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+        userRepository.deleteAll();
+        planetRepository.deleteAll();
+        planetService.reloadPlanetCatalog();
+
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+
+        userService.registerUser(TEST_USERNAME, "12345678", "stress-user@mail.com");
+        for (int i = 0; i < SHIPS; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SHIP_NAME_PREFIX + i, 1.0, 1, 15.5);
+        }
+
+        executorService = Executors.newFixedThreadPool(CLIENTS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void concurrentClientsDontDoubleBookSpaceShips() throws Exception {
+        List<String> shipNames = new ArrayList<>();
+        for (int i = 0; i < SHIPS; i++) {
+            shipNames.add(TEST_SHIP_NAME_PREFIX + i);
+        }
+
+        long attempts = 0;
+        long startTime = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Mission> constructedMissions = runClients(shipNames, shipName ->
+                    missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                            TEST_DESTINATION_PLANET_NAME, shipName, TEST_PAYLOAD));
+            attempts += (long) CLIENTS * SHIPS;
+
+            Map<String, Long> missionsPerShip = constructedMissions.stream()
+                    .collect(Collectors.groupingBy(mission -> mission.getSpaceShip().getName(), Collectors.counting()));
+            assertEquals("double-booked SpaceShips: " + missionsPerShip, SHIPS, constructedMissions.size());
+            assertEquals(SHIPS, missionsPerShip.size());
+            for (String shipName : shipNames) {
+                assertEquals(SpaceShipStatus.BUSY,
+                        spaceShipService.findSpaceShip(TEST_USERNAME, shipName).getSpaceShipStatus());
+            }
+
+            List<Long> missionIds = constructedMissions.stream().map(Mission::getId).collect(Collectors.toList());
+            List<Mission> canceledMissions = runClients(missionIds, missionId ->
+                    missionService.cancelMission(TEST_USERNAME, missionId));
+            attempts += (long) CLIENTS * SHIPS;
+
+            assertEquals(SHIPS, canceledMissions.size());
+            assertEquals(new HashSet<>(missionIds),
+                    canceledMissions.stream().map(Mission::getId).collect(Collectors.toSet()));
+            for (String shipName : shipNames) {
+                assertEquals(SpaceShipStatus.FREE,
+                        spaceShipService.findSpaceShip(TEST_USERNAME, shipName).getSpaceShipStatus());
+            }
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+        LOGGER.info(String.format("Concurrency stress test (%d clients, %d SpaceShips, %d rounds): " +
+                        "%d operations in %d ms (%.1f operations/s), 0 double-bookings.",
+                CLIENTS, SHIPS, ROUNDS, attempts, elapsedMillis, attempts * 1000.0 / elapsedMillis));
+    }
+
+    /**
+     * Every client applies operation to every target (in its own random order, all clients start together).
+     *
+     * @return results of successful operations.
+     */
+    private <T> List<Mission> runClients(List<T> targets, ClientOperation<T> operation) throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger failedOperations = new AtomicInteger();
+        List<Future<List<Mission>>> futures = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            List<T> shuffledTargets = new ArrayList<>(targets);
+            Collections.shuffle(shuffledTargets, new Random(client));
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                List<Mission> results = new ArrayList<>();
+                for (T target : shuffledTargets) {
+                    try {
+                        Mission mission = operation.apply(target);
+                        if (mission != null) {
+                            results.add(mission);
+                        }
+                    } catch (AppException e) {
+                        failedOperations.incrementAndGet();
+                    }
+                }
+                return results;
+            }));
+        }
+
+        startLatch.countDown();
+        List<Mission> results = new ArrayList<>();
+        for (Future<List<Mission>> future : futures) {
+            results.addAll(future.get(2, TimeUnit.MINUTES));
+        }
+        assertEquals(CLIENTS * targets.size(), results.size() + failedOperations.get());
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface ClientOperation<T> {
+        Mission apply(T target) throws AppException;
+    }
+}
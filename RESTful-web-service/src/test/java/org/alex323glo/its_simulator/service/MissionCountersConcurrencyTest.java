@@ -0,0 +1,192 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.alex323glo.its_simulator.model.game.SpaceShip;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.alex323glo.its_simulator.repository.MissionRepository;
+import org.alex323glo.its_simulator.repository.PlanetRepository;
+import org.alex323glo.its_simulator.repository.SpaceShipRepository;
+import org.alex323glo.its_simulator.repository.UserGameProfileRepository;
+import org.alex323glo.its_simulator.repository.UserRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Concurrency test of UserGameProfile counters (experience and number of completed Missions):
+ * THREADS concurrent clients complete MISSIONS Missions of few Users (so completions of the same
+ * User's Missions overlap all the time), and final totals of every User must count every Mission.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MissionCountersConcurrencyTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MissionCountersConcurrencyTest.class);
+
+    private static final int THREADS = 100;
+    private static final int MISSIONS = 10_000;
+    private static final int USERS = 4;
+
+    private static final String TEST_USERNAME_PREFIX = "counters-user-";
+    private static final int TEST_SHIP_LEVEL = 2;
+    private static final double TEST_PAYLOAD = 0.5;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private GameMechanics gameMechanics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlanetRepository planetRepository;
+
+    @Autowired
+    private SpaceShipRepository spaceShipRepository;
+
+    @Autowired
+    private MissionRepository missionRepository;
+
+    @Autowired
+    private UserGameProfileRepository userGameProfileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<List<Long>> missionIdsByUser = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        userRepository.deleteAll();
+        planetRepository.deleteAll();
+        planetService.reloadPlanetCatalog();
+
+        Planet startPlanet = planetService.createPlanet("Counters-P-001", 50L, 50L, 10, "#112233", 1);
+        Planet destinationPlanet = planetService.createPlanet("Counters-P-002", 300L, 300L, 20, "#445566", 2);
+
+        // started and already expired Missions, each with its own BUSY SpaceShip:
+        LocalDateTime now = LocalDateTime.now();
+        for (int user = 0; user < USERS; user++) {
+            String username = TEST_USERNAME_PREFIX + user;
+            userService.registerUser(username, "12345678", username + "@mail.com");
+            missionIdsByUser.add(transactionTemplate.execute(status -> saveExpiredMissions(username, now,
+                    startPlanet, destinationPlanet)));
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void concurrentCompletionsDontLoseCounterUpdates() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        long startTime = System.nanoTime();
+        // every thread completes its share of Missions of every User (interleaved by User):
+        for (int thread = 0; thread < THREADS; thread++) {
+            int firstIndex = thread;
+            futures.add(executorService.submit(() -> {
+                int completedMissions = 0;
+                for (int index = firstIndex; index < MISSIONS / USERS; index += THREADS) {
+                    for (int user = 0; user < USERS; user++) {
+                        if (missionService.completeMission(TEST_USERNAME_PREFIX + user,
+                                missionIdsByUser.get(user).get(index)) != null) {
+                            completedMissions++;
+                        }
+                    }
+                }
+                return completedMissions;
+            }));
+        }
+
+        int completedMissions = 0;
+        for (Future<Integer> future : futures) {
+            completedMissions += future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        executorService.shutdown();
+
+        LOGGER.info(String.format("Counters concurrency test (%d threads, %d Users): " +
+                        "%d Missions completed in %d ms (%.1f completions/s).",
+                THREADS, USERS, completedMissions, elapsedMillis, completedMissions * 1000.0 / elapsedMillis));
+
+        assertEquals(MISSIONS, completedMissions);
+        long experienceReward = gameMechanics.calculateExperienceReward(TEST_SHIP_LEVEL, TEST_PAYLOAD);
+        for (int user = 0; user < USERS; user++) {
+            UserGameProfile userGameProfile = userService.findUserGameProfile(TEST_USERNAME_PREFIX + user);
+            assertEquals(Integer.valueOf(MISSIONS / USERS), userGameProfile.getCompletedMissionsNumber());
+            assertEquals(Long.valueOf(MISSIONS / USERS * experienceReward), userGameProfile.getExperience());
+        }
+    }
+
+    private List<Long> saveExpiredMissions(String username, LocalDateTime now,
+                                           Planet startPlanet, Planet destinationPlanet) {
+        UserGameProfile userGameProfile = userGameProfileRepository.findByUser_Username(username);
+
+        List<SpaceShip> spaceShips = new ArrayList<>();
+        List<Mission> missions = new ArrayList<>();
+        for (int i = 0; i < MISSIONS / USERS; i++) {
+            SpaceShip spaceShip = SpaceShip.builder()
+                    .userGameProfile(userGameProfile)
+                    .name("Counters-" + i)
+                    .creationTime(now)
+                    .maxCargoCapacity(1.0)
+                    .level(TEST_SHIP_LEVEL)
+                    .speed(15.5)
+                    .spaceShipStatus(SpaceShipStatus.BUSY)
+                    .build();
+            spaceShips.add(spaceShip);
+            missions.add(Mission.builder()
+                    .userGameProfile(userGameProfile)
+                    .spaceShip(spaceShip)
+                    .startPoint(startPlanet)
+                    .destinationPoint(destinationPlanet)
+                    .registrationTime(now.minusMinutes(2))
+                    .startTime(now.minusMinutes(1))
+                    .finishTime(now.minusSeconds(1))
+                    .payload(TEST_PAYLOAD)
+                    .duration(59L)
+                    .missionStatus(MissionStatus.STARTED)
+                    .build());
+        }
+        spaceShipRepository.saveAll(spaceShips);
+
+        List<Long> missionIds = new ArrayList<>();
+        for (Mission mission : missionRepository.saveAll(missions)) {
+            missionIds.add(mission.getId());
+        }
+        return missionIds;
+    }
+}
@@ -4,10 +4,16 @@ import org.alex323glo.its_simulator.exception.AppException;
 import org.alex323glo.its_simulator.model.User;
 import org.alex323glo.its_simulator.model.UserExtension;
 import org.alex323glo.its_simulator.model.UserGameProfile;
+import org.alex323glo.its_simulator.model.dto.MissionDTO;
 import org.alex323glo.its_simulator.model.game.*;
+import org.alex323glo.its_simulator.repository.ArchivedMissionRepository;
 import org.alex323glo.its_simulator.repository.MissionRepository;
 import org.alex323glo.its_simulator.repository.PlanetRepository;
+import org.alex323glo.its_simulator.repository.SqlRecorder;
 import org.alex323glo.its_simulator.repository.UserRepository;
+import org.alex323glo.its_simulator.util.MissionExportWriter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,9 +22,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,6 +69,8 @@ public class MissionServiceTest {
     private static final Long TEST_MISSION_DURATION_SECONDS = 5L;   // 5 seconds !
     private static final Double TEST_MISSION_PAYLOAD = 0.5;
 
+    private static final int TEST_BATCH_SIZE = 10;
+
     private static final String SPACE_SHIP_LEVEL_COEFFICIENT_PROP_NAME = "game.mechanics.ship_level_coefficient";
     private static final String TIME_COEFFICIENT_SECONDS_PROP_NAME = "game.mechanics.time_coefficient_seconds";
 
@@ -79,9 +92,24 @@ public class MissionServiceTest {
     @Autowired
     private PlanetRepository planetRepository;
 
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private ArchivedMissionRepository archivedMissionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Before
     public void setUp() throws Exception {
         userRepository.deleteAll();
@@ -105,6 +133,7 @@ public class MissionServiceTest {
                         .color(TEST_DESTINATION_PLANET_COLOR)
                         .circles(TEST_DESTINATION_PLANET_CIRCLES_NUMBER)
                         .build());
+        planetService.reloadPlanetCatalog();
 
         testUser = User.builder()
                 .username(TEST_USERNAME)
@@ -170,6 +199,7 @@ public class MissionServiceTest {
 
     @After
     public void tearDown() throws Exception {
+        archivedMissionRepository.deleteAll();
         userRepository.deleteAll();
         missionRepository.deleteAll();
     }
@@ -188,6 +218,16 @@ public class MissionServiceTest {
         assertEquals(testMission, mission);
     }
 
+    @Test
+    public void findMissionOfAnotherUser() throws AppException {
+        assertNull(missionService.findMission("Bob", testMission.getId()));
+        assertNull(missionService.startMission("Bob", testMission.getId()));
+
+        Optional<Mission> storedMissionOptional = missionRepository.findById(testMission.getId());
+        assertTrue(storedMissionOptional.isPresent());
+        assertEquals(MissionStatus.CREATED, storedMissionOptional.get().getMissionStatus());
+    }
+
     @Test
     public void startMission() throws AppException {
         Mission startedMission = missionService.startMission(testUser.getUsername(), testMission);
@@ -218,6 +258,23 @@ public class MissionServiceTest {
         }
     }
 
+    @Test
+    public void cancelMissionUpdatesStatusesOnce() throws AppException {
+        missionService.startMission(testUser.getUsername(), testMission);
+
+        SqlRecorder.start();
+        missionService.cancelMission(testUser.getUsername(), testMission);
+        List<String> recordedSql = SqlRecorder.stop();
+
+        // statuses are written only by conditional UPDATEs (not once more by flush of managed Entities):
+        assertEquals(1, recordedSql.stream()
+                .filter(sql -> sql.startsWith("update space_ships"))
+                .count());
+        assertEquals(1, recordedSql.stream()
+                .filter(sql -> sql.startsWith("update missions") && sql.contains("mission_status"))
+                .count());
+    }
+
     @Test
     public void completeMission() throws AppException, InterruptedException {
         missionService.startMission(testUser.getUsername(), testMission);
@@ -227,6 +284,11 @@ public class MissionServiceTest {
 
         Mission completedMission = missionService.completeMission(testUser.getUsername(), testMission);
         assertEquals(MissionStatus.COMPLETED, completedMission.getMissionStatus());
+        assertNotNull(completedMission.getFinishTime());
+
+        // counters of returned UserGameProfile aren't stale (SQL increments are refreshed):
+        assertEquals(Integer.valueOf(1), completedMission.getUserGameProfile().getCompletedMissionsNumber());
+        assertTrue(completedMission.getUserGameProfile().getExperience() > 0);
 
         Optional<Mission> storedMissionOptional = missionRepository.findById(completedMission.getId());
         if (storedMissionOptional.isPresent()) {
@@ -236,6 +298,276 @@ public class MissionServiceTest {
         }
     }
 
+    @Test
+    public void startAndCancelMissionsBatch() throws AppException {
+        Mission anotherMission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                TEST_DESTINATION_PLANET_NAME, ANOTHER_TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+        missionService.startMission(TEST_USERNAME, anotherMission.getId());
+
+        List<MissionBatchResult> startResults = missionService.startMissions(TEST_USERNAME,
+                Arrays.asList(testMission.getId(), anotherMission.getId(), -1L, testMission.getId()));
+
+        assertEquals(3, startResults.size());
+        assertEquals(testMission.getId(), startResults.get(0).getMissionId());
+        assertTrue(startResults.get(0).getSuccess());
+        assertEquals(MissionStatus.STARTED, startResults.get(0).getMissionStatus());
+        assertFalse(startResults.get(1).getSuccess());
+        assertEquals(MissionStatus.STARTED, startResults.get(1).getMissionStatus());
+        assertFalse(startResults.get(2).getSuccess());
+        assertNull(startResults.get(2).getMissionStatus());
+
+        List<MissionBatchResult> cancelResults = missionService.cancelMissions(TEST_USERNAME,
+                Arrays.asList(testMission.getId(), anotherMission.getId()));
+
+        assertTrue(cancelResults.stream().allMatch(MissionBatchResult::getSuccess));
+        assertEquals(MissionStatus.CANCELED, missionRepository.findById(testMission.getId()).get().getMissionStatus());
+        assertEquals(MissionStatus.CANCELED,
+                missionRepository.findById(anotherMission.getId()).get().getMissionStatus());
+    }
+
+    @Test
+    public void missionsBatchClaimsStatusesBySetBasedUpdates() throws AppException {
+        List<Long> missionIds = new ArrayList<>();
+        for (int i = 0; i < TEST_BATCH_SIZE; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, "Batch-" + i, TEST_SPACE_SHIP_MAX_CARGO_CAPACITY,
+                    TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+            missionIds.add(missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, "Batch-" + i, TEST_MISSION_PAYLOAD).getId());
+        }
+
+        SqlRecorder.start();
+        List<MissionBatchResult> startResults = missionService.startMissions(TEST_USERNAME, missionIds);
+        List<String> startSql = SqlRecorder.stop();
+
+        SqlRecorder.start();
+        List<MissionBatchResult> cancelResults = missionService.cancelMissions(TEST_USERNAME, missionIds);
+        List<String> cancelSql = SqlRecorder.stop();
+
+        assertTrue(startResults.stream().allMatch(MissionBatchResult::getSuccess));
+        assertTrue(cancelResults.stream().allMatch(MissionBatchResult::getSuccess));
+
+        // statuses of whole batch are claimed by single UPDATE per table (not by conditional UPDATE per Mission):
+        assertEquals(1, startSql.stream()
+                .filter(sql -> sql.startsWith("update missions") && sql.contains("mission_status"))
+                .count());
+        assertEquals(1, cancelSql.stream()
+                .filter(sql -> sql.startsWith("update missions") && sql.contains("mission_status"))
+                .count());
+        assertEquals(1, cancelSql.stream()
+                .filter(sql -> sql.startsWith("update space_ships"))
+                .count());
+        // other changes of Missions aren't flushed between claims, so they are written by single JDBC batch:
+        assertEquals(1, cancelSql.stream()
+                .filter(sql -> sql.startsWith("update missions") && sql.contains("finish_time"))
+                .count());
+        missionIds.forEach(missionId -> assertEquals(MissionStatus.CANCELED,
+                missionRepository.findById(missionId).get().getMissionStatus()));
+    }
+
+    @Test
+    public void completeMissionsBatchAddsRewardsOncePerProfile() throws AppException {
+        List<Long> missionIds = new ArrayList<>();
+        for (int i = 0; i < TEST_BATCH_SIZE; i++) {
+            spaceShipService.createSpaceShip(TEST_USERNAME, "Batch-" + i, TEST_SPACE_SHIP_MAX_CARGO_CAPACITY,
+                    TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+            missionIds.add(missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, "Batch-" + i, TEST_MISSION_PAYLOAD).getId());
+        }
+        missionService.startMissions(TEST_USERNAME, missionIds);
+        long experienceBefore = userRepository.findByUsername(TEST_USERNAME).getUserGameProfile().getExperience();
+
+        SqlRecorder.start();
+        List<MissionBatchResult> completeResults = missionService.completeMissions(TEST_USERNAME, missionIds);
+        List<String> completeSql = SqlRecorder.stop();
+
+        assertTrue(completeResults.stream().allMatch(MissionBatchResult::getSuccess));
+        // rewards of whole batch are added to User's profile by single increment (and its counters are re-read once):
+        assertEquals(1, completeSql.stream()
+                .filter(sql -> sql.startsWith("update user_game_profiles"))
+                .count());
+        assertEquals(1, completeSql.stream()
+                .filter(sql -> sql.matches("select \\w+\\.completed_missions_number .*"))
+                .count());
+
+        UserGameProfile userGameProfile = userRepository.findByUsername(TEST_USERNAME).getUserGameProfile();
+        assertEquals(Integer.valueOf(TEST_BATCH_SIZE), userGameProfile.getCompletedMissionsNumber());
+        assertEquals(Long.valueOf(experienceBefore + TEST_BATCH_SIZE * TEST_SPACE_SHIP_LEVEL *
+                Math.round(TEST_MISSION_PAYLOAD * 100)), userGameProfile.getExperience());
+    }
+
+    @Test
+    public void findMissionsPage() throws AppException {
+        UserGameProfile userGameProfile = testMission.getUserGameProfile();
+        LocalDateTime registrationTime = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 6; i++) {
+            missionRepository.save(Mission.builder()
+                    .userGameProfile(userGameProfile)
+                    .missionStatus(i % 2 == 0 ? MissionStatus.COMPLETED : MissionStatus.CREATED)
+                    .duration(TEST_MISSION_DURATION_SECONDS)
+                    .startPoint(testStartPlanet)
+                    .destinationPoint(testDestinationPlanet)
+                    .payload(TEST_MISSION_PAYLOAD)
+                    // some Missions have equal registration time: ID breaks ties
+                    .registrationTime(registrationTime.plusSeconds(i / 2))
+                    .spaceShip(SpaceShip.builder()
+                            .userGameProfile(userGameProfile)
+                            .name("Ship-" + i)
+                            .creationTime(LocalDateTime.now())
+                            .maxCargoCapacity(TEST_SPACE_SHIP_MAX_CARGO_CAPACITY)
+                            .level(TEST_SPACE_SHIP_LEVEL)
+                            .speed(TEST_SPACE_SHIP_SPEED)
+                            .spaceShipStatus(SpaceShipStatus.BUSY)
+                            .build())
+                    .build());
+        }
+
+        List<Mission> expectedMissions = missionService.findAllMissions(TEST_USERNAME).stream()
+                .sorted(Comparator.comparing(Mission::getRegistrationTime).thenComparing(Mission::getId).reversed())
+                .collect(Collectors.toList());
+        assertEquals(7, expectedMissions.size());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            List<MissionDTO> pagedMissions = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            List<Long> pageStatements = new ArrayList<>();
+            MissionCursor cursor = null;
+            do {
+                statistics.clear();
+                MissionPage page = missionService.findMissionsPage(TEST_USERNAME, cursor, null, 3);
+                pageStatements.add(statistics.getPrepareStatementCount());
+
+                pagedMissions.addAll(page.getMissions());
+                pageSizes.add(page.getMissions().size());
+                cursor = page.getNextCursor() == null ? null : MissionCursor.decode(page.getNextCursor().encode());
+            } while (cursor != null);
+
+            assertEquals(Arrays.asList(3, 3, 1), pageSizes);
+            // Missions' DTOs (with SpaceShips and Planets) are loaded by single SELECT with projection
+            // (and archived ones by one more), whatever the size of page is:
+            assertEquals(Arrays.asList(2L, 2L, 2L), pageStatements);
+            assertEquals(expectedMissions.stream().map(Mission::getId).collect(Collectors.toList()),
+                    pagedMissions.stream().map(MissionDTO::getId).collect(Collectors.toList()));
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        MissionPage completedMissionsPage = missionService.findMissionsPage(TEST_USERNAME, null,
+                Collections.singletonList(MissionStatus.COMPLETED), null);
+        assertEquals(3, completedMissionsPage.getMissions().size());
+        assertNull(completedMissionsPage.getNextCursor());
+        assertTrue(completedMissionsPage.getMissions().stream()
+                .allMatch(mission -> mission.getMissionStatus() == MissionStatus.COMPLETED));
+
+        assertTrue(missionService.findMissionsPage("Bob", null, null, null).getMissions().isEmpty());
+    }
+
+    @Test
+    public void exportMissions() throws AppException {
+        UserGameProfile userGameProfile = testMission.getUserGameProfile();
+        LocalDateTime registrationTime = LocalDateTime.now().withNano(0).minusMinutes(10);
+        for (int i = 0; i < 6; i++) {
+            missionRepository.save(Mission.builder()
+                    .userGameProfile(userGameProfile)
+                    .missionStatus(i % 2 == 0 ? MissionStatus.COMPLETED : MissionStatus.CREATED)
+                    .duration(TEST_MISSION_DURATION_SECONDS)
+                    .startPoint(testStartPlanet)
+                    .destinationPoint(testDestinationPlanet)
+                    .payload(TEST_MISSION_PAYLOAD)
+                    .registrationTime(registrationTime.plusSeconds(i))
+                    .finishTime(registrationTime.plusSeconds(i))
+                    .spaceShip(SpaceShip.builder()
+                            .userGameProfile(userGameProfile)
+                            .name("Ship-" + i)
+                            .creationTime(LocalDateTime.now())
+                            .maxCargoCapacity(TEST_SPACE_SHIP_MAX_CARGO_CAPACITY)
+                            .level(TEST_SPACE_SHIP_LEVEL)
+                            .speed(TEST_SPACE_SHIP_SPEED)
+                            .spaceShipStatus(SpaceShipStatus.BUSY)
+                            .build())
+                    .build());
+        }
+        // completed Missions are moved to archive, so export merges both tables:
+        assertEquals(3, missionService.archiveFinishedMissions(LocalDateTime.now(), 100));
+
+        List<Long> expectedIds = missionService.findAllMissions(TEST_USERNAME).stream()
+                .sorted(Comparator.comparing(Mission::getRegistrationTime).thenComparing(Mission::getId).reversed())
+                .map(Mission::getId)
+                .collect(Collectors.toList());
+        assertEquals(7, expectedIds.size());
+
+        List<MissionDTO> exportedMissions = new ArrayList<>();
+        MissionExportWriter writer = new MissionExportWriter() {
+            @Override
+            public void write(MissionDTO mission) {
+                exportedMissions.add(mission);
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+
+        assertEquals(7, missionService.exportMissions(TEST_USERNAME, null, writer));
+        assertEquals(expectedIds, exportedMissions.stream().map(MissionDTO::getId).collect(Collectors.toList()));
+
+        exportedMissions.clear();
+        assertEquals(3, missionService.exportMissions(TEST_USERNAME,
+                Collections.singletonList(MissionStatus.COMPLETED), writer));
+        assertTrue(exportedMissions.stream()
+                .allMatch(mission -> mission.getMissionStatus() == MissionStatus.COMPLETED));
+
+        assertEquals(0, missionService.exportMissions("Bob", null, writer));
+    }
+
+    @Test
+    public void exportMissionArchivedBetweenCursors() throws AppException {
+        Mission completedMission = missionRepository.save(Mission.builder()
+                .userGameProfile(testMission.getUserGameProfile())
+                .missionStatus(MissionStatus.COMPLETED)
+                .duration(TEST_MISSION_DURATION_SECONDS)
+                .startPoint(testStartPlanet)
+                .destinationPoint(testDestinationPlanet)
+                .payload(TEST_MISSION_PAYLOAD)
+                .registrationTime(LocalDateTime.now().minusMinutes(10))
+                .finishTime(LocalDateTime.now().minusMinutes(10))
+                .spaceShip(SpaceShip.builder()
+                        .userGameProfile(testMission.getUserGameProfile())
+                        .name("Ship-archived")
+                        .creationTime(LocalDateTime.now())
+                        .maxCargoCapacity(TEST_SPACE_SHIP_MAX_CARGO_CAPACITY)
+                        .level(TEST_SPACE_SHIP_LEVEL)
+                        .speed(TEST_SPACE_SHIP_SPEED)
+                        .spaceShipStatus(SpaceShipStatus.FREE)
+                        .build())
+                .build());
+
+        // what cursors see, if Mission is archived after cursor of Missions is opened (it's in both tables):
+        assertEquals(Integer.valueOf(1), transactionTemplate.execute(status ->
+                archivedMissionRepository.copyFinishedMissions(Collections.singletonList(completedMission.getId()))));
+
+        List<Long> exportedIds = new ArrayList<>();
+        MissionExportWriter writer = new MissionExportWriter() {
+            @Override
+            public void write(MissionDTO mission) {
+                exportedIds.add(mission.getId());
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+
+        assertEquals(2, missionService.exportMissions(TEST_USERNAME, null, writer));
+        assertEquals(Arrays.asList(testMission.getId(), completedMission.getId()), exportedIds);
+    }
+
+    @Test(expected = AppException.class)
+    public void findMissionsPageWithWrongLimit() throws AppException {
+        missionService.findMissionsPage(TEST_USERNAME, null, null, 0);
+    }
+
     @Test
     public void generateMissionMetrics() throws AppException {
 
@@ -252,12 +584,12 @@ public class MissionServiceTest {
                 .destinationPositionX(TEST_DESTINATION_PLANET_POSITION_X)
                 .destinationPositionY(TEST_DESTINATION_PLANET_POSITION_Y)
                 .build();
-        expectedMissionMetrics.setDistance(MissionMetrics.calculateDistance(
+        expectedMissionMetrics.setDistance(GameMechanics.calculateDistance(
                 TEST_START_PLANET_POSITION_X,
                 TEST_START_PLANET_POSITION_Y,
                 TEST_DESTINATION_PLANET_POSITION_X,
                 TEST_DESTINATION_PLANET_POSITION_Y));
-        expectedMissionMetrics.setDuration(MissionMetrics.calculateDuration(
+        expectedMissionMetrics.setDuration(GameMechanics.calculateDuration(
                 expectedMissionMetrics.getDistance(),
                 expectedMissionMetrics.getShipSpeed(),
                 expectedMissionMetrics.getShipLevel(),
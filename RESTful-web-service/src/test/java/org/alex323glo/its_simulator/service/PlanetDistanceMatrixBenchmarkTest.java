@@ -0,0 +1,98 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of Planets' distance matrix for 2k and 4k Planets.
+ *
+ * Reports (to log) memory and rebuild time of matrix, and time of random lookup of distance
+ * (from matrix and calculated on the fly), which decides if matrix is worth enabling.
+ */
+public class PlanetDistanceMatrixBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlanetDistanceMatrixBenchmarkTest.class);
+
+    private static final int[] SIZES = {2048, 4096};
+    private static final int LOOKUPS = 5_000_000;
+    private static final int MAP_SIZE = 100_000;
+
+    @Test
+    public void rebuildAndLookupTime() {
+        for (int size : SIZES) {
+            List<Planet> planets = generatePlanets(size);
+            PlanetDistanceMatrix planetDistanceMatrix = new PlanetDistanceMatrix(size, new SimpleMeterRegistry());
+
+            long startTime = System.nanoTime();
+            planetDistanceMatrix.rebuild(planets);
+            long rebuildMillis = (System.nanoTime() - startTime) / 1_000_000;
+            assertEquals(size, planetDistanceMatrix.size());
+
+            Planet[] starts = new Planet[LOOKUPS];
+            Planet[] destinations = new Planet[LOOKUPS];
+            Random random = new Random(7);
+            for (int i = 0; i < LOOKUPS; i++) {
+                starts[i] = planets.get(random.nextInt(size));
+                destinations[i] = planets.get(random.nextInt(size));
+            }
+
+            // warm up:
+            double checksum = lookUp(planetDistanceMatrix, starts, destinations) + calculate(starts, destinations);
+
+            startTime = System.nanoTime();
+            double matrixSum = lookUp(planetDistanceMatrix, starts, destinations);
+            long matrixNanos = (System.nanoTime() - startTime) / LOOKUPS;
+
+            startTime = System.nanoTime();
+            double calculatedSum = calculate(starts, destinations);
+            long calculatedNanos = (System.nanoTime() - startTime) / LOOKUPS;
+
+            LOGGER.info(String.format("Distance matrix benchmark (%d Planets): %d KB, rebuild %d ms, " +
+                            "lookup %d ns, calculation %d ns per distance (checksum %.0f).",
+                    size, planetDistanceMatrix.memoryBytes() / 1024, rebuildMillis, matrixNanos, calculatedNanos,
+                    checksum));
+
+            assertEquals(calculatedSum, matrixSum, calculatedSum * 1e-9);
+        }
+    }
+
+    private static double lookUp(PlanetDistanceMatrix planetDistanceMatrix, Planet[] starts, Planet[] destinations) {
+        double sum = 0;
+        for (int i = 0; i < starts.length; i++) {
+            sum += planetDistanceMatrix.distance(starts[i], destinations[i]);
+        }
+        return sum;
+    }
+
+    private static double calculate(Planet[] starts, Planet[] destinations) {
+        double sum = 0;
+        for (int i = 0; i < starts.length; i++) {
+            sum += GameMechanics.calculateDistance(starts[i].getPositionX(), starts[i].getPositionY(),
+                    destinations[i].getPositionX(), destinations[i].getPositionY());
+        }
+        return sum;
+    }
+
+    private static List<Planet> generatePlanets(int size) {
+        Random random = new Random(42);
+        List<Planet> planets = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            planets.add(Planet.builder()
+                    .id(id)
+                    .name("P-" + id)
+                    .positionX((long) random.nextInt(MAP_SIZE))
+                    .positionY((long) random.nextInt(MAP_SIZE))
+                    .build());
+        }
+        return planets;
+    }
+}
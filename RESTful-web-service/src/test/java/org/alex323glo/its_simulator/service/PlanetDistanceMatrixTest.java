@@ -0,0 +1,91 @@
+package org.alex323glo.its_simulator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PlanetDistanceMatrixTest {
+
+    private static final int TEST_MAX_PLANETS = 1000;
+    private static final int TEST_PLANETS_NUMBER = 1200;
+    private static final double DELTA = 1e-9;
+
+    private PlanetDistanceMatrix planetDistanceMatrix;
+    private List<Planet> testPlanets;
+
+    @Before
+    public void setUp() throws Exception {
+        planetDistanceMatrix = new PlanetDistanceMatrix(TEST_MAX_PLANETS, new SimpleMeterRegistry());
+
+        Random random = new Random(42);
+        testPlanets = new ArrayList<>();
+        for (long id = 1; id <= TEST_PLANETS_NUMBER; id++) {
+            testPlanets.add(Planet.builder()
+                    .id(id)
+                    .name("P-" + id)
+                    .positionX((long) random.nextInt(100_000))
+                    .positionY((long) random.nextInt(100_000))
+                    .build());
+        }
+    }
+
+    @Test
+    public void distance() {
+        planetDistanceMatrix.rebuild(testPlanets);
+        assertEquals(TEST_MAX_PLANETS, planetDistanceMatrix.size());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            Planet start = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+            Planet destination = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+
+            assertEquals(expectedDistance(start, destination),
+                    planetDistanceMatrix.distance(start, destination), DELTA);
+        }
+    }
+
+    @Test
+    public void addAndClear() {
+        Planet first = testPlanets.get(0);
+        Planet second = testPlanets.get(1);
+
+        assertTrue(planetDistanceMatrix.add(first));
+        assertFalse(planetDistanceMatrix.add(first));
+        assertTrue(planetDistanceMatrix.add(second));
+        assertEquals(2, planetDistanceMatrix.size());
+        assertEquals(expectedDistance(first, second), planetDistanceMatrix.distance(second, first), DELTA);
+
+        planetDistanceMatrix.clear();
+        assertEquals(0, planetDistanceMatrix.size());
+
+        // Planet with reused ID (but other coordinates) must not hit stale matrix cells:
+        Planet moved = Planet.builder().id(first.getId()).positionX(1L).positionY(2L).build();
+        assertEquals(expectedDistance(moved, second), planetDistanceMatrix.distance(moved, second), DELTA);
+    }
+
+    @Test
+    public void disabled() {
+        PlanetDistanceMatrix disabledMatrix = new PlanetDistanceMatrix(0, new SimpleMeterRegistry());
+        assertFalse(disabledMatrix.isEnabled());
+
+        disabledMatrix.rebuild(testPlanets);
+        disabledMatrix.register(testPlanets.get(0));
+        assertEquals(0, disabledMatrix.size());
+
+        Planet start = testPlanets.get(0);
+        Planet destination = testPlanets.get(1);
+        assertEquals(expectedDistance(start, destination), disabledMatrix.distance(start, destination), DELTA);
+    }
+
+    private static double expectedDistance(Planet start, Planet destination) {
+        return GameMechanics.calculateDistance(start.getPositionX(), start.getPositionY(),
+                destination.getPositionX(), destination.getPositionY());
+    }
+}
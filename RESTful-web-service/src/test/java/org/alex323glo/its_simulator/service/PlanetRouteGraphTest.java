@@ -0,0 +1,136 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PlanetRouteGraphTest {
+
+    private static final int TEST_PLANETS_NUMBER = 1_000;
+    private static final int TEST_MAP_SIZE = 10_000;
+    private static final double TEST_MAX_HOP_DISTANCE = 700;
+    private static final int TEST_QUERIES_NUMBER = 200;
+    private static final double DELTA = 1e-6;
+
+    private List<Planet> testPlanets;
+    private PlanetSpatialIndex planetSpatialIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        testPlanets = new ArrayList<>();
+        for (long id = 1; id <= TEST_PLANETS_NUMBER; id++) {
+            testPlanets.add(Planet.builder()
+                    .id(id)
+                    .name("P-" + id)
+                    .positionX((long) random.nextInt(TEST_MAP_SIZE))
+                    .positionY((long) random.nextInt(TEST_MAP_SIZE))
+                    .build());
+        }
+        planetSpatialIndex = new PlanetSpatialIndex(testPlanets);
+    }
+
+    @Test
+    public void findRoute() {
+        // all Planets within hop distance are connected, so routes must be the shortest ones:
+        PlanetRouteGraph graph = new PlanetRouteGraph(planetSpatialIndex, TEST_MAX_HOP_DISTANCE, TEST_PLANETS_NUMBER);
+
+        Random random = new Random(7);
+        for (int i = 0; i < TEST_QUERIES_NUMBER; i++) {
+            Planet start = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+            Planet destination = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+
+            double expectedDistance = shortestDistance(start, destination);
+            List<Planet> route = graph.findRoute(start, destination);
+
+            if (Double.isInfinite(expectedDistance)) {
+                assertNull(route);
+            } else {
+                assertNotNull(route);
+                assertEquals(expectedDistance, routeDistance(route), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void findRouteWithLimitedNeighbours() {
+        PlanetRouteGraph graph = new PlanetRouteGraph(planetSpatialIndex, TEST_MAX_HOP_DISTANCE, 4);
+        assertTrue(graph.edgeCount() <= 2 * 4 * TEST_PLANETS_NUMBER);
+
+        Random random = new Random(7);
+        for (int i = 0; i < TEST_QUERIES_NUMBER; i++) {
+            Planet start = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+            Planet destination = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+
+            List<Planet> route = graph.findRoute(start, destination);
+            if (route != null) {
+                assertSame(start, route.get(0));
+                assertSame(destination, route.get(route.size() - 1));
+                assertTrue(routeDistance(route) >= shortestDistance(start, destination) - DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void findRouteToUnreachablePlanet() {
+        Planet lonelyPlanet = Planet.builder().id(0L).name("Lonely").positionX(1_000_000L).positionY(1_000_000L).build();
+        List<Planet> planets = new ArrayList<>(testPlanets);
+        planets.add(lonelyPlanet);
+        PlanetRouteGraph graph = new PlanetRouteGraph(new PlanetSpatialIndex(planets), TEST_MAX_HOP_DISTANCE, 16);
+
+        assertNull(graph.findRoute(testPlanets.get(0), lonelyPlanet));
+        assertNull(graph.findRoute(testPlanets.get(0), Planet.builder().id(-1L).build()));
+    }
+
+    private static double routeDistance(List<Planet> route) {
+        double distance = 0;
+        for (int i = 1; i < route.size(); i++) {
+            double hopDistance = distance(route.get(i - 1), route.get(i));
+            assertTrue(hopDistance <= TEST_MAX_HOP_DISTANCE);
+            distance += hopDistance;
+        }
+        return distance;
+    }
+
+    // plain O(N^2) Dijkstra over all pairs of Planets within hop distance:
+    private double shortestDistance(Planet start, Planet destination) {
+        double[] distances = new double[TEST_PLANETS_NUMBER];
+        boolean[] visited = new boolean[TEST_PLANETS_NUMBER];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[testPlanets.indexOf(start)] = 0;
+
+        while (true) {
+            int nearest = -1;
+            for (int i = 0; i < TEST_PLANETS_NUMBER; i++) {
+                if (!visited[i] && (nearest == -1 || distances[i] < distances[nearest])) {
+                    nearest = i;
+                }
+            }
+            if (nearest == -1 || Double.isInfinite(distances[nearest])) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (testPlanets.get(nearest) == destination) {
+                return distances[nearest];
+            }
+            visited[nearest] = true;
+            for (int i = 0; i < TEST_PLANETS_NUMBER; i++) {
+                double hopDistance = distance(testPlanets.get(nearest), testPlanets.get(i));
+                if (!visited[i] && hopDistance <= TEST_MAX_HOP_DISTANCE) {
+                    distances[i] = Math.min(distances[i], distances[nearest] + hopDistance);
+                }
+            }
+        }
+    }
+
+    private static double distance(Planet start, Planet destination) {
+        return GameMechanics.calculateDistance(start.getPositionX(), start.getPositionY(),
+                destination.getPositionX(), destination.getPositionY());
+    }
+}
@@ -49,11 +49,12 @@ public class PlanetServiceTest {
                         .color(TEST_PLANET_COLOR)
                         .circles(TEST_PLANET_CIRCLES_NUMBER)
                         .build());
+        planetService.reloadPlanetCatalog();
     }
 
     @After
     public void tearDown() throws Exception {
-        planetRepository.deleteAll();
+        planetService.deleteAllPlanets();
     }
 
     @Test
@@ -101,5 +102,59 @@ public class PlanetServiceTest {
         List<Planet> planetList = planetRepository.findAll();
         assertNotNull(planetList);
         assertEquals(0, planetList.size());
+        assertEquals(0, planetService.findAllPlanets().size());
+    }
+
+    @Test
+    public void planetCatalogVersion() throws AppException {
+        long version = planetService.getPlanetCatalogVersion();
+        PlanetCatalog catalog = planetService.getPlanetCatalog();
+
+        Planet createdPlanet = planetService.createPlanet("another_" + TEST_PLANET_NAME,
+                TEST_PLANET_POSITION_X, TEST_PLANET_POSITION_Y,
+                TEST_PLANET_RADIUS, TEST_PLANET_COLOR, TEST_PLANET_CIRCLES_NUMBER);
+
+        assertTrue(planetService.getPlanetCatalogVersion() > version);
+        assertEquals(createdPlanet, planetService.findPlanet(createdPlanet.getName()));
+        assertNull(catalog.findPlanet(createdPlanet.getName()));
+        assertEquals(1, catalog.size());
+    }
+
+    @Test
+    public void createPlanets() throws AppException {
+        List<Planet> generatedPlanets = new GalaxyGenerator(42, 1000).generate(2000, "G-");
+        generatedPlanets.add(Planet.builder()
+                .name(TEST_PLANET_NAME)
+                .positionX(TEST_PLANET_POSITION_X)
+                .positionY(TEST_PLANET_POSITION_Y)
+                .radius(TEST_PLANET_RADIUS)
+                .color(TEST_PLANET_COLOR)
+                .circles(TEST_PLANET_CIRCLES_NUMBER)
+                .build());
+        long version = planetService.getPlanetCatalogVersion();
+
+        List<Planet> createdPlanets = planetService.createPlanets(generatedPlanets);
+
+        assertEquals(2000, createdPlanets.size());
+        assertEquals(2001, planetRepository.count());
+        assertEquals(version + 1, planetService.getPlanetCatalogVersion());
+        assertEquals(2001, planetService.findAllPlanets().size());
+
+        Planet createdPlanet = createdPlanets.get(1234);
+        assertNotNull(createdPlanet.getId());
+        assertEquals(createdPlanet, planetRepository.findByName(createdPlanet.getName()));
+        assertEquals(createdPlanet, planetService.findPlanet(createdPlanet.getName()));
+
+        // the same galaxy again: all Planets are duplicates
+        assertEquals(0, planetService.createPlanets(new GalaxyGenerator(42, 1000).generate(2000, "G-")).size());
+        assertEquals(2001, planetRepository.count());
+    }
+
+    @Test(expected = AppException.class)
+    public void createPlanetsWithInvalidPlanet() throws AppException {
+        List<Planet> generatedPlanets = new GalaxyGenerator(42, 1000).generate(10, "G-");
+        generatedPlanets.get(5).setColor("red");
+
+        planetService.createPlanets(generatedPlanets);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.game.Planet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class PlanetSpatialIndexTest {
+
+    private static final int TEST_PLANETS_NUMBER = 20_000;
+    private static final int TEST_MAP_SIZE = 100_000;
+    private static final int TEST_QUERIES_NUMBER = 500;
+
+    private List<Planet> testPlanets;
+    private PlanetSpatialIndex planetSpatialIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        testPlanets = new ArrayList<>();
+        for (long id = 1; id <= TEST_PLANETS_NUMBER; id++) {
+            // half of Planets are clustered near the centre of map:
+            int spread = id % 2 == 0 ? TEST_MAP_SIZE : TEST_MAP_SIZE / 100;
+            long offset = id % 2 == 0 ? 0 : TEST_MAP_SIZE / 2;
+            testPlanets.add(Planet.builder()
+                    .id(id)
+                    .name("P-" + id)
+                    .positionX(offset + random.nextInt(spread))
+                    .positionY(offset + random.nextInt(spread))
+                    .build());
+        }
+        planetSpatialIndex = new PlanetSpatialIndex(testPlanets);
+    }
+
+    @Test
+    public void findInViewport() {
+        Random random = new Random(7);
+        for (int i = 0; i < TEST_QUERIES_NUMBER; i++) {
+            long minX = random.nextInt(TEST_MAP_SIZE + 2_000) - 1_000;
+            long minY = random.nextInt(TEST_MAP_SIZE + 2_000) - 1_000;
+            long maxX = minX + random.nextInt(TEST_MAP_SIZE / 10);
+            long maxY = minY + random.nextInt(TEST_MAP_SIZE / 10);
+
+            Set<Planet> expectedPlanets = testPlanets.stream()
+                    .filter(p -> p.getPositionX() >= minX && p.getPositionX() <= maxX &&
+                            p.getPositionY() >= minY && p.getPositionY() <= maxY)
+                    .collect(Collectors.toSet());
+            List<Planet> foundPlanets = planetSpatialIndex.findInViewport(minX, minY, maxX, maxY, Integer.MAX_VALUE);
+
+            assertEquals(expectedPlanets.size(), foundPlanets.size());
+            assertEquals(expectedPlanets, new HashSet<>(foundPlanets));
+        }
+
+        assertEquals(10, planetSpatialIndex.findInViewport(0, 0, TEST_MAP_SIZE, TEST_MAP_SIZE, 10).size());
+    }
+
+    @Test
+    public void findNearest() {
+        Random random = new Random(11);
+        for (int i = 0; i < TEST_QUERIES_NUMBER; i++) {
+            long x = random.nextInt(TEST_MAP_SIZE * 3) - TEST_MAP_SIZE;
+            long y = random.nextInt(TEST_MAP_SIZE * 3) - TEST_MAP_SIZE;
+            int k = 1 + random.nextInt(50);
+            Planet exclude = testPlanets.get(random.nextInt(TEST_PLANETS_NUMBER));
+
+            List<Double> expectedDistances = testPlanets.stream()
+                    .filter(p -> p != exclude)
+                    .map(p -> distance(p, x, y))
+                    .sorted()
+                    .limit(k)
+                    .collect(Collectors.toList());
+            List<Double> foundDistances = planetSpatialIndex.findNearest(x, y, k, exclude).stream()
+                    .map(p -> distance(p, x, y))
+                    .collect(Collectors.toList());
+
+            assertEquals(expectedDistances, foundDistances);
+        }
+    }
+
+    @Test
+    public void extremeCoordinates() {
+        List<Planet> allPlanets = planetSpatialIndex.findInViewport(
+                Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(new HashSet<>(testPlanets), new HashSet<>(allPlanets));
+
+        assertTrue(planetSpatialIndex.findInViewport(Long.MIN_VALUE, Long.MIN_VALUE, -1, -1, 10).isEmpty());
+
+        long[][] targets = {{Long.MIN_VALUE, Long.MIN_VALUE}, {Long.MAX_VALUE, Long.MAX_VALUE},
+                {Long.MIN_VALUE, Long.MAX_VALUE}, {TEST_MAP_SIZE / 2, Long.MIN_VALUE}};
+        for (long[] target : targets) {
+            long x = target[0];
+            long y = target[1];
+            List<Double> expectedDistances = testPlanets.stream()
+                    .map(p -> distance(p, x, y))
+                    .sorted()
+                    .limit(5)
+                    .collect(Collectors.toList());
+            List<Double> foundDistances = planetSpatialIndex.findNearest(x, y, 5, null).stream()
+                    .map(p -> distance(p, x, y))
+                    .collect(Collectors.toList());
+
+            assertEquals(expectedDistances, foundDistances);
+        }
+    }
+
+    @Test
+    public void emptyIndex() {
+        PlanetSpatialIndex emptyIndex = new PlanetSpatialIndex(Collections.emptyList());
+        assertTrue(emptyIndex.findInViewport(0, 0, 100, 100, 10).isEmpty());
+        assertTrue(emptyIndex.findNearest(0, 0, 10, null).isEmpty());
+    }
+
+    private static double distance(Planet planet, long x, long y) {
+        double deltaX = (double) planet.getPositionX() - x;
+        double deltaY = (double) planet.getPositionY() - y;
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+}
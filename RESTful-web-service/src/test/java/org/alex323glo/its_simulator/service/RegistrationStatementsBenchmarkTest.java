@@ -0,0 +1,105 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.exception.AppException;
+import org.alex323glo.its_simulator.model.IdGenerators;
+import org.alex323glo.its_simulator.repository.SqlRecorder;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Benchmark of statements, prepared by System per registration of new User
+ * (User with its UserExtension and UserGameProfile, and two starter SpaceShips, like Default User has).
+ *
+ * Reports (to log) number of prepared statements, sequence calls and INSERT statements per registration
+ * (statements of single JDBC batch are counted once), and checks, that identifiers are allocated by blocks
+ * (pooled-lo sequences), so registration doesn't call sequences per INSERT.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class RegistrationStatementsBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrationStatementsBenchmarkTest.class);
+
+    private static final int REGISTRATIONS = 100;
+    private static final String TEST_USERNAME_PREFIX = "bench-user-";
+
+    // User and two SpaceShips get identifiers from sequences (UserExtension and UserGameProfile share User's one):
+    private static final int IDENTIFIERS_PER_REGISTRATION = 3;
+    private static final int SEQUENCES = 2;
+
+    // 2 SELECTs of duplicate username and email, 3 INSERTs of User and its parts, and 4 statements per SpaceShip
+    // (SELECT of game profile, SELECT of duplicate name, INSERT of SpaceShip, UPDATE of ships number):
+    private static final int STATEMENTS_PER_REGISTRATION = 13;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> registeredUsernames = new ArrayList<>();
+
+    @After
+    public void tearDown() throws Exception {
+        for (String username : registeredUsernames) {
+            userService.deleteUserData(username);
+        }
+    }
+
+    @Test
+    public void statementsPerRegistration() {
+        // warm up (first registration also fetches first blocks of identifiers):
+        register(TEST_USERNAME_PREFIX + "warm-up");
+
+        long startTime = System.nanoTime();
+        SqlRecorder.start();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            register(TEST_USERNAME_PREFIX + i);
+        }
+        List<String> recordedSql = SqlRecorder.stop();
+        long elapsedMicros = (System.nanoTime() - startTime) / 1000;
+
+        long sequenceCalls = recordedSql.stream().filter(sql -> sql.contains("next value for")).count();
+        long inserts = recordedSql.stream().filter(sql -> sql.startsWith("insert")).count();
+
+        LOGGER.info(String.format("Registration benchmark (%d registrations): %.2f statements, " +
+                        "%.2f sequence calls, %.2f INSERT statements, %d us per registration.",
+                REGISTRATIONS, (double) recordedSql.size() / REGISTRATIONS, (double) sequenceCalls / REGISTRATIONS,
+                (double) inserts / REGISTRATIONS, elapsedMicros / REGISTRATIONS));
+
+        // IDs are allocated by blocks, so most of registrations don't call sequences at all
+        // (every sequence may start new block inside of measurement, which is counted once more):
+        assertTrue(sequenceCalls <= IDENTIFIERS_PER_REGISTRATION * REGISTRATIONS / IdGenerators.ALLOCATION_SIZE +
+                SEQUENCES);
+        assertEquals(STATEMENTS_PER_REGISTRATION * REGISTRATIONS, recordedSql.size() - sequenceCalls);
+    }
+
+    private void register(String username) {
+        transactionTemplate.execute(status -> {
+            try {
+                userService.registerUser(username, "password", username + "@mail.com");
+                registeredUsernames.add(username);
+                spaceShipService.createSpaceShip(username, "Starter-1", 50.0, 1, 30.0);
+                spaceShipService.createSpaceShip(username, "Starter-2", 70.0, 1, 15.0);
+            } catch (AppException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+    }
+}
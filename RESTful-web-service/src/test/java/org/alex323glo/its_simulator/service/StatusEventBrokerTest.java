@@ -0,0 +1,216 @@
+package org.alex323glo.its_simulator.service;
+
+import org.alex323glo.its_simulator.model.dto.StatusEventDTO;
+import org.alex323glo.its_simulator.model.game.Mission;
+import org.alex323glo.its_simulator.model.game.MissionStatus;
+import org.alex323glo.its_simulator.model.game.SpaceShipStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class StatusEventBrokerTest {
+
+    private static final String TEST_USERNAME = "Alex";
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_EMAIL = "alex@mail.com";
+
+    private static final String TEST_SPACE_SHIP_NAME = "Dragon-1";
+    private static final Integer TEST_SPACE_SHIP_LEVEL = 2;
+    private static final Double TEST_SPACE_SHIP_SPEED = 15.50;
+    private static final Double TEST_SPACE_SHIP_MAX_CARGO_CAPACITY = 1.0;
+
+    private static final String TEST_START_PLANET_NAME = "P-001";
+    private static final String TEST_DESTINATION_PLANET_NAME = "P-002";
+
+    private static final Double TEST_MISSION_PAYLOAD = 0.5;
+
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+
+    private Long testUserId;
+
+    @Autowired
+    private StatusEventBroker statusEventBroker;
+
+    @Autowired
+    private MissionService missionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlanetService planetService;
+
+    @Autowired
+    private SpaceShipService spaceShipService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Before
+    public void setUp() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+
+        userService.registerUser(TEST_USERNAME, TEST_PASSWORD, TEST_EMAIL);
+        spaceShipService.createSpaceShip(TEST_USERNAME, TEST_SPACE_SHIP_NAME,
+                TEST_SPACE_SHIP_MAX_CARGO_CAPACITY, TEST_SPACE_SHIP_LEVEL, TEST_SPACE_SHIP_SPEED);
+        planetService.createPlanet(TEST_START_PLANET_NAME, 50L, 50L, 10, "#112233", 1);
+        planetService.createPlanet(TEST_DESTINATION_PLANET_NAME, 300L, 300L, 20, "#445566", 2);
+
+        testUserId = userService.findUserId(TEST_USERNAME);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userService.deleteAllUserData();
+        planetService.deleteAllPlanets();
+    }
+
+    @Test
+    public void publishMissionLifecycle() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        statusEventBroker.subscribe(testUserId, sink);
+        try {
+            Mission mission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+            missionService.startMission(TEST_USERNAME, mission.getId());
+            missionService.cancelMission(TEST_USERNAME, mission.getId());
+
+            StatusEventDTO shipBusy = sink.next();
+            assertEquals(StatusEventDTO.SPACE_SHIP_STATUS, shipBusy.getType());
+            assertEquals(TEST_SPACE_SHIP_NAME, shipBusy.getSpaceShipName());
+            assertEquals(SpaceShipStatus.BUSY, shipBusy.getSpaceShipStatus());
+
+            StatusEventDTO created = sink.next();
+            assertEquals(StatusEventDTO.MISSION_STATUS, created.getType());
+            assertEquals(mission.getId(), created.getMissionId());
+            assertEquals(MissionStatus.CREATED, created.getMissionStatus());
+
+            assertEquals(MissionStatus.STARTED, sink.next().getMissionStatus());
+            assertEquals(MissionStatus.CANCELED, sink.next().getMissionStatus());
+            assertEquals(SpaceShipStatus.FREE, sink.next().getSpaceShipStatus());
+        } finally {
+            statusEventBroker.unsubscribe(testUserId, sink);
+        }
+    }
+
+    @Test
+    public void publishAfterCommitOnly() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        statusEventBroker.subscribe(testUserId, sink);
+        try {
+            Mission mission = missionService.constructNewMission(TEST_USERNAME, TEST_START_PLANET_NAME,
+                    TEST_DESTINATION_PLANET_NAME, TEST_SPACE_SHIP_NAME, TEST_MISSION_PAYLOAD);
+            sink.next();
+            sink.next();
+
+            transactionTemplate.execute(status -> {
+                try {
+                    missionService.startMission(TEST_USERNAME, mission.getId());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                assertTrue(sink.events.isEmpty());
+                status.setRollbackOnly();
+                return null;
+            });
+
+            missionService.cancelMission(TEST_USERNAME, mission.getId());
+            assertEquals(MissionStatus.CANCELED, sink.next().getMissionStatus());
+        } finally {
+            statusEventBroker.unsubscribe(testUserId, sink);
+        }
+    }
+
+    @Test
+    public void dropSlowConnection() throws Exception {
+        int connectionsBefore = statusEventBroker.size();
+        BlockingSink slowSink = new BlockingSink();
+        statusEventBroker.subscribe(testUserId, slowSink);
+        try {
+            assertEquals(connectionsBefore + 1, statusEventBroker.size());
+
+            // 1 event is being sent, 4 events fill buffer, the next one overflows it:
+            for (long missionId = 1; missionId <= 6; missionId++) {
+                statusEventBroker.publishAfterCommit(testUserId, StatusEventDTO.builder()
+                        .type(StatusEventDTO.MISSION_STATUS)
+                        .missionId(missionId)
+                        .missionStatus(MissionStatus.CREATED)
+                        .build());
+                if (missionId == 1) {
+                    assertTrue(slowSink.sending.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                }
+                assertEquals(missionId == 6, slowSink.closed);
+            }
+
+            assertEquals(connectionsBefore, statusEventBroker.size());
+        } finally {
+            slowSink.release.countDown();
+            statusEventBroker.unsubscribe(testUserId, slowSink);
+        }
+    }
+
+    private static class CollectingSink implements StatusEventSink {
+
+        private final LinkedBlockingQueue<StatusEventDTO> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(StatusEventDTO event) {
+            events.add(event);
+        }
+
+        @Override
+        public void sendHeartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private StatusEventDTO next() throws InterruptedException {
+            StatusEventDTO event = events.poll(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull("Status event wasn't delivered in time.", event);
+            return event;
+        }
+    }
+
+    private static class BlockingSink implements StatusEventSink {
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        @Override
+        public void send(StatusEventDTO event) throws IOException {
+            sending.countDown();
+            try {
+                release.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void sendHeartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -11,12 +11,16 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 
 import static org.junit.Assert.*;
 
@@ -28,6 +32,8 @@ public class UserDetailsServiceTest {
     private static final String TEST_PASSWORD = "12345678";
     private static final String TEST_EMAIL = "alex@mail.com";
 
+    private static final String TEST_ADMIN_USERNAME = "Admin";
+
     private static User testUser;
 
     @Autowired
@@ -41,8 +47,38 @@ public class UserDetailsServiceTest {
     public void setUp() throws Exception {
         userRepository.deleteAll();
 
+        testUser = userRepository.save(createUser(TEST_USERNAME, TEST_EMAIL));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void loadUserByUsername() {
+        UserDetails expectedUserDetails = testUser.generateUserDetails();
+        UserDetails actualUserDetails = userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        assertEquals(expectedUserDetails, actualUserDetails);
+        assertEquals(Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")),
+                new HashSet<>(actualUserDetails.getAuthorities()));
+    }
+
+    @Test
+    public void loadAdminByUsername() {
+        userRepository.save(createUser(TEST_ADMIN_USERNAME, "admin_" + TEST_EMAIL));
+
+        UserDetails actualUserDetails = userDetailsService.loadUserByUsername(TEST_ADMIN_USERNAME);
+
+        assertEquals(new HashSet<>(Arrays.asList(
+                new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))),
+                new HashSet<>(actualUserDetails.getAuthorities()));
+    }
+
+    private User createUser(String username, String email) {
         UserExtension userExtension = UserExtension.builder()
-                .email(TEST_EMAIL)
+                .email(email)
                 .registrationTime(LocalDateTime.now())
                 .build();
         UserGameProfile userGameProfile = UserGameProfile.builder()
@@ -53,7 +89,7 @@ public class UserDetailsServiceTest {
                 .shipsNumber(0)
                 .build();
         User user = User.builder()
-                .username(TEST_USERNAME)
+                .username(username)
                 .password(TEST_PASSWORD)
                 .userExtension(userExtension)
                 .userGameProfile(userGameProfile)
@@ -62,19 +98,6 @@ public class UserDetailsServiceTest {
         userExtension.setUser(user);
         userGameProfile.setUser(user);
 
-        testUser = userRepository.save(user);
-    }
-
-    @After
-    public void tearDown() throws Exception {
-        userRepository.deleteAll();
-    }
-
-    @Test
-    public void loadUserByUsername() {
-        UserDetails expectedUserDetails = testUser.generateUserDetails();
-        UserDetails actualUserDetails = userDetailsService.loadUserByUsername(TEST_USERNAME);
-
-        assertEquals(expectedUserDetails, actualUserDetails);
+        return user;
     }
 }